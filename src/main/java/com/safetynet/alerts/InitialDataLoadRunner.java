@@ -1,14 +1,25 @@
 package com.safetynet.alerts;
 
+import com.safetynet.alerts.repository.AlertsReadIndex;
 import com.safetynet.alerts.service.IFileParserService;
+import com.safetynet.alerts.service.SnapshotService;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.DataLoadStatus;
+import com.safetynet.alerts.util.DataVersions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+
 /**
  * Allow the initial load of data when application is launched
+ * By default the load runs in background, so that the application is up without waiting for its end:
+ * meanwhile the health is LOADING and the data endpoints answer 503 (Service Unavailable),
+ * until the read index is built and the cached alert results and data versions are reset
  * NB : not launched for test profile
  */
 @Profile("!test")
@@ -18,14 +29,75 @@ public class InitialDataLoadRunner implements CommandLineRunner {
 
     private final IFileParserService fileParserService;
 
+    private final SnapshotService snapshotService;
+
+    private final DataLoadStatus dataLoadStatus;
+
+    private final AlertsReadIndex alertsReadIndex;
+
+    private final AlertsCacheEvictor alertsCacheEvictor;
+
+    private final DataVersions dataVersions;
+
+    @Value("${data.load.async:true}")
+    private boolean asyncLoad;
+
     @Autowired
-    public InitialDataLoadRunner(IFileParserService fileParserService) {
+    public InitialDataLoadRunner(IFileParserService fileParserService, SnapshotService snapshotService,
+                                 DataLoadStatus dataLoadStatus, AlertsReadIndex alertsReadIndex,
+                                 AlertsCacheEvictor alertsCacheEvictor, DataVersions dataVersions) {
         this.fileParserService = fileParserService;
+        this.snapshotService = snapshotService;
+        this.dataLoadStatus = dataLoadStatus;
+        this.alertsReadIndex = alertsReadIndex;
+        this.alertsCacheEvictor = alertsCacheEvictor;
+        this.dataVersions = dataVersions;
+    }
+
+    /**
+     * mark the initial load as pending before the web server is started,
+     * so that no request is served with partial data
+     */
+    @PostConstruct
+    public void scheduleLoad() {
+        dataLoadStatus.loadScheduled();
     }
 
+    /**
+     * launch the initial load of data, in background or not depending on data.load.async
+     */
     @Override
     public void run(String... args) {
+        if (asyncLoad) {
+            Thread loadThread = new Thread(this::loadData, "initial-data-load");
+            loadThread.start();
+        } else {
+            loadData();
+        }
+    }
+
+    /**
+     * load the data from the snapshot of the last load if it is usable,
+     * else read the data file and write a new snapshot,
+     * then build the read index answering the alert queries, evict the cached alert results and bump the data versions
+     */
+    private void loadData() {
         log.info("initial load of data");
-        fileParserService.readDataFromFile();
+        try {
+            if (!snapshotService.loadSnapshot()) {
+                fileParserService.readDataFromFile();
+                snapshotService.writeSnapshot();
+            }
+            alertsReadIndex.rebuild();
+            alertsCacheEvictor.evictAll();
+            dataVersions.bumpAll();
+        } finally {
+            if (dataLoadStatus.getState() == DataLoadStatus.State.LOADING) {
+                log.error("initial load of data has not ended properly");
+                dataLoadStatus.loadEnded(null, false);
+            }
+            //the data are served from now
+            dataLoadStatus.scheduledLoadEnded();
+        }
     }
 }
@@ -0,0 +1,46 @@
+package com.safetynet.alerts.actuator;
+
+import com.safetynet.alerts.util.DataLoadStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/dataload giving information on the last data load
+ */
+@Component
+@Endpoint(id = "dataload")
+public class DataLoadEndpoint {
+
+    private final DataLoadStatus dataLoadStatus;
+
+    @Autowired
+    public DataLoadEndpoint(DataLoadStatus dataLoadStatus) {
+        this.dataLoadStatus = dataLoadStatus;
+    }
+
+    /**
+     * get information on the last data load
+     *
+     * @return the source the data have been loaded from (JSON data file or snapshot), the duration of the load,
+     * its persistence counters and its linking report
+     */
+    @ReadOperation
+    public Map<String, Object> dataLoad() {
+        Map<String, Object> dataLoad = new LinkedHashMap<>();
+        dataLoad.put("source", dataLoadStatus.getSource());
+        dataLoad.put("successful", dataLoadStatus.isSuccessful());
+        dataLoad.put("durationInMillis", dataLoadStatus.getDurationInMillis());
+        dataLoad.put("statementsIssued", dataLoadStatus.getNbOfStatementsIssued());
+        dataLoad.put("rowsWritten", dataLoadStatus.getNbOfRowsWritten());
+        dataLoad.put("collectionsWritten", dataLoadStatus.getNbOfCollectionsWritten());
+        if (dataLoadStatus.getLinkingReport() != null) {
+            dataLoad.put("linkingReport", dataLoadStatus.getLinkingReport().toString());
+        }
+        return dataLoad;
+    }
+}
@@ -0,0 +1,44 @@
+package com.safetynet.alerts.actuator;
+
+import com.safetynet.alerts.util.DataLoadStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health of the data load, included in /actuator/health:
+ * LOADING while the data are loaded (with the number of elements parsed and saved by type of data),
+ * DOWN if the last load has failed, else UP
+ */
+@Component("dataLoad")
+public class DataLoadHealthIndicator implements HealthIndicator {
+
+    public static final Status LOADING = new Status("LOADING", "data are loading");
+
+    private final DataLoadStatus dataLoadStatus;
+
+    @Autowired
+    public DataLoadHealthIndicator(DataLoadStatus dataLoadStatus) {
+        this.dataLoadStatus = dataLoadStatus;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health;
+        if (dataLoadStatus.isLoading()) {
+            health = Health.status(LOADING);
+        } else if (dataLoadStatus.getState() == DataLoadStatus.State.LOADED && !dataLoadStatus.isSuccessful()) {
+            health = Health.down();
+        } else {
+            health = Health.up();
+        }
+
+        return health
+                .withDetail("state", dataLoadStatus.getState())
+                .withDetail("parsed", dataLoadStatus.getNbOfParsedElements())
+                .withDetail("saved", dataLoadStatus.getNbOfSavedElements())
+                .build();
+    }
+}
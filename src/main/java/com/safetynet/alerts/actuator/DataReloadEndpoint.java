@@ -0,0 +1,61 @@
+package com.safetynet.alerts.actuator;
+
+import com.safetynet.alerts.model.ReloadReport;
+import com.safetynet.alerts.service.DataReloadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/datareload allowing to reload the data file (POST)
+ * and giving information on the last reload (GET)
+ * NB : as the application has no authentication, this endpoint rewriting the data is disabled by default
+ * (enabled with management.endpoint.datareload.enabled=true, to be exposed only behind an authenticating proxy)
+ */
+@Component
+@Endpoint(id = "datareload", enableByDefault = false)
+public class DataReloadEndpoint {
+
+    private final DataReloadService dataReloadService;
+
+    @Autowired
+    public DataReloadEndpoint(DataReloadService dataReloadService) {
+        this.dataReloadService = dataReloadService;
+    }
+
+    /**
+     * get information on the last reload of the data file
+     *
+     * @return the result of the last reload, empty if the data file has not been reloaded
+     */
+    @ReadOperation
+    public Map<String, Object> lastReload() {
+        return mapReloadReport(dataReloadService.getLastReloadReport());
+    }
+
+    /**
+     * reload the data file, applying only the differences with the data in DB
+     *
+     * @return the result of the reload
+     */
+    @WriteOperation
+    public Map<String, Object> reload() {
+        return mapReloadReport(dataReloadService.reloadDataFromFile());
+    }
+
+    private Map<String, Object> mapReloadReport(ReloadReport reloadReport) {
+        Map<String, Object> reload = new LinkedHashMap<>();
+        if (reloadReport != null) {
+            reload.put("successful", reloadReport.isSuccessful());
+            reload.put("durationInMillis", reloadReport.getDurationInMillis());
+            reload.put("changesApplied", reloadReport.getNbOfChanges());
+            reload.put("details", reloadReport.toString());
+        }
+        return reload;
+    }
+}
@@ -1,12 +1,63 @@
 package com.safetynet.alerts.configuration;
 
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.safetynet.alerts.constants.BatchConstants.BATCH_EXECUTOR;
 
 @Configuration
-public class AlertsConfig {
+@EnableCaching
+@EnableScheduling
+public class AlertsConfig extends CachingConfigurerSupport {
+
+    private final ObjectProvider<AlertsCacheEvictor> alertsCacheEvictorProvider;
+
+    public AlertsConfig(ObjectProvider<AlertsCacheEvictor> alertsCacheEvictorProvider) {
+        this.alertsCacheEvictorProvider = alertsCacheEvictorProvider;
+    }
+
+    /**
+     * Init the resolver of the caches of the @Cacheable alert results:
+     * the caches of the AlertsCacheEvictor, whose loads (sync = true) are exclusive with the evictions
+     *
+     * @return the cache resolver
+     */
+    @Override
+    public CacheResolver cacheResolver() {
+        return context -> {
+            AlertsCacheEvictor alertsCacheEvictor = alertsCacheEvictorProvider.getObject();
+            List<Cache> caches = new ArrayList<>();
+            context.getOperation().getCacheNames().forEach(cacheName -> {
+                Cache cache = alertsCacheEvictor.getCache(cacheName);
+                if (cache == null) {
+                    throw new IllegalArgumentException("Cannot find cache named '" + cacheName + "' for "
+                            + context.getOperation());
+                }
+                caches.add(cache);
+            });
+            return caches;
+        };
+    }
+
     /**
      * Init HttpTraceRepository bean to use http trace actuator
      *
@@ -16,4 +67,38 @@ public class AlertsConfig {
     public HttpTraceRepository httpTraceRepository() {
         return new InMemoryHttpTraceRepository();
     }
+
+    /**
+     * Init Clock bean giving the current date to calculate ages
+     *
+     * @return the system clock, in the default time zone
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
+    /**
+     * Init the executor answering in parallel the sub-queries of the /batch requests
+     *
+     * @param nbOfWorkers           number of threads (0 = number of available processors)
+     * @param meterRegistryProvider the meter registry of the executor metrics, if any
+     * @return a fixed thread pool, shut down with the application
+     */
+    @Bean(name = BATCH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService batchExecutor(@Value("${data.batch.workers:0}") int nbOfWorkers,
+                                         ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        int nbOfThreads = (nbOfWorkers > 0) ? nbOfWorkers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService batchExecutor = Executors.newFixedThreadPool(nbOfThreads,
+                runnable -> {
+                    Thread thread = new Thread(runnable, BATCH_EXECUTOR + "-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        return (meterRegistry == null)
+                ? batchExecutor : ExecutorServiceMetrics.monitor(meterRegistry, batchExecutor, BATCH_EXECUTOR);
+    }
 }
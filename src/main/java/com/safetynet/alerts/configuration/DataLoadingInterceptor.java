@@ -0,0 +1,40 @@
+package com.safetynet.alerts.configuration;
+
+import com.safetynet.alerts.util.DataLoadStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Answer 503 (Service Unavailable) with a Retry-After header to the requests received while the data are loading,
+ * instead of answering with partial data
+ */
+@Slf4j
+public class DataLoadingInterceptor implements HandlerInterceptor {
+
+    private final DataLoadStatus dataLoadStatus;
+
+    private final String retryAfterInSeconds;
+
+    public DataLoadingInterceptor(DataLoadStatus dataLoadStatus, int retryAfterInSeconds) {
+        this.dataLoadStatus = dataLoadStatus;
+        this.retryAfterInSeconds = String.valueOf(retryAfterInSeconds);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (dataLoadStatus.isLoading()) {
+            log.info(request.getMethod() + " request on endpoint " + request.getRequestURI()
+                    + " received while data are loading, 503 sent");
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterInSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "data are loading, retry later");
+            return false;
+        }
+        return true;
+    }
+}
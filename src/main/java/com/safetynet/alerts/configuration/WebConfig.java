@@ -0,0 +1,39 @@
+package com.safetynet.alerts.configuration;
+
+import com.safetynet.alerts.util.DataLoadStatus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<DataLoadStatus> dataLoadStatusProvider;
+
+    @Value("${data.load.retryAfterInSeconds:5}")
+    private int retryAfterInSeconds;
+
+    @Autowired
+    public WebConfig(ObjectProvider<DataLoadStatus> dataLoadStatusProvider) {
+        this.dataLoadStatusProvider = dataLoadStatusProvider;
+    }
+
+    /**
+     * Register the interceptor answering 503 to the requests on the alert and data endpoints while the data are loading
+     * NB : not registered when there is no data load status (e.g. in web layer tests)
+     *
+     * @param registry the registry of interceptors
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        DataLoadStatus dataLoadStatus = dataLoadStatusProvider.getIfAvailable();
+        if (dataLoadStatus != null) {
+            registry.addInterceptor(new DataLoadingInterceptor(dataLoadStatus, retryAfterInSeconds))
+                    .addPathPatterns("/**")
+                    .excludePathPatterns("/error");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.safetynet.alerts.constants;
+
+public class BatchConstants {
+    // reasons of the misses of a batch, reported by key instead of failing the whole batch
+    public static final String MISSING_ADDRESS = "Address must be specified";
+    public static final String MISSING_FIRSTNAME_OR_LASTNAME = "Firstname AND lastname must be specified";
+    public static final String NO_PERSON_FOUND_FOR_ADDRESS = "No person found for this address";
+    public static final String NO_PERSON_FOUND_FOR_NAME = "No person found for this name nor lastname";
+
+    // endpoints which can be sub-queries of a /batch request (with the same parameters)
+    public static final String FIRE_STATION_ENDPOINT = "/firestation";
+    public static final String PHONE_ALERT_ENDPOINT = "/phoneAlert";
+    public static final String FLOOD_ENDPOINT = "/flood/stations";
+    public static final String CHILD_ALERT_ENDPOINT = "/childAlert";
+    public static final String FIRE_ENDPOINT = "/fire";
+    public static final String PERSON_INFO_ENDPOINT = "/personInfo";
+    public static final String COMMUNITY_EMAIL_ENDPOINT = "/communityEmail";
+
+    // errors of the sub-queries of a /batch request, reported by sub-query instead of failing the whole request
+    public static final String UNKNOWN_ENDPOINT = "Unknown endpoint";
+    public static final String MISSING_OR_INVALID_PARAMETERS = "Missing or invalid parameters";
+    public static final String SUB_QUERY_TIMEOUT = "Sub-query not answered in time";
+    public static final String SUB_QUERY_ERROR = "Error when answering the sub-query";
+
+    // name of the executor running the sub-queries of the /batch requests in parallel
+    public static final String BATCH_EXECUTOR = "batchExecutor";
+}
@@ -0,0 +1,17 @@
+package com.safetynet.alerts.constants;
+
+public class CacheConstants {
+    // caches of the alert results (declared in spring.cache.cache-names)
+    public static final String FIRE_CACHE = "fire";
+    public static final String FLOOD_CACHE = "flood";
+    public static final String FIRE_STATION_COVERAGE_CACHE = "fireStationCoverage";
+    public static final String PHONE_ALERT_CACHE = "phoneAlert";
+    public static final String CHILD_ALERT_CACHE = "childAlert";
+    public static final String COMMUNITY_EMAIL_CACHE = "communityEmail";
+    public static final String PERSON_INFO_CACHE = "personInfo";
+
+    // caches of the JSON responses of the hot endpoints, serialized once (enabled when declared in spring.cache.cache-names)
+    public static final String FIRE_JSON_CACHE = "fireJson";
+    public static final String FIRE_STATION_COVERAGE_JSON_CACHE = "fireStationCoverageJson";
+    public static final String CHILD_ALERT_JSON_CACHE = "childAlertJson";
+}
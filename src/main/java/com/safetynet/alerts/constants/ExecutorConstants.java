@@ -0,0 +1,10 @@
+package com.safetynet.alerts.constants;
+
+public class ExecutorConstants {
+    // names of the executors answering the controllers (tag name of the executor metrics)
+    public static final String ALERTS_EXECUTOR = "alertsExecutor";
+    public static final String CRUD_EXECUTOR = "crudExecutor";
+
+    // reason of the 503 answered when the queue of an executor is full
+    public static final String EXECUTOR_SATURATED = "Too many requests waiting, retry later";
+}
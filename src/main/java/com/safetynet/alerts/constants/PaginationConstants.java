@@ -0,0 +1,11 @@
+package com.safetynet.alerts.constants;
+
+public class PaginationConstants {
+    // header of a page of data giving the continuation token of the next page (absent on the last page)
+    public static final String CONTINUATION_TOKEN_HEADER = "X-Continuation-Token";
+
+    // paginated collections, a continuation token being valid only for its collection
+    public static final String PERSONS_COLLECTION = "persons";
+    public static final String FIRE_STATIONS_COLLECTION = "firestations";
+    public static final String MEDICAL_RECORDS_COLLECTION = "medicalrecords";
+}
@@ -0,0 +1,6 @@
+package com.safetynet.alerts.constants;
+
+public class PersistenceConstants {
+    // number of ids reserved at each call to a sequence (pooled optimizer), allowing JDBC batching of inserts
+    public static final int ID_ALLOCATION_SIZE = 50;
+}
@@ -0,0 +1,16 @@
+package com.safetynet.alerts.constants;
+
+public class SparseFieldsConstants {
+    // id of the JSON filter keeping only the fields requested with the fields= parameter
+    public static final String SPARSE_FIELDS_FILTER = "sparseFields";
+
+    // fields whose value is read from the medical record (age from the birthdate)
+    public static final String AGE_FIELD = "age";
+    public static final String MEDICATIONS_FIELD = "medications";
+    public static final String ALLERGIES_FIELD = "allergies";
+
+    // fields of the fire station coverage
+    public static final String PERSON_COVERED_CONTACTS_FIELD = "personCoveredContactsDTOList";
+    public static final String NUMBER_OF_ADULTS_FIELD = "numberOfAdults";
+    public static final String NUMBER_OF_CHILDREN_FIELD = "numberOfChildren";
+}
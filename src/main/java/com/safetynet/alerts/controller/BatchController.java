@@ -0,0 +1,62 @@
+package com.safetynet.alerts.controller;
+
+import com.safetynet.alerts.model.dto.SubQueryDTO;
+import com.safetynet.alerts.model.dto.SubQueryResultDTO;
+import com.safetynet.alerts.service.IAlertsBatchService;
+import com.safetynet.alerts.util.AsyncExecution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@RestController
+public class BatchController {
+
+    private final IAlertsBatchService alertsBatchService;
+
+    private final AsyncExecution asyncExecution;
+
+    @Autowired
+    public BatchController(IAlertsBatchService alertsBatchService, AsyncExecution asyncExecution) {
+        this.alertsBatchService = alertsBatchService;
+        this.asyncExecution = asyncExecution;
+    }
+
+
+    /**
+     * Read - Get the results of several alert endpoints in one round trip (e.g. for the same station),
+     * answered on the same state of the data
+     *
+     * @param listOfSubQueries the sub-queries, each one with its endpoint and parameters
+     * @return - A result by sub-query, with the status and the body its endpoint would have answered
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<List<SubQueryResultDTO>>> getSubQueryResults(
+            @RequestBody List<SubQueryDTO> listOfSubQueries) {
+        return asyncExecution.supplyAlert(() -> {
+
+            log.info("POST request on endpoint /batch received for " + listOfSubQueries.size() + " sub-queries");
+
+            List<SubQueryResultDTO> listOfSubQueryResults = alertsBatchService.getSubQueryResults(listOfSubQueries);
+
+            if (listOfSubQueryResults == null) {
+                log.error("error when answering the sub-queries of the batch \n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            } else {
+                log.info("response to POST request on endpoint /batch sent with "
+                        + listOfSubQueryResults.size() + " sub-query results \n");
+                return new ResponseEntity<>(listOfSubQueryResults, HttpStatus.OK);
+            }
+        });
+    }
+}
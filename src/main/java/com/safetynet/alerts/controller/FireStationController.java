@@ -3,12 +3,22 @@ package com.safetynet.alerts.controller;
 import com.safetynet.alerts.exceptions.AlreadyExistsException;
 import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.FireDTO;
 import com.safetynet.alerts.model.dto.FireStationDTO;
 import com.safetynet.alerts.model.dto.FloodDTO;
+import com.safetynet.alerts.model.dto.PersonCoveredDTO;
 import com.safetynet.alerts.service.IFireStationService;
+import com.safetynet.alerts.util.AsyncExecution;
+import com.safetynet.alerts.util.DataVersions;
+import com.safetynet.alerts.util.JsonArrayStreamer;
+import com.safetynet.alerts.util.JsonResponseCache;
+import com.safetynet.alerts.util.JsonResponseCache.JsonResponse;
+import com.safetynet.alerts.util.Pagination;
+import com.safetynet.alerts.util.SparseFields;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +27,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_JSON_CACHE;
+import static com.safetynet.alerts.constants.PaginationConstants.FIRE_STATIONS_COLLECTION;
 
 @Slf4j
 @RestController
@@ -30,25 +47,71 @@ public class FireStationController {
 
     private final IFireStationService fireStationService;
 
+    private final JsonResponseCache jsonResponseCache;
+
+    private final DataVersions dataVersions;
+
+    private final JsonArrayStreamer jsonArrayStreamer;
+
+    private final Pagination pagination;
+
+    private final SparseFields sparseFields;
+
+    private final AsyncExecution asyncExecution;
+
     @Autowired
-    public FireStationController(IFireStationService fireStationService) {
+    public FireStationController(IFireStationService fireStationService, JsonResponseCache jsonResponseCache,
+                                 DataVersions dataVersions, JsonArrayStreamer jsonArrayStreamer,
+                                 Pagination pagination, SparseFields sparseFields, AsyncExecution asyncExecution) {
         this.fireStationService = fireStationService;
+        this.jsonResponseCache = jsonResponseCache;
+        this.dataVersions = dataVersions;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.pagination = pagination;
+        this.sparseFields = sparseFields;
+        this.asyncExecution = asyncExecution;
     }
 
 
     /**
-     * Read - Get all fire stations
+     * Read - Get all fire stations, or a page of fire stations if a page size or a continuation token is given
      *
-     * @return - An Iterable object of FireStation full filled
+     * @param pageSize          the number of fire stations of a page, if paginated (default and max in data.page properties)
+     * @param continuationToken the token given with the previous page (X-Continuation-Token header), if any
+     * @return - A JSON array of FireStation full filled, streamed from the DB
      */
     @GetMapping(value = "/firestations", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Iterable<FireStationDTO>> getAllFireStations() {
+    public ResponseEntity<StreamingResponseBody> getAllFireStations(@RequestParam(required = false) Integer pageSize,
+                                                                    @RequestParam(required = false) String continuationToken) {
         log.info("GET request on endpoint /firestations received");
 
-        List<FireStationDTO> listOfFireStationsDTO = (List<FireStationDTO>) fireStationService.getAllFireStations();
-        log.info("response to GET request on endpoint /firestations sent with "
-                + listOfFireStationsDTO.size() + " values \n");
-        return new ResponseEntity<>(listOfFireStationsDTO, HttpStatus.OK);
+        if (pageSize != null || continuationToken != null) {
+            Integer checkedPageSize = pagination.getPageSize(pageSize);
+            Long lastFireStationId = pagination.getLastId(FIRE_STATIONS_COLLECTION, continuationToken);
+            if (checkedPageSize == null || lastFireStationId == null) {
+                log.error("error when getting a page of fire stations of size " + pageSize
+                        + " with continuation token " + continuationToken + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+
+            List<FireStationDTO> pageOfFireStationsDTO = fireStationService.getPageOfFireStations(lastFireStationId,
+                    checkedPageSize);
+
+            log.info("response to GET request on endpoint /firestations sent with a page of "
+                    + pageOfFireStationsDTO.size() + " values \n");
+            return ResponseEntity.ok()
+                    .headers(pagination.getPageHeaders(FIRE_STATIONS_COLLECTION, pageOfFireStationsDTO, checkedPageSize,
+                            FireStationDTO::getFireStationId))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> jsonArrayStreamer.writeArray(outputStream, pageOfFireStationsDTO));
+        }
+
+        StreamingResponseBody listOfFireStationsDTO = outputStream -> {
+            long nbOfFireStations = jsonArrayStreamer.<FireStationDTO>writeArray(outputStream,
+                    fireStationService::streamAllFireStations);
+            log.info("response to GET request on endpoint /firestations sent with " + nbOfFireStations + " values \n");
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfFireStationsDTO);
     }
 
 
@@ -56,26 +119,81 @@ public class FireStationController {
      * Read - Get person information about people living at the given address
      * and the number of the fire station covering this address
      *
-     * @param address the address we want to get the information from
-     * @return - A FireDTO filled with information
+     * @param address        the address we want to get the information from
+     * @param fields         the fields of the persons to send (e.g. lastName,phone), if not all of them
+     * @param acceptEncoding the encodings accepted by the client, if any (gzip)
+     * @param ifNoneMatch    the ETags of the response already got by the client, if any
+     * @return - A FireDTO filled with information, serialized in JSON (not modified if the ETag of the address matches)
      */
     @GetMapping(value = "/fire", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<FireDTO> getFireStationCoverageByAddress(@RequestParam String address) {
+    public CompletableFuture<ResponseEntity<byte[]>> getFireStationCoverageByAddress(@RequestParam String address,
+                                                                  @RequestParam(required = false) Set<String> fields,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return asyncExecution.supplyAlert(() -> {
 
-        log.info("GET request on endpoint /fire received for address: " + address);
+            log.info("GET request on endpoint /fire received for address: " + address);
 
-        FireDTO fireDTO
-                = fireStationService.getFireStationCoverageByAddress(address);
+            if (!sparseFields.areValid(PersonCoveredDTO.class, fields)) {
+                log.error("invalid fields " + fields + " requested on endpoint /fire \n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
 
-        if (fireDTO == null) {
-            log.error("error when getting the fire station coverage for address: " + address + " \n");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            String eTag = SparseFields.toETag(dataVersions.getAddressETag(address), fields);
+            String matchingETag = DataVersions.getMatchingETag(ifNoneMatch, eTag);
+            if (matchingETag != null) {
+                log.info("response to GET request on endpoint /fire sent for address: " + address + " not modified \n");
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matchingETag).build();
+            }
 
-        } else {
-            log.info("response to GET request on endpoint /fire sent for for address: "
-                    + address + " with " + fireDTO.getPersonCoveredDTOList().size() + " values \n");
-            return new ResponseEntity<>(fireDTO, HttpStatus.OK);
-        }
+            //a sparse response is not cached, its cache entries not being evicted with the ones of the address
+            JsonResponse<FireDTO> fireResponse = (fields == null)
+                    ? jsonResponseCache.get(FIRE_JSON_CACHE, address,
+                    () -> fireStationService.getFireStationCoverageByAddress(address))
+                    : jsonResponseCache.getUncached(sparseFields.getWriter(fields),
+                    () -> fireStationService.getFireStationCoverageByAddress(address, fields));
+
+            if (fireResponse == null) {
+                log.error("error when getting the fire station coverage for address: " + address + " \n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            } else {
+                log.info("response to GET request on endpoint /fire sent for for address: "
+                        + address + " with " + fireResponse.getBody().getPersonCoveredDTOList().size() + " values \n");
+                return fireResponse.toResponseEntity(acceptEncoding, eTag);
+            }
+        });
+    }
+
+
+    /**
+     * Read - Get person information about people living at each address of a batch
+     * and the number of the fire station covering it, read with one query per entity type
+     *
+     * @param listOfAddresses the addresses we want to get the information from
+     * @return - A FireDTO by address, and the addresses without person as misses
+     */
+    @PostMapping(value = "/fire/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<BatchDTO<FireDTO>>> getFireStationCoverageByAddresses(
+            @RequestBody List<String> listOfAddresses) {
+        return asyncExecution.supplyAlert(() -> {
+
+            log.info("POST request on endpoint /fire/batch received for " + listOfAddresses.size() + " addresses");
+
+            BatchDTO<FireDTO> fireBatchDTO = fireStationService.getFireStationCoverageByAddresses(listOfAddresses);
+
+            if (fireBatchDTO == null) {
+                log.error("error when getting the fire station coverage for addresses: " + listOfAddresses + " \n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            } else {
+                log.info("response to POST request on endpoint /fire/batch sent with "
+                        + fireBatchDTO.getResults().size() + " addresses found and "
+                        + fireBatchDTO.getMisses().size() + " missed \n");
+                return new ResponseEntity<>(fireBatchDTO, HttpStatus.OK);
+            }
+        });
     }
 
 
@@ -84,25 +202,38 @@ public class FireStationController {
      * for a given list of station number et grouped by station number and address
      *
      * @param listOfStationNumbers the address we want to get the information from
-     * @return - A list of FloodDTO filled with information
+     * @param ifNoneMatch          the ETags of the response already got by the client, if any
+     * @return - A list of FloodDTO filled with information (not modified if the ETag of the stations matches)
      */
     @GetMapping(value = "/flood/stations", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<FloodDTO>> getFloodByStationNumbers(@RequestParam("stations") List<Integer> listOfStationNumbers) {
-
-        log.info("GET request on endpoint /flood/stations received for station numbers: " + listOfStationNumbers);
+    public CompletableFuture<ResponseEntity<List<FloodDTO>>> getFloodByStationNumbers(
+            @RequestParam("stations") List<Integer> listOfStationNumbers,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return asyncExecution.supplyAlert(() -> {
+
+            log.info("GET request on endpoint /flood/stations received for station numbers: " + listOfStationNumbers);
+
+            String eTag = dataVersions.getStationsETag(listOfStationNumbers);
+            String matchingETag = DataVersions.getMatchingETag(ifNoneMatch, eTag);
+            if (matchingETag != null) {
+                log.info("response to GET request on endpoint /flood/stations sent for stations: "
+                        + listOfStationNumbers + " not modified \n");
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matchingETag).build();
+            }
 
-        List<FloodDTO> listOfFloodDTO
-                = fireStationService.getFloodByStationNumbers(listOfStationNumbers);
+            List<FloodDTO> listOfFloodDTO
+                    = fireStationService.getFloodByStationNumbers(listOfStationNumbers);
 
-        if (listOfFloodDTO == null) {
-            log.error("error when getting the flood for stations: " + listOfStationNumbers + " \n");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            if (listOfFloodDTO == null) {
+                log.error("error when getting the flood for stations: " + listOfStationNumbers + " \n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 
-        } else {
-            log.info("response to GET request on endpoint /flood/stations sent for for stations: "
-                    + listOfStationNumbers + " with " + listOfFloodDTO.size() + " values \n");
-            return new ResponseEntity<>(listOfFloodDTO, HttpStatus.OK);
-        }
+            } else {
+                log.info("response to GET request on endpoint /flood/stations sent for for stations: "
+                        + listOfStationNumbers + " with " + listOfFloodDTO.size() + " values \n");
+                return ResponseEntity.ok().eTag(eTag).body(listOfFloodDTO);
+            }
+        });
     }
 
 
@@ -114,34 +245,37 @@ public class FireStationController {
      */
     @PostMapping(value = "/firestation", consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<FireStationDTO> addFireStation(@RequestBody FireStationDTO fireStationDTOToAdd) {
-
-        log.info("POST request on endpoint /firestation received for fire station n°"
-                + fireStationDTOToAdd.getStationNumber());
-
-        try {
-            Optional<FireStationDTO> addedFireStationDTO = fireStationService.addFireStation(fireStationDTOToAdd);
-
-            if (addedFireStationDTO.isPresent()) {
-                log.info("address/fire station mapping has been updated for fire station n°"
-                        + fireStationDTOToAdd.getStationNumber()
-                        + " with id: " + addedFireStationDTO.get().getFireStationId() + " \n");
-                return new ResponseEntity<>(addedFireStationDTO.get(), HttpStatus.CREATED);
-
-            } else {
-                log.error("address/fire station mapping has not been updated for fire station: "
-                        + fireStationDTOToAdd + " \n");
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    public CompletableFuture<ResponseEntity<FireStationDTO>> addFireStation(
+            @RequestBody FireStationDTO fireStationDTOToAdd) {
+        return asyncExecution.supplyCrud(() -> {
+
+            log.info("POST request on endpoint /firestation received for fire station n°"
+                    + fireStationDTOToAdd.getStationNumber());
+
+            try {
+                Optional<FireStationDTO> addedFireStationDTO = fireStationService.addFireStation(fireStationDTOToAdd);
+
+                if (addedFireStationDTO.isPresent()) {
+                    log.info("address/fire station mapping has been updated for fire station n°"
+                            + fireStationDTOToAdd.getStationNumber()
+                            + " with id: " + addedFireStationDTO.get().getFireStationId() + " \n");
+                    return new ResponseEntity<>(addedFireStationDTO.get(), HttpStatus.CREATED);
+
+                } else {
+                    log.error("address/fire station mapping has not been updated for fire station: "
+                            + fireStationDTOToAdd + " \n");
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+
+            } catch (AlreadyExistsException alreadyExistsException) {
+                log.error(alreadyExistsException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.CONFLICT, alreadyExistsException.getMessage());
+
+            } catch (Exception e) {
+                log.error(e.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
             }
-
-        } catch (AlreadyExistsException alreadyExistsException) {
-            log.error(alreadyExistsException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.CONFLICT, alreadyExistsException.getMessage());
-
-        } catch (Exception e) {
-            log.error(e.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+        });
     }
 
 
@@ -153,33 +287,36 @@ public class FireStationController {
      */
     @PutMapping(value = "/firestation", consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<FireStationDTO> updateFireStation(@RequestBody FireStationDTO fireStationDTOToUpdate) {
-
-        log.info("PUT request on endpoint /firestation received for address: "
-                + fireStationDTOToUpdate.getAddress());
-
-        try {
-            Optional<FireStationDTO> updatedFireStationDTO = fireStationService.updateFireStation(fireStationDTOToUpdate);
-
-            if (updatedFireStationDTO.isPresent()) {
-                log.info("new station number has been saved for address : "
-                        + fireStationDTOToUpdate.getAddress()
-                        + " at id: " + updatedFireStationDTO.get().getFireStationId() + " \n");
-                return new ResponseEntity<>(updatedFireStationDTO.get(), HttpStatus.OK);
-
-            } else {
-                log.error("new station number has not been saved for address: "
-                        + fireStationDTOToUpdate.getAddress() + " \n");
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    public CompletableFuture<ResponseEntity<FireStationDTO>> updateFireStation(
+            @RequestBody FireStationDTO fireStationDTOToUpdate) {
+        return asyncExecution.supplyCrud(() -> {
+
+            log.info("PUT request on endpoint /firestation received for address: "
+                    + fireStationDTOToUpdate.getAddress());
+
+            try {
+                Optional<FireStationDTO> updatedFireStationDTO = fireStationService.updateFireStation(fireStationDTOToUpdate);
+
+                if (updatedFireStationDTO.isPresent()) {
+                    log.info("new station number has been saved for address : "
+                            + fireStationDTOToUpdate.getAddress()
+                            + " at id: " + updatedFireStationDTO.get().getFireStationId() + " \n");
+                    return new ResponseEntity<>(updatedFireStationDTO.get(), HttpStatus.OK);
+
+                } else {
+                    log.error("new station number has not been saved for address: "
+                            + fireStationDTOToUpdate.getAddress() + " \n");
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+            } catch (DoesNotExistException doesNotExistException) {
+                log.error(doesNotExistException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
+
+            } catch (Exception e) {
+                log.error(e.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
             }
-        } catch (DoesNotExistException doesNotExistException) {
-            log.error(doesNotExistException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
-
-        } catch (Exception e) {
-            log.error(e.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+        });
     }
 
 
@@ -190,32 +327,34 @@ public class FireStationController {
      * @return Http status
      */
     @DeleteMapping(value = "/firestation/address")
-    public ResponseEntity<?> deleteFireStationByAddress(@RequestParam String address) {
+    public CompletableFuture<ResponseEntity<?>> deleteFireStationByAddress(@RequestParam String address) {
+        return asyncExecution.supplyCrud(() -> {
 
-        log.info("DELETE request on endpoint /firestation/address received for address: " + address);
+            log.info("DELETE request on endpoint /firestation/address received for address: " + address);
 
-        try {
-            FireStation deletedFireStation = fireStationService.deleteFireStationByAddress(address);
+            try {
+                FireStation deletedFireStation = fireStationService.deleteFireStationByAddress(address);
 
-            if (deletedFireStation != null) {
-                log.info("fire station with id :" + deletedFireStation.getFireStationId()
-                        + " and station number: " + deletedFireStation.getStationNumber()
-                        + " has been deleted for address " + address + " \n");
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                if (deletedFireStation != null) {
+                    log.info("fire station with id :" + deletedFireStation.getFireStationId()
+                            + " and station number: " + deletedFireStation.getStationNumber()
+                            + " has been deleted for address " + address + " \n");
+                    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 
-            } else {
-                log.info("No fire station has been deleted for address " + address + " \n");
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-            }
+                } else {
+                    log.info("No fire station has been deleted for address " + address + " \n");
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
 
-        } catch (DoesNotExistException doesNotExistException) {
-            log.error(doesNotExistException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
+            } catch (DoesNotExistException doesNotExistException) {
+                log.error(doesNotExistException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
 
-        } catch (Exception e) {
-            log.error(e.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+            } catch (Exception e) {
+                log.error(e.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        });
     }
 
 
@@ -226,30 +365,33 @@ public class FireStationController {
      * @return Http status
      */
     @DeleteMapping(value = "/firestation/station")
-    public ResponseEntity<?> deleteFireStationByStationNumber(@RequestParam("stationNumber") Integer stationNumber) {
+    public CompletableFuture<ResponseEntity<?>> deleteFireStationByStationNumber(
+            @RequestParam("stationNumber") Integer stationNumber) {
+        return asyncExecution.supplyCrud(() -> {
 
-        log.info("DELETE request on endpoint /firestation/station received for station n° " + stationNumber);
+            log.info("DELETE request on endpoint /firestation/station received for station n° " + stationNumber);
 
-        try {
-            List<FireStation> deletedFireStations = fireStationService.deleteFireStationByStationNumber(stationNumber);
+            try {
+                List<FireStation> deletedFireStations = fireStationService.deleteFireStationByStationNumber(stationNumber);
 
-            if (deletedFireStations != null && !deletedFireStations.isEmpty()) {
-                log.info(deletedFireStations.size() + " fire stations have been deleted for station n°" + stationNumber + " \n");
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                if (deletedFireStations != null && !deletedFireStations.isEmpty()) {
+                    log.info(deletedFireStations.size() + " fire stations have been deleted for station n°" + stationNumber + " \n");
+                    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 
-            } else {
-                log.info("No fire station has been deleted for station n°" + stationNumber + " \n");
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-            }
+                } else {
+                    log.info("No fire station has been deleted for station n°" + stationNumber + " \n");
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
 
-        } catch (DoesNotExistException doesNotExistException) {
-            log.error(doesNotExistException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
+            } catch (DoesNotExistException doesNotExistException) {
+                log.error(doesNotExistException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
 
-        } catch (Exception e) {
-            log.error(e.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+            } catch (Exception e) {
+                log.error(e.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        });
     }
 
 }
@@ -5,6 +5,9 @@ import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.model.MedicalRecord;
 import com.safetynet.alerts.model.dto.MedicalRecordDTO;
 import com.safetynet.alerts.service.IMedicalRecordService;
+import com.safetynet.alerts.util.AsyncExecution;
+import com.safetynet.alerts.util.JsonArrayStreamer;
+import com.safetynet.alerts.util.Pagination;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -18,9 +21,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.safetynet.alerts.constants.PaginationConstants.MEDICAL_RECORDS_COLLECTION;
 
 @Slf4j
 @RestController
@@ -28,25 +35,61 @@ public class MedicalRecordController {
 
     private final IMedicalRecordService medicalRecordService;
 
+    private final JsonArrayStreamer jsonArrayStreamer;
+
+    private final Pagination pagination;
+
+    private final AsyncExecution asyncExecution;
+
     @Autowired
-    public MedicalRecordController(IMedicalRecordService medicalRecordService) {
+    public MedicalRecordController(IMedicalRecordService medicalRecordService, JsonArrayStreamer jsonArrayStreamer,
+                                   Pagination pagination, AsyncExecution asyncExecution) {
         this.medicalRecordService = medicalRecordService;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.pagination = pagination;
+        this.asyncExecution = asyncExecution;
     }
 
     /**
-     * Read - Get all medical records
+     * Read - Get all medical records, or a page of medical records if a page size or a continuation token is given
      *
-     * @return - An Iterable object of MedicalRecord full filled
+     * @param pageSize          the number of medical records of a page, if paginated (default and max in data.page properties)
+     * @param continuationToken the token given with the previous page (X-Continuation-Token header), if any
+     * @return - A JSON array of MedicalRecord full filled, streamed from the DB
      */
     @GetMapping(value = "/medicalrecords", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Iterable<MedicalRecordDTO>> getAllMedicalRecords() {
+    public ResponseEntity<StreamingResponseBody> getAllMedicalRecords(@RequestParam(required = false) Integer pageSize,
+                                                                      @RequestParam(required = false) String continuationToken) {
         log.info("GET request on endpoint /medicalrecords received");
 
-        List<MedicalRecordDTO> listOfMedicalRecordsDTO = (List<MedicalRecordDTO>) medicalRecordService.getAllMedicalRecords();
+        if (pageSize != null || continuationToken != null) {
+            Integer checkedPageSize = pagination.getPageSize(pageSize);
+            Long lastMedicalRecordId = pagination.getLastId(MEDICAL_RECORDS_COLLECTION, continuationToken);
+            if (checkedPageSize == null || lastMedicalRecordId == null) {
+                log.error("error when getting a page of medical records of size " + pageSize
+                        + " with continuation token " + continuationToken + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+
+            List<MedicalRecordDTO> pageOfMedicalRecordsDTO = medicalRecordService.getPageOfMedicalRecords(
+                    lastMedicalRecordId, checkedPageSize);
 
-        log.info("response to GET request on endpoint /medicalrecords sent with "
-                + listOfMedicalRecordsDTO.size() + " values \n");
-        return new ResponseEntity<>(listOfMedicalRecordsDTO, HttpStatus.OK);
+            log.info("response to GET request on endpoint /medicalrecords sent with a page of "
+                    + pageOfMedicalRecordsDTO.size() + " values \n");
+            return ResponseEntity.ok()
+                    .headers(pagination.getPageHeaders(MEDICAL_RECORDS_COLLECTION, pageOfMedicalRecordsDTO,
+                            checkedPageSize, MedicalRecordDTO::getMedicalRecordId))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> jsonArrayStreamer.writeArray(outputStream, pageOfMedicalRecordsDTO));
+        }
+
+        StreamingResponseBody listOfMedicalRecordsDTO = outputStream -> {
+            long nbOfMedicalRecords = jsonArrayStreamer.<MedicalRecordDTO>writeArray(outputStream,
+                    medicalRecordService::streamAllMedicalRecords);
+            log.info("response to GET request on endpoint /medicalrecords sent with "
+                    + nbOfMedicalRecords + " values \n");
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfMedicalRecordsDTO);
     }
 
 
@@ -58,32 +101,35 @@ public class MedicalRecordController {
      */
     @PostMapping(value = "/medicalRecord", consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<MedicalRecordDTO> addMedicalRecord(@RequestBody MedicalRecordDTO medicalRecordDTOToAdd) {
-
-        log.info("POST request on endpoint /medicalRecord received for medical record "
-                + medicalRecordDTOToAdd.getFirstName() + " " + medicalRecordDTOToAdd.getLastName());
-
-        try {
-            Optional<MedicalRecordDTO> addedMedicalRecordDTO = medicalRecordService.addMedicalRecord(medicalRecordDTOToAdd);
-
-            if (addedMedicalRecordDTO.isPresent()) {
-                log.info("new medical record " + medicalRecordDTOToAdd.getFirstName() + medicalRecordDTOToAdd.getLastName() + " has been saved "
-                        + " with id: " + addedMedicalRecordDTO.get().getMedicalRecordId() + "\n");
-                return new ResponseEntity<>(addedMedicalRecordDTO.get(), HttpStatus.CREATED);
-            } else {
-                log.error("new medical record " + medicalRecordDTOToAdd + " has not been saved \n");
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    public CompletableFuture<ResponseEntity<MedicalRecordDTO>> addMedicalRecord(
+            @RequestBody MedicalRecordDTO medicalRecordDTOToAdd) {
+        return asyncExecution.supplyCrud(() -> {
+
+            log.info("POST request on endpoint /medicalRecord received for medical record "
+                    + medicalRecordDTOToAdd.getFirstName() + " " + medicalRecordDTOToAdd.getLastName());
+
+            try {
+                Optional<MedicalRecordDTO> addedMedicalRecordDTO = medicalRecordService.addMedicalRecord(medicalRecordDTOToAdd);
+
+                if (addedMedicalRecordDTO.isPresent()) {
+                    log.info("new medical record " + medicalRecordDTOToAdd.getFirstName() + medicalRecordDTOToAdd.getLastName() + " has been saved "
+                            + " with id: " + addedMedicalRecordDTO.get().getMedicalRecordId() + "\n");
+                    return new ResponseEntity<>(addedMedicalRecordDTO.get(), HttpStatus.CREATED);
+                } else {
+                    log.error("new medical record " + medicalRecordDTOToAdd + " has not been saved \n");
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+
+            } catch (AlreadyExistsException alreadyExistsException) {
+                log.error(alreadyExistsException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.CONFLICT, alreadyExistsException.getMessage());
+
+            } catch (Exception e) {
+                log.error(e.getMessage());
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
             }
 
-        } catch (AlreadyExistsException alreadyExistsException) {
-            log.error(alreadyExistsException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.CONFLICT, alreadyExistsException.getMessage());
-
-        } catch (Exception e) {
-            log.error(e.getMessage());
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
-
+        });
     }
 
 
@@ -95,32 +141,35 @@ public class MedicalRecordController {
      */
     @PutMapping(value = "/medicalRecord", consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<MedicalRecordDTO> updateMedicalRecord(@RequestBody MedicalRecordDTO medicalRecordDTOToUpdate) {
-
-        log.info("PUT request on endpoint /medicalRecord received for person "
-                + medicalRecordDTOToUpdate.getFirstName() + " " + medicalRecordDTOToUpdate.getLastName());
-
-        try {
-            Optional<MedicalRecordDTO> updatedMedicalRecordDTO = medicalRecordService.updateMedicalRecord(medicalRecordDTOToUpdate);
-
-            if (updatedMedicalRecordDTO.isPresent()) {
-                log.info("Medical record " + medicalRecordDTOToUpdate.getFirstName() + medicalRecordDTOToUpdate.getLastName() + " has been updated "
-                        + " with id: " + updatedMedicalRecordDTO.get().getMedicalRecordId() + "\n");
-                return new ResponseEntity<>(updatedMedicalRecordDTO.get(), HttpStatus.OK);
-            } else {
-                log.error("Medical record " + medicalRecordDTOToUpdate + " has not been updated \n");
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    public CompletableFuture<ResponseEntity<MedicalRecordDTO>> updateMedicalRecord(
+            @RequestBody MedicalRecordDTO medicalRecordDTOToUpdate) {
+        return asyncExecution.supplyCrud(() -> {
+
+            log.info("PUT request on endpoint /medicalRecord received for person "
+                    + medicalRecordDTOToUpdate.getFirstName() + " " + medicalRecordDTOToUpdate.getLastName());
+
+            try {
+                Optional<MedicalRecordDTO> updatedMedicalRecordDTO = medicalRecordService.updateMedicalRecord(medicalRecordDTOToUpdate);
+
+                if (updatedMedicalRecordDTO.isPresent()) {
+                    log.info("Medical record " + medicalRecordDTOToUpdate.getFirstName() + medicalRecordDTOToUpdate.getLastName() + " has been updated "
+                            + " with id: " + updatedMedicalRecordDTO.get().getMedicalRecordId() + "\n");
+                    return new ResponseEntity<>(updatedMedicalRecordDTO.get(), HttpStatus.OK);
+                } else {
+                    log.error("Medical record " + medicalRecordDTOToUpdate + " has not been updated \n");
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+
+            } catch (DoesNotExistException doesNotExistException) {
+                log.error(doesNotExistException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
+
+            } catch (Exception e) {
+                log.error(e.getMessage());
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
             }
 
-        } catch (DoesNotExistException doesNotExistException) {
-            log.error(doesNotExistException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
-
-        } catch (Exception e) {
-            log.error(e.getMessage());
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
-
+        });
     }
 
 
@@ -132,33 +181,35 @@ public class MedicalRecordController {
      * @return Http status
      */
     @DeleteMapping(value = "/medicalRecord")
-    public ResponseEntity<?> deleteMedicalRecordByFirstNameAndLastName(
+    public CompletableFuture<ResponseEntity<?>> deleteMedicalRecordByFirstNameAndLastName(
             @RequestParam String firstName, @RequestParam String lastName) {
+        return asyncExecution.supplyCrud(() -> {
 
-        log.info("DELETE request on endpoint /medicalRecord received for person: " + firstName + " " + lastName);
+            log.info("DELETE request on endpoint /medicalRecord received for person: " + firstName + " " + lastName);
 
-        try {
-            MedicalRecord deletedMedicalRecord = medicalRecordService.deleteMedicalRecordByFirstNameAndLastName(firstName, lastName);
+            try {
+                MedicalRecord deletedMedicalRecord = medicalRecordService.deleteMedicalRecordByFirstNameAndLastName(firstName, lastName);
 
-            if (deletedMedicalRecord != null) {
-                log.info("Medical record with id :" + deletedMedicalRecord.getMedicalRecordId()
-                        + " has been deleted for person " + deletedMedicalRecord.getFirstName()
-                        + " " + deletedMedicalRecord.getLastName() + " \n");
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                if (deletedMedicalRecord != null) {
+                    log.info("Medical record with id :" + deletedMedicalRecord.getMedicalRecordId()
+                            + " has been deleted for person " + deletedMedicalRecord.getFirstName()
+                            + " " + deletedMedicalRecord.getLastName() + " \n");
+                    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 
-            } else {
-                log.info("No medical record has been deleted for person: " + firstName + " " + lastName + " \n");
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-            }
+                } else {
+                    log.info("No medical record has been deleted for person: " + firstName + " " + lastName + " \n");
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
 
-        } catch (DoesNotExistException doesNotExistException) {
-            log.error(doesNotExistException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
+            } catch (DoesNotExistException doesNotExistException) {
+                log.error(doesNotExistException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
 
-        } catch (Exception e) {
-            log.error(e.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+            } catch (Exception e) {
+                log.error(e.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        });
     }
 
 }
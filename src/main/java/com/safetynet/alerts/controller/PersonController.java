@@ -3,13 +3,23 @@ package com.safetynet.alerts.controller;
 import com.safetynet.alerts.exceptions.AlreadyExistsException;
 import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.ChildAlertDTO;
 import com.safetynet.alerts.model.dto.FireStationCoverageDTO;
 import com.safetynet.alerts.model.dto.PersonDTO;
 import com.safetynet.alerts.model.dto.PersonInfoDTO;
+import com.safetynet.alerts.model.dto.PersonNameDTO;
 import com.safetynet.alerts.service.IPersonService;
+import com.safetynet.alerts.util.AsyncExecution;
+import com.safetynet.alerts.util.DataVersions;
+import com.safetynet.alerts.util.JsonArrayStreamer;
+import com.safetynet.alerts.util.JsonResponseCache;
+import com.safetynet.alerts.util.JsonResponseCache.JsonResponse;
+import com.safetynet.alerts.util.Pagination;
+import com.safetynet.alerts.util.SparseFields;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,12 +28,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.safetynet.alerts.constants.CacheConstants.CHILD_ALERT_JSON_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_STATION_COVERAGE_JSON_CACHE;
+import static com.safetynet.alerts.constants.PaginationConstants.PERSONS_COLLECTION;
 
 @Slf4j
 @RestController
@@ -31,26 +49,79 @@ public class PersonController {
 
     private final IPersonService personService;
 
+    private final JsonResponseCache jsonResponseCache;
+
+    private final DataVersions dataVersions;
+
+    private final JsonArrayStreamer jsonArrayStreamer;
+
+    private final Pagination pagination;
+
+    private final SparseFields sparseFields;
+
+    private final AsyncExecution asyncExecution;
+
     @Autowired
-    public PersonController(IPersonService personService) {
+    public PersonController(IPersonService personService, JsonResponseCache jsonResponseCache,
+                            DataVersions dataVersions, JsonArrayStreamer jsonArrayStreamer, Pagination pagination,
+                            SparseFields sparseFields, AsyncExecution asyncExecution) {
         this.personService = personService;
+        this.jsonResponseCache = jsonResponseCache;
+        this.dataVersions = dataVersions;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.pagination = pagination;
+        this.sparseFields = sparseFields;
+        this.asyncExecution = asyncExecution;
     }
 
 
     /**
-     * Read - Get all persons
+     * Read - Get all persons, or a page of persons if a page size or a continuation token is given
      *
-     * @return - An Iterable object of Person
+     * @param pageSize          the number of persons of a page, if paginated (default and max in data.page properties)
+     * @param continuationToken the token given with the previous page (X-Continuation-Token header), if any
+     * @param ifNoneMatch       the ETags of the response already got by the client, if any
+     * @return - A JSON array of Person, streamed from the DB (not modified if the global ETag matches)
      */
     @GetMapping(value = "/persons", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Iterable<PersonDTO>> getAllPersons() {
+    public ResponseEntity<StreamingResponseBody> getAllPersons(@RequestParam(required = false) Integer pageSize,
+                                                               @RequestParam(required = false) String continuationToken,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("GET request on endpoint /persons received");
 
-        List<PersonDTO> listOfPersonsDTO = (List<PersonDTO>) personService.getAllPersons();
+        String eTag = dataVersions.getGlobalETag();
+        String matchingETag = DataVersions.getMatchingETag(ifNoneMatch, eTag);
+        if (matchingETag != null) {
+            log.info("response to GET request on endpoint /persons sent not modified \n");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matchingETag).build();
+        }
+
+        if (pageSize != null || continuationToken != null) {
+            Integer checkedPageSize = pagination.getPageSize(pageSize);
+            Long lastPersonId = pagination.getLastId(PERSONS_COLLECTION, continuationToken);
+            if (checkedPageSize == null || lastPersonId == null) {
+                log.error("error when getting a page of persons of size " + pageSize
+                        + " with continuation token " + continuationToken + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+
+            List<PersonDTO> pageOfPersonsDTO = personService.getPageOfPersons(lastPersonId, checkedPageSize);
 
-        log.info("response to GET request on endpoint /persons sent with "
-                + listOfPersonsDTO.size() + " values \n");
-        return new ResponseEntity<>(listOfPersonsDTO, HttpStatus.OK);
+            log.info("response to GET request on endpoint /persons sent with a page of "
+                    + pageOfPersonsDTO.size() + " values \n");
+            return ResponseEntity.ok()
+                    .headers(pagination.getPageHeaders(PERSONS_COLLECTION, pageOfPersonsDTO, checkedPageSize,
+                            PersonDTO::getPersonId))
+                    .eTag(eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> jsonArrayStreamer.writeArray(outputStream, pageOfPersonsDTO));
+        }
+
+        StreamingResponseBody listOfPersonsDTO = outputStream -> {
+            long nbOfPersons = jsonArrayStreamer.<PersonDTO>writeArray(outputStream, personService::streamAllPersons);
+            log.info("response to GET request on endpoint /persons sent with " + nbOfPersons + " values \n");
+        };
+        return ResponseEntity.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON).body(listOfPersonsDTO);
     }
 
 
@@ -61,21 +132,23 @@ public class PersonController {
      * @return - A list of emails
      */
     @GetMapping(value = "/communityEmail", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<String>> getAllEmailsByCity(@RequestParam("city") String cityName) {
+    public CompletableFuture<ResponseEntity<List<String>>> getAllEmailsByCity(@RequestParam("city") String cityName) {
+        return asyncExecution.supplyAlert(() -> {
 
-        log.info("GET request on endpoint /communityEmail received for city " + cityName);
+            log.info("GET request on endpoint /communityEmail received for city " + cityName);
 
-        List<String> returnedListOfEmails = personService.getAllEmailsByCity(cityName);
+            List<String> returnedListOfEmails = personService.getAllEmailsByCity(cityName);
 
-        if (returnedListOfEmails == null) {
-            log.error("error when getting the list of emails for city " + cityName + "\n");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            if (returnedListOfEmails == null) {
+                log.error("error when getting the list of emails for city " + cityName + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 
-        } else {
-            log.info("response to GET request on endpoint /communityEmail sent for city "
-                    + cityName + " with " + returnedListOfEmails.size() + " values \n");
-            return new ResponseEntity<>(returnedListOfEmails, HttpStatus.OK);
-        }
+            } else {
+                log.info("response to GET request on endpoint /communityEmail sent for city "
+                        + cityName + " with " + returnedListOfEmails.size() + " values \n");
+                return new ResponseEntity<>(returnedListOfEmails, HttpStatus.OK);
+            }
+        });
     }
 
 
@@ -83,52 +156,142 @@ public class PersonController {
      * Read - Get information on persons for a given firstname and lastname
      * If other persons have the same lastname, they will be in the list.
      *
-     * @param firstName of the person(s) we want related information
-     * @param lastName  of the person(s) we want related information
-     * @return - A list of PersonInfoDTO
+     * @param firstName      of the person(s) we want related information
+     * @param lastName       of the person(s) we want related information
+     * @param fields         the fields of the persons to send (e.g. lastName,email), if not all of them
+     * @param acceptEncoding the encodings accepted by the client, if any (gzip)
+     * @return - A list of PersonInfoDTO, serialized in JSON
      */
     @GetMapping(value = "/personInfo", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<PersonInfoDTO>> getPersonInfoByFirstNameAndLastName(
-            @RequestParam String firstName, @RequestParam String lastName) {
+    public CompletableFuture<ResponseEntity<byte[]>> getPersonInfoByFirstNameAndLastName(
+            @RequestParam String firstName, @RequestParam String lastName,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return asyncExecution.supplyAlert(() -> {
 
-        log.info("GET request on endpoint /personInfo received for person(s) named : " + firstName + " " + lastName);
-        List<PersonInfoDTO> returnedListOfPersonInfo
-                = personService.getPersonInfoByFirstNameAndLastName(firstName, lastName);
+            log.info("GET request on endpoint /personInfo received for person(s) named : " + firstName + " " + lastName);
 
-        if (returnedListOfPersonInfo == null) {
-            log.error("error when getting the person information for " + firstName + " " + lastName + "\n");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            if (!sparseFields.areValid(PersonInfoDTO.class, fields)) {
+                log.error("invalid fields " + fields + " requested on endpoint /personInfo \n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
 
-        } else {
-            log.info("response to GET request on endpoint /personInfo sent for person(s) "
-                    + firstName + " " + lastName + " with " + returnedListOfPersonInfo.size() + " values \n");
-            return new ResponseEntity<>(returnedListOfPersonInfo, HttpStatus.OK);
-        }
+            JsonResponse<List<PersonInfoDTO>> personInfoResponse = jsonResponseCache.getUncached(
+                    sparseFields.getWriter(fields),
+                    () -> (fields == null)
+                            ? personService.getPersonInfoByFirstNameAndLastName(firstName, lastName)
+                            : personService.getPersonInfoByFirstNameAndLastName(firstName, lastName, fields));
+
+            if (personInfoResponse == null) {
+                log.error("error when getting the person information for " + firstName + " " + lastName + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            } else {
+                log.info("response to GET request on endpoint /personInfo sent for person(s) "
+                        + firstName + " " + lastName + " with " + personInfoResponse.getBody().size() + " values \n");
+                return personInfoResponse.toResponseEntity(acceptEncoding, null);
+            }
+        });
+    }
+
+
+    /**
+     * Read - Get information on persons for each name of a batch, read with one query
+     * If other persons have the same lastname, they will be in the list of the name.
+     *
+     * @param listOfNames the firstnames and lastnames of the person(s) we want related information
+     * @return - A list of PersonInfoDTO by name ("firstname lastname"), and the names without person as misses
+     */
+    @PostMapping(value = "/personInfo/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<BatchDTO<List<PersonInfoDTO>>>> getPersonInfoByNames(
+            @RequestBody List<PersonNameDTO> listOfNames) {
+        return asyncExecution.supplyAlert(() -> {
+
+            log.info("POST request on endpoint /personInfo/batch received for " + listOfNames.size() + " names");
+
+            BatchDTO<List<PersonInfoDTO>> personInfoBatchDTO = personService.getPersonInfoByNames(listOfNames);
+
+            if (personInfoBatchDTO == null) {
+                log.error("error when getting the person information for a batch of " + listOfNames.size() + " names \n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            } else {
+                log.info("response to POST request on endpoint /personInfo/batch sent with "
+                        + personInfoBatchDTO.getResults().size() + " names found and "
+                        + personInfoBatchDTO.getMisses().size() + " missed \n");
+                return new ResponseEntity<>(personInfoBatchDTO, HttpStatus.OK);
+            }
+        });
     }
 
 
     /**
      * Read - Get child alert for a given address
      *
-     * @param address the address we want to get the child alert from
-     * @return - A list of ChildAlertDTO
+     * @param address        the address we want to get the child alert from
+     * @param acceptEncoding the encodings accepted by the client, if any (gzip)
+     * @param ifNoneMatch    the ETags of the response already got by the client, if any
+     * @return - A list of ChildAlertDTO, serialized in JSON (not modified if the ETag of the address matches)
      */
     @GetMapping(value = "/childAlert", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ChildAlertDTO>> getChildAlertByAddress(@RequestParam String address) {
+    public CompletableFuture<ResponseEntity<byte[]>> getChildAlertByAddress(@RequestParam String address,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return asyncExecution.supplyAlert(() -> {
+
+            log.info("GET request on endpoint /childAlert received for address : " + address);
+
+            String eTag = dataVersions.getAddressETag(address);
+            String matchingETag = DataVersions.getMatchingETag(ifNoneMatch, eTag);
+            if (matchingETag != null) {
+                log.info("response to GET request on endpoint /childAlert sent for address " + address + " not modified \n");
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matchingETag).build();
+            }
 
-        log.info("GET request on endpoint /childAlert received for address : " + address);
-        List<ChildAlertDTO> returnedListOfChildAlert
-                = personService.getChildAlertByAddress(address);
+            JsonResponse<List<ChildAlertDTO>> childAlertResponse = jsonResponseCache.get(CHILD_ALERT_JSON_CACHE, address,
+                    () -> personService.getChildAlertByAddress(address));
 
-        if (returnedListOfChildAlert == null) {
-            log.error("error when getting the child alert for address " + address + "\n");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            if (childAlertResponse == null) {
+                log.error("error when getting the child alert for address " + address + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 
-        } else {
-            log.info("response to GET request on endpoint /childAlert sent for address "
-                    + address + " with " + returnedListOfChildAlert.size() + " values \n");
-            return new ResponseEntity<>(returnedListOfChildAlert, HttpStatus.OK);
-        }
+            } else {
+                log.info("response to GET request on endpoint /childAlert sent for address "
+                        + address + " with " + childAlertResponse.getBody().size() + " values \n");
+                return childAlertResponse.toResponseEntity(acceptEncoding, eTag);
+            }
+        });
+    }
+
+
+    /**
+     * Read - Get child alert for each address of a batch, read with one query
+     *
+     * @param listOfAddresses the addresses we want to get the child alert from
+     * @return - A list of ChildAlertDTO by address, and the addresses without person as misses
+     */
+    @PostMapping(value = "/childAlert/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<BatchDTO<List<ChildAlertDTO>>>> getChildAlertByAddresses(
+            @RequestBody List<String> listOfAddresses) {
+        return asyncExecution.supplyAlert(() -> {
+
+            log.info("POST request on endpoint /childAlert/batch received for " + listOfAddresses.size() + " addresses");
+
+            BatchDTO<List<ChildAlertDTO>> childAlertBatchDTO = personService.getChildAlertByAddresses(listOfAddresses);
+
+            if (childAlertBatchDTO == null) {
+                log.error("error when getting the child alert for addresses " + listOfAddresses + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            } else {
+                log.info("response to POST request on endpoint /childAlert/batch sent with "
+                        + childAlertBatchDTO.getResults().size() + " addresses found and "
+                        + childAlertBatchDTO.getMisses().size() + " missed \n");
+                return new ResponseEntity<>(childAlertBatchDTO, HttpStatus.OK);
+            }
+        });
     }
 
 
@@ -139,22 +302,25 @@ public class PersonController {
      * @return - A list of phone numbers
      */
     @GetMapping(value = "/phoneAlert", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<String>> getPhoneAlertByFireStation(@RequestParam("firestation") Integer stationNumber) {
+    public CompletableFuture<ResponseEntity<List<String>>> getPhoneAlertByFireStation(
+            @RequestParam("firestation") Integer stationNumber) {
+        return asyncExecution.supplyAlert(() -> {
 
-        log.info("GET request on endpoint /phoneAlert received for fire station n°: " + stationNumber + "\n");
+            log.info("GET request on endpoint /phoneAlert received for fire station n°: " + stationNumber + "\n");
 
-        List<String> returnedListOfPhoneAlert
-                = personService.getPhoneAlertByFireStation(stationNumber);
+            List<String> returnedListOfPhoneAlert
+                    = personService.getPhoneAlertByFireStation(stationNumber);
 
-        if (returnedListOfPhoneAlert == null) {
-            log.error("error when getting the phone alert for fire station n°" + stationNumber + "\n");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            if (returnedListOfPhoneAlert == null) {
+                log.error("error when getting the phone alert for fire station n°" + stationNumber + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 
-        } else {
-            log.info("response to GET request on endpoint /phoneAlert sent for for fire station n° "
-                    + stationNumber + " with " + returnedListOfPhoneAlert.size() + " values \n");
-            return new ResponseEntity<>(returnedListOfPhoneAlert, HttpStatus.OK);
-        }
+            } else {
+                log.info("response to GET request on endpoint /phoneAlert sent for for fire station n° "
+                        + stationNumber + " with " + returnedListOfPhoneAlert.size() + " values \n");
+                return new ResponseEntity<>(returnedListOfPhoneAlert, HttpStatus.OK);
+            }
+        });
     }
 
 
@@ -162,26 +328,54 @@ public class PersonController {
      * Read - Get person information about people covered by a given fire station
      * and the number of adults and children concerned
      *
-     * @param stationNumber the station number of the fire station we want to get the information from
-     * @return - A FireStationCoverageDTO filled with information
+     * @param stationNumber  the station number of the fire station we want to get the information from
+     * @param fields         the fields of the coverage to send (e.g. numberOfAdults,numberOfChildren), if not all of them
+     * @param acceptEncoding the encodings accepted by the client, if any (gzip)
+     * @param ifNoneMatch    the ETags of the response already got by the client, if any
+     * @return - A FireStationCoverageDTO filled with information, serialized in JSON
+     * (not modified if the ETag of the station matches)
      */
     @GetMapping(value = "/firestation", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<FireStationCoverageDTO> getFireStationCoverageByStationNumber(@RequestParam("stationNumber") Integer stationNumber) {
+    public CompletableFuture<ResponseEntity<byte[]>> getFireStationCoverageByStationNumber(
+            @RequestParam("stationNumber") Integer stationNumber,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return asyncExecution.supplyAlert(() -> {
 
-        log.info("GET request on endpoint /firestation received for fire station n°: " + stationNumber + "\n");
+            log.info("GET request on endpoint /firestation received for fire station n°: " + stationNumber + "\n");
 
-        FireStationCoverageDTO fireStationCoverageDTO
-                = personService.getFireStationCoverageByStationNumber(stationNumber);
+            if (!sparseFields.areValid(FireStationCoverageDTO.class, fields)) {
+                log.error("invalid fields " + fields + " requested on endpoint /firestation \n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
 
-        if (fireStationCoverageDTO == null) {
-            log.error("error when getting the fire station coverage for fire station n°: " + stationNumber + "\n");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            String eTag = SparseFields.toETag(dataVersions.getStationETag(stationNumber), fields);
+            String matchingETag = DataVersions.getMatchingETag(ifNoneMatch, eTag);
+            if (matchingETag != null) {
+                log.info("response to GET request on endpoint /firestation sent for fire station n°: "
+                        + stationNumber + " not modified \n");
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matchingETag).build();
+            }
 
-        } else {
-            log.info("response to GET request on endpoint /firestation sent for for fire station n°: "
-                    + stationNumber + " with " + fireStationCoverageDTO.getPersonCoveredContactsDTOList().size() + " values \n");
-            return new ResponseEntity<>(fireStationCoverageDTO, HttpStatus.OK);
-        }
+            //a sparse response is not cached, its cache entries not being evicted with the ones of the station
+            JsonResponse<FireStationCoverageDTO> fireStationCoverageResponse = (fields == null)
+                    ? jsonResponseCache.get(FIRE_STATION_COVERAGE_JSON_CACHE, stationNumber,
+                    () -> personService.getFireStationCoverageByStationNumber(stationNumber))
+                    : jsonResponseCache.getUncached(sparseFields.getWriter(fields),
+                    () -> personService.getFireStationCoverageByStationNumber(stationNumber, fields));
+
+            if (fireStationCoverageResponse == null) {
+                log.error("error when getting the fire station coverage for fire station n°: " + stationNumber + "\n");
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            } else {
+                log.info("response to GET request on endpoint /firestation sent for for fire station n°: "
+                        + stationNumber + " with " + fireStationCoverageResponse.getBody().getPersonCoveredContactsDTOList().size()
+                        + " values \n");
+                return fireStationCoverageResponse.toResponseEntity(acceptEncoding, eTag);
+            }
+        });
     }
 
 
@@ -195,33 +389,35 @@ public class PersonController {
 
     @PostMapping(value = "/person", consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PersonDTO> addPerson(@RequestBody PersonDTO personDTOToAdd) {
+    public CompletableFuture<ResponseEntity<PersonDTO>> addPerson(@RequestBody PersonDTO personDTOToAdd) {
+        return asyncExecution.supplyCrud(() -> {
 
-        log.info("POST request on endpoint /person received for person "
-                + personDTOToAdd.getFirstName() + " " + personDTOToAdd.getLastName());
+            log.info("POST request on endpoint /person received for person "
+                    + personDTOToAdd.getFirstName() + " " + personDTOToAdd.getLastName());
 
-        try {
-            Optional<PersonDTO> addedPerson = personService.addPerson(personDTOToAdd);
+            try {
+                Optional<PersonDTO> addedPerson = personService.addPerson(personDTOToAdd);
 
-            if (addedPerson.isPresent()) {
-                log.info("new person " + personDTOToAdd.getFirstName() + " " + personDTOToAdd.getLastName() +
-                        " has been saved with id: " + addedPerson.get().getPersonId() + "\n");
-                return new ResponseEntity<>(addedPerson.get(), HttpStatus.CREATED);
-            } else {
-                log.error("new person " + personDTOToAdd + " has not been added\n");
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-            }
+                if (addedPerson.isPresent()) {
+                    log.info("new person " + personDTOToAdd.getFirstName() + " " + personDTOToAdd.getLastName() +
+                            " has been saved with id: " + addedPerson.get().getPersonId() + "\n");
+                    return new ResponseEntity<>(addedPerson.get(), HttpStatus.CREATED);
+                } else {
+                    log.error("new person " + personDTOToAdd + " has not been added\n");
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
 
-        } catch (AlreadyExistsException alreadyExistsException) {
-            log.error(alreadyExistsException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.CONFLICT, alreadyExistsException.getMessage());
+            } catch (AlreadyExistsException alreadyExistsException) {
+                log.error(alreadyExistsException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.CONFLICT, alreadyExistsException.getMessage());
 
 
-        } catch (Exception e) {
-            log.error(e.getMessage() + "\n");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+            } catch (Exception e) {
+                log.error(e.getMessage() + "\n");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
 
+        });
     }
 
 
@@ -233,32 +429,34 @@ public class PersonController {
      */
     @PutMapping(value = "/person", consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PersonDTO> updatePerson(@RequestBody PersonDTO personDTOToUpdate) {
-
-        log.info("PUT request on endpoint /person received for person "
-                + personDTOToUpdate.getFirstName() + " " + personDTOToUpdate.getLastName());
-
-        try {
-            Optional<PersonDTO> updatedPersonDTO = personService.updatePerson(personDTOToUpdate);
-
-            if (updatedPersonDTO.isPresent()) {
-                log.info("Person " + personDTOToUpdate.getFirstName() + " " + personDTOToUpdate.getLastName()
-                        + " has been updated with id: " + updatedPersonDTO.get().getPersonId() + "\n");
-                return new ResponseEntity<>(updatedPersonDTO.get(), HttpStatus.OK);
-            } else {
-                log.error("Person " + personDTOToUpdate + " has not been updated \n");
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    public CompletableFuture<ResponseEntity<PersonDTO>> updatePerson(@RequestBody PersonDTO personDTOToUpdate) {
+        return asyncExecution.supplyCrud(() -> {
+
+            log.info("PUT request on endpoint /person received for person "
+                    + personDTOToUpdate.getFirstName() + " " + personDTOToUpdate.getLastName());
+
+            try {
+                Optional<PersonDTO> updatedPersonDTO = personService.updatePerson(personDTOToUpdate);
+
+                if (updatedPersonDTO.isPresent()) {
+                    log.info("Person " + personDTOToUpdate.getFirstName() + " " + personDTOToUpdate.getLastName()
+                            + " has been updated with id: " + updatedPersonDTO.get().getPersonId() + "\n");
+                    return new ResponseEntity<>(updatedPersonDTO.get(), HttpStatus.OK);
+                } else {
+                    log.error("Person " + personDTOToUpdate + " has not been updated \n");
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+
+            } catch (DoesNotExistException doesNotExistException) {
+                log.error(doesNotExistException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
+
+            } catch (Exception e) {
+                log.error(e.getMessage()+ " \n");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
             }
 
-        } catch (DoesNotExistException doesNotExistException) {
-            log.error(doesNotExistException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
-
-        } catch (Exception e) {
-            log.error(e.getMessage()+ " \n");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
-
+        });
     }
 
 
@@ -270,33 +468,35 @@ public class PersonController {
      * @return Http status
      */
     @DeleteMapping(value = "/person")
-    public ResponseEntity<?> deletePersonByFirstNameAndLastName(
+    public CompletableFuture<ResponseEntity<?>> deletePersonByFirstNameAndLastName(
             @RequestParam String firstName, @RequestParam String lastName) {
+        return asyncExecution.supplyCrud(() -> {
 
-        log.info("DELETE request on endpoint /person received for person: " + firstName + " " + lastName);
+            log.info("DELETE request on endpoint /person received for person: " + firstName + " " + lastName);
 
-        try {
-            Person deletedPerson = personService.deletePersonByFirstNameAndLastName(firstName, lastName);
+            try {
+                Person deletedPerson = personService.deletePersonByFirstNameAndLastName(firstName, lastName);
 
-            if (deletedPerson != null) {
-                log.info("Person with id: " + deletedPerson.getPersonId()
-                        + " has been deleted for " + deletedPerson.getFirstName()
-                        + " " + deletedPerson.getLastName() + " \n");
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                if (deletedPerson != null) {
+                    log.info("Person with id: " + deletedPerson.getPersonId()
+                            + " has been deleted for " + deletedPerson.getFirstName()
+                            + " " + deletedPerson.getLastName() + " \n");
+                    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 
-            } else {
-                log.info("No person has been deleted for : " + firstName + " " + lastName + " \n");
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-            }
+                } else {
+                    log.info("No person has been deleted for : " + firstName + " " + lastName + " \n");
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
 
-        } catch (DoesNotExistException doesNotExistException) {
-            log.error(doesNotExistException.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
+            } catch (DoesNotExistException doesNotExistException) {
+                log.error(doesNotExistException.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, doesNotExistException.getMessage());
 
-        } catch (Exception e) {
-            log.error(e.getMessage() + " \n");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+            } catch (Exception e) {
+                log.error(e.getMessage() + " \n");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        });
     }
 
 }
@@ -0,0 +1,20 @@
+package com.safetynet.alerts.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Content of a data file (persons, fire stations and medical records) read in memory, without being saved in DB
+ */
+@Getter
+public class DataSet {
+
+    private final List<Person> persons = new ArrayList<>();
+
+    private final List<FireStation> fireStations = new ArrayList<>();
+
+    private final List<MedicalRecord> medicalRecords = new ArrayList<>();
+
+}
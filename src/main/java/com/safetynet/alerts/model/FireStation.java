@@ -8,15 +8,23 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import static com.safetynet.alerts.constants.PersistenceConstants.ID_ALLOCATION_SIZE;
 
 @Data
 @Entity
-@Table(name = "firestations")
+@Table(name = "firestations",
+        indexes = @Index(name = "idx_firestations_station_number", columnList = "station_number"),
+        uniqueConstraints = @UniqueConstraint(name = "uc_firestations_address", columnNames = "address"))
 public class FireStation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fireStationIdGenerator")
+    @SequenceGenerator(name = "fireStationIdGenerator", sequenceName = "firestations_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long fireStationId;
 
     @JsonProperty("station")
@@ -0,0 +1,49 @@
+package com.safetynet.alerts.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Household: the persons living at the same address with the same lastname,
+ * with the ones of them who are children (age under or equal to MAX_AGE_FOR_CHILD_ALERT)
+ */
+@Getter
+public class Household {
+
+    private final String address;
+
+    private final String lastName;
+
+    private final List<Person> members;
+
+    private final List<Person> children;
+
+    public Household(String address, String lastName, List<Person> members, List<Person> children) {
+        this.address = address;
+        this.lastName = lastName;
+        this.members = members;
+        this.children = children;
+    }
+
+    public int getNumberOfChildren() {
+        return children.size();
+    }
+
+    /**
+     * get the other members of the household
+     *
+     * @param member a member of the household
+     * @return the members of the household but the given one
+     */
+    public List<Person> getOtherMembers(Person member) {
+        List<Person> otherMembers = new ArrayList<>(members.size());
+        members.forEach(person -> {
+            if (!person.getFirstName().equals(member.getFirstName())) {
+                otherMembers.add(person);
+            }
+        });
+        return otherMembers;
+    }
+}
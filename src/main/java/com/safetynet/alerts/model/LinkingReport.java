@@ -0,0 +1,55 @@
+package com.safetynet.alerts.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Report of the linking of persons with their medical record and their fire station during a data load
+ */
+@Getter
+public class LinkingReport {
+
+    private int nbOfLinkedPersons;
+
+    private final List<String> personsWithoutMedicalRecord = new ArrayList<>();
+
+    private final List<String> personsWithoutFireStation = new ArrayList<>();
+
+    private final Set<String> duplicatePersons = new LinkedHashSet<>();
+
+    private final Set<String> duplicateMedicalRecords = new LinkedHashSet<>();
+
+    private final Set<String> duplicateFireStationAddresses = new LinkedHashSet<>();
+
+    private final Set<String> addressesWithoutFireStation = new LinkedHashSet<>();
+
+    public void incrementNbOfLinkedPersons() {
+        nbOfLinkedPersons++;
+    }
+
+    /**
+     * @return true if every person has been linked to a medical record and a fire station, without duplicates
+     */
+    public boolean isComplete() {
+        return personsWithoutMedicalRecord.isEmpty()
+                && personsWithoutFireStation.isEmpty()
+                && duplicatePersons.isEmpty()
+                && duplicateMedicalRecords.isEmpty()
+                && duplicateFireStationAddresses.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return nbOfLinkedPersons + " person(s) linked, "
+                + personsWithoutMedicalRecord.size() + " without medical record, "
+                + personsWithoutFireStation.size() + " without fire station, "
+                + duplicatePersons.size() + " duplicate person(s), "
+                + duplicateMedicalRecords.size() + " duplicate medical record(s), "
+                + duplicateFireStationAddresses.size() + " duplicate fire station address(es), "
+                + addressesWithoutFireStation.size() + " address(es) with no fire station";
+    }
+}
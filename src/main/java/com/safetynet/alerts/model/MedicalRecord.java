@@ -5,6 +5,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
 import lombok.Data;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import javax.persistence.Column;
 import javax.persistence.ElementCollection;
@@ -12,17 +14,23 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDate;
 import java.util.List;
 
+import static com.safetynet.alerts.constants.PersistenceConstants.ID_ALLOCATION_SIZE;
+
 @Data
 @Entity
-@Table(name = "medicalrecords")
+@Table(name = "medicalrecords",
+        uniqueConstraints = @UniqueConstraint(name = "uc_medicalrecords_name", columnNames = {"last_name", "first_name"}))
 public class MedicalRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medicalRecordIdGenerator")
+    @SequenceGenerator(name = "medicalRecordIdGenerator", sequenceName = "medicalrecords_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long medicalRecordId;
 
     @Column(name="first_name", nullable = false)
@@ -38,9 +46,11 @@ public class MedicalRecord {
     private LocalDate birthDate;
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     private List<String> medications;
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     private List<String> allergies;
 
 }
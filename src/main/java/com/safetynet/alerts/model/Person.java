@@ -7,20 +7,40 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 
+import static com.safetynet.alerts.constants.PersistenceConstants.ID_ALLOCATION_SIZE;
+
 
 @Data
 @Entity
-@Table(name = "persons")
+@NamedEntityGraph(name = Person.ALERT_GRAPH, attributeNodes = {
+        @NamedAttributeNode("medicalRecord"),
+        @NamedAttributeNode("fireStation")})
+@Table(name = "persons", indexes = {
+        @Index(name = "idx_persons_address", columnList = "address"),
+        @Index(name = "idx_persons_city", columnList = "city"),
+        @Index(name = "idx_persons_name", columnList = "last_name, first_name"),
+        @Index(name = "idx_persons_fire_station", columnList = "fireStationId")})
 public class Person {
 
+    /**
+     * fetch plan of the alert queries: medical record and fire station joined to the persons
+     * (medications and allergies of the medical records being loaded by one query for all of them)
+     */
+    public static final String ALERT_GRAPH = "Person.alert";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "personIdGenerator")
+    @SequenceGenerator(name = "personIdGenerator", sequenceName = "persons_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long personId;
 
     @Column(name="first_name", nullable = false)
@@ -0,0 +1,53 @@
+package com.safetynet.alerts.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Report of a reload of the data file: number of inserts, updates and deletes applied in DB for each kind of data
+ */
+@Getter
+@Setter
+public class ReloadReport {
+
+    private boolean successful;
+
+    private long durationInMillis;
+
+    private int nbOfInsertedPersons;
+
+    private int nbOfUpdatedPersons;
+
+    private int nbOfDeletedPersons;
+
+    private int nbOfInsertedFireStations;
+
+    private int nbOfUpdatedFireStations;
+
+    private int nbOfDeletedFireStations;
+
+    private int nbOfInsertedMedicalRecords;
+
+    private int nbOfUpdatedMedicalRecords;
+
+    private int nbOfDeletedMedicalRecords;
+
+    /**
+     * @return the total number of inserts, updates and deletes
+     */
+    public int getNbOfChanges() {
+        return nbOfInsertedPersons + nbOfUpdatedPersons + nbOfDeletedPersons
+                + nbOfInsertedFireStations + nbOfUpdatedFireStations + nbOfDeletedFireStations
+                + nbOfInsertedMedicalRecords + nbOfUpdatedMedicalRecords + nbOfDeletedMedicalRecords;
+    }
+
+    @Override
+    public String toString() {
+        return "persons " + nbOfInsertedPersons + " inserted / " + nbOfUpdatedPersons + " updated / "
+                + nbOfDeletedPersons + " deleted, "
+                + "fire stations " + nbOfInsertedFireStations + " inserted / " + nbOfUpdatedFireStations + " updated / "
+                + nbOfDeletedFireStations + " deleted, "
+                + "medical records " + nbOfInsertedMedicalRecords + " inserted / " + nbOfUpdatedMedicalRecords + " updated / "
+                + nbOfDeletedMedicalRecords + " deleted";
+    }
+}
@@ -0,0 +1,19 @@
+package com.safetynet.alerts.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+public class BatchDTO<T> {
+
+    //result by key of the batch (address or name), in the order of the request
+    private Map<String, T> results = new LinkedHashMap<>();
+
+    //reason of the miss by key of the batch, for the keys without result
+    private Map<String, String> misses = new LinkedHashMap<>();
+
+}
@@ -0,0 +1,14 @@
+package com.safetynet.alerts.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PersonNameDTO {
+
+    private String firstName;
+
+    private String lastName;
+
+}
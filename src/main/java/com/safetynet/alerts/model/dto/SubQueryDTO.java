@@ -0,0 +1,18 @@
+package com.safetynet.alerts.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+public class SubQueryDTO {
+
+    //endpoint of the sub-query (e.g. /firestation)
+    private String endpoint;
+
+    //parameters of the endpoint by name (e.g. stationNumber=3, stations=1,2)
+    private Map<String, String> parameters;
+
+}
@@ -0,0 +1,20 @@
+package com.safetynet.alerts.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SubQueryResultDTO {
+
+    private String endpoint;
+
+    //HTTP status the endpoint would have answered (e.g. 200, 400)
+    private int status;
+
+    //body the endpoint would have answered, null if in error
+    private Object body;
+
+    private String error;
+
+}
@@ -0,0 +1,795 @@
+package com.safetynet.alerts.repository;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.Household;
+import com.safetynet.alerts.model.MedicalRecord;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.util.DateUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.safetynet.alerts.constants.ChildAlertConstants.MAX_AGE_FOR_CHILD_ALERT;
+
+/**
+ * In-memory read model of the persons, fire stations and medical records, answering the alert queries
+ * without going to the DB, through the indexes:
+ * address -> household members, station number -> addresses, city -> persons, firstname+lastname -> person
+ * (and lastname -> persons for the person information).
+ * The persons of an address are also grouped in households (same lastname), each one with its children
+ * (age under or equal to MAX_AGE_FOR_CHILD_ALERT), so that no grouping is done at query time.
+ * Persons are classified as children or adults once:
+ * their classification only changes when the day they become adults comes, the children becoming adults
+ * being moved at midnight (or at the first query of the day if earlier) instead of calculating ages at each query.
+ * It is built once the data are loaded, then kept consistent by the services, which update it each time they write in DB.
+ * As in DB, persons are linked to their medical record by firstname+lastname and to their fire station by address.
+ * The persons returned are copies: they can be modified (e.g. their age) without modifying the index.
+ * NB : until it is built (or if data.readIndex.enabled is false), the index is not ready and the repositories must be used
+ */
+@Slf4j
+@Component
+public class AlertsReadIndex {
+
+    private final PersonRepository personRepository;
+
+    private final FireStationRepository fireStationRepository;
+
+    private final MedicalRecordRepository medicalRecordRepository;
+
+    private final DateUtil dateUtil;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //number of snapshots being read, during which the index is not modified
+    private final AtomicInteger nbOfSnapshotsInProgress = new AtomicInteger();
+
+    @Value("${data.readIndex.enabled:true}")
+    private boolean enabled;
+
+    private volatile Indexes indexes;
+
+    //updates made while the index is rebuilt (null if it is not), only accessed under the write lock:
+    // the new index may have been read from the DB before them, so they are replayed on it before it is used
+    private List<Consumer<Indexes>> updatesDuringRebuild;
+
+    @Autowired
+    public AlertsReadIndex(PersonRepository personRepository, FireStationRepository fireStationRepository,
+                           MedicalRecordRepository medicalRecordRepository, DateUtil dateUtil) {
+        this.personRepository = personRepository;
+        this.fireStationRepository = fireStationRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.dateUtil = dateUtil;
+    }
+
+
+    /**
+     * @return true if the index has been built and can answer the queries
+     */
+    public boolean isReady() {
+        return indexes != null;
+    }
+
+
+    /**
+     * build the index from the data in DB, replacing the current one
+     * (the queries are answered by the current index until the new one is complete,
+     * the updates made during the build being applied to both)
+     */
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long startTimeInMillis = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            updatesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Indexes newIndexes = new Indexes(dateUtil, dateUtil.getCurrentEpochDay());
+        try {
+            medicalRecordRepository.findAll().forEach(medicalRecord -> newIndexes.putMedicalRecord(copyOf(medicalRecord)));
+            fireStationRepository.findAll().forEach(fireStation -> newIndexes.putFireStation(copyOf(fireStation)));
+            personRepository.findAll().forEach(person -> newIndexes.putPerson(copyOf(person)));
+
+            lock.writeLock().lock();
+            try {
+                updatesDuringRebuild.forEach(update -> update.accept(newIndexes));
+                indexes = newIndexes;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                updatesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("read index built in " + (System.currentTimeMillis() - startTimeInMillis) + " ms with "
+                + newIndexes.personsByName.size() + " person(s), " + newIndexes.fireStationsByAddress.size()
+                + " fire station(s) and " + newIndexes.medicalRecordsByName.size() + " medical record(s)");
+    }
+
+
+    /**
+     * get the persons living at an address (household members)
+     *
+     * @param address the address
+     * @return the list of persons, linked to their medical record and fire station
+     */
+    public List<Person> findAllByAddress(String address) {
+        return read(() -> indexes.linkedCopiesOf(indexes.personsByAddress.get(address)));
+    }
+
+
+    /**
+     * get the households living at an address
+     *
+     * @param address the address
+     * @return the list of households, their members being linked to their medical record and fire station
+     */
+    public List<Household> findHouseholdsByAddress(String address) {
+        return read(() -> indexes.householdCopiesOf(address));
+    }
+
+
+    /**
+     * get the households covered by a fire station
+     *
+     * @param stationNumber the station number
+     * @return the households by address (only the addresses where persons live),
+     * their members being linked to their medical record and fire station
+     */
+    public Map<String, List<Household>> findHouseholdsByStationNumber(Integer stationNumber) {
+        return read(() -> {
+            Map<String, List<Household>> householdsByAddress = new LinkedHashMap<>();
+            Set<String> addresses = indexes.addressesByStationNumber.get(stationNumber);
+            if (addresses != null) {
+                addresses.forEach(address -> {
+                    List<Household> households = indexes.householdCopiesOf(address);
+                    if (!households.isEmpty()) {
+                        householdsByAddress.put(address, households);
+                    }
+                });
+            }
+            return householdsByAddress;
+        });
+    }
+
+
+    /**
+     * get the children (age under or equal to MAX_AGE_FOR_CHILD_ALERT) living at an address
+     *
+     * @param address the address
+     * @return the list of children, linked to their medical record and fire station
+     */
+    public List<Person> findChildrenByAddress(String address) {
+        return read(() -> {
+            List<Person> children = new ArrayList<>();
+            Map<String, HouseholdMembers> households = indexes.householdsByAddress.get(address);
+            if (households != null) {
+                households.values().forEach(household -> children.addAll(indexes.linkedCopiesOf(household.children)));
+            }
+            return children;
+        });
+    }
+
+
+    /**
+     * count the children (age under or equal to MAX_AGE_FOR_CHILD_ALERT) covered by a fire station
+     *
+     * @param stationNumber the station number
+     * @return the number of children
+     */
+    public int countChildrenByStationNumber(Integer stationNumber) {
+        return read(() -> {
+            int numberOfChildren = 0;
+            Set<String> addresses = indexes.addressesByStationNumber.get(stationNumber);
+            if (addresses != null) {
+                for (String address : addresses) {
+                    Map<String, HouseholdMembers> households = indexes.householdsByAddress.get(address);
+                    if (households != null) {
+                        for (HouseholdMembers household : households.values()) {
+                            numberOfChildren += household.children.size();
+                        }
+                    }
+                }
+            }
+            return numberOfChildren;
+        });
+    }
+
+
+    /**
+     * move the children who become adults today to the adults,
+     * at midnight (if the index has not already been queried since)
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rollOverToCurrentDate() {
+        rollOver(dateUtil.getCurrentEpochDay());
+    }
+
+
+    /**
+     * move the children who become adults on the given day (or before) to the adults
+     * NB : as days only go forward, nothing is done for a day before the last one the persons have been classified for
+     *
+     * @param epochDay the day as a number of days since 1970-01-01
+     */
+    public void rollOver(long epochDay) {
+        Indexes currentIndexes = indexes;
+        if (currentIndexes != null && currentIndexes.classificationEpochDay < epochDay) {
+            write(writableIndexes -> writableIndexes.rollOver(epochDay));
+        }
+    }
+
+
+    /**
+     * get the persons living in a city
+     *
+     * @param cityName the city
+     * @return the list of persons, linked to their medical record and fire station
+     */
+    public List<Person> findAllByCity(String cityName) {
+        return read(() -> indexes.linkedCopiesOf(indexes.personsByCity.get(cityName)));
+    }
+
+
+    /**
+     * get the distinct emails of the persons living in a city
+     *
+     * @param cityName the city
+     * @return the list of emails
+     */
+    public List<String> findDistinctEmailsByCity(String cityName) {
+        return read(() -> {
+            Set<String> emails = new LinkedHashSet<>();
+            Map<String, Person> persons = indexes.personsByCity.get(cityName);
+            if (persons != null) {
+                persons.values().forEach(person -> emails.add(person.getEmail()));
+            }
+            return new ArrayList<>(emails);
+        });
+    }
+
+
+    /**
+     * get the distinct phone numbers of the persons covered by a fire station
+     *
+     * @param stationNumber the station number
+     * @return the list of phone numbers
+     */
+    public List<String> findDistinctPhonesByFireStation_StationNumber(Integer stationNumber) {
+        return read(() -> {
+            Set<String> phones = new LinkedHashSet<>();
+            Set<String> addresses = indexes.addressesByStationNumber.get(stationNumber);
+            if (addresses != null) {
+                addresses.forEach(address -> {
+                    //an address covered by the station can have no residents
+                    Map<String, Person> residents = indexes.personsByAddress.get(address);
+                    if (residents != null) {
+                        residents.values().forEach(person -> phones.add(person.getPhone()));
+                    }
+                });
+            }
+            return new ArrayList<>(phones);
+        });
+    }
+
+
+    /**
+     * get the persons with a given firstname and lastname
+     *
+     * @param firstName the firstname
+     * @param lastName  the lastname
+     * @return the list of persons (empty or with one person), linked to their medical record and fire station
+     */
+    public List<Person> findAllByFirstNameAndLastName(String firstName, String lastName) {
+        return read(() -> {
+            Person person = indexes.personsByName.get(getNameKey(firstName, lastName));
+            return indexes.linkedCopiesOf(person == null ? null : Collections.singletonList(person));
+        });
+    }
+
+
+    /**
+     * get the persons with a given lastname but another firstname
+     *
+     * @param firstName the firstname to exclude
+     * @param lastName  the lastname
+     * @return the list of persons, linked to their medical record and fire station
+     */
+    public List<Person> findAllByFirstNameNotAndLastName(String firstName, String lastName) {
+        return read(() -> {
+            Map<String, Person> personsWithLastName = indexes.personsByLastName.get(lastName);
+            List<Person> persons = new ArrayList<>();
+            if (personsWithLastName != null) {
+                personsWithLastName.values().forEach(person -> {
+                    if (!person.getFirstName().equals(firstName)) {
+                        persons.add(indexes.linkedCopyOf(person));
+                    }
+                });
+            }
+            return persons;
+        });
+    }
+
+
+    /**
+     * get the persons covered by a fire station
+     *
+     * @param stationNumber the station number
+     * @return the list of persons, linked to their medical record and fire station
+     */
+    public List<Person> findAllByFireStation_StationNumber(Integer stationNumber) {
+        return read(() -> {
+            List<Person> persons = new ArrayList<>();
+            Set<String> addresses = indexes.addressesByStationNumber.get(stationNumber);
+            if (addresses != null) {
+                addresses.forEach(address -> persons.addAll(indexes.linkedCopiesOf(indexes.personsByAddress.get(address))));
+            }
+            return persons;
+        });
+    }
+
+
+    /**
+     * get the persons covered by some fire stations
+     *
+     * @param stationNumbers the station numbers
+     * @return the list of persons, linked to their medical record and fire station
+     */
+    public List<Person> findAllByFireStation_StationNumberIn(Collection<Integer> stationNumbers) {
+        return read(() -> {
+            List<Person> persons = new ArrayList<>();
+            new LinkedHashSet<>(stationNumbers).forEach(stationNumber -> {
+                Set<String> addresses = indexes.addressesByStationNumber.get(stationNumber);
+                if (addresses != null) {
+                    addresses.forEach(address -> persons.addAll(indexes.linkedCopiesOf(indexes.personsByAddress.get(address))));
+                }
+            });
+            return persons;
+        });
+    }
+
+
+    /**
+     * get the fire station covering an address
+     *
+     * @param address the address
+     * @return the fire station, or null if the address is not covered
+     */
+    public FireStation findFireStationByAddress(String address) {
+        return read(() -> indexes.fireStationsByAddress.get(address));
+    }
+
+
+    /**
+     * add or replace a person in the index (e.g. after its save in DB), identified by firstname+lastname
+     *
+     * @param person the person
+     */
+    public void savePerson(Person person) {
+        Person copy = copyOf(person);
+        write(writableIndexes -> writableIndexes.putPerson(copy));
+    }
+
+
+    /**
+     * remove a person from the index (e.g. after its deletion from DB)
+     *
+     * @param firstName the firstname of the person
+     * @param lastName  the lastname of the person
+     */
+    public void deletePerson(String firstName, String lastName) {
+        write(writableIndexes -> writableIndexes.removePerson(getNameKey(firstName, lastName)));
+    }
+
+
+    /**
+     * add or replace a fire station in the index (e.g. after its save in DB), identified by address
+     *
+     * @param fireStation the fire station
+     */
+    public void saveFireStation(FireStation fireStation) {
+        FireStation copy = copyOf(fireStation);
+        write(writableIndexes -> writableIndexes.putFireStation(copy));
+    }
+
+
+    /**
+     * remove a fire station from the index (e.g. after its deletion from DB)
+     *
+     * @param address the address covered by the fire station
+     */
+    public void deleteFireStation(String address) {
+        write(writableIndexes -> writableIndexes.removeFireStation(address));
+    }
+
+
+    /**
+     * add or replace a medical record in the index (e.g. after its save in DB), identified by firstname+lastname
+     *
+     * @param medicalRecord the medical record
+     */
+    public void saveMedicalRecord(MedicalRecord medicalRecord) {
+        MedicalRecord copy = copyOf(medicalRecord);
+        write(writableIndexes -> writableIndexes.putMedicalRecord(copy));
+    }
+
+
+    /**
+     * remove a medical record from the index (e.g. after its deletion from DB)
+     *
+     * @param firstName the firstname of the person of the medical record
+     * @param lastName  the lastname of the person of the medical record
+     */
+    public void deleteMedicalRecord(String firstName, String lastName) {
+        write(writableIndexes -> writableIndexes.removeMedicalRecord(getNameKey(firstName, lastName)));
+    }
+
+
+    /**
+     * answer several queries on the same state of the index (e.g. the sub-queries of a /batch request,
+     * answered by other threads): the index is not modified until they are all answered
+     *
+     * @param queries the queries, answered by the calling thread or by threads it waits for
+     * @param <T>     the type of the answer
+     * @return the answer of the queries
+     */
+    public <T> T readSnapshot(Supplier<T> queries) {
+        //the persons are classified for the current day once for all the queries
+        rollOver(dateUtil.getCurrentEpochDay());
+        lock.readLock().lock();
+        nbOfSnapshotsInProgress.incrementAndGet();
+        try {
+            return queries.get();
+        } finally {
+            nbOfSnapshotsInProgress.decrementAndGet();
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private <T> T read(Supplier<T> query) {
+        boolean snapshotInProgress = nbOfSnapshotsInProgress.get() > 0;
+        //the persons must be classified for the current day before answering (already done for a snapshot)
+        if (!snapshotInProgress) {
+            rollOver(dateUtil.getCurrentEpochDay());
+        }
+        //during a snapshot, the queries of its threads must not wait behind the writers waiting for its end
+        if (!snapshotInProgress || !lock.readLock().tryLock()) {
+            lock.readLock().lock();
+        }
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Indexes> update) {
+        lock.writeLock().lock();
+        try {
+            //nothing to update until the index is built: it will be built from the DB
+            if (indexes != null) {
+                update.accept(indexes);
+            }
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * copy a person without its links, which are resolved at query time
+     */
+    private static Person copyOf(Person person) {
+        Person copy = new Person();
+        copy.setPersonId(person.getPersonId());
+        copy.setFirstName(person.getFirstName());
+        copy.setLastName(person.getLastName());
+        copy.setAddress(person.getAddress());
+        copy.setCity(person.getCity());
+        copy.setZip(person.getZip());
+        copy.setPhone(person.getPhone());
+        copy.setEmail(person.getEmail());
+        return copy;
+    }
+
+    private static FireStation copyOf(FireStation fireStation) {
+        FireStation copy = new FireStation();
+        copy.setFireStationId(fireStation.getFireStationId());
+        copy.setStationNumber(fireStation.getStationNumber());
+        copy.setAddress(fireStation.getAddress());
+        return copy;
+    }
+
+    /**
+     * copy a medical record, with its medications and allergies (which are lazily loaded from DB)
+     */
+    private static MedicalRecord copyOf(MedicalRecord medicalRecord) {
+        MedicalRecord copy = new MedicalRecord();
+        copy.setMedicalRecordId(medicalRecord.getMedicalRecordId());
+        copy.setFirstName(medicalRecord.getFirstName());
+        copy.setLastName(medicalRecord.getLastName());
+        copy.setBirthDate(medicalRecord.getBirthDate());
+        copy.setMedications(medicalRecord.getMedications() == null
+                ? new ArrayList<>() : Collections.unmodifiableList(new ArrayList<>(medicalRecord.getMedications())));
+        copy.setAllergies(medicalRecord.getAllergies() == null
+                ? new ArrayList<>() : Collections.unmodifiableList(new ArrayList<>(medicalRecord.getAllergies())));
+        return copy;
+    }
+
+    private static String getNameKey(String firstName, String lastName) {
+        return firstName + " " + lastName;
+    }
+
+
+    /**
+     * the indexes, only accessed under the lock
+     * (persons being grouped in maps by firstname+lastname, so that they can be removed from their groups in constant time)
+     */
+    private static class Indexes {
+
+        private final DateUtil dateUtil;
+
+        private long classificationEpochDay;
+
+        private final Map<String, Person> personsByName = new HashMap<>();
+
+        private final Map<String, Map<String, Person>> personsByAddress = new HashMap<>();
+
+        private final Map<String, Map<String, Person>> personsByCity = new HashMap<>();
+
+        private final Map<String, Map<String, Person>> personsByLastName = new HashMap<>();
+
+        private final Map<String, FireStation> fireStationsByAddress = new HashMap<>();
+
+        private final Map<Integer, Set<String>> addressesByStationNumber = new HashMap<>();
+
+        private final Map<String, MedicalRecord> medicalRecordsByName = new HashMap<>();
+
+        private final Map<String, Map<String, HouseholdMembers>> householdsByAddress = new HashMap<>();
+
+        private final TreeMap<Long, Set<String>> childrenByAdulthoodEpochDay = new TreeMap<>();
+
+        private final Map<String, Long> adulthoodEpochDayOfChildren = new HashMap<>();
+
+        private Indexes(DateUtil dateUtil, long classificationEpochDay) {
+            this.dateUtil = dateUtil;
+            this.classificationEpochDay = classificationEpochDay;
+        }
+
+        private void putPerson(Person person) {
+            String name = getNameKey(person.getFirstName(), person.getLastName());
+            removePerson(name);
+            personsByName.put(name, person);
+            addToGroup(personsByAddress, person.getAddress(), name, person);
+            addToGroup(personsByCity, person.getCity(), name, person);
+            addToGroup(personsByLastName, person.getLastName(), name, person);
+            if (person.getAddress() != null) {
+                householdsByAddress.computeIfAbsent(person.getAddress(), address -> new LinkedHashMap<>())
+                        .computeIfAbsent(person.getLastName(), lastName -> new HouseholdMembers())
+                        .members.put(name, person);
+            }
+            classify(name);
+        }
+
+        private void removePerson(String name) {
+            unclassify(name);
+            Person person = personsByName.remove(name);
+            if (person != null) {
+                removeFromGroup(personsByAddress, person.getAddress(), name);
+                removeFromGroup(personsByCity, person.getCity(), name);
+                removeFromGroup(personsByLastName, person.getLastName(), name);
+                HouseholdMembers household = getHousehold(person);
+                if (household != null) {
+                    household.members.remove(name);
+                    if (household.members.isEmpty()) {
+                        Map<String, HouseholdMembers> households = householdsByAddress.get(person.getAddress());
+                        households.remove(person.getLastName());
+                        if (households.isEmpty()) {
+                            householdsByAddress.remove(person.getAddress());
+                        }
+                    }
+                }
+            }
+        }
+
+        private void putFireStation(FireStation fireStation) {
+            removeFireStation(fireStation.getAddress());
+            fireStationsByAddress.put(fireStation.getAddress(), fireStation);
+            addressesByStationNumber.computeIfAbsent(fireStation.getStationNumber(), stationNumber -> new LinkedHashSet<>())
+                    .add(fireStation.getAddress());
+        }
+
+        private void removeFireStation(String address) {
+            FireStation fireStation = fireStationsByAddress.remove(address);
+            if (fireStation != null) {
+                Set<String> addresses = addressesByStationNumber.get(fireStation.getStationNumber());
+                addresses.remove(address);
+                if (addresses.isEmpty()) {
+                    addressesByStationNumber.remove(fireStation.getStationNumber());
+                }
+            }
+        }
+
+        private void putMedicalRecord(MedicalRecord medicalRecord) {
+            String name = getNameKey(medicalRecord.getFirstName(), medicalRecord.getLastName());
+            unclassify(name);
+            medicalRecordsByName.put(name, medicalRecord);
+            classify(name);
+        }
+
+        private void removeMedicalRecord(String name) {
+            unclassify(name);
+            medicalRecordsByName.remove(name);
+            classify(name);
+        }
+
+        /**
+         * add a person to the children if under or equal to MAX_AGE_FOR_CHILD_ALERT on the classification day
+         * (as when calculating ages, a person without birthdate is considered as a child)
+         */
+        private void classify(String name) {
+            Person person = personsByName.get(name);
+            if (person == null) {
+                return;
+            }
+            MedicalRecord medicalRecord = medicalRecordsByName.get(name);
+            LocalDate birthDate = medicalRecord == null ? null : medicalRecord.getBirthDate();
+            long adulthoodEpochDay = birthDate == null
+                    ? Long.MAX_VALUE : dateUtil.getEpochDayOfAge(birthDate, MAX_AGE_FOR_CHILD_ALERT + 1);
+
+            if (classificationEpochDay < adulthoodEpochDay) {
+                adulthoodEpochDayOfChildren.put(name, adulthoodEpochDay);
+                childrenByAdulthoodEpochDay.computeIfAbsent(adulthoodEpochDay, epochDay -> new HashSet<>()).add(name);
+                HouseholdMembers household = getHousehold(person);
+                if (household != null) {
+                    household.children.put(name, person);
+                }
+            }
+        }
+
+        private void unclassify(String name) {
+            Long adulthoodEpochDay = adulthoodEpochDayOfChildren.remove(name);
+            if (adulthoodEpochDay != null) {
+                Set<String> children = childrenByAdulthoodEpochDay.get(adulthoodEpochDay);
+                children.remove(name);
+                if (children.isEmpty()) {
+                    childrenByAdulthoodEpochDay.remove(adulthoodEpochDay);
+                }
+                removeChild(name);
+            }
+        }
+
+        /**
+         * remove from the children the ones who become adults on the given day or before
+         */
+        private void rollOver(long epochDay) {
+            if (epochDay <= classificationEpochDay) {
+                return;
+            }
+            Map<Long, Set<String>> childrenBecomingAdults = childrenByAdulthoodEpochDay.headMap(epochDay, true);
+            childrenBecomingAdults.values().forEach(names -> names.forEach(name -> {
+                adulthoodEpochDayOfChildren.remove(name);
+                removeChild(name);
+            }));
+            childrenBecomingAdults.clear();
+            classificationEpochDay = epochDay;
+        }
+
+        private void removeChild(String name) {
+            HouseholdMembers household = getHousehold(personsByName.get(name));
+            if (household != null) {
+                household.children.remove(name);
+            }
+        }
+
+        private HouseholdMembers getHousehold(Person person) {
+            Map<String, HouseholdMembers> households = householdsByAddress.get(person.getAddress());
+            return households == null ? null : households.get(person.getLastName());
+        }
+
+        /**
+         * copy the households of an address, their children being the copies of their members who are children
+         */
+        private List<Household> householdCopiesOf(String address) {
+            List<Household> households = new ArrayList<>();
+            Map<String, HouseholdMembers> householdsAtAddress = householdsByAddress.get(address);
+            if (householdsAtAddress != null) {
+                householdsAtAddress.forEach((lastName, household) -> {
+                    List<Person> members = new ArrayList<>(household.members.size());
+                    List<Person> children = new ArrayList<>(household.children.size());
+                    household.members.forEach((name, person) -> {
+                        Person copy = linkedCopyOf(person);
+                        members.add(copy);
+                        if (household.children.containsKey(name)) {
+                            children.add(copy);
+                        }
+                    });
+                    households.add(new Household(address, lastName, members, children));
+                });
+            }
+            return households;
+        }
+
+        private Person linkedCopyOf(Person person) {
+            Person copy = copyOf(person);
+            copy.setMedicalRecord(medicalRecordsByName.get(getNameKey(person.getFirstName(), person.getLastName())));
+            copy.setFireStation(person.getAddress() == null ? null : fireStationsByAddress.get(person.getAddress()));
+            return copy;
+        }
+
+        private List<Person> linkedCopiesOf(Collection<Person> persons) {
+            List<Person> copies = new ArrayList<>();
+            if (persons != null) {
+                persons.forEach(person -> copies.add(linkedCopyOf(person)));
+            }
+            return copies;
+        }
+
+        private List<Person> linkedCopiesOf(Map<String, Person> persons) {
+            return linkedCopiesOf(persons == null ? null : persons.values());
+        }
+
+        private static void addToGroup(Map<String, Map<String, Person>> groups, String key, String name, Person person) {
+            if (key != null) {
+                groups.computeIfAbsent(key, groupKey -> new LinkedHashMap<>()).put(name, person);
+            }
+        }
+
+        private static void removeFromGroup(Map<String, Map<String, Person>> groups, String key, String name) {
+            if (key != null) {
+                Map<String, Person> group = groups.get(key);
+                if (group != null) {
+                    group.remove(name);
+                    if (group.isEmpty()) {
+                        groups.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * the members of a household, by firstname+lastname, with the ones of them who are children
+     */
+    private static class HouseholdMembers {
+
+        private final Map<String, Person> members = new LinkedHashMap<>();
+
+        private final Map<String, Person> children = new LinkedHashMap<>();
+    }
+}
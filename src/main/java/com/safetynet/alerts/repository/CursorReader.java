@@ -0,0 +1,71 @@
+package com.safetynet.alerts.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * Reading of the whole results of a query through a DB cursor, by chunks of data.stream.fetchSize results:
+ * each chunk is given to a consumer then detached from the persistence context,
+ * so that the memory used does not depend on the number of results
+ * NB : to be called in a (read-only) transaction, keeping the cursor open while reading
+ */
+@Component
+public class CursorReader {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${data.stream.fetchSize:500}")
+    private int fetchSize;
+
+
+    /**
+     * read the results of a query by chunks
+     *
+     * @param jpqlQuery     the JPQL query
+     * @param resultClass   the class of the results
+     * @param chunkConsumer the consumer of each chunk of results (the list being reused for the next chunk)
+     * @param <T>           the type of the results
+     * @return the number of results read
+     */
+    public <T> long forEachChunk(String jpqlQuery, Class<T> resultClass, Consumer<List<T>> chunkConsumer) {
+        long nbOfResults = 0;
+        List<T> chunk = new ArrayList<>(fetchSize);
+
+        try (Stream<T> results = entityManager.createQuery(jpqlQuery, resultClass)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READONLY, true)
+                .getResultStream()) {
+            Iterator<T> iterator = results.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == fetchSize) {
+                    nbOfResults += consumeChunk(chunk, chunkConsumer);
+                }
+            }
+            nbOfResults += consumeChunk(chunk, chunkConsumer);
+        }
+        return nbOfResults;
+    }
+
+    private <T> int consumeChunk(List<T> chunk, Consumer<List<T>> chunkConsumer) {
+        int chunkSize = chunk.size();
+        if (chunkSize > 0) {
+            chunkConsumer.accept(chunk);
+            chunk.clear();
+            entityManager.clear();
+        }
+        return chunkSize;
+    }
+}
@@ -1,15 +1,25 @@
 package com.safetynet.alerts.repository;
 
 import com.safetynet.alerts.model.FireStation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FireStationRepository extends CrudRepository<FireStation, Long> {
 
+    //query of all the fire stations, read through a cursor (see CursorReader)
+    String ALL_FIRE_STATIONS_QUERY = "select f from FireStation f";
+
+    //page of fire stations after the last id of the previous page (keyset pagination, the pageable giving only the size)
+    List<FireStation> findAllByFireStationIdGreaterThanOrderByFireStationId(Long fireStationId, Pageable pageable);
+
     FireStation findByAddress(String address);
 
+    List<FireStation> findAllByAddressIn(Collection<String> addresses);
+
     List<FireStation> findAllByStationNumber(Integer stationNumber);
 }
@@ -1,15 +1,33 @@
 package com.safetynet.alerts.repository;
 
 import com.safetynet.alerts.model.MedicalRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MedicalRecordRepository extends CrudRepository<MedicalRecord, Long> {
 
+    //query of all the medical records, read through a cursor (see CursorReader) without their medications and allergies
+    String ALL_MEDICAL_RECORDS_QUERY = "select m from MedicalRecord m";
+
+    //page of medical records after the last id of the previous page (keyset pagination, the pageable giving only the size)
+    List<MedicalRecord> findAllByMedicalRecordIdGreaterThanOrderByMedicalRecordId(Long medicalRecordId, Pageable pageable);
+
     List<MedicalRecord> findAllByFirstNameAndLastName(String firstName, String lastName);
 
     MedicalRecord findByFirstNameAndLastName(String firstName, String lastName);
+
+    @Query("select m.medicalRecordId, medication from MedicalRecord m join m.medications medication"
+            + " where m.medicalRecordId in :medicalRecordIds")
+    List<Object[]> findMedicationsByMedicalRecordIdIn(@Param("medicalRecordIds") Collection<Long> medicalRecordIds);
+
+    @Query("select m.medicalRecordId, allergy from MedicalRecord m join m.allergies allergy"
+            + " where m.medicalRecordId in :medicalRecordIds")
+    List<Object[]> findAllergiesByMedicalRecordIdIn(@Param("medicalRecordIds") Collection<Long> medicalRecordIds);
 }
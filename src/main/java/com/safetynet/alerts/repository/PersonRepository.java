@@ -1,23 +1,65 @@
 package com.safetynet.alerts.repository;
 
 import com.safetynet.alerts.model.Person;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PersonRepository extends CrudRepository<Person,Long> {
 
+    //query of all the persons, read through a cursor (see CursorReader) with their medical record and fire station
+    String ALL_PERSONS_QUERY = "select p from Person p left join fetch p.medicalRecord left join fetch p.fireStation";
+
+    //all the persons with their medical record and fire station, read with one join query (e.g. by a reload)
+    @Query(ALL_PERSONS_QUERY)
+    List<Person> findAllWithMedicalRecordAndFireStation();
+
+    //page of persons after the last id of the previous page (keyset pagination, the pageable giving only the size)
+    @EntityGraph(Person.ALERT_GRAPH)
+    List<Person> findAllByPersonIdGreaterThanOrderByPersonId(Long personId, Pageable pageable);
+
+    @EntityGraph(Person.ALERT_GRAPH)
     List<Person> findAllByCity(String cityName);
 
+    @EntityGraph(Person.ALERT_GRAPH)
     List<Person> findAllByFirstNameAndLastName(String firstName, String lastName);
 
+    @EntityGraph(Person.ALERT_GRAPH)
     List<Person> findAllByFirstNameNotAndLastName(String firstName, String lastName);
 
+    @EntityGraph(Person.ALERT_GRAPH)
     List<Person> findAllByAddress(String address);
 
-    List<Person> findAllByFireStation_StationNumber(Integer stationNumber);
+    //persons of a batch of addresses or lastnames, read with one IN query instead of one query per key
+    @EntityGraph(Person.ALERT_GRAPH)
+    List<Person> findAllByAddressIn(Collection<String> addresses);
+
+    @EntityGraph(Person.ALERT_GRAPH)
+    List<Person> findAllByLastNameIn(Collection<String> lastNames);
+
+    //read from the fire stations of the station numbers (by the index on their station number),
+    // then their persons by the index on their fire station: with the persons first in the from clause,
+    // H2 keeps them first in the join order and reads them by a full scan
+    @Query("select p from FireStation f, Person p join fetch p.fireStation left join fetch p.medicalRecord"
+            + " where p.fireStation = f and f.stationNumber = :stationNumber")
+    List<Person> findAllByFireStation_StationNumber(@Param("stationNumber") Integer stationNumber);
+
+    @Query("select p from FireStation f, Person p join fetch p.fireStation left join fetch p.medicalRecord"
+            + " where p.fireStation = f and f.stationNumber in :stationNumbers")
+    List<Person> findAllByFireStation_StationNumberIn(@Param("stationNumbers") Collection<Integer> stationNumbers);
 
     Person findByFirstNameAndLastName(String firstName, String lastName);
+
+    @Query("select distinct p.email from Person p where p.city = :cityName")
+    List<String> findDistinctEmailsByCity(@Param("cityName") String cityName);
+
+    @Query("select distinct p.phone from Person p where p.fireStation.stationNumber = :stationNumber")
+    List<String> findDistinctPhonesByFireStation_StationNumber(@Param("stationNumber") Integer stationNumber);
 }
@@ -0,0 +1,225 @@
+package com.safetynet.alerts.service;
+
+import com.safetynet.alerts.model.dto.SubQueryDTO;
+import com.safetynet.alerts.model.dto.SubQueryResultDTO;
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.safetynet.alerts.constants.BatchConstants.BATCH_EXECUTOR;
+import static com.safetynet.alerts.constants.BatchConstants.CHILD_ALERT_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.COMMUNITY_EMAIL_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.FIRE_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.FIRE_STATION_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.FLOOD_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.MISSING_OR_INVALID_PARAMETERS;
+import static com.safetynet.alerts.constants.BatchConstants.PERSON_INFO_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.PHONE_ALERT_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.SUB_QUERY_ERROR;
+import static com.safetynet.alerts.constants.BatchConstants.SUB_QUERY_TIMEOUT;
+import static com.safetynet.alerts.constants.BatchConstants.UNKNOWN_ENDPOINT;
+
+/**
+ * Multiplexing of the alert endpoints: the sub-queries of a /batch request are answered by the services
+ * as their endpoints would, on the same state of the data.
+ * Once the read index is ready, they are answered in parallel by the batch executor, the index not being modified
+ * until they are all answered. Before (or if the index is disabled), they are answered one after the other
+ * in one read-only transaction, as a transaction is bound to its thread.
+ */
+@Slf4j
+@Service
+public class AlertsBatchService implements IAlertsBatchService {
+
+    private final IPersonService personService;
+    private final IFireStationService fireStationService;
+    private final AlertsReadIndex alertsReadIndex;
+    private final ExecutorService batchExecutor;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Value("${data.batch.maxSubQueries:20}")
+    private int maxSubQueries;
+
+    @Value("${data.batch.timeoutInMillis:5000}")
+    private long timeoutInMillis;
+
+    @Autowired
+    public AlertsBatchService(IPersonService personService, IFireStationService fireStationService,
+                              AlertsReadIndex alertsReadIndex, @Qualifier(BATCH_EXECUTOR) ExecutorService batchExecutor,
+                              PlatformTransactionManager transactionManager) {
+        this.personService = personService;
+        this.fireStationService = fireStationService;
+        this.alertsReadIndex = alertsReadIndex;
+        this.batchExecutor = batchExecutor;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        //the rows read by a sub-query are read the same by the following ones
+        this.readOnlyTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+
+    /**
+     * answer the sub-queries of a batch, each one as its endpoint would, on the same state of the data
+     *
+     * @param listOfSubQueries the sub-queries (endpoint and parameters)
+     * @return a result by sub-query in the order of the list, null if no sub-query or too many
+     */
+    @Override
+    public List<SubQueryResultDTO> getSubQueryResults(List<SubQueryDTO> listOfSubQueries) {
+        if (listOfSubQueries == null || listOfSubQueries.isEmpty()) {
+            log.error("at least one sub-query must be specified for a batch");
+            return null;
+        }
+        if (listOfSubQueries.size() > maxSubQueries) {
+            log.error(listOfSubQueries.size() + " sub-queries in the batch, more than the maximum of " + maxSubQueries);
+            return null;
+        }
+
+        long startTimeInMillis = System.currentTimeMillis();
+        List<SubQueryResultDTO> listOfResults = alertsReadIndex.isReady()
+                ? alertsReadIndex.readSnapshot(() -> getSubQueryResultsInParallel(listOfSubQueries))
+                : readOnlyTransactionTemplate.execute(status -> getSubQueryResultsInSequence(listOfSubQueries));
+        log.info(listOfSubQueries.size() + " sub-queries of the batch answered in "
+                + (System.currentTimeMillis() - startTimeInMillis) + " ms");
+        return listOfResults;
+    }
+
+
+    private List<SubQueryResultDTO> getSubQueryResultsInParallel(List<SubQueryDTO> listOfSubQueries) {
+        List<Future<SubQueryResultDTO>> futures = new ArrayList<>(listOfSubQueries.size());
+        listOfSubQueries.forEach(subQuery -> futures.add(batchExecutor.submit(() -> getSubQueryResult(subQuery))));
+
+        //the sub-queries share the same deadline, as the index is not modified until they are all answered
+        long deadlineInNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        List<SubQueryResultDTO> listOfResults = new ArrayList<>(listOfSubQueries.size());
+        for (int i = 0; i < futures.size(); i++) {
+            Future<SubQueryResultDTO> future = futures.get(i);
+            String endpoint = listOfSubQueries.get(i).getEndpoint();
+            try {
+                listOfResults.add(future.get(deadlineInNanos - System.nanoTime(), TimeUnit.NANOSECONDS));
+
+            } catch (TimeoutException timeoutException) {
+                future.cancel(true);
+                log.error("sub-query on endpoint " + endpoint + " not answered in " + timeoutInMillis + " ms");
+                listOfResults.add(toErrorResult(endpoint, HttpStatus.SERVICE_UNAVAILABLE, SUB_QUERY_TIMEOUT));
+
+            } catch (ExecutionException executionException) {
+                log.error("error when answering the sub-query on endpoint " + endpoint + " : "
+                        + executionException.getCause().getMessage());
+                listOfResults.add(toErrorResult(endpoint, HttpStatus.INTERNAL_SERVER_ERROR, SUB_QUERY_ERROR));
+
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                listOfResults.add(toErrorResult(endpoint, HttpStatus.SERVICE_UNAVAILABLE, SUB_QUERY_TIMEOUT));
+            }
+        }
+        return listOfResults;
+    }
+
+    private List<SubQueryResultDTO> getSubQueryResultsInSequence(List<SubQueryDTO> listOfSubQueries) {
+        List<SubQueryResultDTO> listOfResults = new ArrayList<>(listOfSubQueries.size());
+        listOfSubQueries.forEach(subQuery -> listOfResults.add(getSubQueryResult(subQuery)));
+        return listOfResults;
+    }
+
+
+    /**
+     * answer a sub-query with the service of its endpoint
+     *
+     * @param subQuery the sub-query
+     * @return the body and the status the endpoint would have answered
+     */
+    private SubQueryResultDTO getSubQueryResult(SubQueryDTO subQuery) {
+        String endpoint = subQuery.getEndpoint();
+        Map<String, String> parameters = (subQuery.getParameters() == null)
+                ? Collections.emptyMap() : subQuery.getParameters();
+
+        Object body;
+        try {
+            if (endpoint == null) {
+                return toErrorResult(null, HttpStatus.NOT_FOUND, UNKNOWN_ENDPOINT);
+            }
+            switch (endpoint) {
+                case FIRE_STATION_ENDPOINT:
+                    body = personService.getFireStationCoverageByStationNumber(
+                            toInteger(parameters.get("stationNumber")));
+                    break;
+                case PHONE_ALERT_ENDPOINT:
+                    body = personService.getPhoneAlertByFireStation(toInteger(parameters.get("firestation")));
+                    break;
+                case FLOOD_ENDPOINT:
+                    body = fireStationService.getFloodByStationNumbers(toListOfIntegers(parameters.get("stations")));
+                    break;
+                case CHILD_ALERT_ENDPOINT:
+                    body = personService.getChildAlertByAddress(parameters.get("address"));
+                    break;
+                case FIRE_ENDPOINT:
+                    body = fireStationService.getFireStationCoverageByAddress(parameters.get("address"));
+                    break;
+                case PERSON_INFO_ENDPOINT:
+                    body = personService.getPersonInfoByFirstNameAndLastName(parameters.get("firstName"),
+                            parameters.get("lastName"));
+                    break;
+                case COMMUNITY_EMAIL_ENDPOINT:
+                    body = personService.getAllEmailsByCity(parameters.get("city"));
+                    break;
+                default:
+                    log.error("unknown endpoint " + endpoint + " for a sub-query");
+                    return toErrorResult(endpoint, HttpStatus.NOT_FOUND, UNKNOWN_ENDPOINT);
+            }
+        } catch (NumberFormatException numberFormatException) {
+            log.error("invalid parameters " + parameters + " for a sub-query on endpoint " + endpoint);
+            return toErrorResult(endpoint, HttpStatus.BAD_REQUEST, MISSING_OR_INVALID_PARAMETERS);
+        }
+
+        //as the endpoints, no body is a bad request
+        if (body == null) {
+            return toErrorResult(endpoint, HttpStatus.BAD_REQUEST, MISSING_OR_INVALID_PARAMETERS);
+        }
+        SubQueryResultDTO subQueryResultDTO = new SubQueryResultDTO();
+        subQueryResultDTO.setEndpoint(endpoint);
+        subQueryResultDTO.setStatus(HttpStatus.OK.value());
+        subQueryResultDTO.setBody(body);
+        return subQueryResultDTO;
+    }
+
+    private static SubQueryResultDTO toErrorResult(String endpoint, HttpStatus status, String error) {
+        SubQueryResultDTO subQueryResultDTO = new SubQueryResultDTO();
+        subQueryResultDTO.setEndpoint(endpoint);
+        subQueryResultDTO.setStatus(status.value());
+        subQueryResultDTO.setError(error);
+        return subQueryResultDTO;
+    }
+
+    private static Integer toInteger(String parameter) {
+        return (parameter == null) ? null : Integer.valueOf(parameter.trim());
+    }
+
+    private static List<Integer> toListOfIntegers(String parameter) {
+        if (parameter == null) {
+            return null;
+        }
+        List<Integer> listOfIntegers = new ArrayList<>();
+        for (String value : parameter.split(",")) {
+            listOfIntegers.add(Integer.valueOf(value.trim()));
+        }
+        return listOfIntegers;
+    }
+}
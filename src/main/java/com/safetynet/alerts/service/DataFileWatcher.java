@@ -0,0 +1,143 @@
+package com.safetynet.alerts.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Watch the data file and reload it each time it is modified
+ * NB : only enabled when data.reload.watch.enabled is true, and if the data file is a file of the file system
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "data.reload.watch.enabled", havingValue = "true")
+public class DataFileWatcher {
+
+    private final DataReloadService dataReloadService;
+
+    @Value("${data.inputFilePath}")
+    private String dataInputFilePath;
+
+    @Value("${data.reload.watch.delayInMillis:500}")
+    private long delayInMillis;
+
+    private WatchService watchService;
+
+    @Autowired
+    public DataFileWatcher(DataReloadService dataReloadService) {
+        this.dataReloadService = dataReloadService;
+    }
+
+
+    /**
+     * start watching the data file, once the application is ready (i.e. after the initial load of data)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWatching() {
+        Path dataFile = getDataFile();
+        if (dataFile == null) {
+            log.warn("data file " + this.dataInputFilePath + " is not a file of the file system, it is not watched");
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dataFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ioException) {
+            log.error("error when starting to watch data file " + dataFile + " : " + ioException.getMessage());
+            return;
+        }
+
+        Thread watchThread = new Thread(() -> watch(dataFile), "data-file-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("watching data file " + dataFile);
+    }
+
+
+    /**
+     * stop watching the data file
+     */
+    @PreDestroy
+    public void stopWatching() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ioException) {
+                log.error("error when stopping to watch data file : " + ioException.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * wait for the modifications of the data file and reload it after each one
+     *
+     * @param dataFile the data file
+     */
+    private void watch(Path dataFile) {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                boolean dataFileModified = false;
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (dataFile.getFileName().equals(event.context())) {
+                        dataFileModified = true;
+                    }
+                }
+                watchKey.reset();
+
+                if (dataFileModified) {
+                    //let the writing of the file end, and ignore the events it has raised meanwhile
+                    Thread.sleep(delayInMillis);
+                    WatchKey pendingWatchKey;
+                    while ((pendingWatchKey = watchService.poll()) != null) {
+                        pendingWatchKey.pollEvents();
+                        pendingWatchKey.reset();
+                    }
+
+                    log.info("data file " + dataFile + " has been modified");
+                    dataReloadService.reloadDataFromFile();
+                }
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException closedWatchServiceException) {
+            log.info("data file " + dataFile + " is not watched anymore");
+        }
+    }
+
+
+    /**
+     * @return the data file in the file system, or null if the data file is not found or is inside an archive
+     */
+    private Path getDataFile() {
+        URL dataFileUrl = getClass().getClassLoader().getResource(this.dataInputFilePath);
+        if (dataFileUrl == null || !"file".equals(dataFileUrl.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(dataFileUrl.toURI());
+        } catch (URISyntaxException uriSyntaxException) {
+            return null;
+        }
+    }
+}
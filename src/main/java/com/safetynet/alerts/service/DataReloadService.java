@@ -0,0 +1,508 @@
+package com.safetynet.alerts.service;
+
+import com.safetynet.alerts.model.DataSet;
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.MedicalRecord;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.ReloadReport;
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import com.safetynet.alerts.repository.FireStationRepository;
+import com.safetynet.alerts.repository.MedicalRecordRepository;
+import com.safetynet.alerts.repository.PersonRepository;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.DataLoadStatus;
+import com.safetynet.alerts.util.DataVersions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Slf4j
+@Service
+public class DataReloadService {
+
+    private final JsonParserService jsonParserService;
+
+    private final PersonRepository personRepository;
+
+    private final FireStationRepository fireStationRepository;
+
+    private final MedicalRecordRepository medicalRecordRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final DataLoadStatus dataLoadStatus;
+
+    private final AlertsReadIndex alertsReadIndex;
+
+    private final AlertsCacheEvictor alertsCacheEvictor;
+
+    private final DataVersions dataVersions;
+
+    @Value("${data.inputFilePath}")
+    private String dataInputFilePath;
+
+    @Value("${data.reload.maxNbOfChangesApplied:1000}")
+    private int maxNbOfChangesApplied;
+
+    private volatile ReloadReport lastReloadReport;
+
+    @Autowired
+    public DataReloadService(JsonParserService jsonParserService, PersonRepository personRepository,
+                             FireStationRepository fireStationRepository, MedicalRecordRepository medicalRecordRepository,
+                             PlatformTransactionManager transactionManager, DataLoadStatus dataLoadStatus,
+                             AlertsReadIndex alertsReadIndex, AlertsCacheEvictor alertsCacheEvictor,
+                             DataVersions dataVersions) {
+        this.jsonParserService = jsonParserService;
+        this.personRepository = personRepository;
+        this.fireStationRepository = fireStationRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataLoadStatus = dataLoadStatus;
+        this.alertsReadIndex = alertsReadIndex;
+        this.alertsCacheEvictor = alertsCacheEvictor;
+        this.dataVersions = dataVersions;
+    }
+
+
+    /**
+     * get the report of the last reload of the data file
+     *
+     * @return the reload report, or null if the data file has not been reloaded
+     */
+    public ReloadReport getLastReloadReport() {
+        return lastReloadReport;
+    }
+
+
+    /**
+     * reload the data file without restarting the application:
+     * the content of the file is compared with the persons, fire stations and medical records in DB
+     * and only the differences (inserts, updates and deletes) are applied, all in one transaction.
+     * Until this transaction is committed, the requests keep being served with the data in DB before the reload.
+     * After the commit, each change is applied to the read index and evicts the cached results of its data only,
+     * as a write through the CRUD endpoints; beyond data.reload.maxNbOfChangesApplied changes,
+     * the read index is built again, all the cached results are evicted and all the data versions are bumped.
+     * NB : as in the initial load, persons and medical records are identified by firstname+lastname
+     * and fire stations by address. The data file is not reloaded while a data load is in progress.
+     *
+     * @return the report of the inserts, updates and deletes applied
+     */
+    public synchronized ReloadReport reloadDataFromFile() {
+        log.info("Reloading data file " + this.dataInputFilePath);
+        long startTimeInMillis = System.currentTimeMillis();
+
+        ReloadReport reloadReport = new ReloadReport();
+        if (dataLoadStatus.isLoading()) {
+            log.warn("data load in progress, data file " + this.dataInputFilePath + " is not reloaded");
+            return reloadReport;
+        }
+
+        DataSet dataSet = jsonParserService.readDataSetFromFile(this.dataInputFilePath);
+
+        if (dataSet != null) {
+            try {
+                AppliedChanges appliedChanges = new AppliedChanges();
+                transactionTemplate.executeWithoutResult(status -> applyDataSet(dataSet, reloadReport, appliedChanges));
+                reloadReport.setSuccessful(true);
+
+                if (reloadReport.getNbOfChanges() > maxNbOfChangesApplied) {
+                    //the read index is built again from the committed data, the current one serving the queries meanwhile
+                    if (alertsReadIndex.isReady()) {
+                        alertsReadIndex.rebuild();
+                    }
+                    //as most data may have changed, all the cached alert results are evicted and all the versions bumped
+                    alertsCacheEvictor.evictAll();
+                    dataVersions.bumpAll();
+                } else {
+                    applyChangesToReadIndexAndCaches(appliedChanges);
+                }
+            } catch (RuntimeException exception) {
+                log.error("error when applying the changes of data file " + this.dataInputFilePath
+                        + ", no change has been applied : " + exception.getMessage());
+            }
+        } else {
+            log.error("data file " + this.dataInputFilePath + " can not be read, no change has been applied");
+        }
+
+        reloadReport.setDurationInMillis(System.currentTimeMillis() - startTimeInMillis);
+        if (reloadReport.isSuccessful()) {
+            log.info("data file reloaded in " + reloadReport.getDurationInMillis() + " ms: " + reloadReport);
+        }
+        lastReloadReport = reloadReport;
+        return reloadReport;
+    }
+
+
+    /**
+     * apply the changes committed in DB to the read index, then evict the cached results of the data before
+     * and after each change and bump their versions, in the order of a write through the CRUD endpoints
+     *
+     * @param appliedChanges the changes applied in DB
+     */
+    private void applyChangesToReadIndexAndCaches(AppliedChanges appliedChanges) {
+        appliedChanges.savedMedicalRecords.forEach(alertsReadIndex::saveMedicalRecord);
+        appliedChanges.deletedMedicalRecords.forEach(medicalRecord ->
+                alertsReadIndex.deleteMedicalRecord(medicalRecord.getFirstName(), medicalRecord.getLastName()));
+        appliedChanges.savedFireStations.forEach(alertsReadIndex::saveFireStation);
+        appliedChanges.deletedFireStations.forEach(fireStation ->
+                alertsReadIndex.deleteFireStation(fireStation.getAddress()));
+        appliedChanges.savedPersons.forEach(alertsReadIndex::savePerson);
+        appliedChanges.deletedPersons.forEach(person -> {
+            //a person deleted as a duplicate leaves in the index the person kept with the same firstname+lastname
+            Person keptPerson = appliedChanges.personsByName.get(getNameKey(person.getFirstName(), person.getLastName()));
+            if (keptPerson == null) {
+                alertsReadIndex.deletePerson(person.getFirstName(), person.getLastName());
+            } else {
+                alertsReadIndex.savePerson(keptPerson);
+            }
+        });
+
+        List<MedicalRecord> changedMedicalRecords = appliedChanges.getChangedMedicalRecords();
+        List<FireStation> changedFireStations = appliedChanges.getChangedFireStations();
+        List<Person> changedPersons = appliedChanges.getChangedPersons();
+
+        changedMedicalRecords.forEach(medicalRecord -> alertsCacheEvictor.evictMedicalRecord(
+                medicalRecord.getLastName(), appliedChanges.getPersonOf(medicalRecord)));
+        changedFireStations.forEach(alertsCacheEvictor::evictFireStation);
+        changedPersons.forEach(alertsCacheEvictor::evictPerson);
+
+        changedMedicalRecords.forEach(medicalRecord -> dataVersions.bumpPerson(appliedChanges.getPersonOf(medicalRecord)));
+        changedFireStations.forEach(dataVersions::bumpFireStation);
+        changedPersons.forEach(dataVersions::bumpPerson);
+    }
+
+
+    /**
+     * apply in DB the differences between the content of the data file and the data in DB
+     * (to be called in a transaction, so that the entities read are managed and only the modified ones are updated)
+     *
+     * @param dataSet        the content of the data file
+     * @param reloadReport   the report where the inserts, updates and deletes are counted
+     * @param appliedChanges the changes where the inserts, updates and deletes are recorded
+     */
+    private void applyDataSet(DataSet dataSet, ReloadReport reloadReport, AppliedChanges appliedChanges) {
+
+        //first medical records and fire stations, as persons are linked to them
+        List<MedicalRecord> medicalRecordsToDelete = new ArrayList<>();
+        Map<String, MedicalRecord> medicalRecordsByName = applyMedicalRecords(dataSet.getMedicalRecords(),
+                medicalRecordsToDelete, reloadReport, appliedChanges);
+
+        List<FireStation> fireStationsToDelete = new ArrayList<>();
+        Map<String, FireStation> fireStationsByAddress = applyFireStations(dataSet.getFireStations(),
+                fireStationsToDelete, reloadReport, appliedChanges);
+
+        //then persons, linked to the medical records and fire stations resulting from the reload
+        applyPersons(dataSet.getPersons(), medicalRecordsByName, fireStationsByAddress, reloadReport, appliedChanges);
+
+        //and at last deletion of the medical records and fire stations not in the file anymore,
+        // as no person is linked to them now
+        medicalRecordRepository.deleteAll(medicalRecordsToDelete);
+        fireStationRepository.deleteAll(fireStationsToDelete);
+        reloadReport.setNbOfDeletedMedicalRecords(medicalRecordsToDelete.size());
+        reloadReport.setNbOfDeletedFireStations(fireStationsToDelete.size());
+        appliedChanges.deletedMedicalRecords.addAll(medicalRecordsToDelete);
+        appliedChanges.deletedFireStations.addAll(fireStationsToDelete);
+    }
+
+
+    /**
+     * insert the medical records of the file not in DB and update the ones which have changed
+     *
+     * @param newMedicalRecords      the medical records of the file
+     * @param medicalRecordsToDelete list where the medical records in DB not in the file anymore are added
+     * @param reloadReport           the report where the inserts and updates are counted
+     * @param appliedChanges         the changes where the inserts and updates are recorded
+     * @return the medical records resulting from the reload, by firstname+lastname
+     */
+    private Map<String, MedicalRecord> applyMedicalRecords(List<MedicalRecord> newMedicalRecords,
+                                                           List<MedicalRecord> medicalRecordsToDelete,
+                                                           ReloadReport reloadReport, AppliedChanges appliedChanges) {
+        //(their medications and allergies being read for all of them by one subselect each)
+        Map<String, MedicalRecord> currentMedicalRecordsByName = new HashMap<>();
+        medicalRecordRepository.findAll().forEach(medicalRecord -> {
+            if (currentMedicalRecordsByName.putIfAbsent(
+                    getNameKey(medicalRecord.getFirstName(), medicalRecord.getLastName()), medicalRecord) != null) {
+                medicalRecordsToDelete.add(medicalRecord);
+            }
+        });
+
+        Map<String, MedicalRecord> medicalRecordsByName = new HashMap<>(newMedicalRecords.size() * 2);
+        List<MedicalRecord> medicalRecordsToInsert = new ArrayList<>();
+
+        for (MedicalRecord newMedicalRecord : newMedicalRecords) {
+            String name = getNameKey(newMedicalRecord.getFirstName(), newMedicalRecord.getLastName());
+            if (medicalRecordsByName.containsKey(name)) {
+                //as in the initial load, the first medical record found for a given firstname+lastname is kept
+                continue;
+            }
+
+            MedicalRecord currentMedicalRecord = currentMedicalRecordsByName.remove(name);
+            if (currentMedicalRecord == null) {
+                medicalRecordsToInsert.add(newMedicalRecord);
+                medicalRecordsByName.put(name, newMedicalRecord);
+                appliedChanges.savedMedicalRecords.add(newMedicalRecord);
+
+            } else {
+                if (!Objects.equals(currentMedicalRecord.getBirthDate(), newMedicalRecord.getBirthDate())
+                        || !sameElements(newMedicalRecord.getMedications(), currentMedicalRecord.getMedications())
+                        || !sameElements(newMedicalRecord.getAllergies(), currentMedicalRecord.getAllergies())) {
+                    currentMedicalRecord.setBirthDate(newMedicalRecord.getBirthDate());
+                    currentMedicalRecord.setMedications(newMedicalRecord.getMedications());
+                    currentMedicalRecord.setAllergies(newMedicalRecord.getAllergies());
+                    reloadReport.setNbOfUpdatedMedicalRecords(reloadReport.getNbOfUpdatedMedicalRecords() + 1);
+                    appliedChanges.savedMedicalRecords.add(currentMedicalRecord);
+                }
+                medicalRecordsByName.put(name, currentMedicalRecord);
+            }
+        }
+
+        medicalRecordRepository.saveAll(medicalRecordsToInsert);
+        reloadReport.setNbOfInsertedMedicalRecords(medicalRecordsToInsert.size());
+        medicalRecordsToDelete.addAll(currentMedicalRecordsByName.values());
+
+        return medicalRecordsByName;
+    }
+
+
+    /**
+     * insert the fire stations of the file not in DB and update the ones which have changed
+     *
+     * @param newFireStations      the fire stations of the file
+     * @param fireStationsToDelete list where the fire stations in DB not in the file anymore are added
+     * @param reloadReport         the report where the inserts and updates are counted
+     * @param appliedChanges       the changes where the inserts and updates are recorded
+     * @return the fire stations resulting from the reload, by address
+     */
+    private Map<String, FireStation> applyFireStations(List<FireStation> newFireStations,
+                                                       List<FireStation> fireStationsToDelete,
+                                                       ReloadReport reloadReport, AppliedChanges appliedChanges) {
+        Map<String, FireStation> currentFireStationsByAddress = new HashMap<>();
+        fireStationRepository.findAll().forEach(fireStation -> {
+            if (currentFireStationsByAddress.putIfAbsent(fireStation.getAddress(), fireStation) != null) {
+                fireStationsToDelete.add(fireStation);
+            }
+        });
+
+        Map<String, FireStation> fireStationsByAddress = new HashMap<>(newFireStations.size() * 2);
+        List<FireStation> fireStationsToInsert = new ArrayList<>();
+
+        for (FireStation newFireStation : newFireStations) {
+            if (fireStationsByAddress.containsKey(newFireStation.getAddress())) {
+                //as in the initial load, the first fire station found for a given address is kept
+                continue;
+            }
+
+            FireStation currentFireStation = currentFireStationsByAddress.remove(newFireStation.getAddress());
+            if (currentFireStation == null) {
+                fireStationsToInsert.add(newFireStation);
+                fireStationsByAddress.put(newFireStation.getAddress(), newFireStation);
+                appliedChanges.savedFireStations.add(newFireStation);
+
+            } else {
+                if (!Objects.equals(currentFireStation.getStationNumber(), newFireStation.getStationNumber())) {
+                    appliedChanges.previousFireStations.add(copyOf(currentFireStation));
+                    currentFireStation.setStationNumber(newFireStation.getStationNumber());
+                    reloadReport.setNbOfUpdatedFireStations(reloadReport.getNbOfUpdatedFireStations() + 1);
+                    appliedChanges.savedFireStations.add(currentFireStation);
+                }
+                fireStationsByAddress.put(newFireStation.getAddress(), currentFireStation);
+            }
+        }
+
+        fireStationRepository.saveAll(fireStationsToInsert);
+        reloadReport.setNbOfInsertedFireStations(fireStationsToInsert.size());
+        fireStationsToDelete.addAll(currentFireStationsByAddress.values());
+
+        return fireStationsByAddress;
+    }
+
+
+    /**
+     * insert the persons of the file not in DB, update the ones which have changed (including their links)
+     * and delete the ones not in the file anymore
+     *
+     * @param newPersons            the persons of the file
+     * @param medicalRecordsByName  the medical records resulting from the reload, by firstname+lastname
+     * @param fireStationsByAddress the fire stations resulting from the reload, by address
+     * @param reloadReport          the report where the inserts, updates and deletes are counted
+     * @param appliedChanges        the changes where the inserts, updates and deletes are recorded
+     */
+    private void applyPersons(List<Person> newPersons, Map<String, MedicalRecord> medicalRecordsByName,
+                              Map<String, FireStation> fireStationsByAddress, ReloadReport reloadReport,
+                              AppliedChanges appliedChanges) {
+        List<Person> personsToDelete = new ArrayList<>();
+        Map<String, Person> currentPersonsByName = new HashMap<>();
+        personRepository.findAllWithMedicalRecordAndFireStation().forEach(person -> {
+            if (currentPersonsByName.putIfAbsent(getNameKey(person.getFirstName(), person.getLastName()), person) != null) {
+                personsToDelete.add(person);
+            }
+        });
+
+        Map<String, Person> personsByName = new HashMap<>(newPersons.size() * 2);
+        List<Person> personsToInsert = new ArrayList<>();
+
+        for (Person newPerson : newPersons) {
+            String name = getNameKey(newPerson.getFirstName(), newPerson.getLastName());
+            if (personsByName.putIfAbsent(name, newPerson) != null) {
+                //the first person found for a given firstname+lastname is kept
+                continue;
+            }
+
+            MedicalRecord medicalRecord = medicalRecordsByName.get(name);
+            FireStation fireStation = newPerson.getAddress() == null ? null : fireStationsByAddress.get(newPerson.getAddress());
+
+            Person currentPerson = currentPersonsByName.remove(name);
+            if (currentPerson == null) {
+                newPerson.setMedicalRecord(medicalRecord);
+                newPerson.setFireStation(fireStation);
+                personsToInsert.add(newPerson);
+                appliedChanges.savedPersons.add(newPerson);
+                appliedChanges.personsByName.put(name, newPerson);
+
+            } else if (!Objects.equals(currentPerson.getAddress(), newPerson.getAddress())
+                    || !Objects.equals(currentPerson.getCity(), newPerson.getCity())
+                    || !Objects.equals(currentPerson.getZip(), newPerson.getZip())
+                    || !Objects.equals(currentPerson.getPhone(), newPerson.getPhone())
+                    || !Objects.equals(currentPerson.getEmail(), newPerson.getEmail())
+                    || currentPerson.getMedicalRecord() != medicalRecord
+                    || currentPerson.getFireStation() != fireStation) {
+                appliedChanges.previousPersons.add(copyOf(currentPerson));
+                currentPerson.setAddress(newPerson.getAddress());
+                currentPerson.setCity(newPerson.getCity());
+                currentPerson.setZip(newPerson.getZip());
+                currentPerson.setPhone(newPerson.getPhone());
+                currentPerson.setEmail(newPerson.getEmail());
+                currentPerson.setMedicalRecord(medicalRecord);
+                currentPerson.setFireStation(fireStation);
+                reloadReport.setNbOfUpdatedPersons(reloadReport.getNbOfUpdatedPersons() + 1);
+                appliedChanges.savedPersons.add(currentPerson);
+                appliedChanges.personsByName.put(name, currentPerson);
+
+            } else {
+                appliedChanges.personsByName.put(name, currentPerson);
+            }
+        }
+
+        personRepository.saveAll(personsToInsert);
+        reloadReport.setNbOfInsertedPersons(personsToInsert.size());
+
+        personsToDelete.addAll(currentPersonsByName.values());
+        personRepository.deleteAll(personsToDelete);
+        reloadReport.setNbOfDeletedPersons(personsToDelete.size());
+        appliedChanges.deletedPersons.addAll(personsToDelete);
+    }
+
+
+    /**
+     * compare the elements of a list read in the data file with the ones of a list read in DB
+     * (the list read in DB being a Hibernate collection, its own equals method only compares instances)
+     *
+     * @param newElements     the elements read in the data file
+     * @param currentElements the elements read in DB
+     * @return true if both lists have the same elements in the same order
+     */
+    private static boolean sameElements(List<String> newElements, List<String> currentElements) {
+        if (newElements == null || newElements.isEmpty()) {
+            return currentElements == null || currentElements.isEmpty();
+        }
+        return currentElements != null && newElements.equals(new ArrayList<>(currentElements));
+    }
+
+
+    /**
+     * copy a person before its update in DB, with the fire station covering its address
+     * (which may be updated by the reload too)
+     */
+    private static Person copyOf(Person person) {
+        Person copy = new Person();
+        copy.setPersonId(person.getPersonId());
+        copy.setFirstName(person.getFirstName());
+        copy.setLastName(person.getLastName());
+        copy.setAddress(person.getAddress());
+        copy.setCity(person.getCity());
+        copy.setZip(person.getZip());
+        copy.setPhone(person.getPhone());
+        copy.setEmail(person.getEmail());
+        copy.setFireStation(person.getFireStation() == null ? null : copyOf(person.getFireStation()));
+        return copy;
+    }
+
+    private static FireStation copyOf(FireStation fireStation) {
+        FireStation copy = new FireStation();
+        copy.setFireStationId(fireStation.getFireStationId());
+        copy.setStationNumber(fireStation.getStationNumber());
+        copy.setAddress(fireStation.getAddress());
+        return copy;
+    }
+
+
+    /**
+     * @return the key identifying a person (or its medical record) during the reload
+     */
+    private static String getNameKey(String firstName, String lastName) {
+        return firstName + " " + lastName;
+    }
+
+
+    /**
+     * the changes applied in DB by a reload, with the data before the updates, to be applied after the commit
+     * to the read index and to the cached results
+     */
+    private static class AppliedChanges {
+
+        private final List<MedicalRecord> savedMedicalRecords = new ArrayList<>();
+
+        private final List<MedicalRecord> deletedMedicalRecords = new ArrayList<>();
+
+        private final List<FireStation> savedFireStations = new ArrayList<>();
+
+        private final List<FireStation> previousFireStations = new ArrayList<>();
+
+        private final List<FireStation> deletedFireStations = new ArrayList<>();
+
+        private final List<Person> savedPersons = new ArrayList<>();
+
+        private final List<Person> previousPersons = new ArrayList<>();
+
+        private final List<Person> deletedPersons = new ArrayList<>();
+
+        //the persons resulting from the reload, by firstname+lastname
+        private final Map<String, Person> personsByName = new HashMap<>();
+
+        private List<MedicalRecord> getChangedMedicalRecords() {
+            List<MedicalRecord> changedMedicalRecords = new ArrayList<>(savedMedicalRecords);
+            changedMedicalRecords.addAll(deletedMedicalRecords);
+            return changedMedicalRecords;
+        }
+
+        private List<FireStation> getChangedFireStations() {
+            List<FireStation> changedFireStations = new ArrayList<>(previousFireStations);
+            changedFireStations.addAll(savedFireStations);
+            changedFireStations.addAll(deletedFireStations);
+            return changedFireStations;
+        }
+
+        private List<Person> getChangedPersons() {
+            List<Person> changedPersons = new ArrayList<>(previousPersons);
+            changedPersons.addAll(savedPersons);
+            changedPersons.addAll(deletedPersons);
+            return changedPersons;
+        }
+
+        /**
+         * @return the person of a medical record resulting from the reload, null if none
+         */
+        private Person getPersonOf(MedicalRecord medicalRecord) {
+            return personsByName.get(getNameKey(medicalRecord.getFirstName(), medicalRecord.getLastName()));
+        }
+    }
+}
@@ -5,25 +5,45 @@ import com.safetynet.alerts.exceptions.AlreadyExistsException;
 import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.Household;
 import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.FireDTO;
 import com.safetynet.alerts.model.dto.FireStationDTO;
 import com.safetynet.alerts.model.dto.FloodDTO;
 import com.safetynet.alerts.model.dto.PersonCoveredDTO;
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import com.safetynet.alerts.repository.CursorReader;
 import com.safetynet.alerts.repository.FireStationRepository;
 import com.safetynet.alerts.repository.PersonRepository;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.DataVersions;
 import com.safetynet.alerts.util.DateUtil;
+import com.safetynet.alerts.util.DtoMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.safetynet.alerts.constants.BatchConstants.MISSING_ADDRESS;
+import static com.safetynet.alerts.constants.BatchConstants.NO_PERSON_FOUND_FOR_ADDRESS;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FLOOD_CACHE;
+import static com.safetynet.alerts.constants.SparseFieldsConstants.AGE_FIELD;
+import static com.safetynet.alerts.repository.FireStationRepository.ALL_FIRE_STATIONS_QUERY;
+import static com.safetynet.alerts.util.SparseFields.isRequested;
 
 @Slf4j
 @Service
@@ -33,12 +53,31 @@ public class FireStationService implements IFireStationService {
 
     private final PersonRepository personRepository;
 
-    private static final DateUtil dateUtil = new DateUtil();
+    private final AlertsReadIndex alertsReadIndex;
+
+    private final DtoMapper dtoMapper;
+
+    private final DateUtil dateUtil;
+
+    private final AlertsCacheEvictor alertsCacheEvictor;
+
+    private final DataVersions dataVersions;
+
+    private final CursorReader cursorReader;
 
     @Autowired
-    public FireStationService(FireStationRepository fireStationRepository, PersonRepository personRepository) {
+    public FireStationService(FireStationRepository fireStationRepository, PersonRepository personRepository,
+                              AlertsReadIndex alertsReadIndex, DtoMapper dtoMapper, DateUtil dateUtil,
+                              AlertsCacheEvictor alertsCacheEvictor, DataVersions dataVersions,
+                              CursorReader cursorReader) {
         this.fireStationRepository = fireStationRepository;
         this.personRepository = personRepository;
+        this.alertsReadIndex = alertsReadIndex;
+        this.dtoMapper = dtoMapper;
+        this.dateUtil = dateUtil;
+        this.alertsCacheEvictor = alertsCacheEvictor;
+        this.dataVersions = dataVersions;
+        this.cursorReader = cursorReader;
     }
 
     /**
@@ -61,37 +100,36 @@ public class FireStationService implements IFireStationService {
 
 
     /**
-     * allow getting the list of all fire stations found in DB
+     * stream all fire stations found in DB, read through a DB cursor by chunks
+     * which are detached from the persistence context once mapped
      *
-     * @return a list of FireStationDTO
+     * @param fireStationDTOConsumer the consumer of each fire station
+     * @return the number of fire stations streamed
      */
     @Override
-    public Iterable<FireStationDTO> getAllFireStations() {
-        List<FireStationDTO> listOfFireStationsDTO = new ArrayList<>();
-
-        try {
-            Iterable<FireStation> listOfFireStations = fireStationRepository.findAll();
-            listOfFireStations.forEach(fireStation ->
-                    listOfFireStationsDTO
-                            .add(mapFireStationToFireStationDTO(fireStation)));
-
-        } catch (Exception exception) {
-            log.error("error when getting the list of fire stations " + exception.getMessage() + "\n");
-        }
-
-        return listOfFireStationsDTO;
+    @Transactional(readOnly = true)
+    public long streamAllFireStations(Consumer<FireStationDTO> fireStationDTOConsumer) {
+        return cursorReader.forEachChunk(ALL_FIRE_STATIONS_QUERY, FireStation.class, listOfFireStations ->
+                listOfFireStations.forEach(fireStation ->
+                        fireStationDTOConsumer.accept(dtoMapper.toFireStationDTO(fireStation))));
     }
 
 
     /**
-     * map the FireStation object to the FireStationDTO object
+     * allow getting a page of fire stations found in DB, read after the last fire station of the previous page
+     * through the primary key index (keyset pagination)
      *
-     * @param fireStation FireStation object to be mapped to FireStationDTO
-     * @return a FireStationDTO
+     * @param lastFireStationId the id of the last fire station of the previous page
+     * @param pageSize          the maximum number of fire stations of the page
+     * @return the page of fire stations, ordered by id
      */
-    private FireStationDTO mapFireStationToFireStationDTO(FireStation fireStation) {
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(fireStation, FireStationDTO.class);
+    @Override
+    public List<FireStationDTO> getPageOfFireStations(Long lastFireStationId, int pageSize) {
+        List<FireStationDTO> pageOfFireStationsDTO = new ArrayList<>();
+        fireStationRepository.findAllByFireStationIdGreaterThanOrderByFireStationId(lastFireStationId,
+                PageRequest.of(0, pageSize))
+                .forEach(fireStation -> pageOfFireStationsDTO.add(dtoMapper.toFireStationDTO(fireStation)));
+        return pageOfFireStationsDTO;
     }
 
 
@@ -101,47 +139,132 @@ public class FireStationService implements IFireStationService {
      * @return the fire station coverage for the address
      */
     @Override
+    @Cacheable(cacheNames = FIRE_CACHE, key = "#address", condition = "#address != null", sync = true)
     public FireDTO getFireStationCoverageByAddress(String address) {
+        return getFireStationCoverageByAddress(address, null);
+    }
+
+
+    /**
+     * allow getting the list of persons for a given address with its fire station number, found in DB,
+     * the age and the medical record lists being read only if requested
+     *
+     * @return the fire station coverage for the address
+     */
+    @Override
+    public FireDTO getFireStationCoverageByAddress(String address, Set<String> fields) {
         if (address != null && !address.equals("")) {
             try {
-                FireDTO fireDTO = new FireDTO();
-
                 //get the list of persons living at the address
-                List<Person> listOfPersons = personRepository.findAllByAddress(address);
+                List<Person> listOfPersons = alertsReadIndex.isReady()
+                        ? alertsReadIndex.findAllByAddress(address) : personRepository.findAllByAddress(address);
                 log.info(listOfPersons.size() + " persons found for the address : " + address);
 
-                //for each person, populate the list of persons covered
-                List<PersonCoveredDTO> personCoveredDTOList = new ArrayList<>();
+                //get the station number of the fire station which covers this address
+                //assuming there is only one fire station covering a given address
+                FireStation coveringFireStation = alertsReadIndex.isReady()
+                        ? alertsReadIndex.findFireStationByAddress(address) : fireStationRepository.findByAddress(address);
 
-                if (!listOfPersons.isEmpty()) {
-                    log.debug(listOfPersons.size() + " persons found for the address : " + address);
-                    listOfPersons.forEach(person -> {
-                        person.setAge(dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()));
-                        personCoveredDTOList.add(mapPersonToPersonCoveredDTO(person));
-                    });
+                return toFireDTO(listOfPersons, coveringFireStation, fields);
 
-                    log.info(personCoveredDTOList.size() + " persons found for address : " + address);
-                }
+            } catch (Exception exception) {
+                log.error("error when getting the fire station coverage information for address " + address + " : " + exception.getMessage());
+                return null;
+            }
+        } else {
+            log.error("an address must be specified to get the fire station coverage information");
+            return null;
+        }
 
-                fireDTO.setPersonCoveredDTOList(personCoveredDTOList);
+    }
 
-                //get the station number of the fire station which covers this address
-                //assuming there is only one fire station covering a given address
-                FireStation coveringFireStation = fireStationRepository.findByAddress(address);
-                if (coveringFireStation != null) {
-                    fireDTO.setStationNumber(coveringFireStation.getStationNumber());
+
+    /**
+     * allow getting the fire station coverage of a batch of addresses, found in DB with one query
+     * for the persons and one for the fire stations, whatever the number of addresses
+     *
+     * @param listOfAddresses the addresses
+     * @return the fire station coverage by address, and the addresses without person as misses
+     */
+    @Override
+    public BatchDTO<FireDTO> getFireStationCoverageByAddresses(List<String> listOfAddresses) {
+        if (listOfAddresses != null && !listOfAddresses.isEmpty()) {
+            try {
+                BatchDTO<FireDTO> batchDTO = new BatchDTO<>();
+                Set<String> addresses = new LinkedHashSet<>();
+                listOfAddresses.forEach(address -> {
+                    if (address != null && !address.equals("")) {
+                        addresses.add(address);
+                    } else {
+                        batchDTO.getMisses().put(String.valueOf(address), MISSING_ADDRESS);
+                    }
+                });
+
+                //get the persons and the covering fire stations of all the addresses
+                Map<String, List<Person>> personsByAddress = new HashMap<>();
+                Map<String, FireStation> fireStationsByAddress = new HashMap<>();
+                if (alertsReadIndex.isReady()) {
+                    addresses.forEach(address -> {
+                        personsByAddress.put(address, alertsReadIndex.findAllByAddress(address));
+                        fireStationsByAddress.put(address, alertsReadIndex.findFireStationByAddress(address));
+                    });
+                } else if (!addresses.isEmpty()) {
+                    personRepository.findAllByAddressIn(addresses).forEach(person -> personsByAddress
+                            .computeIfAbsent(person.getAddress(), address -> new ArrayList<>()).add(person));
+                    fireStationRepository.findAllByAddressIn(addresses)
+                            .forEach(fireStation -> fireStationsByAddress.put(fireStation.getAddress(), fireStation));
                 }
-                return fireDTO;
+
+                for (String address : addresses) {
+                    List<Person> listOfPersons = personsByAddress.get(address);
+                    if (listOfPersons == null || listOfPersons.isEmpty()) {
+                        batchDTO.getMisses().put(address, NO_PERSON_FOUND_FOR_ADDRESS);
+                    } else {
+                        batchDTO.getResults().put(address,
+                                toFireDTO(listOfPersons, fireStationsByAddress.get(address), null));
+                    }
+                }
+                log.info(batchDTO.getResults().size() + " addresses found and "
+                        + batchDTO.getMisses().size() + " missed in the batch of " + listOfAddresses.size() + " addresses");
+                return batchDTO;
 
             } catch (Exception exception) {
-                log.error("error when getting the fire station coverage information for address " + address + " : " + exception.getMessage());
+                log.error("error when getting the fire station coverage information for addresses "
+                        + listOfAddresses + " : " + exception.getMessage());
                 return null;
             }
         } else {
-            log.error("an address must be specified to get the fire station coverage information");
+            log.error("a list of addresses must be specified to get the fire station coverage information");
             return null;
         }
+    }
+
 
+    /**
+     * map the persons living at an address and the fire station covering it to a FireDTO
+     *
+     * @param listOfPersons       the persons living at the address
+     * @param coveringFireStation the fire station covering the address, if any
+     * @param fields              the requested fields of the persons, null for all of them
+     * @return the FireDTO
+     */
+    private FireDTO toFireDTO(List<Person> listOfPersons, FireStation coveringFireStation, Set<String> fields) {
+        FireDTO fireDTO = new FireDTO();
+
+        //for each person, populate the list of persons covered
+        List<PersonCoveredDTO> personCoveredDTOList = new ArrayList<>();
+        listOfPersons.forEach(person -> {
+            if (isRequested(fields, AGE_FIELD)) {
+                person.setAge(dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()));
+            }
+            personCoveredDTOList.add(dtoMapper.toPersonCoveredDTO(person, fields));
+        });
+        fireDTO.setPersonCoveredDTOList(personCoveredDTOList);
+
+        if (coveringFireStation != null) {
+            fireDTO.setStationNumber(coveringFireStation.getStationNumber());
+        }
+        return fireDTO;
     }
 
 
@@ -152,49 +275,34 @@ public class FireStationService implements IFireStationService {
      * @return the flood for the fire stations
      */
     @Override
+    @Cacheable(cacheNames = FLOOD_CACHE, key = "#listOfStationNumbers", condition = "#listOfStationNumbers != null",
+            sync = true)
     public List<FloodDTO> getFloodByStationNumbers(List<Integer> listOfStationNumbers) {
         if (listOfStationNumbers != null && !listOfStationNumbers.isEmpty()) {
             try {
-                List<FloodDTO> listOfFloodDTO = new ArrayList<>();
+                Set<Integer> stationNumbers = new LinkedHashSet<>(listOfStationNumbers);
+                Map<Integer, Map<String, List<PersonCoveredDTO>>> personsCoveredDTOByStationAndAddress =
+                        alertsReadIndex.isReady()
+                                ? getPersonsCoveredDTOFromHouseholds(stationNumbers)
+                                : getPersonsCoveredDTOFromRepository(stationNumbers);
 
-                listOfStationNumbers.forEach(station -> {
-                            //get the list of persons covered by the fire station
-                            List<Person> listOfPersons
-                                    = new ArrayList<>(personRepository.findAllByFireStation_StationNumber(station));
-
-                            if (!listOfPersons.isEmpty()) {
-                                log.info(listOfPersons.size() + " persons found for the stations : " + listOfStationNumbers);
-
-                                //group persons by address
-                                Map<String, List<Person>> personsGroupedByAddress
-                                        = listOfPersons.stream().collect(Collectors.groupingBy(Person::getAddress));
-
-                                //then convert to DTO
-                                Map<String, List<PersonCoveredDTO>> personsCoveredDTOByAddress = new HashMap<>();
-                                FloodDTO floodDTO = new FloodDTO();
-                                for (String address : personsGroupedByAddress.keySet()) {
-                                    List<PersonCoveredDTO> personCoveredDTOList = new ArrayList<>();
-                                    for (Map.Entry<String, List<Person>> listOfPersonsForAddress : personsGroupedByAddress.entrySet()) {
-                                        for (Person person : listOfPersonsForAddress.getValue()) {
-                                            person.setAge(dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()));
-                                            personCoveredDTOList.add(mapPersonToPersonCoveredDTO(person));
-                                        }
-                                    }
-                                    personsCoveredDTOByAddress.put(address, personCoveredDTOList);
-                                }
-
-                                //and populate the floodDTO and add it to the list of FloodDTO
-                                floodDTO.setPersonsCoveredByAddress(personsCoveredDTOByAddress);
-                                floodDTO.setStationNumber(station);
-
-                                listOfFloodDTO.add(floodDTO);
-
-                            } else {
-                                log.info("no person found for station " + station
-                                        + ", list of person information is empty for this station");
-                            }
-                        }
-                );
+                //then populate a FloodDTO per station, in the order of the requested station numbers
+                List<FloodDTO> listOfFloodDTO = new ArrayList<>();
+                for (Integer station : stationNumbers) {
+                    Map<String, List<PersonCoveredDTO>> personsCoveredDTOByAddress
+                            = personsCoveredDTOByStationAndAddress.get(station);
+
+                    if (personsCoveredDTOByAddress != null) {
+                        FloodDTO floodDTO = new FloodDTO();
+                        floodDTO.setPersonsCoveredByAddress(personsCoveredDTOByAddress);
+                        floodDTO.setStationNumber(station);
+                        listOfFloodDTO.add(floodDTO);
+
+                    } else {
+                        log.info("no person found for station " + station
+                                + ", list of person information is empty for this station");
+                    }
+                }
 
                 return listOfFloodDTO;
 
@@ -210,6 +318,56 @@ public class FireStationService implements IFireStationService {
     }
 
 
+    /**
+     * get the persons covered by fire stations from the households of the read index,
+     * where they are already grouped by station number and address
+     *
+     * @param stationNumbers the station numbers
+     * @return the persons covered, converted to DTO, by station number and address
+     */
+    private Map<Integer, Map<String, List<PersonCoveredDTO>>> getPersonsCoveredDTOFromHouseholds(Set<Integer> stationNumbers) {
+        Map<Integer, Map<String, List<PersonCoveredDTO>>> personsCoveredDTOByStationAndAddress = new HashMap<>();
+        for (Integer station : stationNumbers) {
+            Map<String, List<Household>> householdsByAddress = alertsReadIndex.findHouseholdsByStationNumber(station);
+            if (!householdsByAddress.isEmpty()) {
+                Map<String, List<PersonCoveredDTO>> personsCoveredDTOByAddress = new LinkedHashMap<>();
+                householdsByAddress.forEach((address, households) -> {
+                    List<PersonCoveredDTO> listOfPersonCoveredDTO = new ArrayList<>();
+                    households.forEach(household -> household.getMembers().forEach(person -> {
+                        person.setAge(dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()));
+                        listOfPersonCoveredDTO.add(dtoMapper.toPersonCoveredDTO(person));
+                    }));
+                    personsCoveredDTOByAddress.put(address, listOfPersonCoveredDTO);
+                });
+                personsCoveredDTOByStationAndAddress.put(station, personsCoveredDTOByAddress);
+            }
+        }
+        return personsCoveredDTOByStationAndAddress;
+    }
+
+    /**
+     * get in one query the persons covered by fire stations
+     * and group them by station number and by address in a single pass
+     *
+     * @param stationNumbers the station numbers
+     * @return the persons covered, converted to DTO, by station number and address
+     */
+    private Map<Integer, Map<String, List<PersonCoveredDTO>>> getPersonsCoveredDTOFromRepository(Set<Integer> stationNumbers) {
+        List<Person> listOfPersons = personRepository.findAllByFireStation_StationNumberIn(stationNumbers);
+        log.info(listOfPersons.size() + " persons found for the stations : " + stationNumbers);
+
+        Map<Integer, Map<String, List<PersonCoveredDTO>>> personsCoveredDTOByStationAndAddress = new HashMap<>();
+        for (Person person : listOfPersons) {
+            person.setAge(dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()));
+            personsCoveredDTOByStationAndAddress
+                    .computeIfAbsent(person.getFireStation().getStationNumber(), station -> new HashMap<>())
+                    .computeIfAbsent(person.getAddress(), address -> new ArrayList<>())
+                    .add(dtoMapper.toPersonCoveredDTO(person));
+        }
+        return personsCoveredDTOByStationAndAddress;
+    }
+
+
     /**
      * save a new address/fire station in the repository
      *
@@ -231,8 +389,7 @@ public class FireStationService implements IFireStationService {
             //check the address does not already exist in the repository
             if (fireStationRepository.findByAddress(fireStationDTOToAdd.getAddress()) == null) {
                 //map DTO to DAO, save in repository and map back to FireStationDTO for return
-                ModelMapper modelMapper = new ModelMapper();
-                FireStation fireStationToAdd = modelMapper.map(fireStationDTOToAdd, FireStation.class);
+                FireStation fireStationToAdd = dtoMapper.toFireStation(fireStationDTOToAdd);
 
                 FireStation addedFireStation = fireStationRepository.save(fireStationToAdd);
 
@@ -240,8 +397,11 @@ public class FireStationService implements IFireStationService {
                 List<Person> personsToUpdate = personRepository.findAllByAddress(addedFireStation.getAddress());
                 personsToUpdate.forEach(person -> person.setFireStation(addedFireStation));
                 personRepository.saveAll(personsToUpdate);
+                alertsReadIndex.saveFireStation(addedFireStation);
+                alertsCacheEvictor.evictFireStation(addedFireStation);
+                dataVersions.bumpFireStation(addedFireStation);
 
-                addedFireStationDTO = Optional.ofNullable(modelMapper.map(addedFireStation, FireStationDTO.class));
+                addedFireStationDTO = Optional.ofNullable(dtoMapper.toFireStationDTO(addedFireStation));
 
             } else {
                 throw new AlreadyExistsException(ExceptionConstants.ALREADY_EXIST_FIRE_STATION_FOR_ADDRESS
@@ -278,13 +438,17 @@ public class FireStationService implements IFireStationService {
             FireStation existingFireStation = fireStationRepository.findByAddress(fireStationDTOToUpdate.getAddress());
             if (existingFireStation != null) {
                 //map DTO to DAO, save in repository and map back to FireStationDTO for return
-                ModelMapper modelMapper = new ModelMapper();
-                FireStation fireStationToUpdate = modelMapper.map(fireStationDTOToUpdate, FireStation.class);
+                FireStation fireStationToUpdate = dtoMapper.toFireStation(fireStationDTOToUpdate);
                 fireStationToUpdate.setFireStationId(existingFireStation.getFireStationId());
 
                 FireStation updatedFireStation = fireStationRepository.save(fireStationToUpdate);
+                alertsReadIndex.saveFireStation(updatedFireStation);
+                alertsCacheEvictor.evictFireStation(existingFireStation);
+                alertsCacheEvictor.evictFireStation(updatedFireStation);
+                dataVersions.bumpFireStation(existingFireStation);
+                dataVersions.bumpFireStation(updatedFireStation);
 
-                updatedFireStationDTO = Optional.ofNullable(modelMapper.map(updatedFireStation, FireStationDTO.class));
+                updatedFireStationDTO = Optional.ofNullable(dtoMapper.toFireStationDTO(updatedFireStation));
 
             } else {
                 throw new DoesNotExistException(ExceptionConstants.NO_FIRE_STATION_FOUND_FOR_ADDRESS
@@ -327,6 +491,9 @@ public class FireStationService implements IFireStationService {
                 }
 
                 fireStationRepository.deleteById(fireStationToDelete.getFireStationId());
+                alertsReadIndex.deleteFireStation(address);
+                alertsCacheEvictor.evictFireStation(fireStationToDelete);
+                dataVersions.bumpFireStation(fireStationToDelete);
 
             } else {
                 throw new DoesNotExistException(ExceptionConstants.NO_FIRE_STATION_FOUND_FOR_ADDRESS + address);
@@ -366,7 +533,12 @@ public class FireStationService implements IFireStationService {
                     personRepository.saveAll(listOfPersons);
                 }
 
-                fireStationsToDelete.forEach(fireStation -> fireStationRepository.deleteById(fireStation.getFireStationId()));
+                fireStationsToDelete.forEach(fireStation -> {
+                    fireStationRepository.deleteById(fireStation.getFireStationId());
+                    alertsReadIndex.deleteFireStation(fireStation.getAddress());
+                    alertsCacheEvictor.evictFireStation(fireStation);
+                    dataVersions.bumpFireStation(fireStation);
+                });
 
             } else {
                 throw new DoesNotExistException(ExceptionConstants.NO_FIRE_STATION_FOUND_FOR_STATION_NUMBER + stationNumber);
@@ -378,21 +550,4 @@ public class FireStationService implements IFireStationService {
 
         return fireStationsToDelete;
     }
-
-
-    /**
-     * map the person information to the PersonCoveredDTO
-     *
-     * @param person person information to be mapped to PersonCoveredDTO
-     * @return a PersonCoveredDTO
-     */
-    private PersonCoveredDTO mapPersonToPersonCoveredDTO(Person person) {
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.typeMap(Person.class, PersonCoveredDTO.class).addMappings(mapper -> {
-            mapper.map(src -> src.getMedicalRecord().getMedications(), PersonCoveredDTO::setMedications);
-            mapper.map(src -> src.getMedicalRecord().getAllergies(), PersonCoveredDTO::setAllergies);
-        });
-
-        return modelMapper.map(person, PersonCoveredDTO.class);
-    }
 }
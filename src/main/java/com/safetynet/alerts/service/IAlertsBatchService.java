@@ -0,0 +1,17 @@
+package com.safetynet.alerts.service;
+
+import com.safetynet.alerts.model.dto.SubQueryDTO;
+import com.safetynet.alerts.model.dto.SubQueryResultDTO;
+
+import java.util.List;
+
+public interface IAlertsBatchService {
+
+    /**
+     * answer the sub-queries of a batch, each one as its endpoint would, on the same state of the data
+     *
+     * @param listOfSubQueries the sub-queries (endpoint and parameters)
+     * @return a result by sub-query in the order of the list, null if no sub-query or too many
+     */
+    List<SubQueryResultDTO> getSubQueryResults(List<SubQueryDTO> listOfSubQueries);
+}
@@ -4,12 +4,15 @@ import com.safetynet.alerts.exceptions.AlreadyExistsException;
 import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.FireDTO;
 import com.safetynet.alerts.model.dto.FireStationDTO;
 import com.safetynet.alerts.model.dto.FloodDTO;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface IFireStationService {
 
@@ -23,11 +26,21 @@ public interface IFireStationService {
 
 
     /**
-     * allow getting the list of all fire stations found in DB
+     * stream all fire stations found in DB, read through a DB cursor by chunks
      *
-     * @return a list of FireStation
+     * @param fireStationDTOConsumer the consumer of each fire station
+     * @return the number of fire stations streamed
      */
-    Iterable<FireStationDTO> getAllFireStations();
+    long streamAllFireStations(Consumer<FireStationDTO> fireStationDTOConsumer);
+
+    /**
+     * allow getting a page of fire stations found in DB, after the last fire station of the previous page
+     *
+     * @param lastFireStationId the id of the last fire station of the previous page
+     * @param pageSize          the maximum number of fire stations of the page
+     * @return the page of fire stations, ordered by id
+     */
+    List<FireStationDTO> getPageOfFireStations(Long lastFireStationId, int pageSize);
 
     /**
      * allow getting the list of persons for a given address with its fire station number, found in DB
@@ -36,6 +49,24 @@ public interface IFireStationService {
      */
     FireDTO getFireStationCoverageByAddress(String address);
 
+    /**
+     * allow getting the list of persons for a given address with its fire station number, found in DB,
+     * with only the data of the requested fields of the persons (not cached)
+     *
+     * @param address the address
+     * @param fields  the requested fields of the PersonCoveredDTO, null for all of them
+     * @return the fire station coverage for the address
+     */
+    FireDTO getFireStationCoverageByAddress(String address, Set<String> fields);
+
+    /**
+     * allow getting the fire station coverage of a batch of addresses, found in DB with one query per entity type
+     *
+     * @param listOfAddresses the addresses
+     * @return the fire station coverage by address, and the addresses without person as misses
+     */
+    BatchDTO<FireDTO> getFireStationCoverageByAddresses(List<String> listOfAddresses);
+
     /**
      * allow getting person information about people covered by fire stations
      * for a given list of station number et grouped by station number and address, found in DB
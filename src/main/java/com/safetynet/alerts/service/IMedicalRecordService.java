@@ -8,6 +8,7 @@ import com.safetynet.alerts.model.dto.MedicalRecordDTO;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IMedicalRecordService {
 
@@ -20,11 +21,21 @@ public interface IMedicalRecordService {
     Iterable<MedicalRecord> saveListOfMedicalRecords(List<MedicalRecord> listOfMedicalRecords);
 
     /**
-     * allow getting the list of all medical records found in DB
+     * stream all medical records found in DB, read through a DB cursor by chunks
      *
-     * @return a list of MedicalRecord
+     * @param medicalRecordDTOConsumer the consumer of each medical record
+     * @return the number of medical records streamed
      */
-    Iterable<MedicalRecordDTO> getAllMedicalRecords();
+    long streamAllMedicalRecords(Consumer<MedicalRecordDTO> medicalRecordDTOConsumer);
+
+    /**
+     * allow getting a page of medical records found in DB, after the last medical record of the previous page
+     *
+     * @param lastMedicalRecordId the id of the last medical record of the previous page
+     * @param pageSize            the maximum number of medical records of the page
+     * @return the page of medical records, ordered by id
+     */
+    List<MedicalRecordDTO> getPageOfMedicalRecords(Long lastMedicalRecordId, int pageSize);
 
     /**
      * save a new medical record in the repository
@@ -4,13 +4,17 @@ import com.safetynet.alerts.exceptions.AlreadyExistsException;
 import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.ChildAlertDTO;
 import com.safetynet.alerts.model.dto.FireStationCoverageDTO;
 import com.safetynet.alerts.model.dto.PersonDTO;
 import com.safetynet.alerts.model.dto.PersonInfoDTO;
+import com.safetynet.alerts.model.dto.PersonNameDTO;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface IPersonService {
 
@@ -23,11 +27,21 @@ public interface IPersonService {
     Iterable<Person> saveListOfPersons(List<Person> listOfPersons);
 
     /**
-     * allow getting the list of all persons found in DB
+     * stream all persons found in DB, read through a DB cursor by chunks
      *
-     * @return a list of Person
+     * @param personDTOConsumer the consumer of each person
+     * @return the number of persons streamed
      */
-    Iterable<PersonDTO> getAllPersons();
+    long streamAllPersons(Consumer<PersonDTO> personDTOConsumer);
+
+    /**
+     * allow getting a page of persons found in DB, after the last person of the previous page
+     *
+     * @param lastPersonId the id of the last person of the previous page
+     * @param pageSize     the maximum number of persons of the page
+     * @return the page of persons, ordered by id
+     */
+    List<PersonDTO> getPageOfPersons(Long lastPersonId, int pageSize);
 
     /**
      * allow getting the list of all citizens' emails for a given city found in DB
@@ -48,6 +62,26 @@ public interface IPersonService {
      */
     List<PersonInfoDTO> getPersonInfoByFirstNameAndLastName(String firstName, String lastName);
 
+    /**
+     * allow getting the list of person information found in repository
+     * for given firstname and lastname, with only the data of the requested fields (not cached)
+     *
+     * @param firstName the firstname we want to get the person information from
+     * @param lastName  the lastname we want to get the person information from
+     * @param fields    the requested fields of the PersonInfoDTO, null for all of them
+     * @return a list of person information
+     */
+    List<PersonInfoDTO> getPersonInfoByFirstNameAndLastName(String firstName, String lastName, Set<String> fields);
+
+    /**
+     * allow getting the person information of a batch of names, found in DB with one query
+     * If other persons have the same lastname, they will be in the list of the name.
+     *
+     * @param listOfNames the firstnames and lastnames
+     * @return the list of person information by name ("firstname lastname"), and the names without person as misses
+     */
+    BatchDTO<List<PersonInfoDTO>> getPersonInfoByNames(List<PersonNameDTO> listOfNames);
+
     /**
      * allow getting the list of child alert found in repository for given address
      *
@@ -56,6 +90,14 @@ public interface IPersonService {
      */
     List<ChildAlertDTO> getChildAlertByAddress(String address);
 
+    /**
+     * allow getting the child alerts of a batch of addresses, found in DB with one query
+     *
+     * @param listOfAddresses the addresses
+     * @return the list of child alert by address, and the addresses without person as misses
+     */
+    BatchDTO<List<ChildAlertDTO>> getChildAlertByAddresses(List<String> listOfAddresses);
+
     /**
      * allow getting the list of all phone numbers for citizens
      * covered by a given fire station found in repository
@@ -76,6 +118,17 @@ public interface IPersonService {
      */
     FireStationCoverageDTO getFireStationCoverageByStationNumber(Integer stationNumber);
 
+    /**
+     * allow getting the list of information of all citizens covered by a given fire station found in repository,
+     * with only the data of the requested fields (not cached)
+     *
+     * @param stationNumber the fire station number we want to get the citizen' information from
+     * @param fields        the requested fields of the FireStationCoverageDTO, null for all of them
+     * @return a list of information of all citizens covered by a given fire station found in repository
+     * completed with a count of adults and children
+     */
+    FireStationCoverageDTO getFireStationCoverageByStationNumber(Integer stationNumber, Set<String> fields);
+
     /**
      * save a new person in the repository
      *
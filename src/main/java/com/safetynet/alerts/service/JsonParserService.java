@@ -1,12 +1,15 @@
 package com.safetynet.alerts.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.alerts.model.DataSet;
 import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.LinkingReport;
 import com.safetynet.alerts.model.MedicalRecord;
 import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.util.ChunkPipeline;
+import com.safetynet.alerts.util.DataLoadStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,7 +18,14 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -29,193 +39,456 @@ public class JsonParserService implements IFileParserService {
 
     private final ObjectMapper objectMapper;
 
+    private final DataLoadStatus dataLoadStatus;
+
+    private static final String PERSONS_SECTION = "persons";
+    private static final String FIRE_STATIONS_SECTION = "firestations";
+    private static final String MEDICAL_RECORDS_SECTION = "medicalrecords";
+
     @Value("${data.inputFilePath}")
     private String dataInputFilePath;
 
+    @Value("${data.load.chunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${data.load.workers:0}")
+    private int nbOfWorkers;
+
+    @Value("${data.load.queueCapacity:4}")
+    private int queueCapacity;
+
+    private LinkingReport linkingReport;
+
     @Autowired
-    public JsonParserService(PersonService personService, FireStationService fireStationService, MedicalRecordService medicalRecordService, ObjectMapper objectMapper) {
+    public JsonParserService(PersonService personService, FireStationService fireStationService, MedicalRecordService medicalRecordService,
+                             ObjectMapper objectMapper, DataLoadStatus dataLoadStatus) {
         this.personService = personService;
         this.fireStationService = fireStationService;
         this.medicalRecordService = medicalRecordService;
         this.objectMapper = objectMapper;
+        this.dataLoadStatus = dataLoadStatus;
+    }
+
+
+    /**
+     * get the report of the linking of persons with their medical record and their fire station
+     * done during the last read of the data file
+     *
+     * @return the linking report, or null if no data file has been read
+     */
+    public LinkingReport getLinkingReport() {
+        return linkingReport;
     }
 
 
     /**
      * read information in the data.json file
+     * The file is streamed token by token and each section is handed to the save path by chunks of chunkSize elements,
+     * so that the whole file is never loaded in memory.
+     * As persons need their medical record and fire station to be saved first, the file is read in two passes:
+     * first medical records and fire stations, then persons.
+     * In each pass, the parsing overlaps with the persistence: chunks are saved by pools of worker threads
+     * (each one with its own connection and transaction) fed through bounded queues.
+     * The progress of the load (number of elements parsed and saved) is followed in the data load status.
      */
     @Override
     public void readDataFromFile() {
 
         // read JSON file
         log.info("Reading JSON file");
+        dataLoadStatus.loadStarted(DataLoadStatus.Source.JSON);
         try {
 
-            InputStream jsonData = getClass().getClassLoader().getResourceAsStream(this.dataInputFilePath);
-
-            if (jsonData != null) {
-                JsonNode rootNode = objectMapper.readTree(jsonData);
-
-                if (!rootNode.isEmpty()) {
-
-                    //read medical records, save medical record data in DB
-                    // and get back the list of medical records with their IDs in DB
-                    log.info("  Reading MedicalRecords in file");
-                    List<MedicalRecord> listOfMedicalRecords = readMedicalRecordsFromJsonFile(rootNode);
+            //first pass: read medical records and fire stations, save them in DB chunk by chunk
+            // and get back the lists of medical records and fire stations with their IDs in DB
+            log.info("  Reading MedicalRecords and FireStations in file");
+            List<MedicalRecord> listOfMedicalRecords = Collections.synchronizedList(new ArrayList<>());
+            List<FireStation> listOfFireStations = Collections.synchronizedList(new ArrayList<>());
+
+            ChunkPipeline<MedicalRecord> medicalRecordPipeline = new ChunkPipeline<>("medical-records", getNbOfWorkers(),
+                    queueCapacity, chunk -> saveChunkOfMedicalRecords(chunk, listOfMedicalRecords));
+            ChunkPipeline<FireStation> fireStationPipeline = new ChunkPipeline<>("fire-stations", 1,
+                    queueCapacity, chunk -> saveChunkOfFireStations(chunk, listOfFireStations));
+
+            Map<String, SectionReader> firstPassReaders = new HashMap<>();
+            firstPassReaders.put(MEDICAL_RECORDS_SECTION,
+                    parser -> readSectionByChunks(parser, MedicalRecord.class, chunk -> {
+                        dataLoadStatus.addParsedElements(DataLoadStatus.DataType.MEDICAL_RECORDS, chunk.size());
+                        medicalRecordPipeline.submit(chunk);
+                    }));
+            firstPassReaders.put(FIRE_STATIONS_SECTION,
+                    parser -> readSectionByChunks(parser, FireStation.class, chunk -> {
+                        dataLoadStatus.addParsedElements(DataLoadStatus.DataType.FIRE_STATIONS, chunk.size());
+                        fireStationPipeline.submit(chunk);
+                    }));
+
+            Map<String, Integer> nbOfElementsBySection;
+            boolean firstPassSaved;
+            try {
+                nbOfElementsBySection = streamDataFile(this.dataInputFilePath, firstPassReaders);
+            } finally {
+                firstPassSaved = medicalRecordPipeline.awaitCompletion() & fireStationPipeline.awaitCompletion();
+            }
 
-                    if (!listOfMedicalRecords.isEmpty()) {
-                        log.info("    " + listOfMedicalRecords.size() + " medical record(s) found");
-                        listOfMedicalRecords = (List<MedicalRecord>) medicalRecordService.saveListOfMedicalRecords(listOfMedicalRecords);
-                        log.info("    " + listOfMedicalRecords.size() + " medical record(s) saved");
-                    } else {
-                        log.error("No medical record data found in file " + this.dataInputFilePath);
-                    }
+            if (nbOfElementsBySection != null) {
 
-                    //read fire stations and save fire station data in DB
-                    log.info("  reading FireStations in file");
-                    List<FireStation> listOfFireStations = readFireStationsFromJsonFile(rootNode);
+                if (nbOfElementsBySection.isEmpty()) {
+                    log.error("Input data file " + this.dataInputFilePath + " is empty \n");
+                    return;
+                }
 
-                    if (!listOfFireStations.isEmpty()) {
-                        log.info("    " + listOfFireStations.size() + " fire station(s) found");
-                        listOfFireStations = (List<FireStation>) fireStationService.saveListOfFireStations(listOfFireStations);
-                        log.info("    " + listOfFireStations.size() + " fire station(s) saved");
-                    } else {
-                        log.error("No fire station data found in file " + this.dataInputFilePath);
-                    }
+                if (!firstPassSaved) {
+                    log.error("Medical records and fire stations of file " + this.dataInputFilePath
+                            + " have not all been saved, persons are not loaded \n");
+                    return;
+                }
 
-                    //read persons in Json file
-                    log.info("  reading Persons in file");
-                    List<Person> listOfPersons = readPersonsFromJsonFile(rootNode);
+                int nbOfMedicalRecords = nbOfElementsBySection.getOrDefault(MEDICAL_RECORDS_SECTION, 0);
+                if (nbOfMedicalRecords > 0) {
+                    log.info("    " + nbOfMedicalRecords + " medical record(s) found");
+                    log.info("    " + listOfMedicalRecords.size() + " medical record(s) saved");
+                } else {
+                    log.error("No medical record data found in file " + this.dataInputFilePath);
+                }
 
-                    if (!listOfPersons.isEmpty()) {
-                        log.info("    " + listOfPersons.size() + " person(s) found");
+                int nbOfFireStations = nbOfElementsBySection.getOrDefault(FIRE_STATIONS_SECTION, 0);
+                if (nbOfFireStations > 0) {
+                    log.info("    " + nbOfFireStations + " fire station(s) found");
+                    log.info("    " + listOfFireStations.size() + " fire station(s) saved");
+                } else {
+                    log.error("No fire station data found in file " + this.dataInputFilePath);
+                }
 
-                        // map the persons with their medical record and with their fire station
-                        listOfPersons = associateMedicalRecordToPerson(listOfPersons, listOfMedicalRecords);
-                        listOfPersons = associateFireStationToPerson(listOfPersons, listOfFireStations);
+                //build the hash indexes used to link persons with their medical record and their fire station
+                LinkingReport newLinkingReport = new LinkingReport();
+                Map<String, MedicalRecord> medicalRecordsByName = indexMedicalRecordsByName(listOfMedicalRecords, newLinkingReport);
+                Map<String, FireStation> fireStationsByAddress = indexFireStationsByAddress(listOfFireStations, newLinkingReport);
+                Set<String> personNames = new HashSet<>();
+
+                //second pass: read persons, map them with their medical record and with their fire station
+                // and save them in DB chunk by chunk, by several workers
+                log.info("  reading Persons in file");
+                AtomicInteger nbOfSavedPersons = new AtomicInteger();
+
+                ChunkPipeline<Person> personPipeline = new ChunkPipeline<>("persons", getNbOfWorkers(),
+                        queueCapacity, chunk -> nbOfSavedPersons.addAndGet(saveChunkOfPersons(chunk)));
+
+                Map<String, SectionReader> secondPassReaders = new HashMap<>();
+                secondPassReaders.put(PERSONS_SECTION, parser -> readSectionByChunks(parser, Person.class, chunk -> {
+                    dataLoadStatus.addParsedElements(DataLoadStatus.DataType.PERSONS, chunk.size());
+                    personPipeline.submit(linkChunkOfPersons(chunk, medicalRecordsByName,
+                            fireStationsByAddress, personNames, newLinkingReport));
+                }));
+
+                boolean secondPassSaved;
+                try {
+                    nbOfElementsBySection = streamDataFile(this.dataInputFilePath, secondPassReaders);
+                } finally {
+                    secondPassSaved = personPipeline.awaitCompletion();
+                }
 
-                        //and save person data in DB
-                        personService.saveListOfPersons(listOfPersons);
-                        log.info("    " + listOfPersons.size() + " person(s) saved");
+                int nbOfPersons = nbOfElementsBySection == null ? 0 : nbOfElementsBySection.getOrDefault(PERSONS_SECTION, 0);
+                if (nbOfPersons > 0) {
+                    log.info("    " + nbOfPersons + " person(s) found");
+                    log.info("    " + nbOfSavedPersons.get() + " person(s) saved");
+                } else {
+                    log.error("No person data found in file " + this.dataInputFilePath);
+                }
 
-                    } else {
-                        log.error("No person data found in file " + this.dataInputFilePath);
-                    }
+                if (!secondPassSaved) {
+                    log.error("Persons of file " + this.dataInputFilePath + " have not all been saved \n");
+                }
 
-                    log.info("End of Reading JSON file \n");
+                this.linkingReport = newLinkingReport;
+                dataLoadStatus.loadEnded(newLinkingReport, secondPassSaved);
+                if (newLinkingReport.isComplete()) {
+                    log.info("  Linking report: " + newLinkingReport);
                 } else {
-                    log.error("Input data file " + this.dataInputFilePath + " is empty \n");
+                    log.warn("  Linking report: " + newLinkingReport);
                 }
-            } else {
-                log.error("Input data file " + this.dataInputFilePath + " not found \n");
+
+                log.info("End of Reading JSON file \n");
             }
 
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("error when reading input data file " + this.dataInputFilePath + " : " + e.getMessage() + "\n");
+        } finally {
+            if (dataLoadStatus.getState() == DataLoadStatus.State.LOADING) {
+                //the load has been interrupted before its end
+                dataLoadStatus.loadEnded(null, false);
+            }
         }
     }
 
 
     /**
-     * read the persons in the JSON file
+     * read the whole content of a data file in memory, without saving it in DB nor linking the persons
+     * (used to compare the data file with the data in DB when it is reloaded)
      *
-     * @param rootNode of the JSON file
-     * @return a list of Person
+     * @param filePath path of the data file in the classpath
+     * @return the persons, fire stations and medical records of the file, or null if the file is not found, invalid or empty
      */
+    public DataSet readDataSetFromFile(String filePath) {
+        DataSet dataSet = new DataSet();
 
-    private List<Person> readPersonsFromJsonFile(JsonNode rootNode) {
-
-        List<Person> listOfPersonsInFile = new ArrayList<>();
+        Map<String, SectionReader> sectionReaders = new HashMap<>();
+        sectionReaders.put(PERSONS_SECTION,
+                parser -> readSectionByChunks(parser, Person.class, dataSet.getPersons()::addAll));
+        sectionReaders.put(FIRE_STATIONS_SECTION,
+                parser -> readSectionByChunks(parser, FireStation.class, dataSet.getFireStations()::addAll));
+        sectionReaders.put(MEDICAL_RECORDS_SECTION,
+                parser -> readSectionByChunks(parser, MedicalRecord.class, dataSet.getMedicalRecords()::addAll));
 
         try {
+            Map<String, Integer> nbOfElementsBySection = streamDataFile(filePath, sectionReaders);
+            if (nbOfElementsBySection == null) {
+                return null;
+            }
+            if (nbOfElementsBySection.isEmpty()) {
+                log.error("Input data file " + filePath + " is empty \n");
+                return null;
+            }
+        } catch (IOException e) {
+            log.error("error when reading input data file " + filePath + " : " + e.getMessage() + "\n");
+            return null;
+        }
 
-            //identify the node "persons"
-            JsonNode personNode = rootNode.path("persons");
+        return dataSet;
+    }
 
-            //get all values of persons in the List listOfPersonsInFile
-            listOfPersonsInFile = objectMapper.readValue(personNode.toString(), new TypeReference<List<Person>>() {
-            });
 
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
+    /**
+     * @return the number of worker threads saving chunks in DB, by default the number of available processors
+     */
+    private int getNbOfWorkers() {
+        return nbOfWorkers > 0 ? nbOfWorkers : Runtime.getRuntime().availableProcessors();
+    }
+
+
+    /**
+     * stream the input data file token by token
+     * and hand each section having a reader to this reader, other sections are skipped
+     *
+     * @param filePath       path of the input data file in the classpath
+     * @param sectionReaders readers to use, by name of section
+     * @return the number of elements read by name of section, or null if the input data file is not found or invalid
+     * @throws IOException if the input data file can not be read
+     */
+    private Map<String, Integer> streamDataFile(String filePath, Map<String, SectionReader> sectionReaders) throws IOException {
+
+        InputStream jsonData = getClass().getClassLoader().getResourceAsStream(filePath);
+
+        if (jsonData == null) {
+            log.error("Input data file " + filePath + " not found \n");
+            return null;
+        }
+
+        Map<String, Integer> nbOfElementsBySection = new HashMap<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonData)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                log.error("Input data file " + filePath + " is not a JSON object \n");
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String sectionName = parser.getCurrentName();
+                JsonToken sectionToken = parser.nextToken();
+                SectionReader sectionReader = sectionReaders.get(sectionName);
+
+                if (sectionReader != null && sectionToken == JsonToken.START_ARRAY) {
+                    nbOfElementsBySection.put(sectionName, sectionReader.read(parser));
+                } else {
+                    //section not read during this pass (or not an array): do not load it
+                    nbOfElementsBySection.putIfAbsent(sectionName, 0);
+                    parser.skipChildren();
+                }
+            }
         }
-        return listOfPersonsInFile;
+
+        return nbOfElementsBySection;
     }
 
 
     /**
-     * read the fire stations in the JSON file
+     * read the elements of the current section (parser positioned on its START_ARRAY token)
+     * one by one and hand them to the consumer by chunks of chunkSize elements
      *
-     * @param rootNode of the JSON file
-     * @return a list of FireStation
+     * @param parser        the JSON parser positioned at the start of the section
+     * @param elementType   the type of the section elements
+     * @param chunkConsumer the consumer of each chunk of elements
+     * @return the number of elements read in the section
+     * @throws IOException if an element can not be read
      */
-    private List<FireStation> readFireStationsFromJsonFile(JsonNode rootNode) {
+    private <T> int readSectionByChunks(JsonParser parser, Class<T> elementType, Consumer<List<T>> chunkConsumer) throws IOException {
 
-        List<FireStation> listOfFireStationsInFile = new ArrayList<>();
+        int nbOfElements = 0;
+        List<T> chunk = new ArrayList<>(chunkSize);
 
-        try {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            chunk.add(objectMapper.readValue(parser, elementType));
+            nbOfElements++;
 
-            //identify the node "firestations"
-            JsonNode fireStationNode = rootNode.path("firestations");
+            if (chunk.size() >= chunkSize) {
+                chunkConsumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(chunk);
+        }
+
+        return nbOfElements;
+    }
 
-            //get all values of persons in the List listOfFireStationsInFile
-            listOfFireStationsInFile = objectMapper
-                    .readValue(fireStationNode.toString(), new TypeReference<List<FireStation>>() {
-                    });
 
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
+    /**
+     * save a chunk of medical records in DB
+     *
+     * @param chunk                list of medical records to be saved
+     * @param listOfMedicalRecords list where the saved medical records (with their IDs in DB) are added
+     * @throws IllegalStateException if the chunk has not been saved, so that it is counted as failed by the pipeline
+     */
+    private void saveChunkOfMedicalRecords(List<MedicalRecord> chunk, List<MedicalRecord> listOfMedicalRecords) {
+        Iterable<MedicalRecord> savedMedicalRecords = medicalRecordService.saveListOfMedicalRecords(chunk);
+        if (savedMedicalRecords == null) {
+            throw new IllegalStateException("chunk of " + chunk.size() + " medical record(s) not saved");
         }
+        savedMedicalRecords.forEach(listOfMedicalRecords::add);
+        dataLoadStatus.addSavedElements(DataLoadStatus.DataType.MEDICAL_RECORDS, chunk.size());
+    }
 
-        return listOfFireStationsInFile;
+
+    /**
+     * save a chunk of fire stations in DB
+     *
+     * @param chunk              list of fire stations to be saved
+     * @param listOfFireStations list where the saved fire stations (with their IDs in DB) are added
+     * @throws IllegalStateException if the chunk has not been saved, so that it is counted as failed by the pipeline
+     */
+    private void saveChunkOfFireStations(List<FireStation> chunk, List<FireStation> listOfFireStations) {
+        Iterable<FireStation> savedFireStations = fireStationService.saveListOfFireStations(chunk);
+        if (savedFireStations == null) {
+            throw new IllegalStateException("chunk of " + chunk.size() + " fire station(s) not saved");
+        }
+        savedFireStations.forEach(listOfFireStations::add);
+        dataLoadStatus.addSavedElements(DataLoadStatus.DataType.FIRE_STATIONS, chunk.size());
     }
 
 
     /**
-     * read the medical records in the JSON file
+     * map a chunk of persons with their medical record and with their fire station
+     * (done by the parsing thread, as the linking report and the set of person names are not thread-safe)
      *
-     * @param rootNode of the JSON file
-     * @return a list of MedicalRecord
+     * @param chunk                 list of persons to be linked
+     * @param medicalRecordsByName  medical records by firstname+lastname
+     * @param fireStationsByAddress fire stations by address
+     * @param personNames           firstname+lastname of the persons already read, to detect duplicates
+     * @param linkingReport         the report of the linking
+     * @return the chunk of persons populated with their medical record and their fire station
      */
-    private List<MedicalRecord> readMedicalRecordsFromJsonFile(JsonNode rootNode) {
+    private List<Person> linkChunkOfPersons(List<Person> chunk, Map<String, MedicalRecord> medicalRecordsByName,
+                                            Map<String, FireStation> fireStationsByAddress, Set<String> personNames,
+                                            LinkingReport linkingReport) {
+        chunk.forEach(person -> {
+            String name = getNameKey(person.getFirstName(), person.getLastName());
+            if (!personNames.add(name)) {
+                linkingReport.getDuplicatePersons().add(name);
+            }
+        });
 
-        List<MedicalRecord> listOfMedicalRecordsInFile = new ArrayList<>();
+        List<Person> listOfPersons = associateMedicalRecordToPerson(chunk, medicalRecordsByName, linkingReport);
+        listOfPersons = associateFireStationToPerson(listOfPersons, fireStationsByAddress, linkingReport);
 
-        try {
+        listOfPersons.forEach(person -> {
+            if (person.getMedicalRecord() != null && person.getFireStation() != null) {
+                linkingReport.incrementNbOfLinkedPersons();
+            }
+        });
+        return listOfPersons;
+    }
 
-            //identify the node "medicalrecords"
-            JsonNode medicalRecordNode = rootNode.path("medicalrecords");
 
-            //get all values of persons in the List listOfMedicalRecordsInFile
-            listOfMedicalRecordsInFile = objectMapper
-                    .readValue(medicalRecordNode.toString(), new TypeReference<List<MedicalRecord>>() {
-                    });
+    /**
+     * save a chunk of persons in DB
+     *
+     * @param chunk list of persons to be saved
+     * @return the number of saved persons
+     * @throws IllegalStateException if the chunk has not been saved, so that it is counted as failed by the pipeline
+     */
+    private int saveChunkOfPersons(List<Person> chunk) {
+        Iterable<Person> savedPersons = personService.saveListOfPersons(chunk);
+        if (savedPersons == null) {
+            throw new IllegalStateException("chunk of " + chunk.size() + " person(s) not saved");
+        }
 
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
+        int nbOfSavedPersons = 0;
+        for (Person ignored : savedPersons) {
+            nbOfSavedPersons++;
         }
+        dataLoadStatus.addSavedElements(DataLoadStatus.DataType.PERSONS, nbOfSavedPersons);
+        return nbOfSavedPersons;
+    }
+
 
-        return listOfMedicalRecordsInFile;
+    /**
+     * build the hash index of medical records by firstname+lastname,
+     * the first medical record found for a given firstname+lastname is kept
+     *
+     * @param listOfMedicalRecords list of all medical records
+     * @param linkingReport        the report where duplicate medical records are added
+     * @return the medical records by firstname+lastname
+     */
+    private Map<String, MedicalRecord> indexMedicalRecordsByName(List<MedicalRecord> listOfMedicalRecords, LinkingReport linkingReport) {
+        Map<String, MedicalRecord> medicalRecordsByName = new HashMap<>(listOfMedicalRecords.size() * 2);
+        listOfMedicalRecords.forEach(medicalRecord -> {
+            String name = getNameKey(medicalRecord.getFirstName(), medicalRecord.getLastName());
+            if (medicalRecordsByName.putIfAbsent(name, medicalRecord) != null) {
+                linkingReport.getDuplicateMedicalRecords().add(name);
+            }
+        });
+        return medicalRecordsByName;
+    }
+
+
+    /**
+     * build the hash index of fire stations by address,
+     * the first fire station found for a given address is kept
+     *
+     * @param listOfFireStations list of all fire stations
+     * @param linkingReport      the report where duplicate fire station addresses are added
+     * @return the fire stations by address
+     */
+    private Map<String, FireStation> indexFireStationsByAddress(List<FireStation> listOfFireStations, LinkingReport linkingReport) {
+        Map<String, FireStation> fireStationsByAddress = new HashMap<>(listOfFireStations.size() * 2);
+        listOfFireStations.forEach(fireStation -> {
+            if (fireStationsByAddress.putIfAbsent(fireStation.getAddress(), fireStation) != null) {
+                linkingReport.getDuplicateFireStationAddresses().add(fireStation.getAddress());
+            }
+        });
+        return fireStationsByAddress;
     }
 
 
     /**
-     * for each Person in a list of persons, get the relative Medical Record in the given list of medical records
+     * for each Person in a list of persons, get the relative Medical Record in the index of medical records
      *
      * @param listOfPersons        list of persons
-     * @param listOfMedicalRecords list of all medical records
+     * @param medicalRecordsByName medical records by firstname+lastname
+     * @param linkingReport        the report where persons without medical record are added
      * @return listOfPersons populated with relative medical records
      */
-    private List<Person> associateMedicalRecordToPerson(List<Person> listOfPersons, List<MedicalRecord> listOfMedicalRecords) {
+    private List<Person> associateMedicalRecordToPerson(List<Person> listOfPersons, Map<String, MedicalRecord> medicalRecordsByName,
+                                                        LinkingReport linkingReport) {
         listOfPersons.forEach(person -> {
-            listOfMedicalRecords.stream()
-                    .filter(medicalRecord -> person.getFirstName().equals(medicalRecord.getFirstName())
-                            && person.getLastName().equals(medicalRecord.getLastName()))
-                    .findFirst()
-                    .ifPresent(person::setMedicalRecord);
+            String name = getNameKey(person.getFirstName(), person.getLastName());
+            person.setMedicalRecord(medicalRecordsByName.get(name));
             if (person.getMedicalRecord() == null) {
                 log.warn("No medical record found for "
                         + person.getFirstName() + " " + person.getLastName());
+                linkingReport.getPersonsWithoutMedicalRecord().add(name);
             }
         });
         return listOfPersons;
@@ -224,24 +497,52 @@ public class JsonParserService implements IFileParserService {
 
     /**
      * for each Person in a list of persons,
-     * get the Fire Station they are attached to in the given list of fire stations
+     * get the Fire Station they are attached to in the index of fire stations
      *
-     * @param listOfPersons      list of persons
-     * @param listOfFireStations list of all fire stations
+     * @param listOfPersons         list of persons
+     * @param fireStationsByAddress fire stations by address
+     * @param linkingReport         the report where persons and addresses without fire station are added
      * @return listOfPersons populated with the fire station they are attached to
      */
-    private List<Person> associateFireStationToPerson(List<Person> listOfPersons, List<FireStation> listOfFireStations) {
+    private List<Person> associateFireStationToPerson(List<Person> listOfPersons, Map<String, FireStation> fireStationsByAddress,
+                                                      LinkingReport linkingReport) {
         listOfPersons.forEach(person -> {
-            listOfFireStations.stream()
-                    .filter(fireStation -> person.getAddress().equals(fireStation.getAddress()))
-                    .findFirst()
-                    .ifPresent(person::setFireStation);
-            if (person.getAddress() == null) {
+            person.setFireStation(person.getAddress() == null ? null : fireStationsByAddress.get(person.getAddress()));
+            if (person.getFireStation() == null) {
                 log.warn("No fire station found for "
                         + person.getFirstName() + " " + person.getLastName()
                         + " at " + person.getAddress());
+                linkingReport.getPersonsWithoutFireStation().add(getNameKey(person.getFirstName(), person.getLastName()));
+                if (person.getAddress() != null) {
+                    linkingReport.getAddressesWithoutFireStation().add(person.getAddress());
+                }
             }
         });
         return listOfPersons;
     }
+
+
+    /**
+     * @return the key identifying a person (or its medical record) in the linking indexes
+     */
+    private static String getNameKey(String firstName, String lastName) {
+        return firstName + " " + lastName;
+    }
+
+
+    /**
+     * reader of one section of the input data file
+     */
+    @FunctionalInterface
+    private interface SectionReader {
+
+        /**
+         * read the section the parser is positioned on
+         *
+         * @param parser the JSON parser positioned at the start of the section
+         * @return the number of elements read in the section
+         * @throws IOException if the section can not be read
+         */
+        int read(JsonParser parser) throws IOException;
+    }
 }
@@ -7,32 +7,63 @@ import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.MedicalRecord;
 import com.safetynet.alerts.model.Person;
 import com.safetynet.alerts.model.dto.MedicalRecordDTO;
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import com.safetynet.alerts.repository.CursorReader;
 import com.safetynet.alerts.repository.MedicalRecordRepository;
 import com.safetynet.alerts.repository.PersonRepository;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.DataVersions;
 import com.safetynet.alerts.util.DateUtil;
+import com.safetynet.alerts.util.DtoMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.safetynet.alerts.repository.MedicalRecordRepository.ALL_MEDICAL_RECORDS_QUERY;
 
 @Slf4j
 @Service
 public class MedicalRecordService implements IMedicalRecordService {
 
-    private static final DateUtil dateUtil = new DateUtil();
-
     private final MedicalRecordRepository medicalRecordRepository;
 
     private final PersonRepository personRepository;
 
+    private final AlertsReadIndex alertsReadIndex;
+
+    private final DtoMapper dtoMapper;
+
+    private final DateUtil dateUtil;
+
+    private final AlertsCacheEvictor alertsCacheEvictor;
+
+    private final DataVersions dataVersions;
+
+    private final CursorReader cursorReader;
+
     @Autowired
-    public MedicalRecordService(MedicalRecordRepository medicalRecordRepository, PersonRepository personRepository) {
+    public MedicalRecordService(MedicalRecordRepository medicalRecordRepository, PersonRepository personRepository,
+                                AlertsReadIndex alertsReadIndex, DtoMapper dtoMapper, DateUtil dateUtil,
+                                AlertsCacheEvictor alertsCacheEvictor, DataVersions dataVersions,
+                                CursorReader cursorReader) {
         this.medicalRecordRepository = medicalRecordRepository;
         this.personRepository = personRepository;
+        this.alertsReadIndex = alertsReadIndex;
+        this.dtoMapper = dtoMapper;
+        this.dateUtil = dateUtil;
+        this.alertsCacheEvictor = alertsCacheEvictor;
+        this.dataVersions = dataVersions;
+        this.cursorReader = cursorReader;
     }
 
     /**
@@ -54,38 +85,72 @@ public class MedicalRecordService implements IMedicalRecordService {
 
 
     /**
-     * allow getting the list of all medical records found in DB
+     * stream all medical records found in DB, read through a DB cursor by chunks
+     * which are detached from the persistence context once mapped.
+     * The medications and allergies are read by chunk of medical records
+     * (and not through the collections of the medical records, whose subselect would read those of all medical records)
      *
-     * @return a list of MedicalRecord
+     * @param medicalRecordDTOConsumer the consumer of each medical record
+     * @return the number of medical records streamed
      */
     @Override
-    public Iterable<MedicalRecordDTO> getAllMedicalRecords() {
-        List<MedicalRecordDTO> listOfMedicalRecordDTO = new ArrayList<>();
-
-        try {
-            Iterable<MedicalRecord> listOfMedicalRecords = medicalRecordRepository.findAll();
-            listOfMedicalRecords.forEach(medicalRecord ->
-                    listOfMedicalRecordDTO
-                            .add(mapMedicalRecordToMedicalRecordDTO(medicalRecord)));
+    @Transactional(readOnly = true)
+    public long streamAllMedicalRecords(Consumer<MedicalRecordDTO> medicalRecordDTOConsumer) {
+        return cursorReader.forEachChunk(ALL_MEDICAL_RECORDS_QUERY, MedicalRecord.class, listOfMedicalRecords ->
+                mapWithMedicationsAndAllergies(listOfMedicalRecords, medicalRecordDTOConsumer));
+    }
 
-        } catch (Exception exception) {
-            log.error("error when getting the list of medical records " + exception.getMessage() + "\n");
-        }
 
-        return listOfMedicalRecordDTO;
+    /**
+     * allow getting a page of medical records found in DB, read after the last medical record of the previous page
+     * through the primary key index (keyset pagination), with their medications and allergies read by page
+     *
+     * @param lastMedicalRecordId the id of the last medical record of the previous page
+     * @param pageSize            the maximum number of medical records of the page
+     * @return the page of medical records, ordered by id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<MedicalRecordDTO> getPageOfMedicalRecords(Long lastMedicalRecordId, int pageSize) {
+        List<MedicalRecordDTO> pageOfMedicalRecordsDTO = new ArrayList<>();
+        mapWithMedicationsAndAllergies(
+                medicalRecordRepository.findAllByMedicalRecordIdGreaterThanOrderByMedicalRecordId(lastMedicalRecordId,
+                        PageRequest.of(0, pageSize)),
+                pageOfMedicalRecordsDTO::add);
+        return pageOfMedicalRecordsDTO;
     }
 
     /**
-     * map the MedicalRecord object to the MedicalRecordDTO object
-     *
-     * @param medicalRecord MedicalRecord object to be mapped to MedicalRecordDTO
-     * @return a MedicalRecordDTO
+     * map medical records to DTOs, with their medications and allergies read for all of them at once
      */
-    private MedicalRecordDTO mapMedicalRecordToMedicalRecordDTO(MedicalRecord medicalRecord) {
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(medicalRecord, MedicalRecordDTO.class);
+    private void mapWithMedicationsAndAllergies(List<MedicalRecord> listOfMedicalRecords,
+                                                Consumer<MedicalRecordDTO> medicalRecordDTOConsumer) {
+        if (listOfMedicalRecords.isEmpty()) {
+            return;
+        }
+        List<Long> listOfMedicalRecordIds = new ArrayList<>(listOfMedicalRecords.size());
+        listOfMedicalRecords.forEach(medicalRecord -> listOfMedicalRecordIds.add(medicalRecord.getMedicalRecordId()));
+
+        Map<Long, List<String>> medicationsByMedicalRecordId = groupByMedicalRecordId(
+                medicalRecordRepository.findMedicationsByMedicalRecordIdIn(listOfMedicalRecordIds));
+        Map<Long, List<String>> allergiesByMedicalRecordId = groupByMedicalRecordId(
+                medicalRecordRepository.findAllergiesByMedicalRecordIdIn(listOfMedicalRecordIds));
+
+        listOfMedicalRecords.forEach(medicalRecord -> medicalRecordDTOConsumer.accept(
+                dtoMapper.toMedicalRecordDTO(medicalRecord,
+                        medicationsByMedicalRecordId.getOrDefault(medicalRecord.getMedicalRecordId(),
+                                Collections.emptyList()),
+                        allergiesByMedicalRecordId.getOrDefault(medicalRecord.getMedicalRecordId(),
+                                Collections.emptyList()))));
     }
 
+    private static Map<Long, List<String>> groupByMedicalRecordId(List<Object[]> listOfMedicalRecordIdAndValues) {
+        Map<Long, List<String>> valuesByMedicalRecordId = new HashMap<>();
+        listOfMedicalRecordIdAndValues.forEach(medicalRecordIdAndValue ->
+                valuesByMedicalRecordId.computeIfAbsent((Long) medicalRecordIdAndValue[0], id -> new ArrayList<>())
+                        .add((String) medicalRecordIdAndValue[1]));
+        return valuesByMedicalRecordId;
+    }
 
     /**
      * save a new medical record in the repository
@@ -117,16 +182,18 @@ public class MedicalRecordService implements IMedicalRecordService {
                 //check if the person already exist in the repository
                 if (personToUpdate != null) {
                     //map DTO to DAO, save in repository,
-                    ModelMapper modelMapper = new ModelMapper();
-                    MedicalRecord medicalRecordToAdd = modelMapper.map(medicalRecordDTOToAdd, MedicalRecord.class);
+                    MedicalRecord medicalRecordToAdd = dtoMapper.toMedicalRecord(medicalRecordDTOToAdd);
                     MedicalRecord addedMedicalRecord = medicalRecordRepository.save(medicalRecordToAdd);
 
                     //add the medical record to the person, save the person in repository
                     personToUpdate.setMedicalRecord(addedMedicalRecord);
                     personRepository.save(personToUpdate);
+                    alertsReadIndex.saveMedicalRecord(addedMedicalRecord);
+                    alertsCacheEvictor.evictMedicalRecord(personToUpdate.getLastName(), personToUpdate);
+                    dataVersions.bumpPerson(personToUpdate);
 
                     //and map back to MedicalRecordDTO for return
-                    addedMedicalRecordDTO = Optional.ofNullable(modelMapper.map(addedMedicalRecord, MedicalRecordDTO.class));
+                    addedMedicalRecordDTO = Optional.ofNullable(dtoMapper.toMedicalRecordDTO(addedMedicalRecord));
                 } else {
                     throw new DoesNotExistException(ExceptionConstants.NO_PERSON_FOUND_FOR_FIRSTNAME_AND_LASTNAME
                             + medicalRecordDTOToAdd.getFirstName() + " " + medicalRecordDTOToAdd.getLastName()
@@ -168,13 +235,19 @@ public class MedicalRecordService implements IMedicalRecordService {
 
             if (existingMedicalRecord != null) {
                 //map DTO to DAO, save in repository and map back to FireStationDTO for return
-                ModelMapper modelMapper = new ModelMapper();
-                MedicalRecord medicalRecordToUpdate = modelMapper.map(medicalRecordDTOToUpdate, MedicalRecord.class);
+                MedicalRecord medicalRecordToUpdate = dtoMapper.toMedicalRecord(medicalRecordDTOToUpdate);
                 medicalRecordToUpdate.setMedicalRecordId(existingMedicalRecord.getMedicalRecordId());
 
                 MedicalRecord updatedMedicalRecord = medicalRecordRepository.save(medicalRecordToUpdate);
+                alertsReadIndex.saveMedicalRecord(updatedMedicalRecord);
+
+                //evict the cached results where the person of the medical record appears
+                Person person = personRepository.findByFirstNameAndLastName(
+                        medicalRecordToUpdate.getFirstName(), medicalRecordToUpdate.getLastName());
+                alertsCacheEvictor.evictMedicalRecord(medicalRecordToUpdate.getLastName(), person);
+                dataVersions.bumpPerson(person);
 
-                updatedMedicalRecordDTO = Optional.ofNullable(modelMapper.map(updatedMedicalRecord, MedicalRecordDTO.class));
+                updatedMedicalRecordDTO = Optional.ofNullable(dtoMapper.toMedicalRecordDTO(updatedMedicalRecord));
 
             } else {
                 throw new DoesNotExistException(ExceptionConstants.NO_MEDICAL_RECORD_FOUND_FOR_PERSON
@@ -218,6 +291,9 @@ public class MedicalRecordService implements IMedicalRecordService {
                 }
 
                 medicalRecordRepository.deleteById(medicalRecordToDelete.getMedicalRecordId());
+                alertsReadIndex.deleteMedicalRecord(firstName, lastName);
+                alertsCacheEvictor.evictMedicalRecord(lastName, person);
+                dataVersions.bumpPerson(person);
 
             } else {
                 throw new DoesNotExistException(ExceptionConstants.NO_MEDICAL_RECORD_FOUND_FOR_PERSON + firstName + " " + lastName);
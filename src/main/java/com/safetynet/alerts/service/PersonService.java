@@ -4,44 +4,87 @@ import com.safetynet.alerts.constants.ExceptionConstants;
 import com.safetynet.alerts.exceptions.AlreadyExistsException;
 import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.exceptions.MissingInformationException;
+import com.safetynet.alerts.model.Household;
 import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.ChildAlertDTO;
 import com.safetynet.alerts.model.dto.FireStationCoverageDTO;
 import com.safetynet.alerts.model.dto.HouseholdMemberDTO;
 import com.safetynet.alerts.model.dto.PersonCoveredContactsDTO;
 import com.safetynet.alerts.model.dto.PersonDTO;
 import com.safetynet.alerts.model.dto.PersonInfoDTO;
+import com.safetynet.alerts.model.dto.PersonNameDTO;
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import com.safetynet.alerts.repository.CursorReader;
 import com.safetynet.alerts.repository.FireStationRepository;
 import com.safetynet.alerts.repository.MedicalRecordRepository;
 import com.safetynet.alerts.repository.PersonRepository;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.DataVersions;
 import com.safetynet.alerts.util.DateUtil;
+import com.safetynet.alerts.util.DtoMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.safetynet.alerts.constants.BatchConstants.MISSING_ADDRESS;
+import static com.safetynet.alerts.constants.BatchConstants.MISSING_FIRSTNAME_OR_LASTNAME;
+import static com.safetynet.alerts.constants.BatchConstants.NO_PERSON_FOUND_FOR_ADDRESS;
+import static com.safetynet.alerts.constants.BatchConstants.NO_PERSON_FOUND_FOR_NAME;
+import static com.safetynet.alerts.constants.CacheConstants.CHILD_ALERT_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.COMMUNITY_EMAIL_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_STATION_COVERAGE_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.PERSON_INFO_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.PHONE_ALERT_CACHE;
 import static com.safetynet.alerts.constants.ChildAlertConstants.MAX_AGE_FOR_CHILD_ALERT;
+import static com.safetynet.alerts.constants.SparseFieldsConstants.AGE_FIELD;
+import static com.safetynet.alerts.constants.SparseFieldsConstants.NUMBER_OF_ADULTS_FIELD;
+import static com.safetynet.alerts.constants.SparseFieldsConstants.NUMBER_OF_CHILDREN_FIELD;
+import static com.safetynet.alerts.constants.SparseFieldsConstants.PERSON_COVERED_CONTACTS_FIELD;
+import static com.safetynet.alerts.repository.PersonRepository.ALL_PERSONS_QUERY;
+import static com.safetynet.alerts.util.SparseFields.isRequested;
 
 @Slf4j
 @Service
 public class PersonService implements IPersonService {
 
-    private static final DateUtil dateUtil = new DateUtil();
-
     private final PersonRepository personRepository;
     private final FireStationRepository fireStationRepository;
     private final MedicalRecordRepository medicalRecordRepository;
+    private final AlertsReadIndex alertsReadIndex;
+    private final DtoMapper dtoMapper;
+    private final DateUtil dateUtil;
+    private final AlertsCacheEvictor alertsCacheEvictor;
+    private final DataVersions dataVersions;
+    private final CursorReader cursorReader;
 
     @Autowired
-    public PersonService(PersonRepository personRepository, FireStationRepository fireStationRepository, MedicalRecordRepository medicalRecordRepository) {
+    public PersonService(PersonRepository personRepository, FireStationRepository fireStationRepository,
+                         MedicalRecordRepository medicalRecordRepository, AlertsReadIndex alertsReadIndex,
+                         DtoMapper dtoMapper, DateUtil dateUtil, AlertsCacheEvictor alertsCacheEvictor,
+                         DataVersions dataVersions, CursorReader cursorReader) {
         this.personRepository = personRepository;
         this.fireStationRepository = fireStationRepository;
         this.medicalRecordRepository = medicalRecordRepository;
+        this.alertsReadIndex = alertsReadIndex;
+        this.dtoMapper = dtoMapper;
+        this.dateUtil = dateUtil;
+        this.alertsCacheEvictor = alertsCacheEvictor;
+        this.dataVersions = dataVersions;
+        this.cursorReader = cursorReader;
     }
 
     /**
@@ -62,35 +105,34 @@ public class PersonService implements IPersonService {
 
 
     /**
-     * allow getting the list of all persons found in DB
+     * stream all persons found in DB, read through a DB cursor by chunks
+     * which are detached from the persistence context once mapped
      *
-     * @return a list of Person
+     * @param personDTOConsumer the consumer of each person
+     * @return the number of persons streamed
      */
     @Override
-    public Iterable<PersonDTO> getAllPersons() {
-        List<PersonDTO> listOfPersonsDTO = new ArrayList<>();
-
-        try {
-            Iterable<Person> listOfPersons = personRepository.findAll();
-            listOfPersons.forEach(person ->
-                    listOfPersonsDTO
-                            .add(mapPersonToPersonDTO(person)));
-        } catch (Exception exception) {
-            log.error("error when getting the list of all persons " + exception.getMessage() + "\n");
-        }
-
-        return listOfPersonsDTO;
+    @Transactional(readOnly = true)
+    public long streamAllPersons(Consumer<PersonDTO> personDTOConsumer) {
+        return cursorReader.forEachChunk(ALL_PERSONS_QUERY, Person.class, listOfPersons ->
+                listOfPersons.forEach(person -> personDTOConsumer.accept(dtoMapper.toPersonDTO(person))));
     }
 
+
     /**
-     * map the Person object to the PersonDTO object
+     * allow getting a page of persons found in DB, read after the last person of the previous page
+     * through the primary key index (keyset pagination)
      *
-     * @param person Person object to be mapped to PersonDTO
-     * @return a PersonDTO
+     * @param lastPersonId the id of the last person of the previous page
+     * @param pageSize     the maximum number of persons of the page
+     * @return the page of persons, ordered by id
      */
-    private PersonDTO mapPersonToPersonDTO(Person person) {
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(person, PersonDTO.class);
+    @Override
+    public List<PersonDTO> getPageOfPersons(Long lastPersonId, int pageSize) {
+        List<PersonDTO> pageOfPersonsDTO = new ArrayList<>();
+        personRepository.findAllByPersonIdGreaterThanOrderByPersonId(lastPersonId, PageRequest.of(0, pageSize))
+                .forEach(person -> pageOfPersonsDTO.add(dtoMapper.toPersonDTO(person)));
+        return pageOfPersonsDTO;
     }
 
 
@@ -101,25 +143,20 @@ public class PersonService implements IPersonService {
      * @return a list of emails
      */
     @Override
+    @Cacheable(cacheNames = COMMUNITY_EMAIL_CACHE, key = "#cityName", condition = "#cityName != null", sync = true)
     public List<String> getAllEmailsByCity(String cityName) {
         if (cityName != null && !cityName.equals("")) {
             try {
-                List<String> listOfEmails = new ArrayList<>();
+                //get only the distinct emails of the persons living in the city called cityName
+                List<String> listOfEmails = alertsReadIndex.isReady()
+                        ? alertsReadIndex.findDistinctEmailsByCity(cityName)
+                        : personRepository.findDistinctEmailsByCity(cityName);
 
-                //get the list of persons living in the city called cityName
-                List<Person> listOfPersons = personRepository.findAllByCity(cityName);
-
-                //for each person, if listOfEmails does not already contains his email, add the email in the list
-                if (listOfPersons != null && !listOfPersons.isEmpty()) {
-                    log.info(listOfPersons.size() + " persons found for the city : " + cityName);
-                    for (Person person : listOfPersons) {
-                        if (!listOfEmails.contains(person.getEmail())) {
-                            listOfEmails.add(person.getEmail());
-                        }
-                    }
+                if (listOfEmails != null && !listOfEmails.isEmpty()) {
                     log.info(listOfEmails.size() + " distinct emails found for the city : " + cityName);
                 } else {
                     log.warn("no person found for city " + cityName + ", list of emails is empty");
+                    listOfEmails = new ArrayList<>();
                 }
                 return listOfEmails;
 
@@ -143,12 +180,31 @@ public class PersonService implements IPersonService {
      * @return a list of person information
      */
     @Override
+    @Cacheable(cacheNames = PERSON_INFO_CACHE, key = "{#lastName, #firstName}",
+            condition = "#firstName != null && #lastName != null", sync = true)
     public List<PersonInfoDTO> getPersonInfoByFirstNameAndLastName(String firstName, String lastName) {
+        return getPersonInfoByFirstNameAndLastName(firstName, lastName, null);
+    }
+
+
+    /**
+     * allow getting the list of person information found in repository
+     * for given firstname and lastname, the age and the medical record lists being read only if requested
+     *
+     * @param firstName the firstname we want to get the person information from
+     * @param lastName  the lastname we want to get the person information from
+     * @param fields    the requested fields of the PersonInfoDTO, null for all of them
+     * @return a list of person information
+     */
+    @Override
+    public List<PersonInfoDTO> getPersonInfoByFirstNameAndLastName(String firstName, String lastName, Set<String> fields) {
         if (firstName != null && !firstName.equals("")
                 && lastName != null && !lastName.equals("")) {
             try {
                 //get the list of persons with the same firstName AND lastName
-                List<Person> listOfPersons = personRepository.findAllByFirstNameAndLastName(firstName, lastName);
+                List<Person> listOfPersons = alertsReadIndex.isReady()
+                        ? alertsReadIndex.findAllByFirstNameAndLastName(firstName, lastName)
+                        : personRepository.findAllByFirstNameAndLastName(firstName, lastName);
 
                 if (listOfPersons == null) {
                     log.info("No person found with exactly the same firstname and lastname");
@@ -157,24 +213,16 @@ public class PersonService implements IPersonService {
 
                 //get the list of persons with the same lastName (but different firsName)
                 // and add them all to the list of persons
-                List<Person> listOfPersonsWithSameLastName = personRepository.findAllByFirstNameNotAndLastName(firstName, lastName);
+                List<Person> listOfPersonsWithSameLastName = alertsReadIndex.isReady()
+                        ? alertsReadIndex.findAllByFirstNameNotAndLastName(firstName, lastName)
+                        : personRepository.findAllByFirstNameNotAndLastName(firstName, lastName);
                 listOfPersons.addAll(listOfPersonsWithSameLastName);
 
-                // complete information with calculation of their age
-                // and populate the listOfPersonInfoDTO
-                List<PersonInfoDTO> listOfPersonInfoDTO = new ArrayList<>();
-
-                if (!listOfPersons.isEmpty()) {
-                    listOfPersons.forEach(person -> {
-                        person.setAge(dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()));
-                        listOfPersonInfoDTO.add(mapPersonToPersonInfoDTO(person));
-                    });
-
-                } else {
+                if (listOfPersons.isEmpty()) {
                     log.warn("No person found for firstname " + firstName +
                             " and lastname " + lastName + ", list of person information is empty");
                 }
-                return listOfPersonInfoDTO;
+                return toListOfPersonInfoDTO(listOfPersons, fields);
 
             } catch (Exception exception) {
                 log.error("error when getting the list of person information " +
@@ -188,20 +236,99 @@ public class PersonService implements IPersonService {
         }
     }
 
+
     /**
-     * map the person information to the PersonInfoDTO
+     * allow getting the person information of a batch of names, found in DB with one query on their lastnames
+     * (from which the persons with the same name and the others with the same lastname are selected)
      *
-     * @param person person information to be mapped to personInfoDTO
-     * @return a PersonInfoDTO
+     * @param listOfNames the firstnames and lastnames
+     * @return the list of person information by name ("firstname lastname"), and the names without person as misses
      */
-    private PersonInfoDTO mapPersonToPersonInfoDTO(Person person) {
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.typeMap(Person.class, PersonInfoDTO.class).addMappings(mapper -> {
-            mapper.map(src -> src.getMedicalRecord().getMedications(), PersonInfoDTO::setMedications);
-            mapper.map(src -> src.getMedicalRecord().getAllergies(), PersonInfoDTO::setAllergies);
-        });
+    @Override
+    public BatchDTO<List<PersonInfoDTO>> getPersonInfoByNames(List<PersonNameDTO> listOfNames) {
+        if (listOfNames != null && !listOfNames.isEmpty()) {
+            try {
+                BatchDTO<List<PersonInfoDTO>> batchDTO = new BatchDTO<>();
+                Map<String, PersonNameDTO> namesByKey = new LinkedHashMap<>();
+                for (PersonNameDTO personNameDTO : listOfNames) {
+                    String firstName = (personNameDTO == null) ? null : personNameDTO.getFirstName();
+                    String lastName = (personNameDTO == null) ? null : personNameDTO.getLastName();
+                    String key = firstName + " " + lastName;
+                    if (firstName != null && !firstName.equals("")
+                            && lastName != null && !lastName.equals("")) {
+                        namesByKey.putIfAbsent(key, personNameDTO);
+                    } else {
+                        batchDTO.getMisses().put(key, MISSING_FIRSTNAME_OR_LASTNAME);
+                    }
+                }
+
+                //get the persons with the lastnames of the batch (the index being read by name if ready)
+                Map<String, List<Person>> personsByLastName = new HashMap<>();
+                if (!alertsReadIndex.isReady() && !namesByKey.isEmpty()) {
+                    Set<String> lastNames = new LinkedHashSet<>();
+                    namesByKey.values().forEach(personNameDTO -> lastNames.add(personNameDTO.getLastName()));
+                    personRepository.findAllByLastNameIn(lastNames).forEach(person -> personsByLastName
+                            .computeIfAbsent(person.getLastName(), lastName -> new ArrayList<>()).add(person));
+                }
+
+                namesByKey.forEach((key, personNameDTO) -> {
+                    String firstName = personNameDTO.getFirstName();
+                    String lastName = personNameDTO.getLastName();
+
+                    //the persons with the same firstName AND lastName, then the others with the same lastName
+                    List<Person> listOfPersons = new ArrayList<>();
+                    if (alertsReadIndex.isReady()) {
+                        listOfPersons.addAll(alertsReadIndex.findAllByFirstNameAndLastName(firstName, lastName));
+                        listOfPersons.addAll(alertsReadIndex.findAllByFirstNameNotAndLastName(firstName, lastName));
+                    } else {
+                        List<Person> listOfPersonsWithSameLastName
+                                = personsByLastName.getOrDefault(lastName, new ArrayList<>());
+                        listOfPersonsWithSameLastName.stream()
+                                .filter(person -> firstName.equals(person.getFirstName()))
+                                .forEach(listOfPersons::add);
+                        listOfPersonsWithSameLastName.stream()
+                                .filter(person -> !firstName.equals(person.getFirstName()))
+                                .forEach(listOfPersons::add);
+                    }
 
-        return modelMapper.map(person, PersonInfoDTO.class);
+                    if (listOfPersons.isEmpty()) {
+                        batchDTO.getMisses().put(key, NO_PERSON_FOUND_FOR_NAME);
+                    } else {
+                        batchDTO.getResults().put(key, toListOfPersonInfoDTO(listOfPersons, null));
+                    }
+                });
+                log.info(batchDTO.getResults().size() + " names found and "
+                        + batchDTO.getMisses().size() + " missed in the batch of " + listOfNames.size() + " names");
+                return batchDTO;
+
+            } catch (Exception exception) {
+                log.error("error when getting the list of person information for a batch of "
+                        + listOfNames.size() + " names : " + exception.getMessage());
+                return null;
+            }
+        } else {
+            log.error("a list of names must be specified to get the list of person information");
+            return null;
+        }
+    }
+
+
+    /**
+     * map the persons to PersonInfoDTO, completed with the calculation of their age if requested
+     *
+     * @param listOfPersons the persons
+     * @param fields        the requested fields of the PersonInfoDTO, null for all of them
+     * @return the list of PersonInfoDTO
+     */
+    private List<PersonInfoDTO> toListOfPersonInfoDTO(List<Person> listOfPersons, Set<String> fields) {
+        List<PersonInfoDTO> listOfPersonInfoDTO = new ArrayList<>();
+        listOfPersons.forEach(person -> {
+            if (isRequested(fields, AGE_FIELD)) {
+                person.setAge(dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()));
+            }
+            listOfPersonInfoDTO.add(dtoMapper.toPersonInfoDTO(person, fields));
+        });
+        return listOfPersonInfoDTO;
     }
 
 
@@ -212,36 +339,24 @@ public class PersonService implements IPersonService {
      * @return a list of child alert
      */
     @Override
+    @Cacheable(cacheNames = CHILD_ALERT_CACHE, key = "#address", condition = "#address != null", sync = true)
     public List<ChildAlertDTO> getChildAlertByAddress(String address) {
         if (address != null && !address.equals("")) {
             try {
-                //get the list of persons living at this address
-                List<Person> listOfPersons = personRepository.findAllByAddress(address);
-
-                List<ChildAlertDTO> listOfChildAlertDTO = new ArrayList<>();
+                //get the households living at this address, with their children (under the MAX_AGE_FOR_CHILD_ALERT)
+                List<Household> listOfHouseholds = alertsReadIndex.isReady()
+                        ? alertsReadIndex.findHouseholdsByAddress(address)
+                        : groupInHouseholds(address, personRepository.findAllByAddress(address));
 
-                if (listOfPersons != null && !listOfPersons.isEmpty()) {
+                List<ChildAlertDTO> listOfChildAlertDTO = toListOfChildAlertDTO(listOfHouseholds);
 
-                    // complete information with calculation of their age
-                    // and filter on age under the MAX_AGE_FOR_CHILD_ALERT
-                    listOfPersons.forEach(person ->
-                            person.setAge(dateUtil.calculateAge(person.getMedicalRecord().getBirthDate())));
-                    List<Person> listOfChildren = listOfPersons.stream()
-                            .filter(person -> person.getAge() <= MAX_AGE_FOR_CHILD_ALERT)
-                            .collect(Collectors.toList());
-
-                    // if at least one person is under the MAX_AGE_FOR_CHILD_ALERT, populate the listOfChildAlertDTO
-                    if (!listOfChildren.isEmpty()) {
-                        listOfChildren.forEach(child
-                                -> listOfChildAlertDTO.add(mapToChildrenAlertDTO(child, listOfPersons)));
-                    } else {
-                        log.info("no child under " + MAX_AGE_FOR_CHILD_ALERT + " found for address " + address +
-                                ", list of child alert is empty");
-                    }
-
-                } else {
+                if (listOfHouseholds.isEmpty()) {
                     log.warn("no person found for address " + address +
                             ", list of child alert is empty");
+
+                } else if (listOfChildAlertDTO.isEmpty()) {
+                    log.info("no child under " + MAX_AGE_FOR_CHILD_ALERT + " found for address " + address +
+                            ", list of child alert is empty");
                 }
                 return listOfChildAlertDTO;
 
@@ -256,45 +371,122 @@ public class PersonService implements IPersonService {
         }
     }
 
+
     /**
-     * map the child information to the ChildAlertDTO
+     * allow getting the child alerts of a batch of addresses, found in DB with one query for all the addresses
      *
-     * @param child         person information to be mapped to childAlertDTO
-     * @param listOfPersons list of person living at the address
-     * @return a ChildAlertDTO
+     * @param listOfAddresses the addresses
+     * @return the list of child alert by address, and the addresses without person as misses
      */
-    private ChildAlertDTO mapToChildrenAlertDTO(Person child, List<Person> listOfPersons) {
-        ModelMapper modelMapper = new ModelMapper();
+    @Override
+    public BatchDTO<List<ChildAlertDTO>> getChildAlertByAddresses(List<String> listOfAddresses) {
+        if (listOfAddresses != null && !listOfAddresses.isEmpty()) {
+            try {
+                BatchDTO<List<ChildAlertDTO>> batchDTO = new BatchDTO<>();
+                Set<String> addresses = new LinkedHashSet<>();
+                listOfAddresses.forEach(address -> {
+                    if (address != null && !address.equals("")) {
+                        addresses.add(address);
+                    } else {
+                        batchDTO.getMisses().put(String.valueOf(address), MISSING_ADDRESS);
+                    }
+                });
+
+                //get the persons of all the addresses (the index being read by address if ready)
+                Map<String, List<Person>> personsByAddress = new HashMap<>();
+                if (!alertsReadIndex.isReady() && !addresses.isEmpty()) {
+                    personRepository.findAllByAddressIn(addresses).forEach(person -> personsByAddress
+                            .computeIfAbsent(person.getAddress(), address -> new ArrayList<>()).add(person));
+                }
 
-        ChildAlertDTO childAlertDTO = modelMapper.map(child, ChildAlertDTO.class);
-        childAlertDTO.setListOfOtherHouseholdMembers(
-                getListOfOtherHouseholdMembers(listOfPersons, child.getFirstName(), child.getLastName()));
+                for (String address : addresses) {
+                    List<Household> listOfHouseholds = alertsReadIndex.isReady()
+                            ? alertsReadIndex.findHouseholdsByAddress(address)
+                            : groupInHouseholds(address, personsByAddress.get(address));
 
-        return childAlertDTO;
+                    if (listOfHouseholds.isEmpty()) {
+                        batchDTO.getMisses().put(address, NO_PERSON_FOUND_FOR_ADDRESS);
+                    } else {
+                        batchDTO.getResults().put(address, toListOfChildAlertDTO(listOfHouseholds));
+                    }
+                }
+                log.info(batchDTO.getResults().size() + " addresses found and "
+                        + batchDTO.getMisses().size() + " missed in the batch of " + listOfAddresses.size() + " addresses");
+                return batchDTO;
+
+            } catch (Exception exception) {
+                log.error("error when getting the list of child alert for addresses "
+                        + listOfAddresses + " : " + exception.getMessage());
+                return null;
+            }
+        } else {
+            log.error("a list of addresses must be specified to get the list of child alert");
+            return null;
+        }
     }
 
+
     /**
-     * return the list of household members for a given lastname
-     * (assuming all household members have the same lastname...)
+     * for each child of the households, populate a ChildAlertDTO with the other members of the household
+     * and complete information with calculation of the age of the child
      *
-     * @param listOfPersons a list of persons
-     * @param lastName      the lastname we want to filter on
-     * @return a list of persons having the same given lastname
+     * @param listOfHouseholds the households
+     * @return the list of ChildAlertDTO, empty if there is no child
      */
-    private List<HouseholdMemberDTO> getListOfOtherHouseholdMembers(List<Person> listOfPersons, String firstName, String lastName) {
+    private List<ChildAlertDTO> toListOfChildAlertDTO(List<Household> listOfHouseholds) {
+        List<ChildAlertDTO> listOfChildAlertDTO = new ArrayList<>();
+        for (Household household : listOfHouseholds) {
+            for (Person child : household.getChildren()) {
+                child.setAge(dateUtil.calculateAge(child.getMedicalRecord().getBirthDate()));
+                listOfChildAlertDTO.add(mapToChildrenAlertDTO(child, household));
+            }
+        }
+        return listOfChildAlertDTO;
+    }
 
-        List<Person> filteredListOfPersons = listOfPersons.stream()
-                .filter(person -> person.getLastName().equals(lastName) && !person.getFirstName().equals(firstName))
-                .collect(Collectors.toList());
+    /**
+     * group the persons living at an address in households (same lastname),
+     * the children being the persons under the MAX_AGE_FOR_CHILD_ALERT
+     * (used when the read index, where the households are maintained, is not ready)
+     *
+     * @param address       the address
+     * @param listOfPersons list of persons living at the address
+     * @return a list of households
+     */
+    private List<Household> groupInHouseholds(String address, List<Person> listOfPersons) {
+        Map<String, List<Person>> membersByLastName = new LinkedHashMap<>();
+        Map<String, List<Person>> childrenByLastName = new HashMap<>();
+        if (listOfPersons != null) {
+            for (Person person : listOfPersons) {
+                membersByLastName.computeIfAbsent(person.getLastName(), lastName -> new ArrayList<>()).add(person);
+                if (dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()) <= MAX_AGE_FOR_CHILD_ALERT) {
+                    childrenByLastName.computeIfAbsent(person.getLastName(), lastName -> new ArrayList<>()).add(person);
+                }
+            }
+        }
+
+        List<Household> listOfHouseholds = new ArrayList<>();
+        membersByLastName.forEach((lastName, members) -> listOfHouseholds.add(new Household(address, lastName,
+                members, childrenByLastName.getOrDefault(lastName, new ArrayList<>()))));
+        return listOfHouseholds;
+    }
+
+    /**
+     * map the child information to the ChildAlertDTO
+     *
+     * @param child     person information to be mapped to childAlertDTO
+     * @param household household of the child
+     * @return a ChildAlertDTO
+     */
+    private ChildAlertDTO mapToChildrenAlertDTO(Person child, Household household) {
+        ChildAlertDTO childAlertDTO = dtoMapper.toChildAlertDTO(child);
 
         List<HouseholdMemberDTO> listOfHouseholdMemberDTO = new ArrayList<>();
-        ModelMapper modelMapper = new ModelMapper();
-        filteredListOfPersons.forEach(person -> {
-            HouseholdMemberDTO householdMemberDTO = modelMapper.map(person, HouseholdMemberDTO.class);
-            listOfHouseholdMemberDTO.add(householdMemberDTO);
-        });
+        household.getOtherMembers(child)
+                .forEach(person -> listOfHouseholdMemberDTO.add(dtoMapper.toHouseholdMemberDTO(person)));
+        childAlertDTO.setListOfOtherHouseholdMembers(listOfHouseholdMemberDTO);
 
-        return listOfHouseholdMemberDTO;
+        return childAlertDTO;
     }
 
 
@@ -306,29 +498,23 @@ public class PersonService implements IPersonService {
      * @return a list of phone numbers
      */
     @Override
+    @Cacheable(cacheNames = PHONE_ALERT_CACHE, key = "#stationNumber", condition = "#stationNumber != null", sync = true)
     public List<String> getPhoneAlertByFireStation(Integer stationNumber) {
         if (stationNumber != null) {
             try {
-                List<String> listOfPhoneNumbers = new ArrayList<>();
-
-                //get the list of persons living in the area of the fire station
-                List<Person> listOfPersons = personRepository.findAllByFireStation_StationNumber(stationNumber);
+                //get only the distinct phone numbers of the persons living in the area of the fire station
+                List<String> listOfPhoneNumbers = alertsReadIndex.isReady()
+                        ? alertsReadIndex.findDistinctPhonesByFireStation_StationNumber(stationNumber)
+                        : personRepository.findDistinctPhonesByFireStation_StationNumber(stationNumber);
 
-                //for each person, if listOfPhoneNumbers does not already contains this phone number,
-                // add the phone number in the list
-                if (listOfPersons != null && !listOfPersons.isEmpty()) {
-                    log.info(listOfPersons.size() + " persons found for the area covered by fire station n°: " + stationNumber);
-                    for (Person person : listOfPersons) {
-                        if (!listOfPhoneNumbers.contains(person.getPhone())) {
-                            listOfPhoneNumbers.add(person.getPhone());
-                        }
-                    }
+                if (listOfPhoneNumbers != null && !listOfPhoneNumbers.isEmpty()) {
                     log.info(listOfPhoneNumbers.size()
                             + " distinct phone numbers found for the area covered by fire station n°: " + stationNumber);
                 } else {
                     log.warn("no person found in the area covered by fire station n°: "
                             + stationNumber
                             + ", list of phone numbers is empty");
+                    listOfPhoneNumbers = new ArrayList<>();
                 }
                 return listOfPhoneNumbers;
 
@@ -354,7 +540,25 @@ public class PersonService implements IPersonService {
      * completed with a count of adults and children
      */
     @Override
+    @Cacheable(cacheNames = FIRE_STATION_COVERAGE_CACHE, key = "#stationNumber", condition = "#stationNumber != null",
+            sync = true)
     public FireStationCoverageDTO getFireStationCoverageByStationNumber(Integer stationNumber) {
+        return getFireStationCoverageByStationNumber(stationNumber, null);
+    }
+
+
+    /**
+     * allow getting the list of information of all citizens
+     * covered by a given fire station found in repository, completed with a count of adults and children,
+     * the contacts being mapped and the ages being calculated only if requested
+     *
+     * @param stationNumber the fire station number we want to get the citizen' information from
+     * @param fields        the requested fields of the FireStationCoverageDTO, null for all of them
+     * @return a list of information of all citizens covered by a given fire station found in repository
+     * completed with a count of adults and children
+     */
+    @Override
+    public FireStationCoverageDTO getFireStationCoverageByStationNumber(Integer stationNumber, Set<String> fields) {
         if (stationNumber != null) {
             FireStationCoverageDTO fireStationCoverageDTO = new FireStationCoverageDTO();
             List<PersonCoveredContactsDTO> listOfPersonCoveredContactsDTO = new ArrayList<>();
@@ -362,22 +566,39 @@ public class PersonService implements IPersonService {
             int numberOfChildren = 0;
             try {
                 //get the list of persons living in the area of the fire station
-                List<Person> listOfPersons = personRepository.findAllByFireStation_StationNumber(stationNumber);
+                List<Person> listOfPersons = alertsReadIndex.isReady()
+                        ? alertsReadIndex.findAllByFireStation_StationNumber(stationNumber)
+                        : personRepository.findAllByFireStation_StationNumber(stationNumber);
 
                 //for each person, contact information are added in the list (after mapping)
                 //and count of adults/children is incremented
                 if (listOfPersons != null && !listOfPersons.isEmpty()) {
                     log.debug(listOfPersons.size() + " persons found for the area covered by fire station n°: " + stationNumber);
 
+                    //the children being classified in the index, they are counted without calculating ages
+                    //(and the ages are not calculated at all if the counts are not requested)
+                    boolean countsRequested = isRequested(fields, NUMBER_OF_ADULTS_FIELD)
+                            || isRequested(fields, NUMBER_OF_CHILDREN_FIELD);
+                    boolean contactsRequested = isRequested(fields, PERSON_COVERED_CONTACTS_FIELD);
+                    boolean childrenCountedInIndex = alertsReadIndex.isReady();
+                    boolean agesToCalculate = countsRequested && !childrenCountedInIndex;
+                    if (countsRequested && childrenCountedInIndex) {
+                        numberOfChildren = alertsReadIndex.countChildrenByStationNumber(stationNumber);
+                        numberOfAdults = listOfPersons.size() - numberOfChildren;
+                    }
+
                     for (Person person : listOfPersons) {
-                        ModelMapper modelMapper = new ModelMapper();
-                        PersonCoveredContactsDTO personCoveredContactsDTO = modelMapper.map(person, PersonCoveredContactsDTO.class);
-                        listOfPersonCoveredContactsDTO.add(personCoveredContactsDTO);
-
-                        if (dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()) <= MAX_AGE_FOR_CHILD_ALERT) {
-                            numberOfChildren++;
-                        } else {
-                            numberOfAdults++;
+                        if (contactsRequested) {
+                            PersonCoveredContactsDTO personCoveredContactsDTO = dtoMapper.toPersonCoveredContactsDTO(person);
+                            listOfPersonCoveredContactsDTO.add(personCoveredContactsDTO);
+                        }
+
+                        if (agesToCalculate) {
+                            if (dateUtil.calculateAge(person.getMedicalRecord().getBirthDate()) <= MAX_AGE_FOR_CHILD_ALERT) {
+                                numberOfChildren++;
+                            } else {
+                                numberOfAdults++;
+                            }
                         }
                     }
                     log.info(listOfPersonCoveredContactsDTO.size()
@@ -428,14 +649,16 @@ public class PersonService implements IPersonService {
             if (listOfPersons.size() == 0) {
                 //map DTO to DAO, add the covering fire station if exists,
                 //save in repository and map back to PersonDTO for return
-                ModelMapper modelMapper = new ModelMapper();
-                Person personToAdd = modelMapper.map(personDTOToAdd, Person.class);
+                Person personToAdd = dtoMapper.toPerson(personDTOToAdd);
 
                 personToAdd.setFireStation(fireStationRepository.findByAddress(personToAdd.getAddress()));
 
                 Person addedPerson = personRepository.save(personToAdd);
+                alertsReadIndex.savePerson(addedPerson);
+                alertsCacheEvictor.evictPerson(addedPerson);
+                dataVersions.bumpPerson(addedPerson);
 
-                addedPersonDTO = Optional.ofNullable(modelMapper.map(addedPerson, PersonDTO.class));
+                addedPersonDTO = Optional.ofNullable(dtoMapper.toPersonDTO(addedPerson));
 
             } else {
                 throw new AlreadyExistsException(ExceptionConstants.ALREADY_EXIST_PERSON_FOR_FIRSTNAME_AND_LASTNAME
@@ -471,8 +694,7 @@ public class PersonService implements IPersonService {
 
             if (existingPerson != null) {
                 //map DTO to DAO, save in repository and map back to PersonDTO for return
-                ModelMapper modelMapper = new ModelMapper();
-                Person personToUpdate = modelMapper.map(personDTOToUpdate, Person.class);
+                Person personToUpdate = dtoMapper.toPerson(personDTOToUpdate);
                 personToUpdate.setPersonId(existingPerson.getPersonId());
                 personToUpdate.setMedicalRecord(existingPerson.getMedicalRecord());
 
@@ -482,7 +704,12 @@ public class PersonService implements IPersonService {
                 }
 
                 Person updatedPerson = personRepository.save(personToUpdate);
-                updatedPersonDTO = Optional.ofNullable(modelMapper.map(updatedPerson, PersonDTO.class));
+                alertsReadIndex.savePerson(updatedPerson);
+                alertsCacheEvictor.evictPerson(existingPerson);
+                alertsCacheEvictor.evictPerson(updatedPerson);
+                dataVersions.bumpPerson(existingPerson);
+                dataVersions.bumpPerson(updatedPerson);
+                updatedPersonDTO = Optional.ofNullable(dtoMapper.toPersonDTO(updatedPerson));
 
             } else {
                 throw new DoesNotExistException(ExceptionConstants.NO_PERSON_FOUND_FOR_FIRSTNAME_AND_LASTNAME
@@ -525,10 +752,14 @@ public class PersonService implements IPersonService {
                     personToDelete.setMedicalRecord(null);
                     personRepository.save(personToDelete);
                     medicalRecordRepository.deleteById(idOfMedicalRecordToDelete);
+                    alertsReadIndex.deleteMedicalRecord(firstName, lastName);
                 }
 
                 //then delete the person
                 personRepository.deleteById(personToDelete.getPersonId());
+                alertsReadIndex.deletePerson(firstName, lastName);
+                alertsCacheEvictor.evictPerson(personToDelete);
+                dataVersions.bumpPerson(personToDelete);
 
             } else {
                 throw new DoesNotExistException(ExceptionConstants.NO_PERSON_FOUND_FOR_FIRSTNAME_AND_LASTNAME
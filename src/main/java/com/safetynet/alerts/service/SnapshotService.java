@@ -0,0 +1,577 @@
+package com.safetynet.alerts.service;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.MedicalRecord;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.repository.FireStationRepository;
+import com.safetynet.alerts.repository.MedicalRecordRepository;
+import com.safetynet.alerts.repository.PersonRepository;
+import com.safetynet.alerts.util.ChunkPipeline;
+import com.safetynet.alerts.util.DataLoadStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of the loaded data (medical records, fire stations, persons and the links between them),
+ * written after a successful load of the JSON data file and memory-mapped at next start
+ * to avoid parsing and linking the JSON data file again.
+ * <p>
+ * Format (big-endian):
+ * <pre>
+ * header: magic (int), version (int), last modification time of the data file (long),
+ *         CRC32 of the body (long), length of the body (long)
+ * body:   string dictionary: count (int), then for each string its length (int) and UTF-8 bytes
+ *         medical records: count (int), then for each: firstname, lastname (string ids),
+ *                          birthdate (epoch day, long), medications and allergies (count + string ids)
+ *         fire stations: count (int), then for each: station number (int), address (string id)
+ *         persons: count (int), then for each: firstname, lastname, address, city, zip, phone, email (string ids),
+ *                  index of the medical record and of the fire station (int)
+ * </pre>
+ * A null string or link is written as -1.
+ */
+@Slf4j
+@Service
+public class SnapshotService {
+
+    private static final int MAGIC = 0x534E4153;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 32;
+    private static final int NONE = -1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final PersonService personService;
+
+    private final FireStationService fireStationService;
+
+    private final MedicalRecordService medicalRecordService;
+
+    private final PersonRepository personRepository;
+
+    private final FireStationRepository fireStationRepository;
+
+    private final MedicalRecordRepository medicalRecordRepository;
+
+    private final DataLoadStatus dataLoadStatus;
+
+    @Value("${data.inputFilePath}")
+    private String dataInputFilePath;
+
+    @Value("${data.snapshot.enabled:false}")
+    private boolean snapshotEnabled;
+
+    @Value("${data.snapshot.path:}")
+    private String snapshotPath;
+
+    @Value("${data.load.chunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${data.load.workers:0}")
+    private int nbOfWorkers;
+
+    @Value("${data.load.queueCapacity:4}")
+    private int queueCapacity;
+
+    @Autowired
+    public SnapshotService(PersonService personService, FireStationService fireStationService, MedicalRecordService medicalRecordService,
+                           PersonRepository personRepository, FireStationRepository fireStationRepository,
+                           MedicalRecordRepository medicalRecordRepository, DataLoadStatus dataLoadStatus) {
+        this.personService = personService;
+        this.fireStationService = fireStationService;
+        this.medicalRecordService = medicalRecordService;
+        this.personRepository = personRepository;
+        this.fireStationRepository = fireStationRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.dataLoadStatus = dataLoadStatus;
+    }
+
+
+    /**
+     * load the data from the snapshot if it exists, is valid and is not older than the data file
+     *
+     * @return true if the data have been loaded from the snapshot,
+     * false if the data file must be read (no usable snapshot or error when loading it)
+     */
+    public boolean loadSnapshot() {
+
+        if (!snapshotEnabled || snapshotPath.isEmpty()) {
+            return false;
+        }
+
+        Path snapshotFile = Paths.get(snapshotPath);
+        if (!Files.isRegularFile(snapshotFile)) {
+            log.info("No snapshot found at " + snapshotPath + ", data will be loaded from the data file");
+            return false;
+        }
+
+        log.info("Reading snapshot " + snapshotPath);
+        dataLoadStatus.loadStarted(DataLoadStatus.Source.SNAPSHOT);
+
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+
+            if (channel.size() < HEADER_LENGTH) {
+                log.warn("Snapshot " + snapshotPath + " is truncated, data will be loaded from the data file");
+                return false;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (!checkHeader(buffer, channel.size())) {
+                return false;
+            }
+
+            boolean saved;
+            try {
+                saved = readBody(buffer);
+            } catch (RuntimeException exception) {
+                log.error("error when reading snapshot " + snapshotPath + " : " + exception.getMessage());
+                saved = false;
+            }
+
+            if (!saved) {
+                //the data file will be read: remove what has already been saved from the snapshot
+                log.error("Snapshot " + snapshotPath + " has not been loaded, data will be loaded from the data file");
+                deleteLoadedData();
+                return false;
+            }
+
+            dataLoadStatus.loadEnded(null, true);
+            log.info("End of Reading snapshot \n");
+            return true;
+
+        } catch (IOException exception) {
+            log.error("error when reading snapshot " + snapshotPath + " : " + exception.getMessage()
+                    + ", data will be loaded from the data file");
+            return false;
+        }
+    }
+
+
+    /**
+     * write the snapshot of the data loaded in DB, if the last load of the data file has been successful
+     */
+    @Transactional(readOnly = true)
+    public void writeSnapshot() {
+
+        if (!snapshotEnabled || snapshotPath.isEmpty()
+                || !dataLoadStatus.isSuccessful() || dataLoadStatus.getSource() != DataLoadStatus.Source.JSON) {
+            return;
+        }
+
+        long sourceLastModified = getDataFileLastModified();
+        if (sourceLastModified <= 0) {
+            log.warn("Last modification time of data file " + dataInputFilePath + " is unknown, no snapshot is written");
+            return;
+        }
+
+        log.info("Writing snapshot " + snapshotPath);
+        Path snapshotFile = Paths.get(snapshotPath).toAbsolutePath();
+        Path temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+        try {
+            if (snapshotFile.getParent() != null) {
+                Files.createDirectories(snapshotFile.getParent());
+            }
+
+            List<MedicalRecord> listOfMedicalRecords = new ArrayList<>();
+            medicalRecordRepository.findAll().forEach(listOfMedicalRecords::add);
+            List<FireStation> listOfFireStations = new ArrayList<>();
+            fireStationRepository.findAll().forEach(listOfFireStations::add);
+            List<Person> listOfPersons = new ArrayList<>();
+            personRepository.findAll().forEach(listOfPersons::add);
+
+            CRC32 checksum = new CRC32();
+            long bodyLength;
+
+            try (OutputStream fileOutputStream = Files.newOutputStream(temporaryFile)) {
+                //header placeholder, completed once the body is written
+                fileOutputStream.write(new byte[HEADER_LENGTH]);
+
+                CountingOutputStream countingOutputStream = new CountingOutputStream(
+                        new CheckedOutputStream(new BufferedOutputStream(fileOutputStream), checksum));
+                DataOutputStream body = new DataOutputStream(countingOutputStream);
+                writeBody(body, listOfMedicalRecords, listOfFireStations, listOfPersons);
+                body.flush();
+                bodyLength = countingOutputStream.getCount();
+            }
+
+            try (RandomAccessFile header = new RandomAccessFile(temporaryFile.toFile(), "rw")) {
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.writeLong(sourceLastModified);
+                header.writeLong(checksum.getValue());
+                header.writeLong(bodyLength);
+            }
+
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Snapshot written with " + listOfPersons.size() + " person(s), "
+                    + listOfFireStations.size() + " fire station(s) and "
+                    + listOfMedicalRecords.size() + " medical record(s) \n");
+
+        } catch (IOException | RuntimeException exception) {
+            log.error("error when writing snapshot " + snapshotPath + " : " + exception.getMessage());
+            try {
+                Files.deleteIfExists(temporaryFile);
+            } catch (IOException ioException) {
+                log.error("error when deleting temporary snapshot " + temporaryFile + " : " + ioException.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * check the header of the snapshot: magic number, version, data file last modification time and checksum
+     *
+     * @param buffer       the mapped snapshot, positioned at its start
+     * @param snapshotSize the size of the snapshot file
+     * @return true if the snapshot can be used
+     */
+    private boolean checkHeader(ByteBuffer buffer, long snapshotSize) {
+
+        if (buffer.getInt() != MAGIC) {
+            log.warn("File " + snapshotPath + " is not a snapshot, data will be loaded from the data file");
+            return false;
+        }
+
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            log.warn("Snapshot version " + version + " is not supported (expected " + VERSION
+                    + "), data will be loaded from the data file");
+            return false;
+        }
+
+        long sourceLastModified = buffer.getLong();
+        if (sourceLastModified != getDataFileLastModified()) {
+            log.info("Snapshot is older than data file " + dataInputFilePath + ", data will be loaded from the data file");
+            return false;
+        }
+
+        long expectedChecksum = buffer.getLong();
+        long bodyLength = buffer.getLong();
+        if (bodyLength != snapshotSize - HEADER_LENGTH) {
+            log.warn("Snapshot " + snapshotPath + " is truncated, data will be loaded from the data file");
+            return false;
+        }
+
+        CRC32 checksum = new CRC32();
+        ByteBuffer body = buffer.slice();
+        checksum.update(body);
+        if (checksum.getValue() != expectedChecksum) {
+            log.warn("Snapshot " + snapshotPath + " is corrupted, data will be loaded from the data file");
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * write the body of the snapshot
+     *
+     * @param body                 the output of the body
+     * @param listOfMedicalRecords list of all medical records
+     * @param listOfFireStations   list of all fire stations
+     * @param listOfPersons        list of all persons
+     * @throws IOException if the snapshot can not be written
+     */
+    private void writeBody(DataOutputStream body, List<MedicalRecord> listOfMedicalRecords,
+                           List<FireStation> listOfFireStations, List<Person> listOfPersons) throws IOException {
+
+        //build the string dictionary and the indexes of medical records and fire stations by ID
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        Map<Long, Integer> medicalRecordIndexById = new HashMap<>(listOfMedicalRecords.size() * 2);
+        Map<Long, Integer> fireStationIndexById = new HashMap<>(listOfFireStations.size() * 2);
+
+        for (MedicalRecord medicalRecord : listOfMedicalRecords) {
+            medicalRecordIndexById.put(medicalRecord.getMedicalRecordId(), medicalRecordIndexById.size());
+            addToDictionary(dictionary, medicalRecord.getFirstName(), medicalRecord.getLastName());
+            addToDictionary(dictionary, getListOrEmpty(medicalRecord.getMedications()).toArray(new String[0]));
+            addToDictionary(dictionary, getListOrEmpty(medicalRecord.getAllergies()).toArray(new String[0]));
+        }
+        for (FireStation fireStation : listOfFireStations) {
+            fireStationIndexById.put(fireStation.getFireStationId(), fireStationIndexById.size());
+            addToDictionary(dictionary, fireStation.getAddress());
+        }
+        for (Person person : listOfPersons) {
+            addToDictionary(dictionary, person.getFirstName(), person.getLastName(), person.getAddress(),
+                    person.getCity(), person.getZip(), person.getPhone(), person.getEmail());
+        }
+
+        body.writeInt(dictionary.size());
+        for (String string : dictionary.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            body.writeInt(bytes.length);
+            body.write(bytes);
+        }
+
+        body.writeInt(listOfMedicalRecords.size());
+        for (MedicalRecord medicalRecord : listOfMedicalRecords) {
+            writeStrings(body, dictionary, medicalRecord.getFirstName(), medicalRecord.getLastName());
+            body.writeLong(medicalRecord.getBirthDate() == null ? NO_DATE : medicalRecord.getBirthDate().toEpochDay());
+            writeListOfStrings(body, dictionary, medicalRecord.getMedications());
+            writeListOfStrings(body, dictionary, medicalRecord.getAllergies());
+        }
+
+        body.writeInt(listOfFireStations.size());
+        for (FireStation fireStation : listOfFireStations) {
+            body.writeInt(fireStation.getStationNumber() == null ? NONE : fireStation.getStationNumber());
+            writeStrings(body, dictionary, fireStation.getAddress());
+        }
+
+        body.writeInt(listOfPersons.size());
+        for (Person person : listOfPersons) {
+            writeStrings(body, dictionary, person.getFirstName(), person.getLastName(), person.getAddress(),
+                    person.getCity(), person.getZip(), person.getPhone(), person.getEmail());
+            body.writeInt(person.getMedicalRecord() == null ? NONE
+                    : medicalRecordIndexById.getOrDefault(person.getMedicalRecord().getMedicalRecordId(), NONE));
+            body.writeInt(person.getFireStation() == null ? NONE
+                    : fireStationIndexById.getOrDefault(person.getFireStation().getFireStationId(), NONE));
+        }
+    }
+
+
+    /**
+     * read the body of the snapshot and save its data in DB chunk by chunk
+     *
+     * @param buffer the mapped snapshot, positioned at the start of its body
+     * @return true if all data have been saved
+     */
+    private boolean readBody(ByteBuffer buffer) {
+
+        String[] dictionary = new String[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        //medical records: saved in place, so that their IDs in DB are set for the persons linking
+        MedicalRecord[] medicalRecords = new MedicalRecord[buffer.getInt()];
+        for (int i = 0; i < medicalRecords.length; i++) {
+            MedicalRecord medicalRecord = new MedicalRecord();
+            medicalRecord.setFirstName(readString(buffer, dictionary));
+            medicalRecord.setLastName(readString(buffer, dictionary));
+            long birthDate = buffer.getLong();
+            medicalRecord.setBirthDate(birthDate == NO_DATE ? null : LocalDate.ofEpochDay(birthDate));
+            medicalRecord.setMedications(readListOfStrings(buffer, dictionary));
+            medicalRecord.setAllergies(readListOfStrings(buffer, dictionary));
+            medicalRecords[i] = medicalRecord;
+        }
+        dataLoadStatus.addParsedElements(DataLoadStatus.DataType.MEDICAL_RECORDS, medicalRecords.length);
+        boolean saved = saveByChunks(medicalRecords, medicalRecordService::saveListOfMedicalRecords,
+                DataLoadStatus.DataType.MEDICAL_RECORDS);
+        log.info("    " + medicalRecords.length + " medical record(s) read");
+
+        FireStation[] fireStations = new FireStation[buffer.getInt()];
+        for (int i = 0; i < fireStations.length; i++) {
+            FireStation fireStation = new FireStation();
+            int stationNumber = buffer.getInt();
+            fireStation.setStationNumber(stationNumber == NONE ? null : stationNumber);
+            fireStation.setAddress(readString(buffer, dictionary));
+            fireStations[i] = fireStation;
+        }
+        dataLoadStatus.addParsedElements(DataLoadStatus.DataType.FIRE_STATIONS, fireStations.length);
+        saved &= saveByChunks(fireStations, fireStationService::saveListOfFireStations,
+                DataLoadStatus.DataType.FIRE_STATIONS);
+        log.info("    " + fireStations.length + " fire station(s) read");
+
+        if (!saved) {
+            log.error("Medical records and fire stations of the snapshot have not all been saved, persons are not loaded");
+            return false;
+        }
+
+        //persons: linked by index to their medical record and fire station, saved by several workers
+        int nbOfPersons = buffer.getInt();
+        AtomicInteger nbOfSavedPersons = new AtomicInteger();
+        ChunkPipeline<Person> personPipeline = new ChunkPipeline<>("snapshot-persons",
+                nbOfWorkers > 0 ? nbOfWorkers : Runtime.getRuntime().availableProcessors(), queueCapacity,
+                chunk -> {
+                    Iterable<Person> savedPersons = personService.saveListOfPersons(chunk);
+                    if (savedPersons != null) {
+                        nbOfSavedPersons.addAndGet(chunk.size());
+                        dataLoadStatus.addSavedElements(DataLoadStatus.DataType.PERSONS, chunk.size());
+                    }
+                });
+
+        try {
+            List<Person> chunk = new ArrayList<>(chunkSize);
+            for (int i = 0; i < nbOfPersons; i++) {
+                Person person = new Person();
+                person.setFirstName(readString(buffer, dictionary));
+                person.setLastName(readString(buffer, dictionary));
+                person.setAddress(readString(buffer, dictionary));
+                person.setCity(readString(buffer, dictionary));
+                person.setZip(readString(buffer, dictionary));
+                person.setPhone(readString(buffer, dictionary));
+                person.setEmail(readString(buffer, dictionary));
+                int medicalRecordIndex = buffer.getInt();
+                person.setMedicalRecord(medicalRecordIndex == NONE ? null : medicalRecords[medicalRecordIndex]);
+                int fireStationIndex = buffer.getInt();
+                person.setFireStation(fireStationIndex == NONE ? null : fireStations[fireStationIndex]);
+                chunk.add(person);
+
+                if (chunk.size() >= chunkSize) {
+                    dataLoadStatus.addParsedElements(DataLoadStatus.DataType.PERSONS, chunk.size());
+                    personPipeline.submit(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                dataLoadStatus.addParsedElements(DataLoadStatus.DataType.PERSONS, chunk.size());
+                personPipeline.submit(chunk);
+            }
+        } finally {
+            saved = personPipeline.awaitCompletion();
+        }
+        log.info("    " + nbOfPersons + " person(s) read, " + nbOfSavedPersons.get() + " person(s) saved");
+
+        return saved && nbOfSavedPersons.get() == nbOfPersons;
+    }
+
+
+    /**
+     * save an array of entities in DB by chunks of chunkSize entities
+     *
+     * @param entities the entities to save
+     * @param saver    the save path of a list of entities
+     * @param dataType the type of the entities, to follow the progress of the load
+     * @return true if all entities have been saved
+     */
+    private <T> boolean saveByChunks(T[] entities, Function<List<T>, Iterable<T>> saver, DataLoadStatus.DataType dataType) {
+        for (int from = 0; from < entities.length; from += chunkSize) {
+            List<T> chunk = new ArrayList<>(Arrays.asList(entities).subList(from, Math.min(from + chunkSize, entities.length)));
+            if (saver.apply(chunk) == null) {
+                return false;
+            }
+            dataLoadStatus.addSavedElements(dataType, chunk.size());
+        }
+        return true;
+    }
+
+
+    /**
+     * delete the data partially loaded from the snapshot
+     */
+    private void deleteLoadedData() {
+        personRepository.deleteAll();
+        medicalRecordRepository.deleteAll();
+        fireStationRepository.deleteAll();
+    }
+
+
+    /**
+     * @return the last modification time of the data file, or 0 if unknown
+     */
+    private long getDataFileLastModified() {
+        URL dataFileUrl = getClass().getClassLoader().getResource(dataInputFilePath);
+        if (dataFileUrl == null) {
+            return 0;
+        }
+        try {
+            return dataFileUrl.openConnection().getLastModified();
+        } catch (IOException ioException) {
+            log.error("error when getting the last modification time of data file " + dataInputFilePath
+                    + " : " + ioException.getMessage());
+            return 0;
+        }
+    }
+
+
+    private static void addToDictionary(Map<String, Integer> dictionary, String... strings) {
+        for (String string : strings) {
+            if (string != null) {
+                dictionary.putIfAbsent(string, dictionary.size());
+            }
+        }
+    }
+
+    private static void writeStrings(DataOutputStream body, Map<String, Integer> dictionary, String... strings) throws IOException {
+        for (String string : strings) {
+            body.writeInt(string == null ? NONE : dictionary.get(string));
+        }
+    }
+
+    private static void writeListOfStrings(DataOutputStream body, Map<String, Integer> dictionary, List<String> strings) throws IOException {
+        List<String> listOfStrings = getListOrEmpty(strings);
+        body.writeInt(listOfStrings.size());
+        writeStrings(body, dictionary, listOfStrings.toArray(new String[0]));
+    }
+
+    private static String readString(ByteBuffer buffer, String[] dictionary) {
+        int stringId = buffer.getInt();
+        return stringId == NONE ? null : dictionary[stringId];
+    }
+
+    private static List<String> readListOfStrings(ByteBuffer buffer, String[] dictionary) {
+        int size = buffer.getInt();
+        List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(readString(buffer, dictionary));
+        }
+        return strings;
+    }
+
+    private static List<String> getListOrEmpty(List<String> strings) {
+        return strings == null ? Collections.emptyList() : strings;
+    }
+
+
+    /**
+     * output stream counting the bytes written through it
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.safetynet.alerts.tools;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generator of synthetic data files, in the same format as data.json, to test the application at scale
+ * (e.g. 10 millions persons).
+ * Persons are generated by households, living at addresses shared by several households.
+ * Addresses are spread over the fire stations and the cities with a Zipf distribution:
+ * a few huge fire stations (and cities) and many tiny ones.
+ * The file is written on the fly, nothing is kept in memory but the distributions:
+ * the persons are generated twice (for the persons section and for the medical records section)
+ * from a random generator seeded per household, so that a given seed always gives the same file.
+ * <p>
+ * Usage: java com.safetynet.alerts.tools.DataSetGenerator [--option=value ...]
+ * or: mvn -Pgenerate-data process-classes [-Dgenerator.option=value ...]
+ */
+@Slf4j
+public class DataSetGenerator {
+
+    private static final String[] FIRST_NAMES = {"John", "Jacob", "Tenley", "Roger", "Felicia", "Jonanathan", "Tessa",
+            "Peter", "Foster", "Tony", "Lily", "Sophia", "Warren", "Zach", "Reginold", "Jamie", "Ron", "Allison", "Brian",
+            "Shawna", "Kendrik", "Clive", "Eric", "Emma", "Liam", "Olivia", "Noah", "Ava", "Elijah", "Mia", "Lucas", "Amelia"};
+
+    private static final String[] LAST_NAMES = {"Boyd", "Marrack", "Carman", "Duncan", "Shepard", "Cooper", "Zemicks",
+            "Walker", "Peters", "Stelzer", "Ferguson", "Cadigan", "Smith", "Johnson", "Brown", "Miller", "Davis", "Wilson"};
+
+    private static final String[] STREETS = {"Culver St", "15th St", "Binoc Ave", "Gershwin Cir", "Townings Dr",
+            "Steppes Pl", "Manchester St", "Downing Ct", "73rd St", "E. Rose Dr", "LoneTree Rd"};
+
+    private static final String[] CITIES = {"Culver", "Springfield", "Riverside", "Franklin", "Greenville", "Bristol",
+            "Clinton", "Fairview", "Salem", "Madison"};
+
+    private static final String[] MEDICATIONS = {"aznol", "hydrapermazol", "pharmacol", "terazine", "noznazol",
+            "dodoxadin", "ibupurin", "noxidian", "tetracyclaz", "thradox", "tradoxidine"};
+
+    private static final String[] DOSAGES = {"10mg", "30mg", "60mg", "100mg", "200mg", "350mg", "500mg", "900mg"};
+
+    private static final String[] ALLERGIES = {"peanut", "shellfish", "aznol", "nillacilan", "illisoxian", "xilliathal"};
+
+    //fixed reference date for the birthdates, so that a given seed always gives the same file
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2021, 1, 1);
+
+    private static final DateTimeFormatter BIRTHDATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    private static final int MAX_AGE = 95;
+
+    //streams of random numbers, each household or address having its own random generator in each stream
+    private static final long HOUSEHOLDS_STREAM = 1;
+    private static final long CITIES_STREAM = 2;
+    private static final long STATIONS_STREAM = 3;
+
+    private final long nbOfPersons;
+
+    private final int householdsPerAddress;
+
+    private final int maxHouseholdSize;
+
+    private final int addressesPerStation;
+
+    private final int nbOfCities;
+
+    private final int nbOfMedications;
+
+    private final int maxMedicationsPerPerson;
+
+    private final double skew;
+
+    private final long seed;
+
+    private final double[] citiesCumulativeWeights;
+
+    private long nbOfHouseholds;
+
+    private long nbOfAddresses;
+
+    /**
+     * create a generator
+     *
+     * @param options the options of the generation, by name (see usage), missing ones taking their default value
+     */
+    public DataSetGenerator(Map<String, String> options) {
+        nbOfPersons = Long.parseLong(options.getOrDefault("persons", "10000"));
+        householdsPerAddress = Integer.parseInt(options.getOrDefault("householdsPerAddress", "2"));
+        maxHouseholdSize = Integer.parseInt(options.getOrDefault("maxHouseholdSize", "6"));
+        addressesPerStation = Integer.parseInt(options.getOrDefault("addressesPerStation", "20"));
+        nbOfCities = Integer.parseInt(options.getOrDefault("cities", "10"));
+        nbOfMedications = Integer.parseInt(options.getOrDefault("medications", "50"));
+        maxMedicationsPerPerson = Integer.parseInt(options.getOrDefault("maxMedicationsPerPerson", "3"));
+        skew = Double.parseDouble(options.getOrDefault("skew", "1.0"));
+        seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        if (nbOfPersons < 0 || householdsPerAddress < 1 || maxHouseholdSize < 1 || maxHouseholdSize > FIRST_NAMES.length
+                || addressesPerStation < 1 || nbOfCities < 1 || nbOfMedications < 1 || maxMedicationsPerPerson < 0
+                || skew < 0) {
+            throw new IllegalArgumentException("invalid options: " + options);
+        }
+
+        citiesCumulativeWeights = getCumulativeWeights(nbOfCities);
+    }
+
+
+    /**
+     * generate a data file
+     *
+     * @param args options of the generation, as --option=value:
+     *             output (path of the file to write, default target/generated-data.json),
+     *             persons (default 10000), householdsPerAddress (default 2), maxHouseholdSize (default 6),
+     *             addressesPerStation (average, default 20), cities (default 10), medications (default 50),
+     *             maxMedicationsPerPerson (default 3), skew (Zipf exponent of the distributions, default 1.0),
+     *             seed (default 42)
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("invalid argument " + arg + ", expected --option=value");
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        Path output = Paths.get(options.getOrDefault("output", "target/generated-data.json"));
+        if (output.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+        }
+
+        long startTimeInMillis = System.currentTimeMillis();
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+            new DataSetGenerator(options).generate(outputStream);
+        }
+        log.info("data file " + output + " generated in " + (System.currentTimeMillis() - startTimeInMillis) + " ms");
+    }
+
+
+    /**
+     * generate the data and write them as JSON in the output stream
+     *
+     * @param outputStream the output stream, not closed at the end of the generation
+     * @throws IOException if the data can not be written
+     */
+    public void generate(OutputStream outputStream) throws IOException {
+        JsonFactory jsonFactory = new JsonFactory();
+        jsonFactory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+
+            generator.writeArrayFieldStart("persons");
+            writeHouseholds(generator, false);
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("firestations");
+            writeFireStations(generator);
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("medicalrecords");
+            writeHouseholds(generator, true);
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+
+        log.info(nbOfPersons + " person(s) generated in " + nbOfHouseholds + " household(s) at "
+                + nbOfAddresses + " address(es), covered by " + getNbOfStations() + " fire station(s)");
+    }
+
+
+    /**
+     * write the persons, or their medical records, household by household until the number of persons is reached
+     *
+     * @param generator          the JSON generator
+     * @param withMedicalRecords true to write the medical records of the persons, false to write the persons
+     * @throws IOException if the data can not be written
+     */
+    private void writeHouseholds(JsonGenerator generator, boolean withMedicalRecords) throws IOException {
+        long nbOfPersonsWritten = 0;
+        long household = 0;
+
+        while (nbOfPersonsWritten < nbOfPersons) {
+            Random random = newRandom(HOUSEHOLDS_STREAM, household);
+            int householdSize = (int) Math.min(1 + random.nextInt(maxHouseholdSize), nbOfPersons - nbOfPersonsWritten);
+
+            //the lastname is made unique by household, so that firstname+lastname identifies a person
+            String lastName = LAST_NAMES[(int) (household % LAST_NAMES.length)]
+                    + (household < LAST_NAMES.length ? "" : Long.toString(household / LAST_NAMES.length));
+            int firstNameOffset = random.nextInt(FIRST_NAMES.length);
+
+            long addressIndex = household / householdsPerAddress;
+            String address = getAddress(addressIndex);
+            int city = sampleZipf(newRandom(CITIES_STREAM, addressIndex), citiesCumulativeWeights);
+            String phone = String.format("841-874-%04d", random.nextInt(10000));
+
+            for (int member = 0; member < householdSize; member++) {
+                String firstName = FIRST_NAMES[(firstNameOffset + member) % FIRST_NAMES.length];
+                if (withMedicalRecords) {
+                    writeMedicalRecord(generator, random, firstName, lastName, member);
+                } else {
+                    generator.writeStartObject();
+                    generator.writeStringField("firstName", firstName);
+                    generator.writeStringField("lastName", lastName);
+                    generator.writeStringField("address", address);
+                    generator.writeStringField("city", getCity(city));
+                    generator.writeStringField("zip", String.valueOf(97451 + city));
+                    generator.writeStringField("phone", phone);
+                    generator.writeStringField("email",
+                            (firstName + "." + lastName).toLowerCase(Locale.ROOT) + "@email.com");
+                    generator.writeEndObject();
+                }
+            }
+
+            nbOfPersonsWritten += householdSize;
+            household++;
+        }
+
+        nbOfHouseholds = household;
+        nbOfAddresses = (household + householdsPerAddress - 1) / householdsPerAddress;
+    }
+
+
+    /**
+     * write the medical record of a member of a household (the first two members being adults)
+     */
+    private void writeMedicalRecord(JsonGenerator generator, Random random,
+                                    String firstName, String lastName, int member) throws IOException {
+        int age = member < 2 ? 18 + random.nextInt(MAX_AGE - 18) : random.nextInt(25);
+        LocalDate birthDate = REFERENCE_DATE.minusYears(age).minusDays(random.nextInt(365));
+
+        generator.writeStartObject();
+        generator.writeStringField("firstName", firstName);
+        generator.writeStringField("lastName", lastName);
+        generator.writeStringField("birthdate", birthDate.format(BIRTHDATE_FORMATTER));
+
+        generator.writeArrayFieldStart("medications");
+        int nbOfMedicationsOfPerson = random.nextInt(maxMedicationsPerPerson + 1);
+        for (int i = 0; i < nbOfMedicationsOfPerson; i++) {
+            generator.writeString(getMedication(random.nextInt(nbOfMedications)));
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("allergies");
+        if (random.nextInt(4) == 0) {
+            generator.writeString(ALLERGIES[random.nextInt(ALLERGIES.length)]);
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+
+    /**
+     * write the fire station covering each address, drawn with a Zipf distribution
+     *
+     * @param generator the JSON generator
+     * @throws IOException if the data can not be written
+     */
+    private void writeFireStations(JsonGenerator generator) throws IOException {
+        double[] stationsCumulativeWeights = getCumulativeWeights(getNbOfStations());
+
+        for (long addressIndex = 0; addressIndex < nbOfAddresses; addressIndex++) {
+            int station = sampleZipf(newRandom(STATIONS_STREAM, addressIndex), stationsCumulativeWeights);
+            generator.writeStartObject();
+            generator.writeStringField("address", getAddress(addressIndex));
+            generator.writeStringField("station", String.valueOf(station + 1));
+            generator.writeEndObject();
+        }
+    }
+
+
+    /**
+     * create the random generator of an element (household or address) in a stream of random numbers
+     * NB : the seed is scrambled, as java.util.Random draws close first numbers for close seeds
+     *
+     * @param stream the stream of random numbers
+     * @param index  the index of the element
+     * @return the random generator
+     */
+    private Random newRandom(long stream, long index) {
+        long mixedSeed = seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index;
+        mixedSeed = (mixedSeed ^ (mixedSeed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixedSeed = (mixedSeed ^ (mixedSeed >>> 27)) * 0x94D049BB133111EBL;
+        return new Random(mixedSeed ^ (mixedSeed >>> 31));
+    }
+
+
+    private int getNbOfStations() {
+        return (int) Math.max(1, (nbOfAddresses + addressesPerStation - 1) / addressesPerStation);
+    }
+
+    /**
+     * compute the cumulative weights of a Zipf distribution: the weight of rank k is 1 / k^skew
+     *
+     * @param nbOfRanks the number of ranks
+     * @return the cumulative weights, normalized to 1
+     */
+    private double[] getCumulativeWeights(int nbOfRanks) {
+        double[] cumulativeWeights = new double[nbOfRanks];
+        double total = 0;
+        for (int rank = 0; rank < nbOfRanks; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            cumulativeWeights[rank] = total;
+        }
+        for (int rank = 0; rank < nbOfRanks; rank++) {
+            cumulativeWeights[rank] /= total;
+        }
+        return cumulativeWeights;
+    }
+
+
+    /**
+     * draw a rank with a Zipf distribution
+     *
+     * @param random            the random generator
+     * @param cumulativeWeights the cumulative weights of the distribution
+     * @return the rank drawn, from 0
+     */
+    private static int sampleZipf(Random random, double[] cumulativeWeights) {
+        double value = random.nextDouble();
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+
+    private static String getAddress(long addressIndex) {
+        return (addressIndex + 1) + " " + STREETS[(int) (addressIndex % STREETS.length)];
+    }
+
+    private static String getCity(int city) {
+        return CITIES[city % CITIES.length] + (city < CITIES.length ? "" : Integer.toString(city / CITIES.length));
+    }
+
+    private static String getMedication(int medication) {
+        return MEDICATIONS[medication % MEDICATIONS.length]
+                + (medication < MEDICATIONS.length ? "" : Integer.toString(medication / MEDICATIONS.length))
+                + ":" + DOSAGES[medication % DOSAGES.length];
+    }
+}
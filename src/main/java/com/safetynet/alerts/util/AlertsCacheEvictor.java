@@ -0,0 +1,291 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.Person;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import static com.safetynet.alerts.constants.CacheConstants.CHILD_ALERT_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.CHILD_ALERT_JSON_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.COMMUNITY_EMAIL_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_JSON_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_STATION_COVERAGE_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_STATION_COVERAGE_JSON_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FLOOD_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.PERSON_INFO_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.PHONE_ALERT_CACHE;
+
+/**
+ * Invalidation of the cached alert results affected by a write, called by the services after each write in DB:
+ * only the entries of the address, city, station number and lastname of the written data are evicted.
+ * The cache keys are the ones of the service methods: address, city, station number,
+ * list of station numbers (flood) and [lastname, firstname] (person information).
+ * The JSON responses serialized from these results (fire, child alert and fire station coverage) are evicted with them.
+ * As ages change with the date, and as a data load or reload changes any data, all the entries are evicted then.
+ * The results are loaded through the caches given by getCache (e.g. by the @Cacheable(sync = true) methods),
+ * whose loads are exclusive with the evictions: an eviction waits for the loads in progress,
+ * so that a result read before a write is never kept in cache after the eviction following this write.
+ */
+@Slf4j
+@Component
+public class AlertsCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    private final DataVersions dataVersions;
+
+    //the loads of results hold the read lock, the evictions the write lock
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+
+    private final ConcurrentMap<String, Cache> loadGuardedCaches = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AlertsCacheEvictor(CacheManager cacheManager, DataVersions dataVersions) {
+        this.cacheManager = cacheManager;
+        this.dataVersions = dataVersions;
+    }
+
+
+    /**
+     * get a cache whose results are loaded exclusively with the evictions,
+     * a null result (i.e. an error) being not kept in cache
+     *
+     * @param cacheName the name of the cache
+     * @return the cache, or null if no cache is declared with this name
+     */
+    public Cache getCache(String cacheName) {
+        return loadGuardedCaches.computeIfAbsent(cacheName, name -> {
+            Cache cache = cacheManager.getCache(name);
+            return (cache == null) ? null : new LoadGuardedCache(cache);
+        });
+    }
+
+
+    /**
+     * evict the results where a person appears (e.g. before and after its save in DB)
+     *
+     * @param person the person
+     */
+    public void evictPerson(Person person) {
+        if (person != null) {
+            evictResident(person);
+            evict(COMMUNITY_EMAIL_CACHE, person.getCity());
+            if (person.getFireStation() != null) {
+                evict(PHONE_ALERT_CACHE, person.getFireStation().getStationNumber());
+            }
+        }
+    }
+
+
+    /**
+     * evict the results where the medical record of a person appears
+     * (emails and phone numbers do not depend on medical records)
+     *
+     * @param lastName the lastname of the medical record
+     * @param person   the person of the medical record, if any
+     */
+    public void evictMedicalRecord(String lastName, Person person) {
+        evictPersonInfo(lastName);
+        if (person != null) {
+            evictResident(person);
+        }
+    }
+
+
+    /**
+     * evict the results depending on the fire station covering an address
+     * (e.g. before and after its save in DB)
+     *
+     * @param fireStation the fire station
+     */
+    public void evictFireStation(FireStation fireStation) {
+        if (fireStation != null) {
+            evict(FIRE_CACHE, fireStation.getAddress());
+            evict(FIRE_JSON_CACHE, fireStation.getAddress());
+            evictStation(fireStation.getStationNumber());
+            evict(PHONE_ALERT_CACHE, fireStation.getStationNumber());
+        }
+    }
+
+
+    /**
+     * evict all the results, then bump all the data versions, at midnight as the ages change
+     * (in this order, so that a new ETag is never sent with a result of the previous day)
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void evictAllAtMidnight() {
+        evictAll();
+        dataVersions.bumpAll();
+    }
+
+
+    /**
+     * evict all the results
+     */
+    public void evictAll() {
+        loadLock.writeLock().lock();
+        try {
+            cacheManager.getCacheNames().forEach(cacheName -> {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.clear();
+                }
+            });
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+        log.debug("all cached alert results evicted");
+    }
+
+
+    /**
+     * evict the results where a person appears with its age or medical information
+     */
+    private void evictResident(Person person) {
+        evict(FIRE_CACHE, person.getAddress());
+        evict(FIRE_JSON_CACHE, person.getAddress());
+        evict(CHILD_ALERT_CACHE, person.getAddress());
+        evict(CHILD_ALERT_JSON_CACHE, person.getAddress());
+        evictPersonInfo(person.getLastName());
+        if (person.getFireStation() != null) {
+            evictStation(person.getFireStation().getStationNumber());
+        }
+    }
+
+    private void evictStation(Integer stationNumber) {
+        if (stationNumber != null) {
+            evict(FIRE_STATION_COVERAGE_CACHE, stationNumber);
+            evict(FIRE_STATION_COVERAGE_JSON_CACHE, stationNumber);
+            evictIf(FLOOD_CACHE, key -> ((List<?>) key).contains(stationNumber));
+        }
+    }
+
+    private void evictPersonInfo(String lastName) {
+        if (lastName != null) {
+            evictIf(PERSON_INFO_CACHE, key -> lastName.equals(((List<?>) key).get(0)));
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            loadLock.writeLock().lock();
+            try {
+                cache.evict(key);
+            } finally {
+                loadLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * evict the entries of a cache whose key matches a predicate
+     * (the entries being scanned in the native cache, or all evicted if it can not be scanned)
+     */
+    @SuppressWarnings("unchecked")
+    private void evictIf(String cacheName, Predicate<Object> keyPredicate) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        Object nativeCache = cache.getNativeCache();
+        loadLock.writeLock().lock();
+        try {
+            if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache) {
+                ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().keySet().removeIf(keyPredicate);
+            } else if (nativeCache instanceof Map) {
+                ((Map<Object, Object>) nativeCache).keySet().removeIf(keyPredicate);
+            } else {
+                cache.clear();
+            }
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * cache loading its results (through get(key, valueLoader)) under the read lock of the loads,
+     * the other operations being delegated as is
+     * NB : a load in progress is not visible in the native cache, so without this lock an eviction scanning the keys
+     * (or clearing the cache) could not evict the result it is about to add
+     */
+    private class LoadGuardedCache implements Cache {
+
+        private final Cache cache;
+
+        private LoadGuardedCache(Cache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public String getName() {
+            return cache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return cache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return cache.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            T value;
+            loadLock.readLock().lock();
+            try {
+                value = cache.get(key, valueLoader);
+            } finally {
+                loadLock.readLock().unlock();
+            }
+            if (value == null) {
+                //no result is an error, which is not kept in cache
+                cache.evict(key);
+            }
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            loadLock.readLock().lock();
+            try {
+                cache.put(key, value);
+            } finally {
+                loadLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void evict(Object key) {
+            cache.evict(key);
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.safetynet.alerts.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.safetynet.alerts.constants.ExecutorConstants.ALERTS_EXECUTOR;
+import static com.safetynet.alerts.constants.ExecutorConstants.CRUD_EXECUTOR;
+import static com.safetynet.alerts.constants.ExecutorConstants.EXECUTOR_SATURATED;
+
+/**
+ * Asynchronous execution of the controllers: the request threads of the server are released while the responses
+ * are built by executors sized separately for the alerts (read endpoints of the emergency services)
+ * and for the CRUD endpoints (data administration), so that a burst of slow writes can not take the threads
+ * of the alerts.
+ * Each executor has a bounded queue: a request which can not be queued is answered 503.
+ * With a meter registry, the executors are monitored with the executor metrics tagged by name
+ * (executor.queued for the queue depth, executor.idle for the time in queue and executor for the execution time).
+ * As on the request threads (open EntityManager in view), an EntityManager is bound to the worker thread
+ * while it builds a response, so that the lazy associations of the entities read from DB can be loaded.
+ * NB : if data.async.enabled is false, the responses are built by the request threads
+ */
+@Slf4j
+@Component
+public class AsyncExecution {
+
+    private final boolean enabled;
+
+    private final ExecutorService alertsExecutor;
+
+    private final ExecutorService crudExecutor;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public AsyncExecution(@Value("${data.async.enabled:true}") boolean enabled,
+                          @Value("${data.async.alerts.workers:16}") int nbOfAlertsWorkers,
+                          @Value("${data.async.alerts.queueCapacity:500}") int alertsQueueCapacity,
+                          @Value("${data.async.crud.workers:4}") int nbOfCrudWorkers,
+                          @Value("${data.async.crud.queueCapacity:100}") int crudQueueCapacity,
+                          ObjectProvider<MeterRegistry> meterRegistryProvider,
+                          ObjectProvider<EntityManagerFactory> entityManagerFactoryProvider) {
+        this.enabled = enabled;
+        this.entityManagerFactory = entityManagerFactoryProvider.getIfAvailable();
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        this.alertsExecutor = newExecutor(ALERTS_EXECUTOR, nbOfAlertsWorkers, alertsQueueCapacity, meterRegistry);
+        this.crudExecutor = newExecutor(CRUD_EXECUTOR, nbOfCrudWorkers, crudQueueCapacity, meterRegistry);
+    }
+
+
+    /**
+     * build a response of an alert endpoint with the alerts executor
+     *
+     * @param responseSupplier the building of the response
+     * @param <T>              the type of the response
+     * @return the response to come, failed with a 503 if the alerts executor is saturated
+     */
+    public <T> CompletableFuture<T> supplyAlert(Supplier<T> responseSupplier) {
+        return supply(alertsExecutor, ALERTS_EXECUTOR, responseSupplier);
+    }
+
+
+    /**
+     * build a response of a CRUD endpoint with the CRUD executor
+     *
+     * @param responseSupplier the building of the response
+     * @param <T>              the type of the response
+     * @return the response to come, failed with a 503 if the CRUD executor is saturated
+     */
+    public <T> CompletableFuture<T> supplyCrud(Supplier<T> responseSupplier) {
+        return supply(crudExecutor, CRUD_EXECUTOR, responseSupplier);
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        alertsExecutor.shutdown();
+        crudExecutor.shutdown();
+    }
+
+
+    private <T> CompletableFuture<T> supply(ExecutorService executor, String name, Supplier<T> responseSupplier) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(responseSupplier.get());
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(withEntityManager(responseSupplier), executor);
+
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            log.error("queue of the " + name + " full, request rejected \n");
+            CompletableFuture<T> rejectedResponse = new CompletableFuture<>();
+            rejectedResponse.completeExceptionally(
+                    new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, EXECUTOR_SATURATED));
+            return rejectedResponse;
+        }
+    }
+
+    /**
+     * bind an EntityManager to the thread building a response, for the time of the building
+     *
+     * @param responseSupplier the building of the response
+     * @param <T>              the type of the response
+     * @return the building of the response with an EntityManager bound to its thread
+     */
+    private <T> Supplier<T> withEntityManager(Supplier<T> responseSupplier) {
+        if (entityManagerFactory == null) {
+            return responseSupplier;
+        }
+
+        return () -> {
+            if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+                return responseSupplier.get();
+            }
+
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+            try {
+                return responseSupplier.get();
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                EntityManagerFactoryUtils.closeEntityManager(entityManager);
+            }
+        };
+    }
+
+    private static ExecutorService newExecutor(String name, int nbOfWorkers, int queueCapacity,
+                                               MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = new ThreadPoolExecutor(Math.max(1, nbOfWorkers), Math.max(1, nbOfWorkers),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        return (meterRegistry == null) ? executor : ExecutorServiceMetrics.monitor(meterRegistry, executor, name);
+    }
+}
@@ -0,0 +1,126 @@
+package com.safetynet.alerts.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline stage handing chunks of elements from a producer thread (e.g. the parser of a file)
+ * to a pool of worker threads (e.g. the persistence of the elements).
+ * Chunks go through a bounded queue: when the workers can not keep up, the producer is blocked (backpressure).
+ *
+ * @param <T> the type of the elements
+ */
+@Slf4j
+public class ChunkPipeline<T> {
+
+    private final String name;
+
+    private final BlockingQueue<List<T>> queue;
+
+    private final ExecutorService workers;
+
+    private final int nbOfWorkers;
+
+    private final List<T> endOfChunks = new ArrayList<>();
+
+    private final AtomicInteger nbOfFailedChunks = new AtomicInteger();
+
+    private boolean completed;
+
+    /**
+     * create the pipeline stage and start its workers
+     *
+     * @param name          name of the stage, used to name the worker threads
+     * @param nbOfWorkers   number of worker threads consuming the chunks
+     * @param queueCapacity maximum number of chunks waiting for a worker
+     * @param chunkConsumer the work done by a worker on each chunk
+     */
+    public ChunkPipeline(String name, int nbOfWorkers, int queueCapacity, Consumer<List<T>> chunkConsumer) {
+        this.name = name;
+        this.nbOfWorkers = Math.max(1, nbOfWorkers);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.nbOfWorkers,
+                runnable -> new Thread(runnable, name + "-worker-" + threadNumber.incrementAndGet()));
+
+        for (int i = 0; i < this.nbOfWorkers; i++) {
+            workers.execute(() -> consumeChunks(chunkConsumer));
+        }
+    }
+
+
+    /**
+     * hand a chunk to the workers, waiting for room in the queue if needed
+     *
+     * @param chunk the chunk of elements
+     */
+    public void submit(List<T> chunk) {
+        try {
+            queue.put(chunk);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while submitting a chunk to " + name);
+        }
+    }
+
+
+    /**
+     * signal there are no more chunks and wait for the workers to process the ones remaining in the queue
+     *
+     * @return true if all chunks have been processed without error
+     */
+    public boolean awaitCompletion() {
+        if (!completed) {
+            completed = true;
+            try {
+                for (int i = 0; i < nbOfWorkers; i++) {
+                    queue.put(endOfChunks);
+                }
+                workers.shutdown();
+                while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.info("waiting for " + name + " workers to complete");
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                workers.shutdownNow();
+                log.error("interrupted while waiting for " + name + " workers to complete");
+                return false;
+            }
+        }
+        return nbOfFailedChunks.get() == 0;
+    }
+
+
+    /**
+     * work done by each worker thread: take chunks from the queue until the end of chunks
+     *
+     * @param chunkConsumer the work to do on each chunk
+     */
+    private void consumeChunks(Consumer<List<T>> chunkConsumer) {
+        try {
+            List<T> chunk = queue.take();
+            while (chunk != endOfChunks) {
+                try {
+                    chunkConsumer.accept(chunk);
+                } catch (RuntimeException exception) {
+                    //keep on consuming so that the producer is never blocked by a failed worker
+                    nbOfFailedChunks.incrementAndGet();
+                    log.error("error when processing a chunk in " + name + " : " + exception.getMessage());
+                }
+                chunk = queue.take();
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.model.LinkingReport;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Status of the last data load: its state and progress (number of elements parsed and saved by type of data),
+ * completed with the persistence counters (statements issued versus rows written) allowing to check the load is batched.
+ * The Hibernate statistics the counters are read from are enabled during the loads only
+ * (unless enabled for the whole application with hibernate.generate_statistics)
+ * A scheduled load (e.g. the initial load) is in progress until its scheduler ends it,
+ * once the data loaded are ready to be served (e.g. the read index built), even if the data have been loaded before.
+ * NB : if data.load.statistics.enabled is false, the persistence counters of the loads are 0
+ */
+@Slf4j
+@Getter
+@Component
+public class DataLoadStatus {
+
+    @Getter(AccessLevel.NONE)
+    private final Statistics statistics;
+
+    @Getter(AccessLevel.NONE)
+    private final boolean statisticsEnabled;
+
+    @Getter(AccessLevel.NONE)
+    private volatile boolean statisticsEnabledForTheLoad;
+
+    private volatile State state = State.NOT_LOADED;
+
+    @Getter(AccessLevel.NONE)
+    private volatile boolean scheduled;
+
+    private volatile Source source;
+
+    private volatile boolean successful;
+
+    private volatile long startTimeInMillis;
+
+    private volatile long durationInMillis;
+
+    private volatile long nbOfStatementsIssued;
+
+    private volatile long nbOfRowsWritten;
+
+    private volatile long nbOfCollectionsWritten;
+
+    private volatile LinkingReport linkingReport;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<DataType, AtomicLong> nbOfParsedElements = new EnumMap<>(DataType.class);
+
+    @Getter(AccessLevel.NONE)
+    private final Map<DataType, AtomicLong> nbOfSavedElements = new EnumMap<>(DataType.class);
+
+    @Autowired
+    public DataLoadStatus(EntityManagerFactory entityManagerFactory,
+                          @Value("${data.load.statistics.enabled:true}") boolean statisticsEnabled) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statisticsEnabled = statisticsEnabled;
+        for (DataType dataType : DataType.values()) {
+            nbOfParsedElements.put(dataType, new AtomicLong());
+            nbOfSavedElements.put(dataType, new AtomicLong());
+        }
+    }
+
+
+    /**
+     * mark a data load as pending: it is considered as in progress until its scheduler ends it,
+     * even if it has not actually started yet or if the data have already been loaded
+     */
+    public void loadScheduled() {
+        scheduled = true;
+        state = State.LOADING;
+    }
+
+
+    /**
+     * mark the end of a scheduled data load, once the data loaded are ready to be served
+     */
+    public void scheduledLoadEnded() {
+        scheduled = false;
+    }
+
+
+    /**
+     * mark the start of a data load, the persistence counters are measured from now
+     *
+     * @param source the source the data are loaded from
+     */
+    public void loadStarted(Source source) {
+        state = State.LOADING;
+        this.source = source;
+        nbOfParsedElements.values().forEach(nbOfElements -> nbOfElements.set(0));
+        nbOfSavedElements.values().forEach(nbOfElements -> nbOfElements.set(0));
+        successful = false;
+        startTimeInMillis = System.currentTimeMillis();
+        if (statisticsEnabled && !statistics.isStatisticsEnabled()) {
+            statistics.setStatisticsEnabled(true);
+            statisticsEnabledForTheLoad = true;
+        }
+        nbOfStatementsIssued = -getStatementCount();
+        nbOfRowsWritten = -getRowCount();
+        nbOfCollectionsWritten = -getCollectionCount();
+    }
+
+
+    /**
+     * mark the end of a data load and compute the persistence counters of the load
+     *
+     * @param linkingReport the report of the linking done during the load
+     * @param successful    true if all data have been loaded
+     */
+    public void loadEnded(LinkingReport linkingReport, boolean successful) {
+        this.successful = successful;
+        durationInMillis = System.currentTimeMillis() - startTimeInMillis;
+        nbOfStatementsIssued += getStatementCount();
+        nbOfRowsWritten += getRowCount();
+        nbOfCollectionsWritten += getCollectionCount();
+        if (statisticsEnabledForTheLoad) {
+            statistics.setStatisticsEnabled(false);
+            statisticsEnabledForTheLoad = false;
+        }
+        this.linkingReport = linkingReport;
+        state = State.LOADED;
+
+        log.info("data loaded from " + source + " in " + durationInMillis + " ms: "
+                + nbOfStatementsIssued + " statement(s) issued for "
+                + nbOfRowsWritten + " row(s) and " + nbOfCollectionsWritten + " collection(s) written");
+    }
+
+
+    /**
+     * @return true if a data load is in progress (or pending, or scheduled and not ended by its scheduler)
+     */
+    public boolean isLoading() {
+        return state == State.LOADING || scheduled;
+    }
+
+
+    /**
+     * add elements to the number of elements parsed during the current load
+     *
+     * @param dataType     the type of the elements
+     * @param nbOfElements the number of elements parsed
+     */
+    public void addParsedElements(DataType dataType, int nbOfElements) {
+        nbOfParsedElements.get(dataType).addAndGet(nbOfElements);
+    }
+
+
+    /**
+     * add elements to the number of elements saved during the current load
+     *
+     * @param dataType     the type of the elements
+     * @param nbOfElements the number of elements saved
+     */
+    public void addSavedElements(DataType dataType, int nbOfElements) {
+        nbOfSavedElements.get(dataType).addAndGet(nbOfElements);
+    }
+
+
+    /**
+     * @return the number of elements parsed during the current (or last) load, by type of data
+     */
+    public Map<String, Long> getNbOfParsedElements() {
+        return getCounters(nbOfParsedElements);
+    }
+
+
+    /**
+     * @return the number of elements saved during the current (or last) load, by type of data
+     */
+    public Map<String, Long> getNbOfSavedElements() {
+        return getCounters(nbOfSavedElements);
+    }
+
+
+    private static Map<String, Long> getCounters(Map<DataType, AtomicLong> counters) {
+        Map<String, Long> countersByDataType = new LinkedHashMap<>();
+        counters.forEach((dataType, counter) -> countersByDataType.put(dataType.getLabel(), counter.get()));
+        return countersByDataType;
+    }
+
+
+    private long getStatementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long getRowCount() {
+        return statistics.getEntityInsertCount() + statistics.getEntityUpdateCount() + statistics.getEntityDeleteCount();
+    }
+
+    private long getCollectionCount() {
+        return statistics.getCollectionRecreateCount() + statistics.getCollectionUpdateCount();
+    }
+
+
+    /**
+     * states of the data load
+     */
+    public enum State {
+        NOT_LOADED,
+        LOADING,
+        LOADED
+    }
+
+
+    /**
+     * types of data loaded
+     */
+    @Getter
+    public enum DataType {
+        PERSONS("persons"),
+        FIRE_STATIONS("firestations"),
+        MEDICAL_RECORDS("medicalrecords");
+
+        private final String label;
+
+        DataType(String label) {
+            this.label = label;
+        }
+    }
+
+
+    /**
+     * sources the data can be loaded from
+     */
+    public enum Source {
+        JSON,
+        SNAPSHOT
+    }
+}
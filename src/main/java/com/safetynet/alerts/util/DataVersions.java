@@ -0,0 +1,174 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.Person;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.safetynet.alerts.util.JsonResponseCache.GZIP_ETAG_SUFFIX;
+
+/**
+ * Versions of the data, bumped by the services after each write in DB (after the eviction of the cached results),
+ * from which the controllers build the strong ETags of the polled endpoints :
+ * a global version (any data), and versions per station number and per address (the data of its persons).
+ * An If-None-Match request matching the current ETag is answered 304 without reading any data.
+ * The epoch of the versions changes at start up and when all the data may have changed (data load or reload,
+ * and at midnight as the ages change, after the eviction of all the cached results),
+ * so that an ETag is never reused for other data.
+ */
+@Slf4j
+@Component
+public class DataVersions {
+
+    private final AtomicLong epoch = new AtomicLong(System.currentTimeMillis());
+
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final ConcurrentMap<Integer, AtomicLong> versionsByStationNumber = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, AtomicLong> versionsByAddress = new ConcurrentHashMap<>();
+
+
+    /**
+     * bump the versions of the data where a person appears, with its medical record
+     * (e.g. after its save in DB, before and after its update)
+     *
+     * @param person the person, null if the written data has no person (only the global version is bumped)
+     */
+    public void bumpPerson(Person person) {
+        if (person != null) {
+            bumpAddress(person.getAddress());
+            if (person.getFireStation() != null) {
+                bumpStation(person.getFireStation().getStationNumber());
+            }
+        }
+        globalVersion.incrementAndGet();
+    }
+
+
+    /**
+     * bump the versions of the data depending on the fire station covering an address
+     * (e.g. after its save in DB, before and after its update)
+     *
+     * @param fireStation the fire station
+     */
+    public void bumpFireStation(FireStation fireStation) {
+        if (fireStation != null) {
+            bumpAddress(fireStation.getAddress());
+            bumpStation(fireStation.getStationNumber());
+        }
+        globalVersion.incrementAndGet();
+    }
+
+
+    /**
+     * change the epoch of all the versions (e.g. after a data load)
+     */
+    public void bumpAll() {
+        epoch.incrementAndGet();
+        log.debug("all data versions bumped");
+    }
+
+
+    /**
+     * get the ETag of all the data
+     *
+     * @return the strong ETag built from the global version
+     */
+    public String getGlobalETag() {
+        return toETag(Long.toString(globalVersion.get()));
+    }
+
+    /**
+     * get the ETag of the data of a station
+     *
+     * @param stationNumber the station number
+     * @return the strong ETag built from the version of the station
+     */
+    public String getStationETag(Integer stationNumber) {
+        return toETag(Long.toString(getVersion(versionsByStationNumber, stationNumber)));
+    }
+
+    /**
+     * get the ETag of the data of a list of stations
+     *
+     * @param listOfStationNumbers the station numbers
+     * @return the strong ETag built from the versions of the stations, in the order of the list
+     */
+    public String getStationsETag(List<Integer> listOfStationNumbers) {
+        StringBuilder versions = new StringBuilder();
+        if (listOfStationNumbers != null) {
+            listOfStationNumbers.forEach(stationNumber -> {
+                if (versions.length() > 0) {
+                    versions.append('.');
+                }
+                versions.append(getVersion(versionsByStationNumber, stationNumber));
+            });
+        }
+        return toETag(versions.toString());
+    }
+
+    /**
+     * get the ETag of the data of an address
+     *
+     * @param address the address
+     * @return the strong ETag built from the version of the address
+     */
+    public String getAddressETag(String address) {
+        return toETag(Long.toString(getVersion(versionsByAddress, address)));
+    }
+
+
+    /**
+     * get the entity tag of an If-None-Match header matching the current ETag, if any
+     * (with the weak comparison of RFC 7232, and the gzipped representation matching as well)
+     *
+     * @param ifNoneMatch the If-None-Match header of the request, if any
+     * @param eTag        the current ETag
+     * @return the matching entity tag of the header, null if none
+     */
+    public static String getMatchingETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return null;
+        }
+        String eTagWithoutQuote = eTag.substring(0, eTag.length() - 1);
+        for (String entityTag : ifNoneMatch.split(",")) {
+            String candidate = entityTag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)
+                    || candidate.equals(eTagWithoutQuote + GZIP_ETAG_SUFFIX + "\"")) {
+                return candidate.equals("*") ? eTag : candidate;
+            }
+        }
+        return null;
+    }
+
+
+    private void bumpStation(Integer stationNumber) {
+        if (stationNumber != null) {
+            versionsByStationNumber.computeIfAbsent(stationNumber, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private void bumpAddress(String address) {
+        if (address != null) {
+            versionsByAddress.computeIfAbsent(address, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private static <K> long getVersion(ConcurrentMap<K, AtomicLong> versions, K key) {
+        AtomicLong version = (key == null) ? null : versions.get(key);
+        return (version == null) ? 0 : version.get();
+    }
+
+    private String toETag(String versions) {
+        return "\"" + epoch.get() + "-" + versions + "\"";
+    }
+}
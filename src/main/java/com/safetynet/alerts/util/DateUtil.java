@@ -1,28 +1,100 @@
 package com.safetynet.alerts.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.Period;
 
+/**
+ * Calculation of ages against the current date given by a clock (injectable, for tests).
+ * The current date is cached and only read again from the clock once the next day has started,
+ * so calculating an age neither reads the clock date nor builds a Period
+ */
 @Slf4j
 @Component
 public class DateUtil {
-    
+
+    private final Clock clock;
+
+    private volatile CurrentDate currentDate;
+
+    public DateUtil() {
+        this(Clock.systemDefaultZone());
+    }
+
+    @Autowired
+    public DateUtil(Clock clock) {
+        this.clock = clock;
+    }
+
     public int calculateAge(LocalDate birthDate) {
+        LocalDate currentLocalDate = getCurrentLocalDate();
 
-        if (birthDate != null && birthDate.isBefore(getCurrentLocalDate())) {
-            return Period.between(birthDate, getCurrentLocalDate()).getYears();
+        if (birthDate != null && birthDate.isBefore(currentLocalDate)) {
+            int age = currentLocalDate.getYear() - birthDate.getYear();
+            //one year less if the birthday has not come yet this year
+            if (currentLocalDate.getMonthValue() < birthDate.getMonthValue()
+                    || (currentLocalDate.getMonthValue() == birthDate.getMonthValue()
+                    && currentLocalDate.getDayOfMonth() < birthDate.getDayOfMonth())) {
+                age--;
+            }
+            return age;
         } else {
             log.error("birthdate " + birthDate
-                    + " is not valid (null or after current date " + getCurrentLocalDate() + ")");
+                    + " is not valid (null or after current date " + currentLocalDate + ")");
             return -1;
         }
     }
 
     public LocalDate getCurrentLocalDate() {
-        return LocalDate.now();
+        CurrentDate cachedCurrentDate = currentDate;
+        if (cachedCurrentDate == null || clock.millis() >= cachedCurrentDate.nextDayStartInMillis) {
+            LocalDate currentLocalDate = LocalDate.now(clock);
+            cachedCurrentDate = new CurrentDate(currentLocalDate,
+                    currentLocalDate.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli());
+            currentDate = cachedCurrentDate;
+        }
+        return cachedCurrentDate.localDate;
+    }
+
+    /**
+     * @return the current date as a number of days since 1970-01-01
+     */
+    public long getCurrentEpochDay() {
+        return getCurrentLocalDate().toEpochDay();
     }
 
+    /**
+     * get the first day on which a person born on the given date has the given age
+     * (for a person born on February 29, the day after February 28 in non-leap years)
+     *
+     * @param birthDate the birthdate
+     * @param age       the age
+     * @return the day as a number of days since 1970-01-01
+     */
+    public long getEpochDayOfAge(LocalDate birthDate, int age) {
+        LocalDate birthday = birthDate.plusYears(age);
+        if (birthday.getDayOfMonth() < birthDate.getDayOfMonth()) {
+            birthday = birthday.plusDays(1);
+        }
+        return birthday.toEpochDay();
+    }
+
+
+    /**
+     * the current date and the start of the next day, read together
+     */
+    private static class CurrentDate {
+
+        private final LocalDate localDate;
+
+        private final long nextDayStartInMillis;
+
+        private CurrentDate(LocalDate localDate, long nextDayStartInMillis) {
+            this.localDate = localDate;
+            this.nextDayStartInMillis = nextDayStartInMillis;
+        }
+    }
 }
@@ -0,0 +1,315 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.MedicalRecord;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.ChildAlertDTO;
+import com.safetynet.alerts.model.dto.FireStationDTO;
+import com.safetynet.alerts.model.dto.HouseholdMemberDTO;
+import com.safetynet.alerts.model.dto.MedicalRecordDTO;
+import com.safetynet.alerts.model.dto.PersonCoveredContactsDTO;
+import com.safetynet.alerts.model.dto.PersonCoveredDTO;
+import com.safetynet.alerts.model.dto.PersonDTO;
+import com.safetynet.alerts.model.dto.PersonInfoDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.safetynet.alerts.constants.SparseFieldsConstants.ALLERGIES_FIELD;
+import static com.safetynet.alerts.constants.SparseFieldsConstants.MEDICATIONS_FIELD;
+import static com.safetynet.alerts.util.SparseFields.isRequested;
+
+/**
+ * Mapping between the entities and the DTO, written as plain getter/setter calls
+ * so that no reflection nor type map configuration is needed at each mapping.
+ * As with the previous mapping, the lists are copied (not shared with the entities)
+ * and a null source gives a null result
+ */
+@Component
+public class DtoMapper {
+
+    /**
+     * map the Person object to the PersonDTO object
+     *
+     * @param person Person object to be mapped to PersonDTO
+     * @return a PersonDTO
+     */
+    public PersonDTO toPersonDTO(Person person) {
+        if (person == null) {
+            return null;
+        }
+        PersonDTO personDTO = new PersonDTO();
+        personDTO.setPersonId(person.getPersonId());
+        personDTO.setFirstName(person.getFirstName());
+        personDTO.setLastName(person.getLastName());
+        personDTO.setAddress(person.getAddress());
+        personDTO.setCity(person.getCity());
+        personDTO.setZip(person.getZip());
+        personDTO.setPhone(person.getPhone());
+        personDTO.setEmail(person.getEmail());
+        return personDTO;
+    }
+
+
+    /**
+     * map the PersonDTO object to a Person object (without medical record nor fire station)
+     *
+     * @param personDTO PersonDTO object to be mapped to Person
+     * @return a Person
+     */
+    public Person toPerson(PersonDTO personDTO) {
+        if (personDTO == null) {
+            return null;
+        }
+        Person person = new Person();
+        person.setPersonId(personDTO.getPersonId());
+        person.setFirstName(personDTO.getFirstName());
+        person.setLastName(personDTO.getLastName());
+        person.setAddress(personDTO.getAddress());
+        person.setCity(personDTO.getCity());
+        person.setZip(personDTO.getZip());
+        person.setPhone(personDTO.getPhone());
+        person.setEmail(personDTO.getEmail());
+        return person;
+    }
+
+
+    /**
+     * map the person information, with medications and allergies of its medical record, to the PersonInfoDTO
+     *
+     * @param person person information to be mapped to PersonInfoDTO
+     * @return a PersonInfoDTO
+     */
+    public PersonInfoDTO toPersonInfoDTO(Person person) {
+        return toPersonInfoDTO(person, null);
+    }
+
+
+    /**
+     * map the person information to the PersonInfoDTO, reading the medications and allergies
+     * of its medical record only if requested
+     *
+     * @param person person information to be mapped to PersonInfoDTO
+     * @param fields the requested fields of the sparse fieldset, null for all of them
+     * @return a PersonInfoDTO
+     */
+    public PersonInfoDTO toPersonInfoDTO(Person person, Set<String> fields) {
+        if (person == null) {
+            return null;
+        }
+        PersonInfoDTO personInfoDTO = new PersonInfoDTO();
+        personInfoDTO.setLastName(person.getLastName());
+        personInfoDTO.setAddress(person.getAddress());
+        personInfoDTO.setAge(person.getAge());
+        personInfoDTO.setEmail(person.getEmail());
+        MedicalRecord medicalRecord = person.getMedicalRecord();
+        if (medicalRecord != null) {
+            if (isRequested(fields, MEDICATIONS_FIELD)) {
+                personInfoDTO.setMedications(copyOf(medicalRecord.getMedications()));
+            }
+            if (isRequested(fields, ALLERGIES_FIELD)) {
+                personInfoDTO.setAllergies(copyOf(medicalRecord.getAllergies()));
+            }
+        }
+        return personInfoDTO;
+    }
+
+
+    /**
+     * map the child information to the ChildAlertDTO (without the other household members)
+     *
+     * @param child person information to be mapped to ChildAlertDTO
+     * @return a ChildAlertDTO
+     */
+    public ChildAlertDTO toChildAlertDTO(Person child) {
+        if (child == null) {
+            return null;
+        }
+        ChildAlertDTO childAlertDTO = new ChildAlertDTO();
+        childAlertDTO.setFirstName(child.getFirstName());
+        childAlertDTO.setLastName(child.getLastName());
+        childAlertDTO.setAge(child.getAge());
+        return childAlertDTO;
+    }
+
+
+    /**
+     * map the person information to the HouseholdMemberDTO
+     *
+     * @param person person information to be mapped to HouseholdMemberDTO
+     * @return a HouseholdMemberDTO
+     */
+    public HouseholdMemberDTO toHouseholdMemberDTO(Person person) {
+        if (person == null) {
+            return null;
+        }
+        HouseholdMemberDTO householdMemberDTO = new HouseholdMemberDTO();
+        householdMemberDTO.setFirstName(person.getFirstName());
+        householdMemberDTO.setLastName(person.getLastName());
+        householdMemberDTO.setPhone(person.getPhone());
+        householdMemberDTO.setEmail(person.getEmail());
+        return householdMemberDTO;
+    }
+
+
+    /**
+     * map the person information, with medications and allergies of its medical record, to the PersonCoveredDTO
+     *
+     * @param person person information to be mapped to PersonCoveredDTO
+     * @return a PersonCoveredDTO
+     */
+    public PersonCoveredDTO toPersonCoveredDTO(Person person) {
+        return toPersonCoveredDTO(person, null);
+    }
+
+
+    /**
+     * map the person information to the PersonCoveredDTO, reading the medications and allergies
+     * of its medical record only if requested
+     *
+     * @param person person information to be mapped to PersonCoveredDTO
+     * @param fields the requested fields of the sparse fieldset, null for all of them
+     * @return a PersonCoveredDTO
+     */
+    public PersonCoveredDTO toPersonCoveredDTO(Person person, Set<String> fields) {
+        if (person == null) {
+            return null;
+        }
+        PersonCoveredDTO personCoveredDTO = new PersonCoveredDTO();
+        personCoveredDTO.setLastName(person.getLastName());
+        personCoveredDTO.setPhone(person.getPhone());
+        personCoveredDTO.setAge(person.getAge());
+        MedicalRecord medicalRecord = person.getMedicalRecord();
+        if (medicalRecord != null) {
+            if (isRequested(fields, MEDICATIONS_FIELD)) {
+                personCoveredDTO.setMedications(copyOf(medicalRecord.getMedications()));
+            }
+            if (isRequested(fields, ALLERGIES_FIELD)) {
+                personCoveredDTO.setAllergies(copyOf(medicalRecord.getAllergies()));
+            }
+        }
+        return personCoveredDTO;
+    }
+
+
+    /**
+     * map the person information to the PersonCoveredContactsDTO
+     *
+     * @param person person information to be mapped to PersonCoveredContactsDTO
+     * @return a PersonCoveredContactsDTO
+     */
+    public PersonCoveredContactsDTO toPersonCoveredContactsDTO(Person person) {
+        if (person == null) {
+            return null;
+        }
+        PersonCoveredContactsDTO personCoveredContactsDTO = new PersonCoveredContactsDTO();
+        personCoveredContactsDTO.setFirstName(person.getFirstName());
+        personCoveredContactsDTO.setLastName(person.getLastName());
+        personCoveredContactsDTO.setAddress(person.getAddress());
+        personCoveredContactsDTO.setPhone(person.getPhone());
+        return personCoveredContactsDTO;
+    }
+
+
+    /**
+     * map the FireStation object to the FireStationDTO object
+     *
+     * @param fireStation FireStation object to be mapped to FireStationDTO
+     * @return a FireStationDTO
+     */
+    public FireStationDTO toFireStationDTO(FireStation fireStation) {
+        if (fireStation == null) {
+            return null;
+        }
+        FireStationDTO fireStationDTO = new FireStationDTO();
+        fireStationDTO.setFireStationId(fireStation.getFireStationId());
+        fireStationDTO.setStationNumber(fireStation.getStationNumber());
+        fireStationDTO.setAddress(fireStation.getAddress());
+        return fireStationDTO;
+    }
+
+
+    /**
+     * map the FireStationDTO object to a FireStation object
+     *
+     * @param fireStationDTO FireStationDTO object to be mapped to FireStation
+     * @return a FireStation
+     */
+    public FireStation toFireStation(FireStationDTO fireStationDTO) {
+        if (fireStationDTO == null) {
+            return null;
+        }
+        FireStation fireStation = new FireStation();
+        fireStation.setFireStationId(fireStationDTO.getFireStationId());
+        fireStation.setStationNumber(fireStationDTO.getStationNumber());
+        fireStation.setAddress(fireStationDTO.getAddress());
+        return fireStation;
+    }
+
+
+    /**
+     * map the MedicalRecord object to the MedicalRecordDTO object
+     *
+     * @param medicalRecord MedicalRecord object to be mapped to MedicalRecordDTO
+     * @return a MedicalRecordDTO
+     */
+    public MedicalRecordDTO toMedicalRecordDTO(MedicalRecord medicalRecord) {
+        if (medicalRecord == null) {
+            return null;
+        }
+        return toMedicalRecordDTO(medicalRecord, medicalRecord.getMedications(), medicalRecord.getAllergies());
+    }
+
+
+    /**
+     * map the MedicalRecord object to the MedicalRecordDTO object, with its medications and allergies read apart
+     * (so that the collections of the medical record are not loaded)
+     *
+     * @param medicalRecord MedicalRecord object to be mapped to MedicalRecordDTO
+     * @param medications   the medications of the medical record
+     * @param allergies     the allergies of the medical record
+     * @return a MedicalRecordDTO
+     */
+    public MedicalRecordDTO toMedicalRecordDTO(MedicalRecord medicalRecord,
+                                               List<String> medications, List<String> allergies) {
+        if (medicalRecord == null) {
+            return null;
+        }
+        MedicalRecordDTO medicalRecordDTO = new MedicalRecordDTO();
+        medicalRecordDTO.setMedicalRecordId(medicalRecord.getMedicalRecordId());
+        medicalRecordDTO.setFirstName(medicalRecord.getFirstName());
+        medicalRecordDTO.setLastName(medicalRecord.getLastName());
+        medicalRecordDTO.setBirthDate(medicalRecord.getBirthDate());
+        medicalRecordDTO.setMedications(copyOf(medications));
+        medicalRecordDTO.setAllergies(copyOf(allergies));
+        return medicalRecordDTO;
+    }
+
+
+    /**
+     * map the MedicalRecordDTO object to a MedicalRecord object
+     *
+     * @param medicalRecordDTO MedicalRecordDTO object to be mapped to MedicalRecord
+     * @return a MedicalRecord
+     */
+    public MedicalRecord toMedicalRecord(MedicalRecordDTO medicalRecordDTO) {
+        if (medicalRecordDTO == null) {
+            return null;
+        }
+        MedicalRecord medicalRecord = new MedicalRecord();
+        medicalRecord.setMedicalRecordId(medicalRecordDTO.getMedicalRecordId());
+        medicalRecord.setFirstName(medicalRecordDTO.getFirstName());
+        medicalRecord.setLastName(medicalRecordDTO.getLastName());
+        medicalRecord.setBirthDate(medicalRecordDTO.getBirthDate());
+        medicalRecord.setMedications(copyOf(medicalRecordDTO.getMedications()));
+        medicalRecord.setAllergies(copyOf(medicalRecordDTO.getAllergies()));
+        return medicalRecord;
+    }
+
+
+    private static List<String> copyOf(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+}
@@ -0,0 +1,79 @@
+package com.safetynet.alerts.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writing of a JSON array element by element, as the elements are given by a service,
+ * so that a full collection is sent (chunked) without being held in memory
+ * (with the same object mapper as the HTTP message converters)
+ */
+@Component
+public class JsonArrayStreamer {
+
+    private final ObjectWriter objectWriter;
+
+    @Autowired
+    public JsonArrayStreamer(ObjectMapper objectMapper) {
+        //the generator buffer is flushed when full, not after each element
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+
+    /**
+     * write the JSON array of the elements given by a source
+     *
+     * @param outputStream the output stream of the response (not closed)
+     * @param source       the call to the service giving each element to a consumer and returning their number
+     * @param <T>          the type of the elements
+     * @return the number of elements written
+     * @throws IOException if the array can not be written (e.g. client gone)
+     */
+    public <T> long writeArray(OutputStream outputStream, ToLongFunction<Consumer<T>> source) throws IOException {
+        try (JsonGenerator jsonGenerator = objectWriter.createGenerator(outputStream)) {
+            jsonGenerator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            jsonGenerator.writeStartArray();
+            long nbOfElements = source.applyAsLong(element -> {
+                try {
+                    objectWriter.writeValue(jsonGenerator, element);
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            });
+            jsonGenerator.writeEndArray();
+            return nbOfElements;
+
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+
+    /**
+     * write the JSON array of the elements of a collection (e.g. a page of data)
+     *
+     * @param outputStream the output stream of the response (not closed)
+     * @param elements     the elements
+     * @param <T>          the type of the elements
+     * @return the number of elements written
+     * @throws IOException if the array can not be written (e.g. client gone)
+     */
+    public <T> long writeArray(OutputStream outputStream, Collection<T> elements) throws IOException {
+        return writeArray(outputStream, (Consumer<T> elementConsumer) -> {
+            elements.forEach(elementConsumer);
+            return elements.size();
+        });
+    }
+}
@@ -0,0 +1,199 @@
+package com.safetynet.alerts.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the JSON responses of the hot endpoints: the body is serialized once (and gzipped once if big enough),
+ * then the same bytes are written to the following responses for the same key, without any DTO construction
+ * nor serialization.
+ * The entries are evicted by the AlertsCacheEvictor with the alert results they are made of,
+ * and serialized again on the next request for their key (loaded through its caches, exclusively with the evictions).
+ * NB : without a cache declared for an endpoint, the body is serialized for each request
+ */
+@Slf4j
+@Component
+public class JsonResponseCache {
+
+    private static final String GZIP = "gzip";
+
+    //suffix of the ETag of the gzipped representation, which differs from the plain one
+    public static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    private final AlertsCacheEvictor alertsCacheEvictor;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${data.jsonResponses.gzip.enabled:true}")
+    private boolean gzipEnabled;
+
+    @Value("${data.jsonResponses.gzip.minSizeInBytes:2048}")
+    private int gzipMinSizeInBytes;
+
+    @Autowired
+    public JsonResponseCache(AlertsCacheEvictor alertsCacheEvictor, ObjectMapper objectMapper) {
+        this.alertsCacheEvictor = alertsCacheEvictor;
+        this.objectMapper = objectMapper;
+    }
+
+
+    /**
+     * get the JSON response for a key, from the cache if any or else serialized from the body given by the service
+     *
+     * @param cacheName    the name of the cache of the endpoint
+     * @param key          the key of the response (the parameter of the endpoint)
+     * @param bodySupplier the call to the service giving the body of the response
+     * @param <T>          the type of the body
+     * @return the JSON response, null if the service gives no body (which is then not cached)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> JsonResponse<T> get(String cacheName, Object key, Supplier<T> bodySupplier) {
+        Cache cache = alertsCacheEvictor.getCache(cacheName);
+        if (cache == null || key == null) {
+            return serialize(bodySupplier.get(), objectMapper.writer());
+        }
+
+        //no body is an error, which is not kept in cache
+        return cache.get(key, () -> serialize(bodySupplier.get(), objectMapper.writer()));
+    }
+
+
+    /**
+     * get the JSON response serialized with a given writer (e.g. of a sparse fieldset), which is not cached
+     *
+     * @param objectWriter the writer of the body
+     * @param bodySupplier the call to the service giving the body of the response
+     * @param <T>          the type of the body
+     * @return the JSON response, null if the service gives no body
+     */
+    public <T> JsonResponse<T> getUncached(ObjectWriter objectWriter, Supplier<T> bodySupplier) {
+        return serialize(bodySupplier.get(), objectWriter);
+    }
+
+
+    /**
+     * serialize a body in JSON (with a writer of the same object mapper as the HTTP message converters)
+     * and gzip it if enabled and big enough
+     *
+     * @param body         the body to serialize
+     * @param objectWriter the writer of the body
+     * @param <T>          the type of the body
+     * @return the JSON response, null if there is no body or if it can not be serialized
+     */
+    private <T> JsonResponse<T> serialize(T body, ObjectWriter objectWriter) {
+        if (body == null) {
+            return null;
+        }
+
+        try {
+            byte[] json = objectWriter.writeValueAsBytes(body);
+            byte[] gzippedJson = (gzipEnabled && json.length >= gzipMinSizeInBytes) ? gzip(json) : null;
+            return new JsonResponse<>(body, json, gzippedJson);
+
+        } catch (JsonProcessingException jsonProcessingException) {
+            log.error("error when serializing the response " + body + " : " + jsonProcessingException.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream gzippedJson = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(gzippedJson)) {
+            gzipOutputStream.write(json);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return gzippedJson.toByteArray();
+    }
+
+
+    /**
+     * JSON response: the body given by the service (e.g. for the logs), its JSON bytes and their gzipped version if any
+     *
+     * @param <T> the type of the body
+     */
+    public static class JsonResponse<T> {
+
+        private final T body;
+
+        private final byte[] json;
+
+        private final byte[] gzippedJson;
+
+        JsonResponse(T body, byte[] json, byte[] gzippedJson) {
+            this.body = body;
+            this.json = json;
+            this.gzippedJson = gzippedJson;
+        }
+
+        public T getBody() {
+            return body;
+        }
+
+        /**
+         * get the HTTP response, with the gzipped bytes if any and if the client accepts them
+         *
+         * @param acceptEncoding the Accept-Encoding header of the request, if any
+         * @param eTag           the ETag of the plain JSON, if any (suffixed for the gzipped bytes)
+         * @return the HTTP response with the JSON bytes as body
+         */
+        public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding, String eTag) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            if (gzippedJson != null) {
+                headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (acceptsGzip(acceptEncoding)) {
+                    headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+                    if (eTag != null) {
+                        headers.setETag(eTag.substring(0, eTag.length() - 1) + GZIP_ETAG_SUFFIX + "\"");
+                    }
+                    return new ResponseEntity<>(gzippedJson, headers, HttpStatus.OK);
+                }
+            }
+            if (eTag != null) {
+                headers.setETag(eTag);
+            }
+            return new ResponseEntity<>(json, headers, HttpStatus.OK);
+        }
+
+        /**
+         * check if gzip is in the Accept-Encoding header (e.g. "gzip, deflate, br"), and not with a zero quality
+         */
+        static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            for (String encoding : acceptEncoding.split(",")) {
+                String[] encodingAndParameters = encoding.split(";");
+                String name = encodingAndParameters[0].trim();
+                if (name.equalsIgnoreCase(GZIP) || name.equals("*")) {
+                    for (int i = 1; i < encodingAndParameters.length; i++) {
+                        String parameter = encodingAndParameters[i].trim();
+                        if (parameter.startsWith("q=") && parameter.substring(2).trim().matches("0(\\.0*)?")) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.safetynet.alerts.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.safetynet.alerts.constants.PaginationConstants.CONTINUATION_TOKEN_HEADER;
+
+/**
+ * Keyset pagination of the full collections on their generated ids: a page is read after the last id of
+ * the previous one (and not with an offset), so that any page costs the same as the first one.
+ * The last id is given to the client in an opaque continuation token, only valid for its collection.
+ */
+@Slf4j
+@Component
+public class Pagination {
+
+    //id after which the first page is read (the generated ids start at 1)
+    public static final long FIRST_PAGE_LAST_ID = 0L;
+
+    private static final String SEPARATOR = ":";
+
+    @Value("${data.page.defaultSize:100}")
+    private int defaultPageSize;
+
+    @Value("${data.page.maxSize:1000}")
+    private int maxPageSize;
+
+
+    /**
+     * get the size of a page, the default one if not requested and at most the max one
+     *
+     * @param requestedPageSize the page size requested by the client, if any
+     * @return the page size, null if the requested one is not positive
+     */
+    public Integer getPageSize(Integer requestedPageSize) {
+        if (requestedPageSize == null) {
+            return defaultPageSize;
+        }
+        if (requestedPageSize < 1) {
+            log.error("page size " + requestedPageSize + " is not positive");
+            return null;
+        }
+        return Math.min(requestedPageSize, maxPageSize);
+    }
+
+
+    /**
+     * get the last id of the previous page from a continuation token
+     *
+     * @param collection        the paginated collection
+     * @param continuationToken the continuation token given with the previous page, null for the first page
+     * @return the last id of the previous page, null if the token is not valid for the collection
+     */
+    public Long getLastId(String collection, String continuationToken) {
+        if (continuationToken == null) {
+            return FIRST_PAGE_LAST_ID;
+        }
+        try {
+            String decodedToken = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+            if (decodedToken.startsWith(collection + SEPARATOR)) {
+                return Long.parseLong(decodedToken.substring(collection.length() + SEPARATOR.length()));
+            }
+        } catch (IllegalArgumentException illegalArgumentException) {
+            //not Base64 or not a number (NumberFormatException)
+        }
+        log.error("continuation token " + continuationToken + " is not valid for " + collection);
+        return null;
+    }
+
+
+    /**
+     * get the continuation token of the page following the given last id
+     *
+     * @param collection the paginated collection
+     * @param lastId     the last id of the page
+     * @return the opaque continuation token
+     */
+    public String toContinuationToken(String collection, Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((collection + SEPARATOR + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * get the headers of a page: the continuation token of the next page if the page is full
+     * (the next page being empty if there is no more data)
+     *
+     * @param collection the paginated collection
+     * @param page       the page, ordered by id
+     * @param pageSize   the size of the page
+     * @param idGetter   the getter of the id of an element of the page
+     * @param <T>        the type of the elements of the page
+     * @return the headers of the page
+     */
+    public <T> HttpHeaders getPageHeaders(String collection, List<T> page, int pageSize, Function<T, Long> idGetter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!page.isEmpty() && page.size() >= pageSize) {
+            headers.set(CONTINUATION_TOKEN_HEADER,
+                    toContinuationToken(collection, idGetter.apply(page.get(page.size() - 1))));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,120 @@
+package com.safetynet.alerts.util;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.safetynet.alerts.model.dto.FireStationCoverageDTO;
+import com.safetynet.alerts.model.dto.PersonCoveredDTO;
+import com.safetynet.alerts.model.dto.PersonInfoDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import static com.safetynet.alerts.constants.SparseFieldsConstants.SPARSE_FIELDS_FILTER;
+
+/**
+ * Sparse fieldsets of the alert endpoints: with a fields= parameter, only the requested fields
+ * of the PersonCoveredDTO, PersonInfoDTO or FireStationCoverageDTO are serialized
+ * (and the services only read the data of these fields, e.g. not the medications and allergies).
+ * The filter is set with mix-ins on a copy of the object mapper, so that the DTO are serialized
+ * as before everywhere else. Null fields means all the fields.
+ */
+@Component
+public class SparseFields {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectMapper sparseObjectMapper;
+
+    private final ConcurrentMap<Class<?>, Set<String>> fieldsByDtoClass = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SparseFields(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.sparseObjectMapper = objectMapper.copy()
+                .addMixIn(PersonCoveredDTO.class, SparseFieldsMixIn.class)
+                .addMixIn(PersonInfoDTO.class, SparseFieldsMixIn.class)
+                .addMixIn(FireStationCoverageDTO.class, SparseFieldsMixIn.class);
+    }
+
+
+    /**
+     * check the fields requested for a DTO
+     *
+     * @param dtoClass the class of the DTO filtered by the endpoint
+     * @param fields   the requested fields, if any
+     * @return true if no field is requested or if all the requested fields are fields of the DTO
+     */
+    public boolean areValid(Class<?> dtoClass, Set<String> fields) {
+        if (fields == null) {
+            return true;
+        }
+        Set<String> dtoFields = fieldsByDtoClass.computeIfAbsent(dtoClass, this::getSerializedFields);
+        return !fields.isEmpty() && dtoFields.containsAll(fields);
+    }
+
+
+    /**
+     * get the writer serializing only the requested fields of the DTO
+     *
+     * @param fields the requested fields, null for all of them
+     * @return the object writer
+     */
+    public ObjectWriter getWriter(Set<String> fields) {
+        if (fields == null) {
+            return objectMapper.writer();
+        }
+        return sparseObjectMapper.writer(new SimpleFilterProvider()
+                .addFilter(SPARSE_FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+    }
+
+
+    /**
+     * check if a field is requested
+     *
+     * @param fields the requested fields, null for all of them
+     * @param field  the field
+     * @return true if the field is requested
+     */
+    public static boolean isRequested(Set<String> fields, String field) {
+        return fields == null || fields.contains(field);
+    }
+
+
+    /**
+     * get the ETag of the sparse representation, which differs from the one with all the fields
+     *
+     * @param eTag   the ETag of the data
+     * @param fields the requested fields (already validated), null for all of them
+     * @return the ETag suffixed with the requested fields in alphabetical order
+     */
+    public static String toETag(String eTag, Set<String> fields) {
+        if (fields == null) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + ";" + String.join(",", new TreeSet<>(fields)) + "\"";
+    }
+
+
+    private Set<String> getSerializedFields(Class<?> dtoClass) {
+        return objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(dtoClass))
+                .findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toSet());
+    }
+
+
+    @JsonFilter(SPARSE_FIELDS_FILTER)
+    abstract static class SparseFieldsMixIn {
+    }
+}
@@ -0,0 +1,57 @@
+package com.safetynet.alerts;
+
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import com.safetynet.alerts.service.IFileParserService;
+import com.safetynet.alerts.service.SnapshotService;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.DataLoadStatus;
+import com.safetynet.alerts.util.DataVersions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InitialDataLoadRunnerTest {
+
+    private final IFileParserService fileParserServiceMock = mock(IFileParserService.class);
+
+    private final SnapshotService snapshotServiceMock = mock(SnapshotService.class);
+
+    private final DataLoadStatus dataLoadStatusMock = mock(DataLoadStatus.class);
+
+    private final AlertsReadIndex alertsReadIndexMock = mock(AlertsReadIndex.class);
+
+    private final AlertsCacheEvictor alertsCacheEvictorMock = mock(AlertsCacheEvictor.class);
+
+    private final DataVersions dataVersionsMock = mock(DataVersions.class);
+
+    private final InitialDataLoadRunner initialDataLoadRunner = new InitialDataLoadRunner(fileParserServiceMock,
+            snapshotServiceMock, dataLoadStatusMock, alertsReadIndexMock, alertsCacheEvictorMock, dataVersionsMock);
+
+    @Test
+    @DisplayName("GIVEN no usable snapshot WHEN running the initial load " +
+            "THEN the load ends once the read index is built and the cached results and data versions are reset")
+    void runTest() {
+        //GIVEN
+        when(snapshotServiceMock.loadSnapshot()).thenReturn(false);
+        when(dataLoadStatusMock.getState()).thenReturn(DataLoadStatus.State.LOADED);
+
+        //WHEN
+        initialDataLoadRunner.scheduleLoad();
+        initialDataLoadRunner.run();
+
+        //THEN
+        InOrder inOrder = inOrder(dataLoadStatusMock, fileParserServiceMock, snapshotServiceMock,
+                alertsReadIndexMock, alertsCacheEvictorMock, dataVersionsMock);
+        inOrder.verify(dataLoadStatusMock).loadScheduled();
+        inOrder.verify(fileParserServiceMock).readDataFromFile();
+        inOrder.verify(snapshotServiceMock).writeSnapshot();
+        inOrder.verify(alertsReadIndexMock).rebuild();
+        inOrder.verify(alertsCacheEvictorMock).evictAll();
+        inOrder.verify(dataVersionsMock).bumpAll();
+        inOrder.verify(dataLoadStatusMock).scheduledLoadEnded();
+    }
+}
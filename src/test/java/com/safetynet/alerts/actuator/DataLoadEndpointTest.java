@@ -0,0 +1,59 @@
+package com.safetynet.alerts.actuator;
+
+import com.safetynet.alerts.model.LinkingReport;
+import com.safetynet.alerts.util.DataLoadStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DataLoadEndpointTest {
+
+    private final DataLoadStatus dataLoadStatusMock = mock(DataLoadStatus.class);
+
+    private final DataLoadEndpoint dataLoadEndpoint = new DataLoadEndpoint(dataLoadStatusMock);
+
+    @Test
+    @DisplayName("GIVEN a data load ended WHEN getting the data load information " +
+            "THEN its source, duration, persistence counters and linking report are returned")
+    void dataLoadTest() {
+        //GIVEN
+        LinkingReport linkingReport = new LinkingReport();
+        linkingReport.incrementNbOfLinkedPersons();
+        when(dataLoadStatusMock.getSource()).thenReturn(DataLoadStatus.Source.JSON);
+        when(dataLoadStatusMock.isSuccessful()).thenReturn(true);
+        when(dataLoadStatusMock.getDurationInMillis()).thenReturn(1200L);
+        when(dataLoadStatusMock.getNbOfStatementsIssued()).thenReturn(4L);
+        when(dataLoadStatusMock.getNbOfRowsWritten()).thenReturn(105L);
+        when(dataLoadStatusMock.getNbOfCollectionsWritten()).thenReturn(20L);
+        when(dataLoadStatusMock.getLinkingReport()).thenReturn(linkingReport);
+
+        //WHEN
+        Map<String, Object> dataLoad = dataLoadEndpoint.dataLoad();
+
+        //THEN
+        assertEquals(DataLoadStatus.Source.JSON, dataLoad.get("source"));
+        assertEquals(true, dataLoad.get("successful"));
+        assertEquals(1200L, dataLoad.get("durationInMillis"));
+        assertEquals(4L, dataLoad.get("statementsIssued"));
+        assertEquals(105L, dataLoad.get("rowsWritten"));
+        assertEquals(20L, dataLoad.get("collectionsWritten"));
+        assertEquals(linkingReport.toString(), dataLoad.get("linkingReport"));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no data load ended WHEN getting the data load information THEN no linking report is returned")
+    void dataLoadTest_WithoutLinkingReport() {
+        //WHEN
+        Map<String, Object> dataLoad = dataLoadEndpoint.dataLoad();
+
+        //THEN
+        assertFalse(dataLoad.containsKey("linkingReport"));
+    }
+}
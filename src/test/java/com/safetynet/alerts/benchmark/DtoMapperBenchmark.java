@@ -0,0 +1,89 @@
+package com.safetynet.alerts.benchmark;
+
+import com.safetynet.alerts.model.MedicalRecord;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.PersonCoveredDTO;
+import com.safetynet.alerts.model.dto.PersonDTO;
+import com.safetynet.alerts.util.DtoMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the mapping of one person to its DTO:
+ * the previous mapping (a ModelMapper built, and for PersonCoveredDTO configured, at each mapping)
+ * compared to the DtoMapper
+ * NB : run with mvn -Pbenchmark test-compile exec:exec
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    private final DtoMapper dtoMapper = new DtoMapper();
+
+    private Person person;
+
+    @Setup
+    public void setUp() {
+        MedicalRecord medicalRecord = new MedicalRecord();
+        medicalRecord.setFirstName("John");
+        medicalRecord.setLastName("Boyd");
+        medicalRecord.setBirthDate(LocalDate.of(1984, 3, 6));
+        medicalRecord.setMedications(Arrays.asList("aznol:350mg", "hydrapermazol:100mg"));
+        medicalRecord.setAllergies(Arrays.asList("nillacilan"));
+
+        person = new Person();
+        person.setPersonId(1L);
+        person.setFirstName("John");
+        person.setLastName("Boyd");
+        person.setAddress("1509 Culver St");
+        person.setCity("Culver");
+        person.setZip("97451");
+        person.setPhone("841-874-6512");
+        person.setEmail("jaboyd@email.com");
+        person.setAge(37);
+        person.setMedicalRecord(medicalRecord);
+    }
+
+    @Benchmark
+    public PersonDTO personDTOWithModelMapperPerCall() {
+        ModelMapper modelMapper = new ModelMapper();
+        return modelMapper.map(person, PersonDTO.class);
+    }
+
+    @Benchmark
+    public PersonDTO personDTOWithDtoMapper() {
+        return dtoMapper.toPersonDTO(person);
+    }
+
+    @Benchmark
+    public PersonCoveredDTO personCoveredDTOWithModelMapperPerCall() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.typeMap(Person.class, PersonCoveredDTO.class).addMappings(mapper -> {
+            mapper.map(src -> src.getMedicalRecord().getMedications(), PersonCoveredDTO::setMedications);
+            mapper.map(src -> src.getMedicalRecord().getAllergies(), PersonCoveredDTO::setAllergies);
+        });
+        return modelMapper.map(person, PersonCoveredDTO.class);
+    }
+
+    @Benchmark
+    public PersonCoveredDTO personCoveredDTOWithDtoMapper() {
+        return dtoMapper.toPersonCoveredDTO(person);
+    }
+}
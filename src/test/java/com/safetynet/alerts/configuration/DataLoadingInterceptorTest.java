@@ -0,0 +1,86 @@
+package com.safetynet.alerts.configuration;
+
+import com.safetynet.alerts.controller.PersonController;
+import com.safetynet.alerts.service.IPersonService;
+import com.safetynet.alerts.testconstants.TestConstants;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.AsyncExecution;
+import com.safetynet.alerts.util.DataLoadStatus;
+import com.safetynet.alerts.util.DataVersions;
+import com.safetynet.alerts.util.JsonArrayStreamer;
+import com.safetynet.alerts.util.JsonResponseCache;
+import com.safetynet.alerts.util.Pagination;
+import com.safetynet.alerts.util.SparseFields;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = PersonController.class)
+@Import({JsonResponseCache.class, DataVersions.class, JsonArrayStreamer.class, Pagination.class, SparseFields.class,
+        AsyncExecution.class, AlertsCacheEvictor.class})
+class DataLoadingInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IPersonService personServiceMock;
+
+    @MockBean
+    private DataLoadStatus dataLoadStatusMock;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+
+    @Test
+    @DisplayName("GIVEN data loading WHEN asking for the child alert THEN 503 is returned with a Retry-After header")
+    public void preHandleTest_WhileDataLoading() throws Exception {
+        //GIVEN
+        when(dataLoadStatusMock.isLoading()).thenReturn(true);
+
+        //THEN
+        mockMvc.perform(get("/childAlert")
+                .param("address", TestConstants.EXISTING_ADDRESS))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+        verify(personServiceMock, Mockito.times(0)).getChildAlertByAddress(TestConstants.EXISTING_ADDRESS);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN data loaded WHEN asking for the child alert THEN the child alert is returned")
+    public void preHandleTest_WithDataLoaded() throws Exception {
+        //GIVEN
+        when(dataLoadStatusMock.isLoading()).thenReturn(false);
+        when(personServiceMock.getChildAlertByAddress(TestConstants.EXISTING_ADDRESS)).thenReturn(new ArrayList<>());
+
+        //THEN
+        MvcResult mvcResult = mockMvc.perform(get("/childAlert")
+                .param("address", TestConstants.EXISTING_ADDRESS))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+        verify(personServiceMock, Mockito.times(1)).getChildAlertByAddress(TestConstants.EXISTING_ADDRESS);
+    }
+}
@@ -0,0 +1,121 @@
+package com.safetynet.alerts.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.alerts.model.dto.SubQueryDTO;
+import com.safetynet.alerts.model.dto.SubQueryResultDTO;
+import com.safetynet.alerts.service.IAlertsBatchService;
+import com.safetynet.alerts.testconstants.TestConstants;
+import com.safetynet.alerts.util.AsyncExecution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.safetynet.alerts.constants.BatchConstants.PHONE_ALERT_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.UNKNOWN_ENDPOINT;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BatchController.class)
+@Import(AsyncExecution.class)
+class BatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IAlertsBatchService alertsBatchServiceMock;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getSubQueryResults tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getSubQueryResults tests")
+    class GetSubQueryResultsTest {
+
+        @Test
+        @DisplayName("GIVEN sub-queries on several endpoints " +
+                "WHEN processing a POST /batch request on these sub-queries " +
+                "THEN return status is ok and a result is returned by sub-query with its own status")
+        public void getSubQueryResultsTest_WithSubQueries() throws Exception {
+            //GIVEN
+            SubQueryDTO phoneAlertSubQuery = new SubQueryDTO();
+            phoneAlertSubQuery.setEndpoint(PHONE_ALERT_ENDPOINT);
+            phoneAlertSubQuery.setParameters(Collections.singletonMap("firestation",
+                    TestConstants.EXISTING_STATION_NUMBER.toString()));
+            SubQueryDTO unknownSubQuery = new SubQueryDTO();
+            unknownSubQuery.setEndpoint("/unknown");
+
+            SubQueryResultDTO phoneAlertResult = new SubQueryResultDTO();
+            phoneAlertResult.setEndpoint(PHONE_ALERT_ENDPOINT);
+            phoneAlertResult.setStatus(200);
+            phoneAlertResult.setBody(Collections.singletonList("841-874-6512"));
+            SubQueryResultDTO unknownResult = new SubQueryResultDTO();
+            unknownResult.setEndpoint("/unknown");
+            unknownResult.setStatus(404);
+            unknownResult.setError(UNKNOWN_ENDPOINT);
+            List<SubQueryResultDTO> listOfResults = Arrays.asList(phoneAlertResult, unknownResult);
+
+            when(alertsBatchServiceMock.getSubQueryResults(anyList())).thenReturn(listOfResults);
+
+            //THEN
+            performAsync(post("/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Arrays.asList(phoneAlertSubQuery, unknownSubQuery))))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$[0].status").value(200))
+                    .andExpect(jsonPath("$[0].body[0]").value("841-874-6512"))
+                    .andExpect(jsonPath("$[1].status").value(404))
+                    .andExpect(jsonPath("$[1].error").value(UNKNOWN_ENDPOINT));
+            verify(alertsBatchServiceMock, Mockito.times(1)).getSubQueryResults(anyList());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN no sub-query (or too many) " +
+                "WHEN processing a POST /batch request " +
+                "THEN return status is 'bad request'")
+        public void getSubQueryResultsTest_WithNoSubQuery() throws Exception {
+            //GIVEN
+            when(alertsBatchServiceMock.getSubQueryResults(anyList())).thenReturn(null);
+
+            //THEN
+            performAsync(post("/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
@@ -3,15 +3,23 @@ package com.safetynet.alerts.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.safetynet.alerts.constants.ExceptionConstants;
 import com.safetynet.alerts.testconstants.TestConstants;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.AsyncExecution;
+import com.safetynet.alerts.util.DataVersions;
+import com.safetynet.alerts.util.JsonResponseCache;
 import com.safetynet.alerts.exceptions.AlreadyExistsException;
 import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.FireDTO;
 import com.safetynet.alerts.model.dto.FireStationDTO;
 import com.safetynet.alerts.model.dto.FloodDTO;
 import com.safetynet.alerts.model.dto.PersonCoveredDTO;
 import com.safetynet.alerts.service.IFireStationService;
+import com.safetynet.alerts.util.JsonArrayStreamer;
+import com.safetynet.alerts.util.Pagination;
+import com.safetynet.alerts.util.SparseFields;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,39 +29,68 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
+import static com.safetynet.alerts.constants.BatchConstants.NO_PERSON_FOUND_FOR_ADDRESS;
+import static com.safetynet.alerts.constants.PaginationConstants.CONTINUATION_TOKEN_HEADER;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @WebMvcTest(controllers = FireStationController.class)
+@Import({JsonResponseCache.class, DataVersions.class, JsonArrayStreamer.class, Pagination.class, SparseFields.class,
+        AsyncExecution.class, AlertsCacheEvictor.class})
 class FireStationControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private DataVersions dataVersions;
+
     @MockBean
     private IFireStationService fireStationServiceMock;
 
+    //no cache of the JSON responses (no cache in the mocked cache manager)
+    @MockBean
+    private CacheManager cacheManager;
+
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private static List<PersonCoveredDTO> listOfPersonsCovered;
@@ -85,7 +122,7 @@ class FireStationControllerTest {
 
         @Test
         @DisplayName("GIVEN data in DB WHEN asking for the list of fire stations GET /firestations " +
-                "THEN return status is ok and a list of fire stations is returned")
+                "THEN return status is ok and the list of fire stations is streamed")
         public void getAllFireStationsTest_WithData() throws Exception {
             // GIVEN
             List<FireStationDTO> listOfFireStationsDTO = new ArrayList<>();
@@ -94,14 +131,49 @@ class FireStationControllerTest {
             fireStationDTO.setStationNumber(TestConstants.EXISTING_STATION_NUMBER);
             fireStationDTO.setAddress(TestConstants.EXISTING_ADDRESS);
             listOfFireStationsDTO.add(fireStationDTO);
-            when(fireStationServiceMock.getAllFireStations()).thenReturn(listOfFireStationsDTO);
+            when(fireStationServiceMock.streamAllFireStations(any())).thenAnswer(invocation -> {
+                Consumer<FireStationDTO> fireStationDTOConsumer = invocation.getArgument(0);
+                listOfFireStationsDTO.forEach(fireStationDTOConsumer);
+                return (long) listOfFireStationsDTO.size();
+            });
+
+            //WHEN
+            MvcResult mvcResult = mockMvc.perform(get("/firestations"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
 
             //THEN
-            mockMvc.perform(get("/firestations"))
+            mockMvc.perform(asyncDispatch(mvcResult))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$").isNotEmpty());
-            verify(fireStationServiceMock, Mockito.times(1)).getAllFireStations();
+                    .andExpect(jsonPath("$[0].address").value(TestConstants.EXISTING_ADDRESS))
+                    .andExpect(jsonPath("$[1]").doesNotExist());
+            verify(fireStationServiceMock, Mockito.times(1)).streamAllFireStations(any());
+        }
+
+        @Test
+        @DisplayName("GIVEN a page size bigger than the fire stations WHEN asking for the first page GET /firestations " +
+                "THEN all the fire stations are returned without continuation token")
+        public void getAllFireStationsTest_WithLastPage() throws Exception {
+            // GIVEN
+            FireStationDTO fireStationDTO = new FireStationDTO();
+            fireStationDTO.setFireStationId(1L);
+            fireStationDTO.setStationNumber(TestConstants.EXISTING_STATION_NUMBER);
+            fireStationDTO.setAddress(TestConstants.EXISTING_ADDRESS);
+            when(fireStationServiceMock.getPageOfFireStations(Pagination.FIRST_PAGE_LAST_ID, 10))
+                    .thenReturn(Collections.singletonList(fireStationDTO));
+
+            //WHEN
+            MvcResult mvcResult = mockMvc.perform(get("/firestations").param("pageSize", "10"))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(header().doesNotExist(CONTINUATION_TOKEN_HEADER))
+                    .andReturn();
+
+            //THEN
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].address").value(TestConstants.EXISTING_ADDRESS))
+                    .andExpect(jsonPath("$[1]").doesNotExist());
         }
     }
 
@@ -133,7 +205,7 @@ class FireStationControllerTest {
                     .thenReturn(fireDTO);
 
             // THEN
-            mockMvc.perform(get("/fire")
+            performAsync(get("/fire")
                     .param("address", TestConstants.EXISTING_ADDRESS))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -155,7 +227,7 @@ class FireStationControllerTest {
                     .thenReturn(fireDTO);
 
             // THEN
-            mockMvc.perform(get("/fire")
+            performAsync(get("/fire")
                     .param("address", TestConstants.ADDRESS_NOT_FOUND))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -174,11 +246,109 @@ class FireStationControllerTest {
             when(fireStationServiceMock.getFireStationCoverageByAddress(anyString())).thenReturn(null);
 
             // THEN
+            //the missing parameter is rejected before the asynchronous processing
             mockMvc.perform(get("/fire")
                     .param("address", (String) null))
                     .andExpect(status().isBadRequest());
         }
 
+
+        @Test
+        @DisplayName("GIVEN persons covered at the requested address " +
+                "WHEN processing a GET /fire request on address with fields lastName and phone " +
+                "THEN only these fields of the persons are returned, with the ETag of these fields")
+        public void getFireStationCoverageByAddressTest_WithFields() throws Exception {
+            // GIVEN
+            fireDTO.setPersonCoveredDTOList(listOfPersonsCovered);
+            fireDTO.setStationNumber(TestConstants.EXISTING_STATION_NUMBER);
+            Set<String> fields = new TreeSet<>(Arrays.asList("lastName", "phone"));
+
+            when(fireStationServiceMock.getFireStationCoverageByAddress(TestConstants.EXISTING_ADDRESS, fields))
+                    .thenReturn(fireDTO);
+
+            // THEN
+            performAsync(get("/fire")
+                    .param("address", TestConstants.EXISTING_ADDRESS)
+                    .param("fields", "phone,lastName"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG,
+                            SparseFields.toETag(dataVersions.getAddressETag(TestConstants.EXISTING_ADDRESS), fields)))
+                    .andExpect(jsonPath("$.stationNumber").value(TestConstants.EXISTING_STATION_NUMBER))
+                    .andExpect(jsonPath("$.personCoveredDTOList[0].lastName").value("FSCT_lastname"))
+                    .andExpect(jsonPath("$.personCoveredDTOList[0].phone").value("FSCT_phone"))
+                    .andExpect(jsonPath("$.personCoveredDTOList[0].age").doesNotExist())
+                    .andExpect(jsonPath("$.personCoveredDTOList[0].medications").doesNotExist());
+            verify(fireStationServiceMock, never()).getFireStationCoverageByAddress(anyString());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a field which is not a field of the persons covered " +
+                "WHEN processing a GET /fire request on address with this field " +
+                "THEN return status is 'bad request' and the service is not called")
+        public void getFireStationCoverageByAddressTest_WithUnknownField() throws Exception {
+            // THEN
+            performAsync(get("/fire")
+                    .param("address", TestConstants.EXISTING_ADDRESS)
+                    .param("fields", "firstName,phone"))
+                    .andExpect(status().isBadRequest());
+            verify(fireStationServiceMock, never()).getFireStationCoverageByAddress(eq(TestConstants.EXISTING_ADDRESS), anySet());
+        }
+
+    }
+
+
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getFireStationCoverageByAddresses tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getFireStationCoverageByAddresses tests")
+    class GetFireStationCoverageByAddressesTest {
+
+        @Test
+        @DisplayName("GIVEN persons living at one of the requested addresses " +
+                "WHEN processing a POST /fire/batch request on these addresses " +
+                "THEN the coverage information is returned by address with the misses")
+        public void getFireStationCoverageByAddressesTest_WithPartialMisses() throws Exception {
+            // GIVEN
+            List<String> listOfAddresses = Arrays.asList(TestConstants.EXISTING_ADDRESS, TestConstants.ADDRESS_NOT_FOUND);
+            FireDTO fireDTO = new FireDTO();
+            fireDTO.setPersonCoveredDTOList(listOfPersonsCovered);
+            fireDTO.setStationNumber(TestConstants.EXISTING_STATION_NUMBER);
+            BatchDTO<FireDTO> fireBatchDTO = new BatchDTO<>();
+            fireBatchDTO.getResults().put(TestConstants.EXISTING_ADDRESS, fireDTO);
+            fireBatchDTO.getMisses().put(TestConstants.ADDRESS_NOT_FOUND, NO_PERSON_FOUND_FOR_ADDRESS);
+
+            when(fireStationServiceMock.getFireStationCoverageByAddresses(listOfAddresses)).thenReturn(fireBatchDTO);
+
+            // THEN
+            performAsync(post("/fire/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(listOfAddresses)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.results['" + TestConstants.EXISTING_ADDRESS + "'].stationNumber")
+                            .value(TestConstants.EXISTING_STATION_NUMBER))
+                    .andExpect(jsonPath("$.misses['" + TestConstants.ADDRESS_NOT_FOUND + "']")
+                            .value(NO_PERSON_FOUND_FOR_ADDRESS));
+            verify(fireStationServiceMock, Mockito.times(1)).getFireStationCoverageByAddresses(listOfAddresses);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN an empty list of addresses " +
+                "WHEN processing a POST /fire/batch request on these addresses " +
+                "THEN return status is 'bad request'")
+        public void getFireStationCoverageByAddressesTest_WithNoAddress() throws Exception {
+            // GIVEN
+            when(fireStationServiceMock.getFireStationCoverageByAddresses(anyList())).thenReturn(null);
+
+            // THEN
+            performAsync(post("/fire/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
 
@@ -213,7 +383,7 @@ class FireStationControllerTest {
                     .thenReturn(listOfFloodDTO);
 
             // THEN
-            mockMvc.perform(get("/flood/stations")
+            performAsync(get("/flood/stations")
                     .param("stations", TestConstants.EXISTING_STATION_NUMBER.toString()))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -233,7 +403,7 @@ class FireStationControllerTest {
                     .thenReturn(listOfFloodDTO);
 
             // THEN
-            mockMvc.perform(get("/flood/stations")
+            performAsync(get("/flood/stations")
                     .param("stations", TestConstants.STATION_NUMBER_NOT_FOUND.toString()))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -252,10 +422,29 @@ class FireStationControllerTest {
             when(fireStationServiceMock.getFloodByStationNumbers(null)).thenReturn(null);
 
             // THEN
+            //the missing parameter is rejected before the asynchronous processing
             mockMvc.perform(get("/flood/stations")
                     .param("stations", (String) null))
                     .andExpect(status().isBadRequest());
         }
+
+
+        @Test
+        @DisplayName("GIVEN an ETag got for station numbers and no data changed since " +
+                "WHEN processing a GET /flood/stations request with this ETag in If-None-Match " +
+                "THEN return status is 'not modified' and the service is not called")
+        public void getFloodByStationNumbersTest_WithMatchingETag() throws Exception {
+            // GIVEN
+            String eTag = dataVersions.getStationsETag(Collections.singletonList(TestConstants.EXISTING_STATION_NUMBER));
+
+            // THEN
+            performAsync(get("/flood/stations")
+                    .param("stations", TestConstants.EXISTING_STATION_NUMBER.toString())
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag));
+            verify(fireStationServiceMock, never()).getFloodByStationNumbers(anyList());
+        }
     }
 
 
@@ -291,7 +480,7 @@ class FireStationControllerTest {
 
             // THEN
 
-            mockMvc.perform(post("/firestation")
+            performAsync(post("/firestation")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(fireStationDTOToAdd)))
                     .andExpect(status().isCreated())
@@ -311,7 +500,7 @@ class FireStationControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_FIRE_STATION_ADDRESS));
 
             // THEN
-            mockMvc.perform(post("/firestation")
+            performAsync(post("/firestation")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(fireStationDTOToAdd)))
                     .andExpect(status().isBadRequest())
@@ -331,7 +520,7 @@ class FireStationControllerTest {
                     .thenThrow(new AlreadyExistsException(ExceptionConstants.ALREADY_EXIST_FIRE_STATION_FOR_ADDRESS));
 
             // THEN
-            mockMvc.perform(post("/firestation")
+            performAsync(post("/firestation")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(fireStationDTOToAdd)))
                     .andExpect(status().isConflict())
@@ -375,7 +564,7 @@ class FireStationControllerTest {
 
             // THEN
 
-            mockMvc.perform(put("/firestation")
+            performAsync(put("/firestation")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(fireStationDTOToUpdate)))
                     .andExpect(status().isOk())
@@ -395,7 +584,7 @@ class FireStationControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_FIRE_STATION_ADDRESS));
 
             // THEN
-            mockMvc.perform(put("/firestation")
+            performAsync(put("/firestation")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(fireStationDTOToUpdate)))
                     .andExpect(status().isBadRequest())
@@ -415,7 +604,7 @@ class FireStationControllerTest {
                     .thenThrow(new DoesNotExistException(ExceptionConstants.NO_FIRE_STATION_FOUND_FOR_ADDRESS));
 
             // THEN
-            mockMvc.perform(put("/firestation")
+            performAsync(put("/firestation")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(fireStationDTOToUpdate)))
                     .andExpect(status().isNotFound())
@@ -444,7 +633,7 @@ class FireStationControllerTest {
                     .thenReturn(deletedFireStation);
 
             // THEN
-            mockMvc.perform(delete("/firestation/address")
+            performAsync(delete("/firestation/address")
                     .param("address", TestConstants.EXISTING_ADDRESS))
                     .andExpect(status().isNoContent());
 
@@ -463,7 +652,7 @@ class FireStationControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_FIRE_STATION_ADDRESS));
 
             // THEN
-            mockMvc.perform(delete("/firestation/address")
+            performAsync(delete("/firestation/address")
                     .param("address", ""))
                     .andExpect(status().isBadRequest())
                     .andExpect(result -> assertTrue(Objects.requireNonNull(result.getResolvedException()).getMessage()
@@ -484,7 +673,7 @@ class FireStationControllerTest {
                     .thenThrow(new DoesNotExistException(ExceptionConstants.NO_FIRE_STATION_FOUND_FOR_ADDRESS));
 
             // THEN
-            mockMvc.perform(delete("/firestation/address")
+            performAsync(delete("/firestation/address")
                     .param("address", TestConstants.ADDRESS_NOT_FOUND))
                     .andExpect(status().isNotFound())
                     .andExpect(result -> assertTrue(Objects.requireNonNull(result.getResolvedException()).getMessage()
@@ -516,7 +705,7 @@ class FireStationControllerTest {
                     .thenReturn(deletedFireStations);
 
             // THEN
-            mockMvc.perform(delete("/firestation/station")
+            performAsync(delete("/firestation/station")
                     .param("stationNumber", TestConstants.EXISTING_STATION_NUMBER.toString()))
                     .andExpect(status().isNoContent());
 
@@ -535,6 +724,7 @@ class FireStationControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_FIRE_STATION_STATION_NUMBER));
 
             // THEN
+            //the missing parameter is rejected before the asynchronous processing
             mockMvc.perform(delete("/firestation/station")
                     .param("stationNumber", (String) null))
                     .andExpect(status().isBadRequest());
@@ -551,7 +741,7 @@ class FireStationControllerTest {
                     .thenThrow(new DoesNotExistException(ExceptionConstants.NO_FIRE_STATION_FOUND_FOR_STATION_NUMBER));
 
             // THEN
-            mockMvc.perform(delete("/firestation/station")
+            performAsync(delete("/firestation/station")
                     .param("stationNumber", TestConstants.STATION_NUMBER_NOT_FOUND.toString()))
                     .andExpect(status().isNotFound())
                     .andExpect(result -> assertTrue(Objects.requireNonNull(result.getResolvedException()).getMessage()
@@ -563,4 +753,12 @@ class FireStationControllerTest {
 
     }
 
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
@@ -9,6 +9,9 @@ import com.safetynet.alerts.model.MedicalRecord;
 import com.safetynet.alerts.model.dto.MedicalRecordDTO;
 import com.safetynet.alerts.service.IMedicalRecordService;
 import com.safetynet.alerts.testconstants.TestConstants;
+import com.safetynet.alerts.util.AsyncExecution;
+import com.safetynet.alerts.util.JsonArrayStreamer;
+import com.safetynet.alerts.util.Pagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,26 +20,39 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static com.safetynet.alerts.constants.PaginationConstants.CONTINUATION_TOKEN_HEADER;
+import static com.safetynet.alerts.constants.PaginationConstants.MEDICAL_RECORDS_COLLECTION;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = MedicalRecordController.class)
+@Import({JsonArrayStreamer.class, Pagination.class, AsyncExecution.class})
 class MedicalRecordControllerTest {
 
     @Autowired
@@ -45,6 +61,9 @@ class MedicalRecordControllerTest {
     @MockBean
     private IMedicalRecordService medicalRecordServiceMock;
 
+    @Autowired
+    private Pagination pagination;
+
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private MedicalRecordDTO medicalRecordDTO;
@@ -89,18 +108,50 @@ class MedicalRecordControllerTest {
 
         @Test
         @DisplayName("GIVEN data in DB WHEN asking for the list of medical records GET /medicalrecords " +
-                "THEN return status is ok and a list of medical records is returned")
+                "THEN return status is ok and the list of medical records is streamed")
         public void getAllMedicalRecordsTest_WithData() throws Exception {
             //GIVEN
             listOfMedicalRecordsDTO.add(medicalRecordDTO);
-            when(medicalRecordServiceMock.getAllMedicalRecords()).thenReturn(listOfMedicalRecordsDTO);
+            when(medicalRecordServiceMock.streamAllMedicalRecords(any())).thenAnswer(invocation -> {
+                Consumer<MedicalRecordDTO> medicalRecordDTOConsumer = invocation.getArgument(0);
+                listOfMedicalRecordsDTO.forEach(medicalRecordDTOConsumer);
+                return (long) listOfMedicalRecordsDTO.size();
+            });
+
+            //WHEN
+            MvcResult mvcResult = mockMvc.perform(get("/medicalrecords"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
 
             //THEN
-            mockMvc.perform(get("/medicalrecords"))
+            mockMvc.perform(asyncDispatch(mvcResult))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$").isNotEmpty());
-            verify(medicalRecordServiceMock, Mockito.times(1)).getAllMedicalRecords();
+                    .andExpect(jsonPath("$[0].medications[2]").value("MRCT_medications_3"))
+                    .andExpect(jsonPath("$[1]").doesNotExist());
+            verify(medicalRecordServiceMock, Mockito.times(1)).streamAllMedicalRecords(any());
+        }
+
+        @Test
+        @DisplayName("GIVEN a full page of medical records WHEN asking for it GET /medicalrecords " +
+                "THEN the page is returned with the token of the next page, after its last id")
+        public void getAllMedicalRecordsTest_WithPage() throws Exception {
+            //GIVEN
+            medicalRecordDTO.setMedicalRecordId(7L);
+            when(medicalRecordServiceMock.getPageOfMedicalRecords(Pagination.FIRST_PAGE_LAST_ID, 1))
+                    .thenReturn(Collections.singletonList(medicalRecordDTO));
+
+            //WHEN
+            MvcResult mvcResult = mockMvc.perform(get("/medicalrecords").param("pageSize", "1"))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(header().string(CONTINUATION_TOKEN_HEADER,
+                            pagination.toContinuationToken(MEDICAL_RECORDS_COLLECTION, 7L)))
+                    .andReturn();
+
+            //THEN
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].medications[0]").value("MRCT_medications_1"));
         }
     }
 
@@ -130,7 +181,7 @@ class MedicalRecordControllerTest {
                     .thenReturn(Optional.of(addedMedicalRecordDTO));
 
             // THEN
-            mockMvc.perform(post("/medicalRecord")
+            performAsync(post("/medicalRecord")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(medicalRecordDTO)))
                     .andExpect(status().isCreated())
@@ -152,7 +203,7 @@ class MedicalRecordControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_MEDICAL_RECORD_WHEN_ADDING_OR_UPDATING));
 
             // THEN
-            mockMvc.perform(post("/medicalRecord")
+            performAsync(post("/medicalRecord")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(medicalRecordDTO)))
                     .andExpect(status().isBadRequest())
@@ -172,7 +223,7 @@ class MedicalRecordControllerTest {
                             + medicalRecordDTO.getFirstName() + " " + medicalRecordDTO.getLastName()));
 
             // THEN
-            mockMvc.perform(post("/medicalRecord")
+            performAsync(post("/medicalRecord")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(medicalRecordDTO)))
                     .andExpect(status().isConflict())
@@ -209,7 +260,7 @@ class MedicalRecordControllerTest {
                     .thenReturn(Optional.of(updatedMedicalRecordDTO));
 
             // THEN
-            mockMvc.perform(put("/medicalRecord")
+            performAsync(put("/medicalRecord")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(medicalRecordDTO)))
                     .andExpect(status().isOk())
@@ -231,7 +282,7 @@ class MedicalRecordControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_MEDICAL_RECORD_WHEN_ADDING_OR_UPDATING));
 
             // THEN
-            mockMvc.perform(put("/medicalRecord")
+            performAsync(put("/medicalRecord")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(medicalRecordDTO)))
                     .andExpect(status().isBadRequest())
@@ -252,7 +303,7 @@ class MedicalRecordControllerTest {
                             + medicalRecordDTO.getFirstName() + " " + medicalRecordDTO.getLastName()));
 
             // THEN
-            mockMvc.perform(put("/medicalRecord")
+            performAsync(put("/medicalRecord")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(medicalRecordDTO)))
                     .andExpect(status().isNotFound())
@@ -282,7 +333,7 @@ class MedicalRecordControllerTest {
                     .thenReturn(deletedMedicalRecord);
 
             // THEN
-            mockMvc.perform(delete("/medicalRecord")
+            performAsync(delete("/medicalRecord")
                     .param("firstName", TestConstants.EXISTING_FIRSTNAME)
                     .param("lastName", TestConstants.EXISTING_LASTNAME))
                     .andExpect(status().isNoContent());
@@ -302,7 +353,7 @@ class MedicalRecordControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_MEDICAL_RECORD_WHEN_DELETING));
 
             // THEN
-            mockMvc.perform(delete("/medicalRecord")
+            performAsync(delete("/medicalRecord")
                     .param("firstName", "")
                     .param("lastName", ""))
                     .andExpect(status().isBadRequest())
@@ -326,7 +377,7 @@ class MedicalRecordControllerTest {
                             + TestConstants.FIRSTNAME_NOT_FOUND + " " + TestConstants.LASTNAME_NOT_FOUND));
 
             // THEN
-            mockMvc.perform(delete("/medicalRecord")
+            performAsync(delete("/medicalRecord")
                     .param("firstName", TestConstants.FIRSTNAME_NOT_FOUND)
                     .param("lastName", TestConstants.LASTNAME_NOT_FOUND))
                     .andExpect(status().isNotFound())
@@ -339,4 +390,12 @@ class MedicalRecordControllerTest {
         }
     }
 
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
@@ -6,14 +6,23 @@ import com.safetynet.alerts.exceptions.AlreadyExistsException;
 import com.safetynet.alerts.exceptions.DoesNotExistException;
 import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.ChildAlertDTO;
 import com.safetynet.alerts.model.dto.FireStationCoverageDTO;
 import com.safetynet.alerts.model.dto.HouseholdMemberDTO;
 import com.safetynet.alerts.model.dto.PersonCoveredContactsDTO;
 import com.safetynet.alerts.model.dto.PersonDTO;
 import com.safetynet.alerts.model.dto.PersonInfoDTO;
+import com.safetynet.alerts.model.dto.PersonNameDTO;
 import com.safetynet.alerts.service.IPersonService;
 import com.safetynet.alerts.testconstants.TestConstants;
+import com.safetynet.alerts.util.AlertsCacheEvictor;
+import com.safetynet.alerts.util.AsyncExecution;
+import com.safetynet.alerts.util.DataVersions;
+import com.safetynet.alerts.util.JsonArrayStreamer;
+import com.safetynet.alerts.util.JsonResponseCache;
+import com.safetynet.alerts.util.Pagination;
+import com.safetynet.alerts.util.SparseFields;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,38 +31,73 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static com.safetynet.alerts.constants.BatchConstants.MISSING_FIRSTNAME_OR_LASTNAME;
+import static com.safetynet.alerts.constants.BatchConstants.NO_PERSON_FOUND_FOR_ADDRESS;
+import static com.safetynet.alerts.constants.PaginationConstants.CONTINUATION_TOKEN_HEADER;
+import static com.safetynet.alerts.constants.PaginationConstants.FIRE_STATIONS_COLLECTION;
+import static com.safetynet.alerts.constants.PaginationConstants.PERSONS_COLLECTION;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @WebMvcTest(controllers = PersonController.class)
+@Import({JsonResponseCache.class, DataVersions.class, JsonArrayStreamer.class, Pagination.class, SparseFields.class,
+        AsyncExecution.class, AlertsCacheEvictor.class})
 class PersonControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private Pagination pagination;
+
     @MockBean
     private IPersonService personServiceMock;
 
+    //no cache of the JSON responses (no cache in the mocked cache manager)
+    @MockBean
+    private CacheManager cacheManager;
+
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private Person deletedPerson;
@@ -68,7 +112,7 @@ class PersonControllerTest {
 
 
     /* ----------------------------------------------------------------------------------------------------------------------
-     *                  getAllMedicalRecords tests
+     *                  getAllPersons tests
      * ----------------------------------------------------------------------------------------------------------------------*/
     @Nested
     @DisplayName("getAllPersons tests")
@@ -83,7 +127,7 @@ class PersonControllerTest {
 
         @Test
         @DisplayName("GIVEN data in DB WHEN asking for the list of persons GET /persons " +
-                "THEN return status is ok and a list of persons is returned")
+                "THEN return status is ok and the list of persons is streamed")
         public void getAllPersonsTest_WithData() throws Exception {
             //GIVEN
             PersonDTO personDTO = new PersonDTO();
@@ -93,14 +137,67 @@ class PersonControllerTest {
             personDTO.setEmail("PICT_Email");
             personDTO.setAddress(TestConstants.EXISTING_ADDRESS);
             listOfPersonsDTO.add(personDTO);
-            when(personServiceMock.getAllPersons()).thenReturn(listOfPersonsDTO);
+            when(personServiceMock.streamAllPersons(any())).thenAnswer(invocation -> {
+                Consumer<PersonDTO> personDTOConsumer = invocation.getArgument(0);
+                listOfPersonsDTO.forEach(personDTOConsumer);
+                return (long) listOfPersonsDTO.size();
+            });
+
+            //WHEN
+            MvcResult mvcResult = mockMvc.perform(get("/persons"))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn();
 
             //THEN
-            mockMvc.perform(get("/persons"))
+            mockMvc.perform(asyncDispatch(mvcResult))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$").isNotEmpty());
-            verify(personServiceMock, Mockito.times(1)).getAllPersons();
+                    .andExpect(jsonPath("$[0].firstName", is(TestConstants.EXISTING_FIRSTNAME)))
+                    .andExpect(jsonPath("$[1]").doesNotExist());
+            verify(personServiceMock, Mockito.times(1)).streamAllPersons(any());
+        }
+
+        @Test
+        @DisplayName("GIVEN a continuation token and a page size WHEN asking for a page of persons GET /persons " +
+                "THEN the persons after the last id of the token are returned with the token of the next page")
+        public void getAllPersonsTest_WithPage() throws Exception {
+            //GIVEN
+            for (long personId = 101; personId <= 102; personId++) {
+                PersonDTO personDTO = new PersonDTO();
+                personDTO.setPersonId(personId);
+                personDTO.setFirstName(TestConstants.EXISTING_FIRSTNAME);
+                listOfPersonsDTO.add(personDTO);
+            }
+            when(personServiceMock.getPageOfPersons(100L, 2)).thenReturn(listOfPersonsDTO);
+
+            //WHEN
+            MvcResult mvcResult = mockMvc.perform(get("/persons").param("pageSize", "2")
+                    .param("continuationToken", pagination.toContinuationToken(PERSONS_COLLECTION, 100L)))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(header().string(CONTINUATION_TOKEN_HEADER,
+                            pagination.toContinuationToken(PERSONS_COLLECTION, 102L)))
+                    .andReturn();
+
+            //THEN
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[1].personId", is(102)))
+                    .andExpect(jsonPath("$[2]").doesNotExist());
+            verify(personServiceMock, never()).streamAllPersons(any());
+        }
+
+        @Test
+        @DisplayName("GIVEN a continuation token of another collection WHEN asking for a page of persons GET /persons " +
+                "THEN return status is bad request")
+        public void getAllPersonsTest_WithInvalidContinuationToken() throws Exception {
+            //THEN
+            mockMvc.perform(get("/persons")
+                    .param("continuationToken", pagination.toContinuationToken(FIRE_STATIONS_COLLECTION, 100L)))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/persons").param("pageSize", "0"))
+                    .andExpect(status().isBadRequest());
+            verify(personServiceMock, never()).getPageOfPersons(any(), anyInt());
         }
     }
 
@@ -131,7 +228,7 @@ class PersonControllerTest {
             when(personServiceMock.getAllEmailsByCity(TestConstants.EXISTING_CITY)).thenReturn(listOfEmails);
 
             // THEN
-            mockMvc.perform(get("/communityEmail").param("city", TestConstants.EXISTING_CITY))
+            performAsync(get("/communityEmail").param("city", TestConstants.EXISTING_CITY))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(content().string("[\"email1@test.com\",\"email2@test.com\",\"email3@test.com\"]"));
@@ -147,7 +244,7 @@ class PersonControllerTest {
             when(personServiceMock.getAllEmailsByCity(TestConstants.CITY_NOT_FOUND)).thenReturn(listOfEmails);
 
             // THEN
-            mockMvc.perform(get("/communityEmail").param("city", TestConstants.CITY_NOT_FOUND))
+            performAsync(get("/communityEmail").param("city", TestConstants.CITY_NOT_FOUND))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$").isEmpty());
@@ -163,7 +260,7 @@ class PersonControllerTest {
             when(personServiceMock.getAllEmailsByCity("")).thenReturn(null);
 
             // THEN
-            mockMvc.perform(get("/communityEmail").param("city", ""))
+            performAsync(get("/communityEmail").param("city", ""))
                     .andExpect(status().isBadRequest());
             verify(personServiceMock, Mockito.times(1)).getAllEmailsByCity("");
         }
@@ -203,7 +300,7 @@ class PersonControllerTest {
                     .thenReturn(listOfPersonInfoDTO);
 
             // THEN
-            mockMvc.perform(get("/personInfo")
+            performAsync(get("/personInfo")
                     .param("firstName", TestConstants.EXISTING_FIRSTNAME)
                     .param("lastName", TestConstants.EXISTING_LASTNAME))
                     .andExpect(status().isOk())
@@ -225,7 +322,7 @@ class PersonControllerTest {
                     .thenReturn(listOfPersonInfoDTO);
 
             // THEN
-            mockMvc.perform(get("/personInfo")
+            performAsync(get("/personInfo")
                     .param("firstName", TestConstants.FIRSTNAME_NOT_FOUND)
                     .param("lastName", TestConstants.LASTNAME_NOT_FOUND))
                     .andExpect(status().isOk())
@@ -245,13 +342,117 @@ class PersonControllerTest {
             when(personServiceMock.getPersonInfoByFirstNameAndLastName("", "")).thenReturn(null);
 
             // THEN
-            mockMvc.perform(get("/personInfo")
+            performAsync(get("/personInfo")
                     .param("firstName", "")
                     .param("lastName", ""))
                     .andExpect(status().isBadRequest());
             verify(personServiceMock, Mockito.times(1))
                     .getPersonInfoByFirstNameAndLastName("", "");
         }
+
+
+        @Test
+        @DisplayName("GIVEN persons in repository for the requested firstname+lastname " +
+                "WHEN processing a GET /personInfo request on firstname+lastname with fields lastName and email " +
+                "THEN only these fields of the person information are returned")
+        public void getPersonInfoByFirstNameAndLastNameTest_WithFields() throws Exception {
+            // GIVEN
+            PersonInfoDTO personInfoDTO = new PersonInfoDTO();
+            personInfoDTO.setLastName(TestConstants.EXISTING_LASTNAME);
+            personInfoDTO.setEmail("PICT_Email");
+            personInfoDTO.setAddress(TestConstants.EXISTING_ADDRESS);
+            listOfPersonInfoDTO.add(personInfoDTO);
+
+            when(personServiceMock.getPersonInfoByFirstNameAndLastName(TestConstants.EXISTING_FIRSTNAME,
+                    TestConstants.EXISTING_LASTNAME, new HashSet<>(Arrays.asList("lastName", "email"))))
+                    .thenReturn(listOfPersonInfoDTO);
+
+            // THEN
+            performAsync(get("/personInfo")
+                    .param("firstName", TestConstants.EXISTING_FIRSTNAME)
+                    .param("lastName", TestConstants.EXISTING_LASTNAME)
+                    .param("fields", "lastName,email"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$[0].lastName").value(TestConstants.EXISTING_LASTNAME))
+                    .andExpect(jsonPath("$[0].email").value("PICT_Email"))
+                    .andExpect(jsonPath("$[0].address").doesNotExist())
+                    .andExpect(jsonPath("$[0].medications").doesNotExist());
+            verify(personServiceMock, never())
+                    .getPersonInfoByFirstNameAndLastName(anyString(), anyString());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a field which is not a field of the person information " +
+                "WHEN processing a GET /personInfo request on firstname+lastname with this field " +
+                "THEN return status is 'bad request' and the service is not called")
+        public void getPersonInfoByFirstNameAndLastNameTest_WithUnknownField() throws Exception {
+            // THEN
+            performAsync(get("/personInfo")
+                    .param("firstName", TestConstants.EXISTING_FIRSTNAME)
+                    .param("lastName", TestConstants.EXISTING_LASTNAME)
+                    .param("fields", "phone"))
+                    .andExpect(status().isBadRequest());
+            verify(personServiceMock, never())
+                    .getPersonInfoByFirstNameAndLastName(anyString(), anyString(), anySet());
+        }
+    }
+
+
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getPersonInfoByNames tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getPersonInfoByNames tests")
+    class GetPersonInfoByNamesTest {
+
+        @Test
+        @DisplayName("GIVEN persons in repository for one of the requested names " +
+                "WHEN processing a POST /personInfo/batch request on these names " +
+                "THEN the lists of person information are returned by name with the misses")
+        public void getPersonInfoByNamesTest_WithPartialMisses() throws Exception {
+            // GIVEN
+            PersonNameDTO personNameDTO = new PersonNameDTO();
+            personNameDTO.setFirstName(TestConstants.EXISTING_FIRSTNAME);
+            personNameDTO.setLastName(TestConstants.EXISTING_LASTNAME);
+            String key = TestConstants.EXISTING_FIRSTNAME + " " + TestConstants.EXISTING_LASTNAME;
+
+            PersonInfoDTO personInfoDTO = new PersonInfoDTO();
+            personInfoDTO.setLastName(TestConstants.EXISTING_LASTNAME);
+            personInfoDTO.setEmail("PICT_Email");
+            BatchDTO<List<PersonInfoDTO>> personInfoBatchDTO = new BatchDTO<>();
+            personInfoBatchDTO.getResults().put(key, Collections.singletonList(personInfoDTO));
+            personInfoBatchDTO.getMisses().put("null null", MISSING_FIRSTNAME_OR_LASTNAME);
+
+            when(personServiceMock.getPersonInfoByNames(anyList())).thenReturn(personInfoBatchDTO);
+
+            // THEN
+            performAsync(post("/personInfo/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Arrays.asList(personNameDTO, new PersonNameDTO()))))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.results['" + key + "'][0].email").value("PICT_Email"))
+                    .andExpect(jsonPath("$.misses['null null']").value(MISSING_FIRSTNAME_OR_LASTNAME));
+            verify(personServiceMock, Mockito.times(1)).getPersonInfoByNames(anyList());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN an empty list of names " +
+                "WHEN processing a POST /personInfo/batch request on these names " +
+                "THEN return status is 'bad request'")
+        public void getPersonInfoByNamesTest_WithNoName() throws Exception {
+            // GIVEN
+            when(personServiceMock.getPersonInfoByNames(anyList())).thenReturn(null);
+
+            // THEN
+            performAsync(post("/personInfo/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
 
@@ -292,7 +493,7 @@ class PersonControllerTest {
                     .thenReturn(listOfChildAlertDTO);
 
             // THEN
-            mockMvc.perform(get("/childAlert").param("address", TestConstants.EXISTING_ADDRESS))
+            performAsync(get("/childAlert").param("address", TestConstants.EXISTING_ADDRESS))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$").isNotEmpty());
@@ -311,7 +512,7 @@ class PersonControllerTest {
                     .thenReturn(listOfChildAlertDTO);
 
             // THEN
-            mockMvc.perform(get("/childAlert").param("address", TestConstants.ADDRESS_NOT_FOUND))
+            performAsync(get("/childAlert").param("address", TestConstants.ADDRESS_NOT_FOUND))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$").isEmpty());
@@ -329,7 +530,7 @@ class PersonControllerTest {
             when(personServiceMock.getChildAlertByAddress("")).thenReturn(null);
 
             // THEN
-            mockMvc.perform(get("/childAlert").param("address", ""))
+            performAsync(get("/childAlert").param("address", ""))
                     .andExpect(status().isBadRequest());
             verify(personServiceMock, Mockito.times(1))
                     .getChildAlertByAddress("");
@@ -337,6 +538,60 @@ class PersonControllerTest {
     }
 
 
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getChildAlertByAddresses tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getChildAlertByAddresses tests")
+    class GetChildAlertByAddressesTest {
+
+        @Test
+        @DisplayName("GIVEN children in repository at one of the requested addresses " +
+                "WHEN processing a POST /childAlert/batch request on these addresses " +
+                "THEN the lists of child alert are returned by address with the misses")
+        public void getChildAlertByAddressesTest_WithPartialMisses() throws Exception {
+            // GIVEN
+            List<String> listOfAddresses = Arrays.asList(TestConstants.EXISTING_ADDRESS, TestConstants.ADDRESS_NOT_FOUND);
+            ChildAlertDTO childAlertDTO = new ChildAlertDTO();
+            childAlertDTO.setFirstName(TestConstants.EXISTING_FIRSTNAME);
+            childAlertDTO.setLastName(TestConstants.EXISTING_LASTNAME);
+            BatchDTO<List<ChildAlertDTO>> childAlertBatchDTO = new BatchDTO<>();
+            childAlertBatchDTO.getResults().put(TestConstants.EXISTING_ADDRESS, Collections.singletonList(childAlertDTO));
+            childAlertBatchDTO.getMisses().put(TestConstants.ADDRESS_NOT_FOUND, NO_PERSON_FOUND_FOR_ADDRESS);
+
+            when(personServiceMock.getChildAlertByAddresses(listOfAddresses)).thenReturn(childAlertBatchDTO);
+
+            // THEN
+            performAsync(post("/childAlert/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(listOfAddresses)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.results['" + TestConstants.EXISTING_ADDRESS + "'][0].firstName")
+                            .value(TestConstants.EXISTING_FIRSTNAME))
+                    .andExpect(jsonPath("$.misses['" + TestConstants.ADDRESS_NOT_FOUND + "']")
+                            .value(NO_PERSON_FOUND_FOR_ADDRESS));
+            verify(personServiceMock, Mockito.times(1)).getChildAlertByAddresses(listOfAddresses);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN an empty list of addresses " +
+                "WHEN processing a POST /childAlert/batch request on these addresses " +
+                "THEN return status is 'bad request'")
+        public void getChildAlertByAddressesTest_WithNoAddress() throws Exception {
+            // GIVEN
+            when(personServiceMock.getChildAlertByAddresses(anyList())).thenReturn(null);
+
+            // THEN
+            performAsync(post("/childAlert/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+
     /* ----------------------------------------------------------------------------------------------------------------------
      *                  getPhoneAlertByFireStation tests
      * ----------------------------------------------------------------------------------------------------------------------*/
@@ -364,7 +619,7 @@ class PersonControllerTest {
                     .thenReturn(listOfPhoneNumbers);
 
             // THEN
-            mockMvc.perform(get("/phoneAlert")
+            performAsync(get("/phoneAlert")
                     .param("firestation", "3"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -384,7 +639,7 @@ class PersonControllerTest {
                     .thenReturn(listOfPhoneNumbers);
 
             // THEN
-            mockMvc.perform(get("/phoneAlert")
+            performAsync(get("/phoneAlert")
                     .param("firestation", "2"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -403,7 +658,7 @@ class PersonControllerTest {
             when(personServiceMock.getPhoneAlertByFireStation(anyInt())).thenReturn(null);
 
             // THEN
-            mockMvc.perform(get("/phoneAlert")
+            performAsync(get("/phoneAlert")
                     .param("firestation", String.valueOf(999)))
                     .andExpect(status().isBadRequest());
             verify(personServiceMock, Mockito.times(1))
@@ -462,7 +717,7 @@ class PersonControllerTest {
                     .thenReturn(fireStationCoverageDTO);
 
             // THEN
-            mockMvc.perform(get("/firestation")
+            performAsync(get("/firestation")
                     .param("stationNumber", "3"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -483,7 +738,7 @@ class PersonControllerTest {
                     .thenReturn(fireStationCoverageDTO);
 
             // THEN
-            mockMvc.perform(get("/firestation")
+            performAsync(get("/firestation")
                     .param("stationNumber", "2"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -504,12 +759,58 @@ class PersonControllerTest {
             when(personServiceMock.getFireStationCoverageByStationNumber(anyInt())).thenReturn(null);
 
             // THEN
-            mockMvc.perform(get("/firestation")
+            performAsync(get("/firestation")
                     .param("stationNumber", String.valueOf(999)))
                     .andExpect(status().isBadRequest());
             verify(personServiceMock, Mockito.times(1))
                     .getFireStationCoverageByStationNumber(anyInt());
         }
+
+
+        @Test
+        @DisplayName("GIVEN an ETag got for a fire station number and no data changed since " +
+                "WHEN processing a GET /firestation request with this ETag in If-None-Match " +
+                "THEN return status is 'not modified' and the service is not called")
+        public void getFireStationCoverageByStationNumberTest_WithMatchingETag() throws Exception {
+            // GIVEN
+            String eTag = dataVersions.getStationETag(3);
+
+            // THEN
+            performAsync(get("/firestation")
+                    .param("stationNumber", "3")
+                    .header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag));
+            verify(personServiceMock, never()).getFireStationCoverageByStationNumber(anyInt());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a fire station covering persons " +
+                "WHEN processing a GET /firestation request on fire station number with the counts as fields " +
+                "THEN only the numbers of adults and children are returned, with the ETag of these fields")
+        public void getFireStationCoverageByStationNumberTest_WithFields() throws Exception {
+            // GIVEN
+            fireStationCoverageDTO.setPersonCoveredContactsDTOList(listOfPersonCoveredContactsDTO);
+            fireStationCoverageDTO.setNumberOfChildren(1);
+            fireStationCoverageDTO.setNumberOfAdults(2);
+            HashSet<String> fields = new HashSet<>(Arrays.asList("numberOfAdults", "numberOfChildren"));
+
+            when(personServiceMock.getFireStationCoverageByStationNumber(3, fields))
+                    .thenReturn(fireStationCoverageDTO);
+
+            // THEN
+            performAsync(get("/firestation")
+                    .param("stationNumber", "3")
+                    .param("fields", "numberOfChildren,numberOfAdults"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG,
+                            SparseFields.toETag(dataVersions.getStationETag(3), fields)))
+                    .andExpect(jsonPath("$.numberOfChildren", is(1)))
+                    .andExpect(jsonPath("$.numberOfAdults", is(2)))
+                    .andExpect(jsonPath("$.personCoveredContactsDTOList").doesNotExist());
+            verify(personServiceMock, never()).getFireStationCoverageByStationNumber(anyInt());
+        }
     }
 
 
@@ -553,7 +854,7 @@ class PersonControllerTest {
                     .thenReturn(Optional.of(addedPersonDTO));
 
             // THEN
-            mockMvc.perform(post("/person")
+            performAsync(post("/person")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(personDTOToAdd)))
                     .andExpect(status().isCreated())
@@ -574,7 +875,7 @@ class PersonControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_PERSON_WHEN_ADDING_OR_UPDATING));
 
             // THEN
-            mockMvc.perform(post("/person")
+            performAsync(post("/person")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(personDTOToAdd)))
                     .andExpect(status().isBadRequest())
@@ -595,7 +896,7 @@ class PersonControllerTest {
                             + personDTOToAdd.getFirstName() + " " + personDTOToAdd.getLastName()));
 
             // THEN
-            mockMvc.perform(post("/person")
+            performAsync(post("/person")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(personDTOToAdd)))
                     .andExpect(status().isConflict())
@@ -647,7 +948,7 @@ class PersonControllerTest {
                     .thenReturn(Optional.of(updatedPersonDTO));
 
             // THEN
-            mockMvc.perform(put("/person")
+            performAsync(put("/person")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(personDTOToUpdate)))
                     .andExpect(status().isOk())
@@ -669,7 +970,7 @@ class PersonControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_PERSON_WHEN_ADDING_OR_UPDATING));
 
             // THEN
-            mockMvc.perform(put("/person")
+            performAsync(put("/person")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(personDTOToUpdate)))
                     .andExpect(status().isBadRequest())
@@ -690,7 +991,7 @@ class PersonControllerTest {
                             + personDTOToUpdate.getFirstName() + " " + personDTOToUpdate.getLastName()));
 
             // THEN
-            mockMvc.perform(put("/person")
+            performAsync(put("/person")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(personDTOToUpdate)))
                     .andExpect(status().isNotFound())
@@ -720,7 +1021,7 @@ class PersonControllerTest {
                     .thenReturn(deletedPerson);
 
             // THEN
-            mockMvc.perform(delete("/person")
+            performAsync(delete("/person")
                     .param("firstName", TestConstants.EXISTING_FIRSTNAME)
                     .param("lastName", TestConstants.EXISTING_LASTNAME))
                     .andExpect(status().isNoContent());
@@ -740,7 +1041,7 @@ class PersonControllerTest {
                     .thenThrow(new MissingInformationException(ExceptionConstants.MISSING_INFORMATION_PERSON_WHEN_DELETING));
 
             // THEN
-            mockMvc.perform(delete("/person")
+            performAsync(delete("/person")
                     .param("firstName", "")
                     .param("lastName", ""))
                     .andExpect(status().isBadRequest())
@@ -764,7 +1065,7 @@ class PersonControllerTest {
                             + TestConstants.FIRSTNAME_NOT_FOUND + " " + TestConstants.LASTNAME_NOT_FOUND));
 
             // THEN
-            mockMvc.perform(delete("/person")
+            performAsync(delete("/person")
                     .param("firstName", TestConstants.FIRSTNAME_NOT_FOUND)
                     .param("lastName", TestConstants.LASTNAME_NOT_FOUND))
                     .andExpect(status().isNotFound())
@@ -777,4 +1078,12 @@ class PersonControllerTest {
         }
     }
 
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
@@ -0,0 +1,257 @@
+package com.safetynet.alerts.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.MedicalRecordDTO;
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import com.safetynet.alerts.util.DataVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import static com.safetynet.alerts.constants.CacheConstants.COMMUNITY_EMAIL_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_JSON_CACHE;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest(properties = {"data.load.async=false", "spring.cache.type=caffeine",
+        "data.jsonResponses.gzip.minSizeInBytes=0"})
+@AutoConfigureMockMvc
+public class AlertsCacheIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private AlertsReadIndex alertsReadIndex;
+
+    @SpyBean
+    private DataVersions dataVersions;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("WHEN asking twice for the same fire alert " +
+            "THEN the second time the JSON response is read from the cache, which is counted as a hit")
+    public void getFireTest_WithCachedResult() throws Exception {
+        performAsync(get("/fire").param("address", "947 E. Rose Dr"))
+                .andExpect(status().isOk());
+        double nbOfHits = getNbOfGets(FIRE_JSON_CACHE, "hit");
+
+        performAsync(get("/fire").param("address", "947 E. Rose Dr"))
+                .andExpect(status().isOk());
+
+        assertEquals(nbOfHits + 1, getNbOfGets(FIRE_JSON_CACHE, "hit"));
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for an alert answered with an error " +
+            "THEN the error is not cached, and the alert is computed again on the next request")
+    public void getCommunityEmailTest_WithErrorNotCached() throws Exception {
+        performAsync(get("/communityEmail").param("city", ""))
+                .andExpect(status().isBadRequest());
+
+        assertNull(cacheManager.getCache(COMMUNITY_EMAIL_CACHE).get(""));
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for a fire station coverage with and without accepting gzip " +
+            "THEN the gzipped response is the gzip of the plain JSON response")
+    public void getFireStationCoverageTest_WithGzip() throws Exception {
+        byte[] json = performAsync(get("/firestation").param("stationNumber", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] gzippedJson = performAsync(get("/firestation").param("stationNumber", "3")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(json, gunzip(gzippedJson));
+    }
+
+
+    @Test
+    @DisplayName("WHEN updating a medical record " +
+            "THEN the cached results of the address of the person are evicted and the other ones are kept")
+    public void updateMedicalRecordTest_WithCachedResults() throws Exception {
+        //GIVEN cached results for the address of John Boyd and for another address
+        performAsync(get("/fire").param("address", "1509 Culver St"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("cache_it_medication"))));
+        performAsync(get("/fire").param("address", "29 15th St"))
+                .andExpect(status().isOk());
+
+        //WHEN
+        MedicalRecordDTO medicalRecordDTOToUpdate = new MedicalRecordDTO();
+        medicalRecordDTOToUpdate.setFirstName("John");
+        medicalRecordDTOToUpdate.setLastName("Boyd");
+        medicalRecordDTOToUpdate.setBirthDate(LocalDate.of(1984, 3, 6));
+        medicalRecordDTOToUpdate.setMedications(Collections.singletonList("cache_it_medication"));
+        medicalRecordDTOToUpdate.setAllergies(Collections.singletonList("nillacilan"));
+        performAsync(put("/medicalRecord")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(medicalRecordDTOToUpdate)))
+                .andExpect(status().isOk());
+
+        //THEN
+        assertNotNull(cacheManager.getCache(FIRE_CACHE).get("29 15th St"));
+        assertNotNull(cacheManager.getCache(FIRE_JSON_CACHE).get("29 15th St"));
+        performAsync(get("/fire").param("address", "1509 Culver St"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("cache_it_medication")));
+        performAsync(get("/flood/stations").param("stations", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("cache_it_medication")));
+
+        //restore the medical record
+        medicalRecordDTOToUpdate.setMedications(Arrays.asList("aznol:350mg", "hydrapermazol:100mg"));
+        performAsync(put("/medicalRecord")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(medicalRecordDTOToUpdate)))
+                .andExpect(status().isOk());
+    }
+
+
+    @Test
+    @DisplayName("WHEN updating a medical record while a flood alert covering the person is computed " +
+            "THEN the result computed before the update is not kept in cache")
+    public void getFloodTest_WithUpdateDuringRead() throws Exception {
+        //GIVEN a flood alert paused after reading the households of station 3
+        CountDownLatch householdsRead = new CountDownLatch(1);
+        CountDownLatch updateDone = new CountDownLatch(1);
+        AtomicBoolean pauseRead = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            Object households = invocation.callRealMethod();
+            if (pauseRead.getAndSet(false)) {
+                householdsRead.countDown();
+                //the update ends after the eviction, unless the eviction waits for the end of the read
+                updateDone.await(1, TimeUnit.SECONDS);
+            }
+            return households;
+        }).when(alertsReadIndex).findHouseholdsByStationNumber(anyInt());
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            updateDone.countDown();
+            return null;
+        }).when(dataVersions).bumpPerson(any(Person.class));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        MedicalRecordDTO medicalRecordDTOToUpdate = new MedicalRecordDTO();
+        medicalRecordDTOToUpdate.setFirstName("John");
+        medicalRecordDTOToUpdate.setLastName("Boyd");
+        medicalRecordDTOToUpdate.setBirthDate(LocalDate.of(1984, 3, 6));
+        medicalRecordDTOToUpdate.setMedications(Collections.singletonList("race_it_medication"));
+        medicalRecordDTOToUpdate.setAllergies(Collections.singletonList("nillacilan"));
+        try {
+            Future<?> read = executorService.submit(() ->
+                    performAsync(get("/flood/stations").param("stations", "3", "2"))
+                            .andExpect(status().isOk()));
+            assertTrue(householdsRead.await(5, TimeUnit.SECONDS));
+
+            //WHEN the medical record of John Boyd is updated during the read
+            Future<?> update = executorService.submit(() ->
+                    performAsync(put("/medicalRecord")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(medicalRecordDTOToUpdate)))
+                            .andExpect(status().isOk()));
+            read.get(10, TimeUnit.SECONDS);
+            update.get(10, TimeUnit.SECONDS);
+
+            //THEN
+            performAsync(get("/flood/stations").param("stations", "3", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("race_it_medication")));
+
+        } finally {
+            executorService.shutdown();
+
+            //restore the medical record
+            medicalRecordDTOToUpdate.setMedications(Arrays.asList("aznol:350mg", "hydrapermazol:100mg"));
+            performAsync(put("/medicalRecord")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(medicalRecordDTOToUpdate)))
+                    .andExpect(status().isOk());
+        }
+    }
+
+
+    private double getNbOfGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static byte[] gunzip(byte[] gzippedBytes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(gzippedBytes))) {
+            byte[] buffer = new byte[1024];
+            int nbOfBytesRead;
+            while ((nbOfBytesRead = gzipInputStream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, nbOfBytesRead);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
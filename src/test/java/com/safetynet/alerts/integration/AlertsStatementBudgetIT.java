@@ -0,0 +1,108 @@
+package com.safetynet.alerts.integration;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guard against N+1 loading on the alert endpoints: each endpoint has a budget of SQL statements per request,
+ * counted by the Hibernate statistics, which must not be exceeded
+ * NB : the read index is disabled, so that the alert queries are answered from DB
+ */
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest(properties = {"data.load.async=false", "data.readIndex.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+public class AlertsStatementBudgetIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest(name = "GET {0} runs at most {1} SQL statement(s)")
+    @DisplayName("WHEN asking for an alert THEN the number of SQL statements does not exceed the budget of the endpoint")
+    @CsvSource({
+            //persons with their medical record and fire station, then medications, allergies and fire station
+            "'/fire?address=1509 Culver St', 4",
+            //persons with their medical record and fire station, then fire station (no medications nor allergies)
+            "'/fire?address=1509 Culver St&fields=lastName,phone', 2",
+            //persons with their medical record and fire station
+            "'/firestation?stationNumber=3', 1",
+            "'/childAlert?address=1509 Culver St', 1",
+            "'/phoneAlert?firestation=3', 1",
+            "'/communityEmail?city=Culver', 1",
+            //persons of all the stations, then medications and allergies
+            "'/flood/stations?stations=1,2,3', 3",
+            //persons with the same name, then with the same lastname, each with medications and allergies
+            "'/personInfo?firstName=John&lastName=Boyd', 6",
+            //persons with the same name, then with the same lastname (no medications nor allergies)
+            "'/personInfo?firstName=John&lastName=Boyd&fields=lastName,email', 2"
+    })
+    public void alertStatementBudgetTest(String url, long budget) throws Exception {
+        performAsync(get(url))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(budget);
+    }
+
+
+    @ParameterizedTest(name = "POST {0} runs at most {2} SQL statement(s)")
+    @DisplayName("WHEN asking for a batch of alerts " +
+            "THEN the number of SQL statements does not depend on the number of keys of the batch")
+    @CsvSource(delimiter = '|', value = {
+            //persons of all the addresses, then their fire stations, medications and allergies
+            "/fire/batch | [\"1509 Culver St\",\"29 15th St\",\"834 Binoc Ave\"] | 4",
+            //persons of all the addresses
+            "/childAlert/batch | [\"1509 Culver St\",\"29 15th St\",\"834 Binoc Ave\"] | 1",
+            //persons of all the lastnames, then medications and allergies
+            "/personInfo/batch | [{\"firstName\":\"John\",\"lastName\":\"Boyd\"},{\"firstName\":\"Tessa\",\"lastName\":\"Carman\"}] | 3"
+    })
+    public void batchStatementBudgetTest(String url, String keys, long budget) throws Exception {
+        performAsync(post(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(keys))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(budget);
+    }
+
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
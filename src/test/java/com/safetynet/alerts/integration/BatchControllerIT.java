@@ -0,0 +1,62 @@
+package com.safetynet.alerts.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "data.load.async=false")
+@AutoConfigureMockMvc
+public class BatchControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("WHEN asking for the alerts of a station in one batch POST /batch " +
+            "THEN return status is OK and each alert is returned as by its endpoint, in the order of the batch")
+    public void getSubQueryResultsTest_WithAlertsOfAStation() throws Exception {
+        performAsync(post("/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"endpoint\":\"/firestation\",\"parameters\":{\"stationNumber\":\"3\"}},"
+                        + "{\"endpoint\":\"/phoneAlert\",\"parameters\":{\"firestation\":\"3\"}},"
+                        + "{\"endpoint\":\"/flood/stations\",\"parameters\":{\"stations\":\"3\"}},"
+                        + "{\"endpoint\":\"/childAlert\",\"parameters\":{\"address\":\"1509 Culver St\"}},"
+                        + "{\"endpoint\":\"/fire\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].endpoint").value("/firestation"))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].body.personCoveredContactsDTOList").isNotEmpty())
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[1].body").isNotEmpty())
+                .andExpect(jsonPath("$[2].status").value(200))
+                .andExpect(jsonPath("$[3].status").value(200))
+                .andExpect(jsonPath("$[3].body").isNotEmpty())
+                .andExpect(jsonPath("$[4].status").value(400));
+    }
+
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
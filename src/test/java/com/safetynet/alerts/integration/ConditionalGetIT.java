@@ -0,0 +1,99 @@
+package com.safetynet.alerts.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.alerts.model.dto.MedicalRecordDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest(properties = "data.load.async=false")
+@AutoConfigureMockMvc
+public class ConditionalGetIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("GIVEN the ETags of the coverage of two fire stations WHEN updating a medical record " +
+            "THEN only the ETag of the station of the person changes, the other one is still answered 'not modified'")
+    public void getFireStationCoverageTest_WithETags() throws Exception {
+        //GIVEN
+        String eTagOfStation3 = getETag(get("/firestation").param("stationNumber", "3"));
+        String eTagOfStation2 = getETag(get("/firestation").param("stationNumber", "2"));
+        String eTagOfPersons = getETag(get("/persons"));
+        performAsync(get("/firestation").param("stationNumber", "3")
+                .header(HttpHeaders.IF_NONE_MATCH, eTagOfStation3))
+                .andExpect(status().isNotModified());
+
+        //WHEN
+        MedicalRecordDTO medicalRecordDTOToUpdate = new MedicalRecordDTO();
+        medicalRecordDTOToUpdate.setFirstName("John");
+        medicalRecordDTOToUpdate.setLastName("Boyd");
+        medicalRecordDTOToUpdate.setBirthDate(LocalDate.of(1984, 3, 6));
+        medicalRecordDTOToUpdate.setMedications(Collections.singletonList("etag_it_medication"));
+        medicalRecordDTOToUpdate.setAllergies(Collections.singletonList("nillacilan"));
+        updateMedicalRecord(medicalRecordDTOToUpdate);
+
+        //THEN
+        performAsync(get("/firestation").param("stationNumber", "3")
+                .header(HttpHeaders.IF_NONE_MATCH, eTagOfStation3))
+                .andExpect(status().isOk());
+        performAsync(get("/firestation").param("stationNumber", "2")
+                .header(HttpHeaders.IF_NONE_MATCH, eTagOfStation2))
+                .andExpect(status().isNotModified());
+        assertNotEquals(eTagOfPersons, getETag(get("/persons")));
+
+        //restore the medical record
+        medicalRecordDTOToUpdate.setMedications(Arrays.asList("aznol:350mg", "hydrapermazol:100mg"));
+        updateMedicalRecord(medicalRecordDTOToUpdate);
+    }
+
+
+    private String getETag(RequestBuilder request) throws Exception {
+        String eTag = performAsync(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    private void updateMedicalRecord(MedicalRecordDTO medicalRecordDTOToUpdate) throws Exception {
+        performAsync(put("/medicalRecord")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(medicalRecordDTOToUpdate)))
+                .andExpect(status().isOk());
+    }
+
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
@@ -16,6 +16,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,16 +28,18 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @TestPropertySource(locations = "/application-test.properties")
-@SpringBootTest
+@SpringBootTest(properties = "data.load.async=false")
 @AutoConfigureMockMvc
 public class FireStationControllerIT {
 
@@ -51,9 +56,13 @@ public class FireStationControllerIT {
 
     @Test
     @DisplayName("WHEN asking for the list of fire stations GET /firestations " +
-            "THEN return status is OK and the list of all fire stations is returned")
+            "THEN return status is OK and the list of all fire stations is streamed")
     public void getAllFireStationsTest_WithSuccess() throws Exception {
-        mockMvc.perform(get("/firestations"))
+        MvcResult mvcResult = mockMvc.perform(get("/firestations"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isNotEmpty())
@@ -70,7 +79,7 @@ public class FireStationControllerIT {
         fireStationDTOToAdd.setStationNumber(TestConstants.NEW_STATION_NUMBER);
         fireStationDTOToAdd.setAddress(TestConstants.NEW_ADDRESS);
 
-        mockMvc.perform(post("/firestation")
+        performAsync(post("/firestation")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(fireStationDTOToAdd)))
                 .andExpect(status().isCreated())
@@ -105,7 +114,7 @@ public class FireStationControllerIT {
         fireStationDTOToUpdate.setStationNumber(ITConstants.NEW_STATION_NUMBER_FOR_FIRE_STATION_TO_UPDATE);
         fireStationDTOToUpdate.setAddress(ITConstants.ADDRESS_OF_FIRE_STATION_TO_UPDATE);
 
-        mockMvc.perform(put("/firestation")
+        performAsync(put("/firestation")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(fireStationDTOToUpdate)))
                 .andExpect(status().isOk())
@@ -142,7 +151,7 @@ public class FireStationControllerIT {
         person = personRepository.save(person);
 
         //Test
-        mockMvc.perform(delete("/firestation/address")
+        performAsync(delete("/firestation/address")
                 .param("address", ITConstants.ADDRESS_TO_DELETE))
                 .andExpect(status().isNoContent());
 
@@ -180,7 +189,7 @@ public class FireStationControllerIT {
         person = personRepository.save(person);
 
         //Test
-        mockMvc.perform(delete("/firestation/station")
+        performAsync(delete("/firestation/station")
                 .param("stationNumber", ITConstants.STATION_NUMBER_OF_STATION_TO_DELETE.toString()))
                 .andExpect(status().isNoContent());
 
@@ -195,4 +204,13 @@ public class FireStationControllerIT {
         //clean the database by deleting the initialized person
         personRepository.deleteById(person.getPersonId());
     }
+
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
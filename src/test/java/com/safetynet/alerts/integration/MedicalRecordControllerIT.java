@@ -15,8 +15,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.transaction.Transactional;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,18 +27,21 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "data.load.async=false")
 @AutoConfigureMockMvc
 public class MedicalRecordControllerIT {
 
@@ -48,17 +54,26 @@ public class MedicalRecordControllerIT {
     @Autowired
     PersonRepository personRepository;
 
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
     @DisplayName("WHEN asking for the list of medical records GET /medicalrecords " +
-            "THEN return status is OK and the list of all medical records is returned")
+            "THEN return status is OK and the list of all medical records is streamed")
     public void getAllMedicalRecordsTest_WithSuccess() throws Exception {
-        mockMvc.perform(get("/medicalrecords"))
+        MvcResult mvcResult = mockMvc.perform(get("/medicalrecords"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isNotEmpty())
-                .andExpect(jsonPath("$", hasSize(ITConstants.NB_OF_MEDICAL_RECORD_RECORDS_ALL)));
+                .andExpect(jsonPath("$", hasSize(ITConstants.NB_OF_MEDICAL_RECORD_RECORDS_ALL)))
+                .andExpect(jsonPath("$[*].medications[*]", hasItem("aznol:350mg")))
+                .andExpect(jsonPath("$[*].allergies[*]", hasItem("nillacilan")));
     }
 
 
@@ -90,7 +105,7 @@ public class MedicalRecordControllerIT {
         allergies.add("added_allergies_2");
         medicalRecordDTOToAdd.setAllergies(allergies);
 
-        mockMvc.perform(post("/medicalRecord")
+        performAsync(post("/medicalRecord")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(medicalRecordDTOToAdd)))
                 .andExpect(status().isCreated())
@@ -118,7 +133,6 @@ public class MedicalRecordControllerIT {
     @DisplayName("WHEN processing a PUT /medicalRecord request for an existing medical record " +
             "THEN return status is OK, the returned value is the updated medical record " +
             "and the medical record has been updated in DB")
-    @Transactional
     public void updateMedicalRecordTest_WithSuccess() throws Exception {
         //init the database with one medical record to update
         Person person = new Person();
@@ -148,7 +162,7 @@ public class MedicalRecordControllerIT {
         allergies.add("updated_allergies_1");
         medicalRecordDTOToUpdate.setAllergies(allergies);
 
-        mockMvc.perform(put("/medicalRecord")
+        performAsync(put("/medicalRecord")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(medicalRecordDTOToUpdate)))
                 .andExpect(status().isOk())
@@ -157,10 +171,15 @@ public class MedicalRecordControllerIT {
                 .andExpect(jsonPath("$.medications", is(medications)))
                 .andExpect(jsonPath("$.allergies", is(allergies)));
 
-        Optional<MedicalRecord> updatedMedicalRecord = medicalRecordRepository.findById(medicalRecord.getMedicalRecordId());
-        assertThat(updatedMedicalRecord).isNotEmpty();
-        assertEquals(medicalRecordDTOToUpdate.getMedications(), updatedMedicalRecord.get().getMedications());
-        assertEquals(medicalRecordDTOToUpdate.getAllergies(), updatedMedicalRecord.get().getAllergies());
+        //the update is made by an asynchronous worker, so the medical record is read back in a transaction of the test
+        Long medicalRecordId = medicalRecord.getMedicalRecordId();
+        transactionTemplate.execute(status -> {
+            Optional<MedicalRecord> updatedMedicalRecord = medicalRecordRepository.findById(medicalRecordId);
+            assertThat(updatedMedicalRecord).isNotEmpty();
+            assertEquals(medicalRecordDTOToUpdate.getMedications(), updatedMedicalRecord.get().getMedications());
+            assertEquals(medicalRecordDTOToUpdate.getAllergies(), updatedMedicalRecord.get().getAllergies());
+            return null;
+        });
 
         //clean the database by deleting the initialized medical record and person
         person.setMedicalRecord(null);
@@ -191,7 +210,7 @@ public class MedicalRecordControllerIT {
         personRepository.save(person);
 
         //test
-        mockMvc.perform(delete("/medicalRecord")
+        performAsync(delete("/medicalRecord")
                 .param("firstName", ITConstants.FIRSTNAME_TO_DELETE)
                 .param("lastName", ITConstants.LASTNAME_TO_DELETE))
                 .andExpect(status().isNoContent());
@@ -205,4 +224,13 @@ public class MedicalRecordControllerIT {
         //clean the database by deleting the initialized person
         personRepository.deleteById(person.getPersonId());
     }
+
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
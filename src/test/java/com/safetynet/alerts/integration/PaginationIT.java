@@ -0,0 +1,91 @@
+package com.safetynet.alerts.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.alerts.integration.ITConstants.ITConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.safetynet.alerts.constants.PaginationConstants.CONTINUATION_TOKEN_HEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest(properties = "data.load.async=false")
+@AutoConfigureMockMvc
+public class PaginationIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("WHEN paging through the persons GET /persons with the continuation tokens " +
+            "THEN each person is returned once, in the order of the ids, and the last page has no continuation token")
+    public void getAllPersonsTest_WithPages() throws Exception {
+        Set<Long> personIds = new HashSet<>();
+        long lastPersonId = 0;
+        int nbOfPages = 0;
+        String continuationToken = null;
+
+        do {
+            MockHttpServletRequestBuilder pageRequest = get("/persons").param("pageSize", "5");
+            if (continuationToken != null) {
+                pageRequest.param("continuationToken", continuationToken);
+            }
+            MockHttpServletResponse response = getPage(pageRequest);
+
+            for (JsonNode person : objectMapper.readTree(response.getContentAsString())) {
+                long personId = person.get("personId").asLong();
+                assertTrue(personId > lastPersonId);
+                assertTrue(personIds.add(personId));
+                lastPersonId = personId;
+            }
+            continuationToken = response.getHeader(CONTINUATION_TOKEN_HEADER);
+            nbOfPages++;
+        } while (continuationToken != null);
+
+        assertEquals(ITConstants.NB_OF_PERSON_RECORDS_ALL, personIds.size());
+        assertEquals(ITConstants.NB_OF_PERSON_RECORDS_ALL / 5 + 1, nbOfPages);
+    }
+
+
+    @Test
+    @DisplayName("WHEN asking for a page of medical records GET /medicalrecords " +
+            "THEN the medical records are returned with their medications and allergies")
+    public void getAllMedicalRecordsTest_WithPage() throws Exception {
+        MockHttpServletResponse response = getPage(get("/medicalrecords").param("pageSize", "1000"));
+
+        JsonNode medicalRecords = objectMapper.readTree(response.getContentAsString());
+        assertEquals(ITConstants.NB_OF_MEDICAL_RECORD_RECORDS_ALL, medicalRecords.size());
+        assertTrue(response.getContentAsString().contains("aznol:350mg"));
+        assertTrue(response.getContentAsString().contains("nillacilan"));
+    }
+
+
+    private MockHttpServletResponse getPage(MockHttpServletRequestBuilder pageRequest) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(pageRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+}
@@ -17,6 +17,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.Optional;
 
@@ -25,15 +28,17 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "data.load.async=false")
 @AutoConfigureMockMvc
 public class PersonControllerIT {
 
@@ -65,9 +70,13 @@ public class PersonControllerIT {
 
     @Test
     @DisplayName("WHEN asking for the list of persons GET /persons " +
-            "THEN return status is OK and the list of all persons is returned")
+            "THEN return status is OK and the list of all persons is streamed")
     public void getAllPersonsTest_WithSuccess() throws Exception {
-        mockMvc.perform(get("/persons"))
+        MvcResult mvcResult = mockMvc.perform(get("/persons"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isNotEmpty())
@@ -90,7 +99,7 @@ public class PersonControllerIT {
         personDTOToAdd.setCity("city of added person");
         personDTOToAdd.setZip("zip of added person");
 
-        mockMvc.perform(post("/person")
+        performAsync(post("/person")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(personDTOToAdd)))
                 .andExpect(status().isCreated())
@@ -136,7 +145,7 @@ public class PersonControllerIT {
         personDTOToUpdate.setCity(person.getCity());
         personDTOToUpdate.setZip(person.getZip());
 
-        mockMvc.perform(put("/person")
+        performAsync(put("/person")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(personDTOToUpdate)))
                 .andExpect(status().isOk())
@@ -174,7 +183,7 @@ public class PersonControllerIT {
         personRepository.save(person);
 
         //test
-        mockMvc.perform(delete("/person")
+        performAsync(delete("/person")
                 .param("firstName", ITConstants.FIRSTNAME_TO_DELETE)
                 .param("lastName", ITConstants.LASTNAME_TO_DELETE))
                 .andExpect(status().isNoContent());
@@ -184,4 +193,13 @@ public class PersonControllerIT {
         Optional<MedicalRecord> medicalRecordAfterDeletion = medicalRecordRepository.findById(medicalRecord.getMedicalRecordId());
         assertThat(medicalRecordAfterDeletion).isEmpty();
     }
+
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
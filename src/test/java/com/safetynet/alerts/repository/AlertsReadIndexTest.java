@@ -0,0 +1,375 @@
+package com.safetynet.alerts.repository;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.Household;
+import com.safetynet.alerts.model.MedicalRecord;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.service.DataReloadService;
+import com.safetynet.alerts.util.DateUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.safetynet.alerts.constants.ChildAlertConstants.MAX_AGE_FOR_CHILD_ALERT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class AlertsReadIndexTest {
+
+    @Autowired
+    private AlertsReadIndex alertsReadIndex;
+
+    @Autowired
+    private DataReloadService dataReloadService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private FireStationRepository fireStationRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        //load the data in DB (the index not being ready, even if built in the context shared with other tests,
+        // it is not built by the reload)
+        resetIndex();
+        ReflectionTestUtils.setField(dataReloadService, "dataInputFilePath", "test_complete_data.json");
+        dataReloadService.reloadDataFromFile();
+    }
+
+    @AfterEach
+    private void tearDownPerTest() {
+        //the index is not ready anymore for the other tests
+        resetIndex();
+        personRepository.deleteAll();
+        medicalRecordRepository.deleteAll();
+        fireStationRepository.deleteAll();
+    }
+
+
+    @Test
+    @DisplayName("GIVEN data in DB WHEN the index is not built THEN it is not ready")
+    public void isReadyTest_WithIndexNotBuilt() {
+        assertFalse(alertsReadIndex.isReady());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN persons saved and deleted while the index is built from the DB WHEN the build ends " +
+            "THEN the index contains their updates")
+    public void rebuildTest_WithUpdatesDuringRebuild() {
+        //GIVEN an index built from repositories read before a person is saved and another one is deleted
+        PersonRepository personRepositoryMock = mock(PersonRepository.class);
+        AlertsReadIndex readIndex = new AlertsReadIndex(personRepositoryMock, mock(FireStationRepository.class),
+                mock(MedicalRecordRepository.class), new DateUtil());
+        ReflectionTestUtils.setField(readIndex, "enabled", true);
+        Person savedPerson = new Person();
+        savedPerson.setFirstName("Saved");
+        savedPerson.setLastName("Person");
+        Person deletedPerson = new Person();
+        deletedPerson.setFirstName("Deleted");
+        deletedPerson.setLastName("Person");
+        when(personRepositoryMock.findAll()).thenAnswer(invocation -> {
+            List<Person> persons = Collections.singletonList(deletedPerson);
+            readIndex.savePerson(savedPerson);
+            readIndex.deletePerson("Deleted", "Person");
+            return persons;
+        });
+
+        //WHEN
+        readIndex.rebuild();
+
+        //THEN
+        assertEquals(1, readIndex.findAllByFirstNameAndLastName("Saved", "Person").size());
+        assertEquals(0, readIndex.findAllByFirstNameAndLastName("Deleted", "Person").size());
+    }
+
+
+    @Nested
+    @DisplayName("query tests with the index built")
+    class QueryTests {
+
+        @BeforeEach
+        private void setUpPerTest() {
+            alertsReadIndex.rebuild();
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN getting the persons of an address " +
+                "THEN the household members are returned with their medical record and fire station")
+        public void findAllByAddressTest() {
+            //WHEN
+            List<Person> listOfPersons = alertsReadIndex.findAllByAddress("1509 Culver St");
+
+            //THEN
+            assertTrue(alertsReadIndex.isReady());
+            assertEquals(5, listOfPersons.size());
+            listOfPersons.forEach(person -> {
+                assertEquals(person.getFirstName(), person.getMedicalRecord().getFirstName());
+                assertEquals(3, person.getFireStation().getStationNumber());
+            });
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN getting the persons of a city, a name or a station number " +
+                "THEN the persons are returned")
+        public void findAllTest() {
+            assertEquals(23, alertsReadIndex.findAllByCity("Culver").size());
+            assertEquals(0, alertsReadIndex.findAllByCity("Unknown city").size());
+            assertEquals(1, alertsReadIndex.findAllByFirstNameAndLastName("John", "Boyd").size());
+            assertEquals(0, alertsReadIndex.findAllByFirstNameAndLastName("John", "Doe").size());
+            assertEquals(5, alertsReadIndex.findAllByFirstNameNotAndLastName("John", "Boyd").size());
+            assertEquals(11, alertsReadIndex.findAllByFireStation_StationNumber(3).size());
+            assertEquals(0, alertsReadIndex.findAllByFireStation_StationNumber(99).size());
+            assertEquals(11 + 5, alertsReadIndex.findAllByFireStation_StationNumberIn(Arrays.asList(3, 2, 3)).size());
+            assertEquals(2, alertsReadIndex.findFireStationByAddress("29 15th St").getStationNumber());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN getting the emails of a city or the phones of a station number " +
+                "THEN only distinct values are returned")
+        public void findDistinctTest() {
+            assertEquals(15, alertsReadIndex.findDistinctEmailsByCity("Culver").size());
+            assertEquals(0, alertsReadIndex.findDistinctEmailsByCity("Unknown city").size());
+            assertEquals(7, alertsReadIndex.findDistinctPhonesByFireStation_StationNumber(3).size());
+            assertEquals(0, alertsReadIndex.findDistinctPhonesByFireStation_StationNumber(99).size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN getting the phones of a station covering an address without residents " +
+                "THEN the phones of the persons of the other addresses are returned")
+        public void findDistinctPhonesTest_WithAddressWithoutResidents() {
+            //GIVEN
+            FireStation fireStation = new FireStation();
+            fireStation.setStationNumber(3);
+            fireStation.setAddress("Address without residents");
+            alertsReadIndex.saveFireStation(fireStation);
+
+            //THEN
+            assertEquals(7, alertsReadIndex.findDistinctPhonesByFireStation_StationNumber(3).size());
+            assertEquals(11, alertsReadIndex.findAllByFireStation_StationNumber(3).size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN a person moves " +
+                "THEN the person is removed from his household and added to a household at the new address")
+        public void findHouseholdsTest() {
+            //GIVEN
+            List<Household> households = alertsReadIndex.findHouseholdsByAddress("1509 Culver St");
+            assertEquals(1, households.size());
+            assertEquals("Boyd", households.get(0).getLastName());
+            assertEquals(5, households.get(0).getMembers().size());
+            assertEquals(alertsReadIndex.findChildrenByAddress("1509 Culver St").size(),
+                    households.get(0).getNumberOfChildren());
+
+            //WHEN
+            Person person = alertsReadIndex.findAllByFirstNameAndLastName("John", "Boyd").get(0);
+            person.setAddress("29 15th St");
+            alertsReadIndex.savePerson(person);
+
+            //THEN
+            assertEquals(4, alertsReadIndex.findHouseholdsByAddress("1509 Culver St").get(0).getMembers().size());
+            List<Household> householdsAtNewAddress =
+                    alertsReadIndex.findHouseholdsByStationNumber(2).get("29 15th St");
+            assertEquals(2, householdsAtNewAddress.size());
+            assertEquals("Boyd", householdsAtNewAddress.get(1).getLastName());
+            assertEquals("John", householdsAtNewAddress.get(1).getMembers().get(0).getFirstName());
+            assertEquals(0, householdsAtNewAddress.get(1).getOtherMembers(person).size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN modifying a returned person THEN the index is not modified")
+        public void findAllByAddressTest_WithReturnedPersonModified() {
+            //GIVEN
+            alertsReadIndex.findAllByFirstNameAndLastName("John", "Boyd").get(0).setAddress("1 New St");
+
+            //THEN
+            assertEquals(5, alertsReadIndex.findAllByAddress("1509 Culver St").size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN a person moves THEN the person is found at the new address " +
+                "and covered by its fire station")
+        public void savePersonTest() {
+            //GIVEN
+            Person person = personRepository.findByFirstNameAndLastName("John", "Boyd");
+            person.setAddress("29 15th St");
+
+            //WHEN
+            alertsReadIndex.savePerson(person);
+
+            //THEN
+            assertEquals(4, alertsReadIndex.findAllByAddress("1509 Culver St").size());
+            assertEquals(2, alertsReadIndex.findAllByAddress("29 15th St").size());
+            assertEquals(2, alertsReadIndex.findAllByFirstNameAndLastName("John", "Boyd")
+                    .get(0).getFireStation().getStationNumber());
+            assertEquals(23, alertsReadIndex.findAllByCity("Culver").size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN deleting a person and its medical record " +
+                "THEN they are not found anymore")
+        public void deletePersonTest() {
+            //WHEN
+            alertsReadIndex.deleteMedicalRecord("John", "Boyd");
+            alertsReadIndex.deletePerson("John", "Boyd");
+
+            //THEN
+            assertEquals(0, alertsReadIndex.findAllByFirstNameAndLastName("John", "Boyd").size());
+            assertEquals(4, alertsReadIndex.findAllByAddress("1509 Culver St").size());
+            assertEquals(22, alertsReadIndex.findAllByCity("Culver").size());
+            assertEquals(10, alertsReadIndex.findAllByFireStation_StationNumber(3).size());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN updating and deleting fire stations " +
+                "THEN the persons are covered by the new station or not covered anymore")
+        public void saveAndDeleteFireStationTest() {
+            //GIVEN
+            FireStation fireStation = fireStationRepository.findByAddress("1509 Culver St");
+            fireStation.setStationNumber(4);
+
+            //WHEN
+            alertsReadIndex.saveFireStation(fireStation);
+            alertsReadIndex.deleteFireStation("834 Binoc Ave");
+
+            //THEN
+            assertEquals(5, alertsReadIndex.findAllByFireStation_StationNumber(3).size());
+            assertEquals(5 + 1, alertsReadIndex.findAllByFireStation_StationNumber(4).size());
+            assertNull(alertsReadIndex.findAllByAddress("834 Binoc Ave").get(0).getFireStation());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN a child becomes adult THEN the child is moved to the adults " +
+                "by the rollover of the day")
+        public void rollOverTest() {
+            //GIVEN John Boyd becoming adult tomorrow
+            long today = LocalDate.now().toEpochDay();
+            MedicalRecord medicalRecord = new MedicalRecord();
+            medicalRecord.setFirstName("John");
+            medicalRecord.setLastName("Boyd");
+            medicalRecord.setBirthDate(LocalDate.ofEpochDay(today).minusYears(MAX_AGE_FOR_CHILD_ALERT + 1).plusDays(1));
+            int numberOfChildren = alertsReadIndex.findChildrenByAddress("1509 Culver St").size();
+            int numberOfChildrenForStation = alertsReadIndex.countChildrenByStationNumber(3);
+
+            alertsReadIndex.saveMedicalRecord(medicalRecord);
+            assertEquals(numberOfChildren + 1, alertsReadIndex.findChildrenByAddress("1509 Culver St").size());
+            assertEquals(numberOfChildrenForStation + 1, alertsReadIndex.countChildrenByStationNumber(3));
+
+            //WHEN
+            alertsReadIndex.rollOver(today + 1);
+
+            //THEN
+            assertEquals(numberOfChildren, alertsReadIndex.findChildrenByAddress("1509 Culver St").size());
+            assertEquals(numberOfChildrenForStation, alertsReadIndex.countChildrenByStationNumber(3));
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the index built WHEN updating a medical record THEN the persons are returned with it")
+        public void saveMedicalRecordTest() {
+            //GIVEN
+            MedicalRecord medicalRecord = new MedicalRecord();
+            medicalRecord.setFirstName("John");
+            medicalRecord.setLastName("Boyd");
+            medicalRecord.setBirthDate(LocalDate.of(1984, 3, 6));
+            medicalRecord.setMedications(Collections.singletonList("aznol:350mg"));
+
+            //WHEN
+            alertsReadIndex.saveMedicalRecord(medicalRecord);
+
+            //THEN
+            MedicalRecord indexedMedicalRecord =
+                    alertsReadIndex.findAllByFirstNameAndLastName("John", "Boyd").get(0).getMedicalRecord();
+            assertEquals(Collections.singletonList("aznol:350mg"), indexedMedicalRecord.getMedications());
+            assertTrue(indexedMedicalRecord.getAllergies().isEmpty());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a snapshot being read and a medical record being updated " +
+                "WHEN querying the index from another thread during the snapshot " +
+                "THEN the query is answered without waiting for the update, which is done after the snapshot")
+        public void readSnapshotTest_WithWriterWaiting() throws Exception {
+            //GIVEN
+            MedicalRecord medicalRecord = new MedicalRecord();
+            medicalRecord.setFirstName("John");
+            medicalRecord.setLastName("Boyd");
+            medicalRecord.setBirthDate(LocalDate.of(1984, 3, 6));
+            medicalRecord.setMedications(Collections.singletonList("snapshot_medication"));
+            ReentrantReadWriteLock lock = (ReentrantReadWriteLock) ReflectionTestUtils
+                    .getField((Object) AopTestUtils.getTargetObject(alertsReadIndex), "lock");
+            ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+            try {
+                //WHEN
+                List<String> medicationsInSnapshot = alertsReadIndex.readSnapshot(() -> {
+                    try {
+                        Future<?> update = executorService.submit(() -> alertsReadIndex.saveMedicalRecord(medicalRecord));
+                        while (!lock.hasQueuedThreads()) {
+                            Thread.sleep(10);
+                        }
+                        List<String> medications = executorService.submit(() -> alertsReadIndex
+                                .findAllByFirstNameAndLastName("John", "Boyd").get(0).getMedicalRecord().getMedications())
+                                .get(5, TimeUnit.SECONDS);
+                        assertFalse(update.isDone());
+                        return medications;
+                    } catch (Exception exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                });
+
+                //THEN
+                assertFalse(medicationsInSnapshot.contains("snapshot_medication"));
+                executorService.shutdown();
+                assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+                assertEquals(Collections.singletonList("snapshot_medication"), alertsReadIndex
+                        .findAllByFirstNameAndLastName("John", "Boyd").get(0).getMedicalRecord().getMedications());
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+
+    private void resetIndex() {
+        //cast to Object for the field to be set on the target object, and not as a static field of its class
+        ReflectionTestUtils.setField((Object) AopTestUtils.getTargetObject(alertsReadIndex), "indexes", null);
+    }
+}
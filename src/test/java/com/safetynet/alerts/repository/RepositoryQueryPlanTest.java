@@ -0,0 +1,148 @@
+package com.safetynet.alerts.repository;
+
+import com.safetynet.alerts.service.DataReloadService;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Dump the H2 execution plan (EXPLAIN) of the query of each repository method
+ * and check that none of them reads a table by a full scan
+ * NB : the SQL of the queries is recorded by a Hibernate statement inspector
+ */
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.safetynet.alerts.repository.RepositoryQueryPlanTest$SqlRecorder")
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private FireStationRepository fireStationRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private DataReloadService dataReloadService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        //load the data in DB, so that the plans are the ones of a filled DB
+        ReflectionTestUtils.setField(dataReloadService, "dataInputFilePath", "test_complete_data.json");
+        dataReloadService.reloadDataFromFile();
+        SqlRecorder.clear();
+    }
+
+    @AfterEach
+    private void tearDownPerTest() {
+        personRepository.deleteAll();
+        medicalRecordRepository.deleteAll();
+        fireStationRepository.deleteAll();
+    }
+
+
+    /**
+     * the repository methods, each one called with its parameters
+     * (given in the order of the parameters of its SQL query)
+     *
+     * @return for each method, its name and a function calling it and returning its parameters
+     */
+    private static Stream<Arguments> repositoryMethods() {
+        return Stream.of(
+                Arguments.of("PersonRepository.findAllByCity", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findAllByCity("Culver"), "Culver")),
+                Arguments.of("PersonRepository.findAllByFirstNameAndLastName", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findAllByFirstNameAndLastName("John", "Boyd"), "John", "Boyd")),
+                Arguments.of("PersonRepository.findAllByFirstNameNotAndLastName", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findAllByFirstNameNotAndLastName("John", "Boyd"), "John", "Boyd")),
+                Arguments.of("PersonRepository.findAllByAddress", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findAllByAddress("1509 Culver St"), "1509 Culver St")),
+                Arguments.of("PersonRepository.findAllByFireStation_StationNumber", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findAllByFireStation_StationNumber(3), 3)),
+                Arguments.of("PersonRepository.findAllByFireStation_StationNumberIn", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findAllByFireStation_StationNumberIn(Arrays.asList(1, 2)), 1, 2)),
+                Arguments.of("PersonRepository.findByFirstNameAndLastName", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findByFirstNameAndLastName("John", "Boyd"), "John", "Boyd")),
+                Arguments.of("PersonRepository.findDistinctEmailsByCity", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findDistinctEmailsByCity("Culver"), "Culver")),
+                Arguments.of("PersonRepository.findDistinctPhonesByFireStation_StationNumber", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.personRepository.findDistinctPhonesByFireStation_StationNumber(3), 3)),
+                Arguments.of("FireStationRepository.findByAddress", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.fireStationRepository.findByAddress("29 15th St"), "29 15th St")),
+                Arguments.of("FireStationRepository.findAllByStationNumber", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.fireStationRepository.findAllByStationNumber(3), 3)),
+                Arguments.of("MedicalRecordRepository.findAllByFirstNameAndLastName", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.medicalRecordRepository.findAllByFirstNameAndLastName("John", "Boyd"), "John", "Boyd")),
+                Arguments.of("MedicalRecordRepository.findByFirstNameAndLastName", (Function<RepositoryQueryPlanTest, List<Object>>)
+                        test -> call(test.medicalRecordRepository.findByFirstNameAndLastName("John", "Boyd"), "John", "Boyd"))
+        );
+    }
+
+    private static List<Object> call(Object result, Object... parameters) {
+        return Arrays.asList(parameters);
+    }
+
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryMethods")
+    @DisplayName("GIVEN data in DB WHEN explaining the query of a repository method THEN no table is fully scanned")
+    public void queryPlanTest(String methodName, Function<RepositoryQueryPlanTest, List<Object>> repositoryCall) {
+        //WHEN
+        List<Object> parameters = repositoryCall.apply(this);
+        //the first statement is the one of the method, the next ones (if any) loading the associations by id
+        String sql = SqlRecorder.getStatements().get(0);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters.toArray());
+        log.info(methodName + " : " + plan);
+
+        //THEN
+        assertFalse(plan.contains(".tableScan"), methodName + " does a full scan : " + plan);
+    }
+
+
+    /**
+     * Hibernate statement inspector recording the SQL statements sent to the DB
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        private static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        static List<String> getStatements() {
+            return new ArrayList<>(statements);
+        }
+
+        static void clear() {
+            statements.clear();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.safetynet.alerts.service;
+
+import com.safetynet.alerts.model.dto.FireStationCoverageDTO;
+import com.safetynet.alerts.model.dto.SubQueryDTO;
+import com.safetynet.alerts.model.dto.SubQueryResultDTO;
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import com.safetynet.alerts.testconstants.TestConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.safetynet.alerts.constants.BatchConstants.FIRE_STATION_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.MISSING_OR_INVALID_PARAMETERS;
+import static com.safetynet.alerts.constants.BatchConstants.PHONE_ALERT_ENDPOINT;
+import static com.safetynet.alerts.constants.BatchConstants.UNKNOWN_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class AlertsBatchServiceTest {
+
+    @MockBean
+    private PersonService personServiceMock;
+
+    @MockBean
+    private FireStationService fireStationServiceMock;
+
+    @MockBean
+    private AlertsReadIndex alertsReadIndexMock;
+
+    @Autowired
+    private IAlertsBatchService alertsBatchService;
+
+    private List<SubQueryDTO> listOfSubQueries;
+
+    private FireStationCoverageDTO fireStationCoverageDTO;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        fireStationCoverageDTO = new FireStationCoverageDTO();
+        fireStationCoverageDTO.setNumberOfAdults(3);
+        when(personServiceMock.getFireStationCoverageByStationNumber(TestConstants.EXISTING_STATION_NUMBER))
+                .thenReturn(fireStationCoverageDTO);
+
+        listOfSubQueries = Arrays.asList(
+                toSubQuery(FIRE_STATION_ENDPOINT, "stationNumber", TestConstants.EXISTING_STATION_NUMBER.toString()),
+                toSubQuery(PHONE_ALERT_ENDPOINT, "firestation", "not a number"),
+                toSubQuery("/unknown", "address", TestConstants.EXISTING_ADDRESS));
+    }
+
+    private static SubQueryDTO toSubQuery(String endpoint, String parameterName, String parameterValue) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(parameterName, parameterValue);
+        SubQueryDTO subQueryDTO = new SubQueryDTO();
+        subQueryDTO.setEndpoint(endpoint);
+        subQueryDTO.setParameters(parameters);
+        return subQueryDTO;
+    }
+
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getSubQueryResults tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getSubQueryResults tests")
+    class GetSubQueryResultsTest {
+
+        @Test
+        @DisplayName("GIVEN the read index ready " +
+                "WHEN getting the results of a batch of sub-queries " +
+                "THEN they are answered on a snapshot of the index, each one with its status, in the order of the batch")
+        public void getSubQueryResultsTest_WithIndexReady() {
+            //GIVEN
+            when(alertsReadIndexMock.isReady()).thenReturn(true);
+            when(alertsReadIndexMock.readSnapshot(any()))
+                    .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+
+            //WHEN
+            List<SubQueryResultDTO> listOfResults = alertsBatchService.getSubQueryResults(listOfSubQueries);
+
+            //THEN
+            assertEquals(3, listOfResults.size());
+            assertEquals(FIRE_STATION_ENDPOINT, listOfResults.get(0).getEndpoint());
+            assertEquals(200, listOfResults.get(0).getStatus());
+            assertSame(fireStationCoverageDTO, listOfResults.get(0).getBody());
+            assertEquals(400, listOfResults.get(1).getStatus());
+            assertEquals(MISSING_OR_INVALID_PARAMETERS, listOfResults.get(1).getError());
+            assertEquals(404, listOfResults.get(2).getStatus());
+            assertEquals(UNKNOWN_ENDPOINT, listOfResults.get(2).getError());
+            verify(alertsReadIndexMock, Mockito.times(1)).readSnapshot(any());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN the read index not ready " +
+                "WHEN getting the results of a batch of sub-queries " +
+                "THEN they are answered one after the other, each one with its status")
+        public void getSubQueryResultsTest_WithIndexNotReady() {
+            //GIVEN
+            when(alertsReadIndexMock.isReady()).thenReturn(false);
+
+            //WHEN
+            List<SubQueryResultDTO> listOfResults = alertsBatchService.getSubQueryResults(listOfSubQueries);
+
+            //THEN
+            assertEquals(3, listOfResults.size());
+            assertSame(fireStationCoverageDTO, listOfResults.get(0).getBody());
+            assertEquals(400, listOfResults.get(1).getStatus());
+            assertEquals(404, listOfResults.get(2).getStatus());
+            verify(alertsReadIndexMock, Mockito.never()).readSnapshot(any());
+            verify(personServiceMock, Mockito.never()).getPhoneAlertByFireStation(any());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN a sub-query without body from its service " +
+                "WHEN getting the results of the batch " +
+                "THEN the status of the sub-query is bad request")
+        public void getSubQueryResultsTest_WithNoBody() {
+            //GIVEN
+            SubQueryDTO subQueryDTO = new SubQueryDTO();
+            subQueryDTO.setEndpoint(PHONE_ALERT_ENDPOINT);
+            when(personServiceMock.getPhoneAlertByFireStation(null)).thenReturn(null);
+
+            //WHEN
+            List<SubQueryResultDTO> listOfResults =
+                    alertsBatchService.getSubQueryResults(Collections.singletonList(subQueryDTO));
+
+            //THEN
+            assertEquals(400, listOfResults.get(0).getStatus());
+            assertNull(listOfResults.get(0).getBody());
+            verify(personServiceMock, Mockito.times(1)).getPhoneAlertByFireStation(null);
+        }
+
+
+        @Test
+        @DisplayName("GIVEN no sub-query or more than the maximum WHEN getting the results of the batch " +
+                "THEN null is returned")
+        public void getSubQueryResultsTest_WithNoOrTooManySubQueries() {
+            //GIVEN
+            List<SubQueryDTO> tooManySubQueries = new ArrayList<>();
+            for (int i = 0; i <= 20; i++) {
+                tooManySubQueries.add(listOfSubQueries.get(0));
+            }
+
+            //THEN
+            assertNull(alertsBatchService.getSubQueryResults(new ArrayList<>()));
+            assertNull(alertsBatchService.getSubQueryResults(null));
+            assertNull(alertsBatchService.getSubQueryResults(tooManySubQueries));
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.safetynet.alerts.service;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.ReloadReport;
+import com.safetynet.alerts.repository.AlertsReadIndex;
+import com.safetynet.alerts.repository.FireStationRepository;
+import com.safetynet.alerts.repository.MedicalRecordRepository;
+import com.safetynet.alerts.repository.PersonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class DataReloadServiceTest {
+
+    @Autowired
+    private DataReloadService dataReloadService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private FireStationRepository fireStationRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @SpyBean
+    private AlertsReadIndex alertsReadIndex;
+
+    @AfterEach
+    private void tearDownPerTest() {
+        //the index is not ready anymore for the other tests
+        ReflectionTestUtils.setField((Object) AopTestUtils.getTargetObject(alertsReadIndex), "indexes", null);
+        ReflectionTestUtils.setField(dataReloadService, "maxNbOfChangesApplied", 1000);
+        personRepository.deleteAll();
+        medicalRecordRepository.deleteAll();
+        fireStationRepository.deleteAll();
+    }
+
+
+    @Test
+    @DisplayName("GIVEN an empty DB WHEN reloading a correct and complete json file " +
+            "THEN all persons, fire stations and medical records are inserted")
+    public void reloadDataFromFileTest_WithEmptyDB() {
+        //GIVEN
+        ReflectionTestUtils.setField(dataReloadService, "dataInputFilePath", "test_complete_data.json");
+
+        //WHEN
+        ReloadReport reloadReport = dataReloadService.reloadDataFromFile();
+
+        //THEN 23 medical records, 11 fire stations and 23 persons in file
+        assertTrue(reloadReport.isSuccessful());
+        assertEquals(23, reloadReport.getNbOfInsertedPersons());
+        assertEquals(11, reloadReport.getNbOfInsertedFireStations());
+        assertEquals(23, reloadReport.getNbOfInsertedMedicalRecords());
+        assertEquals(57, reloadReport.getNbOfChanges());
+        assertEquals(23, personRepository.count());
+        assertEquals(11, fireStationRepository.count());
+        assertEquals(23, medicalRecordRepository.count());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a missing json file WHEN reloading it THEN no change is applied")
+    public void reloadDataFromFileTest_WithMissingFile() {
+        //GIVEN
+        ReflectionTestUtils.setField(dataReloadService, "dataInputFilePath", "test_missing_data.json");
+
+        //WHEN
+        ReloadReport reloadReport = dataReloadService.reloadDataFromFile();
+
+        //THEN
+        assertFalse(reloadReport.isSuccessful());
+        assertEquals(0, reloadReport.getNbOfChanges());
+        assertEquals(0, personRepository.count());
+    }
+
+
+    @Nested
+    @DisplayName("reloadDataFromFile() tests with data already loaded")
+    class ReloadDataFromFileWithDataLoadedTests {
+
+        @BeforeEach
+        private void setUpPerTest() {
+            ReflectionTestUtils.setField(dataReloadService, "dataInputFilePath", "test_complete_data.json");
+            dataReloadService.reloadDataFromFile();
+        }
+
+
+        @Test
+        @DisplayName("GIVEN data loaded from a json file WHEN reloading the same file THEN no change is applied")
+        public void reloadDataFromFileTest_WithSameFile() {
+            //WHEN
+            ReloadReport reloadReport = dataReloadService.reloadDataFromFile();
+
+            //THEN
+            assertTrue(reloadReport.isSuccessful());
+            assertEquals(0, reloadReport.getNbOfChanges());
+            assertEquals(23, personRepository.count());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN data loaded from a json file WHEN reloading a modified file " +
+                "THEN only the inserts, updates and deletes are applied")
+        public void reloadDataFromFileTest_WithModifiedFile() {
+            //GIVEN
+            ReflectionTestUtils.setField(dataReloadService, "dataInputFilePath", "test_reload_data.json");
+
+            //WHEN
+            ReloadReport reloadReport = dataReloadService.reloadDataFromFile();
+
+            //THEN a person, a fire station and a medical record added and another ones deleted,
+            // a phone number, a station number and medications updated
+            assertTrue(reloadReport.isSuccessful());
+            assertEquals(1, reloadReport.getNbOfInsertedPersons());
+            assertEquals(1, reloadReport.getNbOfUpdatedPersons());
+            assertEquals(1, reloadReport.getNbOfDeletedPersons());
+            assertEquals(1, reloadReport.getNbOfInsertedFireStations());
+            assertEquals(1, reloadReport.getNbOfUpdatedFireStations());
+            assertEquals(1, reloadReport.getNbOfDeletedFireStations());
+            assertEquals(1, reloadReport.getNbOfInsertedMedicalRecords());
+            assertEquals(1, reloadReport.getNbOfUpdatedMedicalRecords());
+            assertEquals(1, reloadReport.getNbOfDeletedMedicalRecords());
+
+            assertEquals(23, personRepository.count());
+            assertEquals("841-874-0000", personRepository.findByFirstNameAndLastName("John", "Boyd").getPhone());
+            assertNull(personRepository.findByFirstNameAndLastName("Eric", "Cadigan"));
+
+            Person addedPerson = personRepository.findByFirstNameAndLastName("Jane", "Doe");
+            assertEquals("Jane", addedPerson.getMedicalRecord().getFirstName());
+            assertEquals(5, addedPerson.getFireStation().getStationNumber());
+
+            FireStation updatedFireStation = fireStationRepository.findByAddress("29 15th St");
+            assertEquals(4, updatedFireStation.getStationNumber());
+        }
+
+
+        @Test
+        @DisplayName("GIVEN data loaded from a json file and the read index built WHEN reloading a modified file " +
+                "THEN only the changes are applied to the read index, which is not built again")
+        public void reloadDataFromFileTest_WithModifiedFileAndReadIndex() {
+            //GIVEN
+            alertsReadIndex.rebuild();
+            clearInvocations(alertsReadIndex);
+            ReflectionTestUtils.setField(dataReloadService, "dataInputFilePath", "test_reload_data.json");
+
+            //WHEN
+            ReloadReport reloadReport = dataReloadService.reloadDataFromFile();
+
+            //THEN
+            assertTrue(reloadReport.isSuccessful());
+            verify(alertsReadIndex, never()).rebuild();
+            verify(alertsReadIndex, times(2)).savePerson(any(Person.class));
+            verify(alertsReadIndex).deletePerson("Eric", "Cadigan");
+            assertReadIndexReloaded();
+        }
+
+
+        @Test
+        @DisplayName("GIVEN data loaded from a json file and the read index built " +
+                "WHEN reloading a file with more changes than applied one by one " +
+                "THEN the read index is built again")
+        public void reloadDataFromFileTest_WithTooManyChangesForReadIndex() {
+            //GIVEN
+            alertsReadIndex.rebuild();
+            clearInvocations(alertsReadIndex);
+            ReflectionTestUtils.setField(dataReloadService, "dataInputFilePath", "test_reload_data.json");
+            ReflectionTestUtils.setField(dataReloadService, "maxNbOfChangesApplied", 5);
+
+            //WHEN
+            ReloadReport reloadReport = dataReloadService.reloadDataFromFile();
+
+            //THEN
+            assertTrue(reloadReport.isSuccessful());
+            verify(alertsReadIndex).rebuild();
+            verify(alertsReadIndex, never()).savePerson(any(Person.class));
+            assertReadIndexReloaded();
+        }
+
+
+        private void assertReadIndexReloaded() {
+            assertTrue(alertsReadIndex.isReady());
+            assertEquals("841-874-0000",
+                    alertsReadIndex.findAllByFirstNameAndLastName("John", "Boyd").get(0).getPhone());
+            assertTrue(alertsReadIndex.findAllByFirstNameAndLastName("Eric", "Cadigan").isEmpty());
+
+            Person addedPerson = alertsReadIndex.findAllByFirstNameAndLastName("Jane", "Doe").get(0);
+            assertEquals("Jane", addedPerson.getMedicalRecord().getFirstName());
+            assertEquals(5, addedPerson.getFireStation().getStationNumber());
+
+            assertEquals(4, alertsReadIndex.findFireStationByAddress("29 15th St").getStationNumber());
+        }
+    }
+}
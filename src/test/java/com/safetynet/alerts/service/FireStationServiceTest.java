@@ -7,9 +7,11 @@ import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.FireStation;
 import com.safetynet.alerts.model.MedicalRecord;
 import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.FireDTO;
 import com.safetynet.alerts.model.dto.FireStationDTO;
 import com.safetynet.alerts.model.dto.FloodDTO;
+import com.safetynet.alerts.repository.CursorReader;
 import com.safetynet.alerts.repository.FireStationRepository;
 import com.safetynet.alerts.repository.PersonRepository;
 import org.junit.jupiter.api.BeforeAll;
@@ -21,13 +23,21 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static com.safetynet.alerts.constants.BatchConstants.MISSING_ADDRESS;
+import static com.safetynet.alerts.constants.BatchConstants.NO_PERSON_FOUND_FOR_ADDRESS;
+import static com.safetynet.alerts.repository.FireStationRepository.ALL_FIRE_STATIONS_QUERY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -35,10 +45,12 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -52,6 +64,9 @@ class FireStationServiceTest {
     @MockBean
     private PersonRepository personRepositoryMock;
 
+    @MockBean
+    private CursorReader cursorReaderMock;
+
     @Autowired
     private IFireStationService fireStationService;
 
@@ -152,21 +167,26 @@ class FireStationServiceTest {
 
 
     /* ----------------------------------------------------------------------------------------------------------------------
-     *                  getAllFireStations tests
+     *                  streamAllFireStations tests
      * ----------------------------------------------------------------------------------------------------------------------*/
 
     @Nested
-    @DisplayName("getAllFireStations tests")
-    class GetAllFireStationsTest {
+    @DisplayName("streamAllFireStations tests")
+    class StreamAllFireStationsTest {
         @Test
-        @DisplayName("GIVEN fire stations in DB WHEN asking for all fire stations " +
-                "THEN a list of fire stations DTO is returned")
-        public void getAllFireStationsTest_WithFireStationDataInDb() {
+        @DisplayName("GIVEN fire stations in DB WHEN streaming all fire stations " +
+                "THEN each fire station read through the cursor is given to the consumer as a DTO")
+        public void streamAllFireStationsTest_WithFireStationDataInDb() {
             //GIVEN
             List<FireStation> listOfFireStations = new ArrayList<>();
             fireStation.setFireStationId(TestConstants.EXISTING_STATION_NUMBER.longValue());
             listOfFireStations.add(fireStation);
-            when(fireStationRepositoryMock.findAll()).thenReturn(listOfFireStations);
+            when(cursorReaderMock.forEachChunk(eq(ALL_FIRE_STATIONS_QUERY), eq(FireStation.class), any()))
+                    .thenAnswer(invocation -> {
+                        Consumer<List<FireStation>> chunkConsumer = invocation.getArgument(2);
+                        chunkConsumer.accept(listOfFireStations);
+                        return (long) listOfFireStations.size();
+                    });
 
             List<FireStationDTO> expectedListOfFireStationsDTO = new ArrayList<>();
             FireStationDTO fireStationDTO = new FireStationDTO();
@@ -175,21 +195,58 @@ class FireStationServiceTest {
             fireStationDTO.setAddress(fireStation.getAddress());
             expectedListOfFireStationsDTO.add(fireStationDTO);
 
+            //WHEN
+            List<FireStationDTO> streamedListOfFireStationsDTO = new ArrayList<>();
+            long nbOfFireStations = fireStationService.streamAllFireStations(streamedListOfFireStationsDTO::add);
+
             //THEN
-            assertEquals(expectedListOfFireStationsDTO, fireStationService.getAllFireStations());
-            verify(fireStationRepositoryMock, Mockito.times(1)).findAll();
+            assertEquals(1, nbOfFireStations);
+            assertEquals(expectedListOfFireStationsDTO, streamedListOfFireStationsDTO);
+            verify(fireStationRepositoryMock, Mockito.never()).findAll();
         }
 
 
         @Test
-        @DisplayName("GIVEN an exception WHEN asking for all fire stations THEN an empty list is returned")
-        public void getAllFireStationsTest_WithException() {
+        @DisplayName("GIVEN an exception when reading the cursor WHEN streaming all fire stations " +
+                "THEN the exception is thrown (the response being already started)")
+        public void streamAllFireStationsTest_WithException() {
             //GIVEN
-            when(fireStationRepositoryMock.findAll()).thenThrow(IllegalArgumentException.class);
+            when(cursorReaderMock.forEachChunk(eq(ALL_FIRE_STATIONS_QUERY), eq(FireStation.class), any()))
+                    .thenThrow(IllegalArgumentException.class);
 
             //THEN
-            assertThat(fireStationService.getAllFireStations()).isEmpty();
-            verify(fireStationRepositoryMock, Mockito.times(1)).findAll();
+            List<FireStationDTO> streamedListOfFireStationsDTO = new ArrayList<>();
+            assertThrows(IllegalArgumentException.class,
+                    () -> fireStationService.streamAllFireStations(streamedListOfFireStationsDTO::add));
+            assertThat(streamedListOfFireStationsDTO).isEmpty();
+        }
+    }
+
+
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getPageOfFireStations tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+
+    @Nested
+    @DisplayName("getPageOfFireStations tests")
+    class GetPageOfFireStationsTest {
+        @Test
+        @DisplayName("GIVEN fire stations in DB after the last fire station of the previous page " +
+                "WHEN asking for the next page THEN they are read after its id, limited to the page size")
+        public void getPageOfFireStationsTest_WithFireStationDataInDb() {
+            //GIVEN
+            fireStation.setFireStationId(101L);
+            when(fireStationRepositoryMock.findAllByFireStationIdGreaterThanOrderByFireStationId(100L,
+                    PageRequest.of(0, 10)))
+                    .thenReturn(Collections.singletonList(fireStation));
+
+            //WHEN
+            List<FireStationDTO> pageOfFireStationsDTO = fireStationService.getPageOfFireStations(100L, 10);
+
+            //THEN
+            assertEquals(1, pageOfFireStationsDTO.size());
+            assertEquals(101L, pageOfFireStationsDTO.get(0).getFireStationId());
+            assertEquals(fireStation.getAddress(), pageOfFireStationsDTO.get(0).getAddress());
         }
     }
 
@@ -277,6 +334,76 @@ class FireStationServiceTest {
             verify(fireStationRepositoryMock, Mockito.times(0)).findByAddress(null);
         }
 
+        @Test
+        @DisplayName("GIVEN citizens living at the requested address found in repository " +
+                "WHEN asking for fire station coverage information with only the lastName and phone fields " +
+                "THEN the citizens are returned without their medications and allergies")
+        public void getFireStationCoverageByAddressTest_WithFields() {
+            //GIVEN
+            List<Person> listOfPersons = new ArrayList<>();
+            listOfPersons.add(adult);
+
+            when(personRepositoryMock.findAllByAddress(adult.getAddress())).thenReturn(listOfPersons);
+            when(fireStationRepositoryMock.findByAddress(adult.getAddress())).thenReturn(fireStation);
+
+            //WHEN
+            FireDTO fireDTO = fireStationService.getFireStationCoverageByAddress(adult.getAddress(),
+                    new HashSet<>(Arrays.asList("lastName", "phone")));
+
+            //THEN
+            assertEquals(1, fireDTO.getPersonCoveredDTOList().size());
+            assertEquals(adult.getPhone(), fireDTO.getPersonCoveredDTOList().get(0).getPhone());
+            assertNull(fireDTO.getPersonCoveredDTOList().get(0).getMedications());
+            assertNull(fireDTO.getPersonCoveredDTOList().get(0).getAllergies());
+            assertEquals(fireStation.getStationNumber(), fireDTO.getStationNumber());
+        }
+
+    }
+
+
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getFireStationCoverageByAddresses tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getFireStationCoverageByAddresses tests")
+    class GetFireStationCoverageByAddressesTest {
+
+        @Test
+        @DisplayName("GIVEN citizens living at one of the requested addresses found in repository " +
+                "WHEN asking for fire station coverage information on a batch of addresses " +
+                "THEN the persons and fire stations are read with one query each, " +
+                "and the addresses without person are reported as misses")
+        public void getFireStationCoverageByAddressesTest_WithPartialMisses() {
+            //GIVEN
+            when(personRepositoryMock.findAllByAddressIn(anyCollection())).thenReturn(Arrays.asList(adult, child));
+            when(fireStationRepositoryMock.findAllByAddressIn(anyCollection()))
+                    .thenReturn(Collections.singletonList(fireStation));
+
+            //WHEN
+            BatchDTO<FireDTO> batchDTO = fireStationService.getFireStationCoverageByAddresses(
+                    Arrays.asList(adult.getAddress(), TestConstants.ADDRESS_NOT_FOUND, ""));
+
+            //THEN
+            assertEquals(1, batchDTO.getResults().size());
+            assertEquals(2, batchDTO.getResults().get(adult.getAddress()).getPersonCoveredDTOList().size());
+            assertEquals(fireStation.getStationNumber(), batchDTO.getResults().get(adult.getAddress()).getStationNumber());
+            assertEquals(NO_PERSON_FOUND_FOR_ADDRESS, batchDTO.getMisses().get(TestConstants.ADDRESS_NOT_FOUND));
+            assertEquals(MISSING_ADDRESS, batchDTO.getMisses().get(""));
+            verify(personRepositoryMock, Mockito.times(1)).findAllByAddressIn(
+                    new LinkedHashSet<>(Arrays.asList(adult.getAddress(), TestConstants.ADDRESS_NOT_FOUND)));
+            verify(fireStationRepositoryMock, Mockito.times(1)).findAllByAddressIn(anyCollection());
+            verify(personRepositoryMock, Mockito.times(0)).findAllByAddress(anyString());
+        }
+
+        @Test
+        @DisplayName("GIVEN an empty list of addresses " +
+                "WHEN asking for fire station coverage information on a batch of addresses " +
+                "THEN no batch is returned")
+        public void getFireStationCoverageByAddressesTest_WithNoAddress() {
+            //THEN
+            assertNull(fireStationService.getFireStationCoverageByAddresses(new ArrayList<>()));
+            verify(personRepositoryMock, Mockito.times(0)).findAllByAddressIn(anyCollection());
+        }
     }
 
 
@@ -292,11 +419,12 @@ class FireStationServiceTest {
                 "THEN a list of person information grouped fire station number and by address are returned")
         public void getFloodByStationNumbersTest_WithInfoInRepository() {
             //GIVEN
-            List<Person> listOfPersonsForStation3 = new ArrayList<>();
-            listOfPersonsForStation3.add(adult);
-            listOfPersonsForStation3.add(child);
+            adult.setFireStation(fireStation);
+            child.setFireStation(fireStation);
+            List<Person> listOfPersons = new ArrayList<>();
+            listOfPersons.add(adult);
+            listOfPersons.add(child);
 
-            List<Person> listOfPersonsForStation4 = new ArrayList<>();
             Person person3 = new Person();
             person3.setFirstName("FSST_first_name_3");
             person3.setLastName("FSST_last_name_3");
@@ -308,14 +436,19 @@ class FireStationServiceTest {
             medicalRecord3.setLastName(person3.getLastName());
             medicalRecord3.setBirthDate(TestConstants.ADULT_BIRTHDATE);
             person3.setMedicalRecord(medicalRecord3);
-            listOfPersonsForStation4.add(person3);
+
+            FireStation fireStation4 = new FireStation();
+            fireStation4.setStationNumber(4);
+            fireStation4.setAddress(person3.getAddress());
+            person3.setFireStation(fireStation4);
+            listOfPersons.add(person3);
 
             List<Integer> stationNumbers = new ArrayList<>();
-            stationNumbers.add(3);
+            stationNumbers.add(TestConstants.EXISTING_STATION_NUMBER);
             stationNumbers.add(4);
 
-            when(personRepositoryMock.findAllByFireStation_StationNumber(3)).thenReturn(listOfPersonsForStation3);
-            when(personRepositoryMock.findAllByFireStation_StationNumber(4)).thenReturn(listOfPersonsForStation4);
+            when(personRepositoryMock.findAllByFireStation_StationNumberIn(new LinkedHashSet<>(stationNumbers)))
+                    .thenReturn(listOfPersons);
 
             //WHEN
             List<FloodDTO> listOfFloodDTO = fireStationService.getFloodByStationNumbers(stationNumbers);
@@ -324,8 +457,9 @@ class FireStationServiceTest {
             assertEquals(2, listOfFloodDTO.size());
             assertTrue(listOfFloodDTO.get(0).getPersonsCoveredByAddress().containsKey(adult.getAddress()));
             assertTrue(listOfFloodDTO.get(1).getPersonsCoveredByAddress().containsKey(person3.getAddress()));
-            verify(personRepositoryMock, Mockito.times(1)).findAllByFireStation_StationNumber(3);
-            verify(personRepositoryMock, Mockito.times(1)).findAllByFireStation_StationNumber(4);
+            assertEquals(1, listOfFloodDTO.get(1).getPersonsCoveredByAddress().get(person3.getAddress()).size());
+            verify(personRepositoryMock, Mockito.times(1)).findAllByFireStation_StationNumberIn(anyCollection());
+            verify(personRepositoryMock, Mockito.times(0)).findAllByFireStation_StationNumber(anyInt());
         }
 
         @Test
@@ -334,8 +468,8 @@ class FireStationServiceTest {
                 "THEN the returned list of FloodDTO is empty")
         public void getFloodByStationNumbersTest_WithNoPersonInRepository() {
             //GIVEN
-            when(personRepositoryMock.findAllByFireStation_StationNumber(TestConstants.NEW_STATION_NUMBER))
-                    .thenReturn(new ArrayList<>());
+            when(personRepositoryMock.findAllByFireStation_StationNumberIn(
+                    Collections.singleton(TestConstants.NEW_STATION_NUMBER))).thenReturn(new ArrayList<>());
 
             //WHEN
             List<FloodDTO> listOfFloodDTO
@@ -343,8 +477,7 @@ class FireStationServiceTest {
 
             //THEN
             assertThat(listOfFloodDTO).isEmpty();
-            verify(personRepositoryMock, Mockito.times(1))
-                    .findAllByFireStation_StationNumber(TestConstants.NEW_STATION_NUMBER);
+            verify(personRepositoryMock, Mockito.times(1)).findAllByFireStation_StationNumberIn(anyCollection());
         }
 
         @Test
@@ -1,5 +1,7 @@
 package com.safetynet.alerts.service;
 
+import com.safetynet.alerts.model.LinkingReport;
+import com.safetynet.alerts.util.DataLoadStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -9,8 +11,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -28,6 +35,9 @@ class JsonParserServiceTest {
     @Autowired
     private IFileParserService jsonParserService;
 
+    @Autowired
+    private DataLoadStatus dataLoadStatus;
+
 
     @Test
     @DisplayName("GIVEN a correct and complete json file WHEN parsing the file " +
@@ -46,6 +56,67 @@ class JsonParserServiceTest {
     }
 
 
+    @Test
+    @DisplayName("GIVEN a correct and complete json file and a chunk size smaller than the sections WHEN parsing the file " +
+            "THEN lists of persons, fire stations and medical records are saved by chunks")
+    public void readDataFromFileTest_WithCorrectFileReadByChunks() {
+        //GIVEN
+        ReflectionTestUtils.setField(jsonParserService, "dataInputFilePath", "test_complete_data.json");
+        ReflectionTestUtils.setField(jsonParserService, "chunkSize", 10);
+
+        //WHEN
+        jsonParserService.readDataFromFile();
+
+        //THEN 23 medical records, 11 fire stations and 23 persons in file
+        verify(medicalRecordServiceMock, Mockito.times(3)).saveListOfMedicalRecords(anyList());
+        verify(fireStationServiceMock, Mockito.times(2)).saveListOfFireStations(anyList());
+        verify(personServiceMock, Mockito.times(3)).saveListOfPersons(anyList());
+
+        ReflectionTestUtils.setField(jsonParserService, "chunkSize", 1000);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a correct and complete json file WHEN parsing the file " +
+            "THEN all persons are linked to their medical record and their fire station")
+    public void readDataFromFileTest_WithCorrectFileLinkingReport() {
+        //GIVEN
+        ReflectionTestUtils.setField(jsonParserService, "dataInputFilePath", "test_complete_data.json");
+        when(medicalRecordServiceMock.saveListOfMedicalRecords(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fireStationServiceMock.saveListOfFireStations(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(personServiceMock.saveListOfPersons(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //WHEN
+        jsonParserService.readDataFromFile();
+
+        //THEN
+        LinkingReport linkingReport = ((JsonParserService) jsonParserService).getLinkingReport();
+        assertNotNull(linkingReport);
+        assertEquals(23, linkingReport.getNbOfLinkedPersons());
+        assertTrue(linkingReport.isComplete());
+        assertTrue(linkingReport.getAddressesWithoutFireStation().isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a chunk of medical records not saved WHEN parsing the file " +
+            "THEN the persons are not saved and the load is reported as failed")
+    public void readDataFromFileTest_WithChunkNotSaved() {
+        //GIVEN
+        ReflectionTestUtils.setField(jsonParserService, "dataInputFilePath", "test_complete_data.json");
+        when(medicalRecordServiceMock.saveListOfMedicalRecords(anyList())).thenReturn(null);
+        when(fireStationServiceMock.saveListOfFireStations(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //WHEN
+        jsonParserService.readDataFromFile();
+
+        //THEN
+        verify(medicalRecordServiceMock, Mockito.times(1)).saveListOfMedicalRecords(anyList());
+        verify(personServiceMock, Mockito.times(0)).saveListOfPersons(anyList());
+        assertFalse(dataLoadStatus.isSuccessful());
+    }
+
+
     @Test
     @DisplayName("GIVEN an empty json file WHEN parsing the file THEN no data are saved")
     public void readDataFromFileTest_WithEmptyFile() {
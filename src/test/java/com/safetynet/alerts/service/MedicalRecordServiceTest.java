@@ -7,6 +7,7 @@ import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.MedicalRecord;
 import com.safetynet.alerts.model.Person;
 import com.safetynet.alerts.model.dto.MedicalRecordDTO;
+import com.safetynet.alerts.repository.CursorReader;
 import com.safetynet.alerts.repository.MedicalRecordRepository;
 import com.safetynet.alerts.repository.PersonRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,12 +18,17 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static com.safetynet.alerts.repository.MedicalRecordRepository.ALL_MEDICAL_RECORDS_QUERY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -32,6 +38,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,6 +52,9 @@ class MedicalRecordServiceTest {
     @MockBean
     private PersonRepository personRepositoryMock;
 
+    @MockBean
+    private CursorReader cursorReaderMock;
+
     @Autowired
     private IMedicalRecordService medicalRecordService;
 
@@ -106,20 +116,35 @@ class MedicalRecordServiceTest {
 
 
     /* ----------------------------------------------------------------------------------------------------------------------
-     *                  getAllMedicalRecords tests
+     *                  streamAllMedicalRecords tests
      * -------------------------------------------------------------------------------------------------------------------- */
     @Nested
-    @DisplayName("getAllMedicalRecords tests")
-    class GetAllMedicalRecordsTest {
+    @DisplayName("streamAllMedicalRecords tests")
+    class StreamAllMedicalRecordsTest {
         @Test
-        @DisplayName("GIVEN medical records in DB WHEN asking for all medical records " +
-                "THEN a list of medical records is returned")
-        public void getAllMedicalRecordsTest_WithMedicalRecordDataInDb() {
+        @DisplayName("GIVEN medical records in DB WHEN streaming all medical records " +
+                "THEN each medical record read through the cursor is given to the consumer " +
+                "with its medications and allergies read by chunk")
+        public void streamAllMedicalRecordsTest_WithMedicalRecordDataInDb() {
             //GIVEN
             List<MedicalRecord> listOfMedicalRecords = new ArrayList<>();
             medicalRecord.setMedicalRecordId(100L);
             listOfMedicalRecords.add(medicalRecord);
-            when(medicalRecordRepositoryMock.findAll()).thenReturn(listOfMedicalRecords);
+            MedicalRecord medicalRecordWithoutMedication = new MedicalRecord();
+            medicalRecordWithoutMedication.setMedicalRecordId(101L);
+            medicalRecordWithoutMedication.setFirstName("MRST_first_name_2");
+            medicalRecordWithoutMedication.setLastName("MRST_last_name");
+            listOfMedicalRecords.add(medicalRecordWithoutMedication);
+            when(cursorReaderMock.forEachChunk(eq(ALL_MEDICAL_RECORDS_QUERY), eq(MedicalRecord.class), any()))
+                    .thenAnswer(invocation -> {
+                        Consumer<List<MedicalRecord>> chunkConsumer = invocation.getArgument(2);
+                        chunkConsumer.accept(listOfMedicalRecords);
+                        return (long) listOfMedicalRecords.size();
+                    });
+            when(medicalRecordRepositoryMock.findMedicationsByMedicalRecordIdIn(Arrays.asList(100L, 101L)))
+                    .thenReturn(Arrays.asList(new Object[]{100L, "aznol:350mg"}, new Object[]{100L, "hydrapermazol:100mg"}));
+            when(medicalRecordRepositoryMock.findAllergiesByMedicalRecordIdIn(Arrays.asList(100L, 101L)))
+                    .thenReturn(Collections.singletonList(new Object[]{100L, "nillacilan"}));
 
             List<MedicalRecordDTO> expectedListOfMedicalRecordsDTO = new ArrayList<>();
             MedicalRecordDTO medicalRecordDTO = new MedicalRecordDTO();
@@ -127,24 +152,87 @@ class MedicalRecordServiceTest {
             medicalRecordDTO.setFirstName(medicalRecord.getFirstName());
             medicalRecordDTO.setLastName(medicalRecord.getLastName());
             medicalRecordDTO.setBirthDate(medicalRecord.getBirthDate());
-            medicalRecordDTO.setMedications(medicalRecord.getMedications());
-            medicalRecordDTO.setAllergies(medicalRecord.getAllergies());
+            medicalRecordDTO.setMedications(Arrays.asList("aznol:350mg", "hydrapermazol:100mg"));
+            medicalRecordDTO.setAllergies(Collections.singletonList("nillacilan"));
             expectedListOfMedicalRecordsDTO.add(medicalRecordDTO);
+            MedicalRecordDTO medicalRecordWithoutMedicationDTO = new MedicalRecordDTO();
+            medicalRecordWithoutMedicationDTO.setMedicalRecordId(medicalRecordWithoutMedication.getMedicalRecordId());
+            medicalRecordWithoutMedicationDTO.setFirstName(medicalRecordWithoutMedication.getFirstName());
+            medicalRecordWithoutMedicationDTO.setLastName(medicalRecordWithoutMedication.getLastName());
+            medicalRecordWithoutMedicationDTO.setMedications(Collections.emptyList());
+            medicalRecordWithoutMedicationDTO.setAllergies(Collections.emptyList());
+            expectedListOfMedicalRecordsDTO.add(medicalRecordWithoutMedicationDTO);
+
+            //WHEN
+            List<MedicalRecordDTO> streamedListOfMedicalRecordsDTO = new ArrayList<>();
+            long nbOfMedicalRecords = medicalRecordService.streamAllMedicalRecords(streamedListOfMedicalRecordsDTO::add);
+
+            //THEN
+            assertEquals(2, nbOfMedicalRecords);
+            assertEquals(expectedListOfMedicalRecordsDTO, streamedListOfMedicalRecordsDTO);
+            verify(medicalRecordRepositoryMock, Mockito.never()).findAll();
+        }
+
+        @Test
+        @DisplayName("GIVEN an exception when reading the cursor WHEN streaming all medical records " +
+                "THEN the exception is thrown (the response being already started)")
+        public void streamAllMedicalRecordsTest_WithException() {
+            //GIVEN
+            when(cursorReaderMock.forEachChunk(eq(ALL_MEDICAL_RECORDS_QUERY), eq(MedicalRecord.class), any()))
+                    .thenThrow(IllegalArgumentException.class);
+
+            //THEN
+            List<MedicalRecordDTO> streamedListOfMedicalRecordsDTO = new ArrayList<>();
+            assertThrows(IllegalArgumentException.class,
+                    () -> medicalRecordService.streamAllMedicalRecords(streamedListOfMedicalRecordsDTO::add));
+            assertThat(streamedListOfMedicalRecordsDTO).isEmpty();
+        }
+    }
+
+
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getPageOfMedicalRecords tests
+     * -------------------------------------------------------------------------------------------------------------------- */
+    @Nested
+    @DisplayName("getPageOfMedicalRecords tests")
+    class GetPageOfMedicalRecordsTest {
+        @Test
+        @DisplayName("GIVEN medical records in DB after the last medical record of the previous page " +
+                "WHEN asking for the next page THEN they are read after its id with their medications and allergies")
+        public void getPageOfMedicalRecordsTest_WithMedicalRecordDataInDb() {
+            //GIVEN
+            medicalRecord.setMedicalRecordId(101L);
+            when(medicalRecordRepositoryMock.findAllByMedicalRecordIdGreaterThanOrderByMedicalRecordId(100L,
+                    PageRequest.of(0, 10)))
+                    .thenReturn(Collections.singletonList(medicalRecord));
+            when(medicalRecordRepositoryMock.findMedicationsByMedicalRecordIdIn(Collections.singletonList(101L)))
+                    .thenReturn(Collections.singletonList(new Object[]{101L, "aznol:350mg"}));
+            when(medicalRecordRepositoryMock.findAllergiesByMedicalRecordIdIn(Collections.singletonList(101L)))
+                    .thenReturn(Collections.emptyList());
+
+            //WHEN
+            List<MedicalRecordDTO> pageOfMedicalRecordsDTO = medicalRecordService.getPageOfMedicalRecords(100L, 10);
 
             //THEN
-            assertEquals(expectedListOfMedicalRecordsDTO, medicalRecordService.getAllMedicalRecords());
-            verify(medicalRecordRepositoryMock, Mockito.times(1)).findAll();
+            assertEquals(1, pageOfMedicalRecordsDTO.size());
+            assertEquals(101L, pageOfMedicalRecordsDTO.get(0).getMedicalRecordId());
+            assertEquals(Collections.singletonList("aznol:350mg"), pageOfMedicalRecordsDTO.get(0).getMedications());
+            assertThat(pageOfMedicalRecordsDTO.get(0).getAllergies()).isEmpty();
         }
 
+
         @Test
-        @DisplayName("GIVEN an exception WHEN asking for all medical records THEN an empty list is returned")
-        public void getAllMedicalRecordsTest_WithException() {
+        @DisplayName("GIVEN no medical record after the last medical record of the previous page " +
+                "WHEN asking for the next page THEN an empty page is returned without reading medications nor allergies")
+        public void getPageOfMedicalRecordsTest_WithNoMoreMedicalRecord() {
             //GIVEN
-            when(medicalRecordRepositoryMock.findAll()).thenThrow(IllegalArgumentException.class);
+            when(medicalRecordRepositoryMock.findAllByMedicalRecordIdGreaterThanOrderByMedicalRecordId(100L,
+                    PageRequest.of(0, 10)))
+                    .thenReturn(Collections.emptyList());
 
             //THEN
-            assertThat(medicalRecordService.getAllMedicalRecords()).isEmpty();
-            verify(medicalRecordRepositoryMock, Mockito.times(1)).findAll();
+            assertThat(medicalRecordService.getPageOfMedicalRecords(100L, 10)).isEmpty();
+            verify(medicalRecordRepositoryMock, Mockito.never()).findMedicationsByMedicalRecordIdIn(anyList());
         }
     }
 
@@ -6,10 +6,13 @@ import com.safetynet.alerts.exceptions.MissingInformationException;
 import com.safetynet.alerts.model.FireStation;
 import com.safetynet.alerts.model.MedicalRecord;
 import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.BatchDTO;
 import com.safetynet.alerts.model.dto.ChildAlertDTO;
 import com.safetynet.alerts.model.dto.FireStationCoverageDTO;
 import com.safetynet.alerts.model.dto.PersonDTO;
 import com.safetynet.alerts.model.dto.PersonInfoDTO;
+import com.safetynet.alerts.model.dto.PersonNameDTO;
+import com.safetynet.alerts.repository.CursorReader;
 import com.safetynet.alerts.repository.FireStationRepository;
 import com.safetynet.alerts.repository.MedicalRecordRepository;
 import com.safetynet.alerts.repository.PersonRepository;
@@ -22,21 +25,32 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static com.safetynet.alerts.constants.BatchConstants.MISSING_FIRSTNAME_OR_LASTNAME;
+import static com.safetynet.alerts.constants.BatchConstants.NO_PERSON_FOUND_FOR_ADDRESS;
+import static com.safetynet.alerts.constants.BatchConstants.NO_PERSON_FOUND_FOR_NAME;
+import static com.safetynet.alerts.repository.PersonRepository.ALL_PERSONS_QUERY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -53,6 +67,9 @@ class PersonServiceTest {
     @MockBean
     private MedicalRecordRepository medicalRecordRepositoryMock;
 
+    @MockBean
+    private CursorReader cursorReaderMock;
+
     @Autowired
     private IPersonService personService;
 
@@ -135,19 +152,24 @@ class PersonServiceTest {
 
 
     /* ----------------------------------------------------------------------------------------------------------------------
-     *                  getAllPersons tests
+     *                  streamAllPersons tests
      * ----------------------------------------------------------------------------------------------------------------------*/
     @Nested
-    @DisplayName("getAllPersons tests")
-    class GetAllPersonsTest {
+    @DisplayName("streamAllPersons tests")
+    class StreamAllPersonsTest {
         @Test
-        @DisplayName("GIVEN persons in repository WHEN asking for all persons " +
-                "THEN a list of persons is returned")
-        public void getAllPersonsTest_WithPersonDataInRepository() {
+        @DisplayName("GIVEN persons in repository WHEN streaming all persons " +
+                "THEN each person read through the cursor is given to the consumer")
+        public void streamAllPersonsTest_WithPersonDataInRepository() {
             //GIVEN
             person.setPersonId(100L);
             listOfPersons.add(person);
-            when(personRepositoryMock.findAll()).thenReturn(listOfPersons);
+            when(cursorReaderMock.forEachChunk(eq(ALL_PERSONS_QUERY), eq(Person.class), any()))
+                    .thenAnswer(invocation -> {
+                        Consumer<List<Person>> chunkConsumer = invocation.getArgument(2);
+                        chunkConsumer.accept(listOfPersons);
+                        return (long) listOfPersons.size();
+                    });
 
             List<PersonDTO> expectedListOfPersonsDTO = new ArrayList<>();
             PersonDTO personDTO = new PersonDTO();
@@ -161,26 +183,62 @@ class PersonServiceTest {
             personDTO.setCity(person.getCity());
             expectedListOfPersonsDTO.add(personDTO);
 
+            //WHEN
+            List<PersonDTO> streamedListOfPersonsDTO = new ArrayList<>();
+            long nbOfPersons = personService.streamAllPersons(streamedListOfPersonsDTO::add);
+
             //THEN
-            assertEquals(expectedListOfPersonsDTO, personService.getAllPersons());
-            verify(personRepositoryMock, Mockito.times(1)).findAll();
+            assertEquals(1, nbOfPersons);
+            assertEquals(expectedListOfPersonsDTO, streamedListOfPersonsDTO);
+            verify(personRepositoryMock, Mockito.never()).findAll();
         }
 
         @Test
-        @DisplayName("GIVEN an exception WHEN asking for all persons " +
-                "THEN an empty list is returned")
-        public void getAllPersonsTest_WithException() {
+        @DisplayName("GIVEN an exception when reading the cursor WHEN streaming all persons " +
+                "THEN the exception is thrown (the response being already started)")
+        public void streamAllPersonsTest_WithException() {
             //GIVEN
-            when(personRepositoryMock.findAll()).thenThrow(IllegalArgumentException.class);
+            when(cursorReaderMock.forEachChunk(eq(ALL_PERSONS_QUERY), eq(Person.class), any()))
+                    .thenThrow(IllegalArgumentException.class);
 
             //THEN
-            assertThat(personService.getAllPersons()).isEmpty();
-            verify(personRepositoryMock, Mockito.times(1)).findAll();
+            List<PersonDTO> streamedListOfPersonsDTO = new ArrayList<>();
+            assertThrows(IllegalArgumentException.class,
+                    () -> personService.streamAllPersons(streamedListOfPersonsDTO::add));
+            assertThat(streamedListOfPersonsDTO).isEmpty();
         }
 
     }
 
 
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getPageOfPersons tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getPageOfPersons tests")
+    class GetPageOfPersonsTest {
+        @Test
+        @DisplayName("GIVEN persons in repository after the last person of the previous page " +
+                "WHEN asking for the next page THEN they are read after its id, limited to the page size")
+        public void getPageOfPersonsTest_WithPersonDataInRepository() {
+            //GIVEN
+            person.setPersonId(101L);
+            listOfPersons.add(person);
+            when(personRepositoryMock.findAllByPersonIdGreaterThanOrderByPersonId(100L, PageRequest.of(0, 10)))
+                    .thenReturn(listOfPersons);
+
+            //WHEN
+            List<PersonDTO> pageOfPersonsDTO = personService.getPageOfPersons(100L, 10);
+
+            //THEN
+            assertEquals(1, pageOfPersonsDTO.size());
+            assertEquals(101L, pageOfPersonsDTO.get(0).getPersonId());
+            verify(personRepositoryMock, Mockito.times(1))
+                    .findAllByPersonIdGreaterThanOrderByPersonId(100L, PageRequest.of(0, 10));
+        }
+    }
+
+
     /* ----------------------------------------------------------------------------------------------------------------------
      *                  getAllEmailsByCity tests
      * ----------------------------------------------------------------------------------------------------------------------*/
@@ -193,13 +251,13 @@ class PersonServiceTest {
                 "THEN a list of citizens' emails is returned")
         public void getAllEmailsByCityTest_WithInfoInRepository() {
             //GIVEN
-            listOfPersons.add(person);
-            when(personRepositoryMock.findAllByCity(TestConstants.EXISTING_CITY)).thenReturn(listOfPersons);
+            when(personRepositoryMock.findDistinctEmailsByCity(TestConstants.EXISTING_CITY))
+                    .thenReturn(Collections.singletonList(person.getEmail()));
 
             //THEN
             assertEquals(1,
                     personService.getAllEmailsByCity(TestConstants.EXISTING_CITY).size());
-            verify(personRepositoryMock, Mockito.times(1)).findAllByCity(TestConstants.EXISTING_CITY);
+            verify(personRepositoryMock, Mockito.times(1)).findDistinctEmailsByCity(TestConstants.EXISTING_CITY);
         }
 
         @Test
@@ -208,11 +266,11 @@ class PersonServiceTest {
                 "THEN an empty list of citizens' emails is returned")
         public void getAllEmailsByCityTest_WithNoInfoInRepository() {
             //GIVEN
-            when(personRepositoryMock.findAllByCity(TestConstants.CITY_NOT_FOUND)).thenReturn(new ArrayList<>());
+            when(personRepositoryMock.findDistinctEmailsByCity(TestConstants.CITY_NOT_FOUND)).thenReturn(new ArrayList<>());
 
             //THEN
             assertThat(personService.getAllEmailsByCity(TestConstants.CITY_NOT_FOUND)).isEmpty();
-            verify(personRepositoryMock, Mockito.times(1)).findAllByCity(TestConstants.CITY_NOT_FOUND);
+            verify(personRepositoryMock, Mockito.times(1)).findDistinctEmailsByCity(TestConstants.CITY_NOT_FOUND);
         }
 
         @Test
@@ -221,11 +279,11 @@ class PersonServiceTest {
                 "THEN no list is returned")
         public void getAllEmailsByCityTest_WithCityNameNull() {
             //GIVEN
-            when(personRepositoryMock.findAllByCity(null)).thenReturn(null);
+            when(personRepositoryMock.findDistinctEmailsByCity(null)).thenReturn(null);
 
             //THEN
             assertNull(personService.getAllEmailsByCity(null));
-            verify(personRepositoryMock, Mockito.times(0)).findAllByCity(null);
+            verify(personRepositoryMock, Mockito.times(0)).findDistinctEmailsByCity(null);
         }
 
         @Test
@@ -234,11 +292,11 @@ class PersonServiceTest {
                 "THEN no list is returned")
         public void getAllEmailsByCityTest_WithCityNameEmpty() {
             //GIVEN
-            when(personRepositoryMock.findAllByCity("")).thenReturn(null);
+            when(personRepositoryMock.findDistinctEmailsByCity("")).thenReturn(null);
 
             //THEN
             assertNull(personService.getAllEmailsByCity(""));
-            verify(personRepositoryMock, Mockito.times(0)).findAllByCity("");
+            verify(personRepositoryMock, Mockito.times(0)).findDistinctEmailsByCity("");
         }
     }
 
@@ -346,6 +404,66 @@ class PersonServiceTest {
     }
 
 
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getPersonInfoByNames tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getPersonInfoByNames tests")
+    class GetPersonInfoByNamesTest {
+
+        @Test
+        @DisplayName("GIVEN persons in repository for one of the requested names " +
+                "WHEN getting person information on a batch of names " +
+                "THEN the persons are read with one query and the names without person are reported as misses")
+        public void getPersonInfoByNamesTest_WithPartialMisses() {
+            //GIVEN
+            Person personWithSameLastName = new Person();
+            personWithSameLastName.setFirstName(TestConstants.EXISTING_FIRSTNAME + "_sister");
+            personWithSameLastName.setLastName(TestConstants.EXISTING_LASTNAME);
+            personWithSameLastName.setMedicalRecord(person.getMedicalRecord());
+            listOfPersons.add(personWithSameLastName);
+            listOfPersons.add(person);
+
+            when(personRepositoryMock.findAllByLastNameIn(anyCollection())).thenReturn(listOfPersons);
+
+            //WHEN
+            BatchDTO<List<PersonInfoDTO>> batchDTO = personService.getPersonInfoByNames(Arrays.asList(
+                    toPersonNameDTO(TestConstants.EXISTING_FIRSTNAME, TestConstants.EXISTING_LASTNAME),
+                    toPersonNameDTO(TestConstants.FIRSTNAME_NOT_FOUND, TestConstants.LASTNAME_NOT_FOUND),
+                    toPersonNameDTO(TestConstants.EXISTING_FIRSTNAME, "")));
+
+            //THEN the person with the same name is the first one of its list
+            String key = TestConstants.EXISTING_FIRSTNAME + " " + TestConstants.EXISTING_LASTNAME;
+            assertEquals(1, batchDTO.getResults().size());
+            assertEquals(2, batchDTO.getResults().get(key).size());
+            assertEquals(person.getEmail(), batchDTO.getResults().get(key).get(0).getEmail());
+            assertEquals(2, batchDTO.getMisses().size());
+            assertEquals(NO_PERSON_FOUND_FOR_NAME, batchDTO.getMisses()
+                    .get(TestConstants.FIRSTNAME_NOT_FOUND + " " + TestConstants.LASTNAME_NOT_FOUND));
+            assertEquals(MISSING_FIRSTNAME_OR_LASTNAME, batchDTO.getMisses().get(TestConstants.EXISTING_FIRSTNAME + " "));
+            verify(personRepositoryMock, Mockito.times(1)).findAllByLastNameIn(
+                    new LinkedHashSet<>(Arrays.asList(TestConstants.EXISTING_LASTNAME, TestConstants.LASTNAME_NOT_FOUND)));
+        }
+
+        @Test
+        @DisplayName("GIVEN no name " +
+                "WHEN getting person information on a batch of names " +
+                "THEN no batch is returned")
+        public void getPersonInfoByNamesTest_WithNoName() {
+            //THEN
+            assertNull(personService.getPersonInfoByNames(new ArrayList<>()));
+            verify(personRepositoryMock, Mockito.times(0)).findAllByLastNameIn(anyCollection());
+        }
+
+        private PersonNameDTO toPersonNameDTO(String firstName, String lastName) {
+            PersonNameDTO personNameDTO = new PersonNameDTO();
+            personNameDTO.setFirstName(firstName);
+            personNameDTO.setLastName(lastName);
+            return personNameDTO;
+        }
+    }
+
+
     /* ----------------------------------------------------------------------------------------------------------------------
      *                  getChildAlertByAddress tests
      * ----------------------------------------------------------------------------------------------------------------------*/
@@ -452,6 +570,46 @@ class PersonServiceTest {
     }
 
 
+    /* ----------------------------------------------------------------------------------------------------------------------
+     *                  getChildAlertByAddresses tests
+     * ----------------------------------------------------------------------------------------------------------------------*/
+    @Nested
+    @DisplayName("getChildAlertByAddresses tests")
+    class GetChildAlertByAddressesTest {
+
+        @Test
+        @DisplayName("GIVEN an adult in repository at one of the requested addresses " +
+                "WHEN getting child alert on a batch of addresses " +
+                "THEN the persons are read with one query, the address of the adult has an empty list " +
+                "and the addresses without person are reported as misses")
+        public void getChildAlertByAddressesTest_WithPartialMisses() {
+            //GIVEN
+            listOfPersons.add(person);
+            when(personRepositoryMock.findAllByAddressIn(anyCollection())).thenReturn(listOfPersons);
+
+            //WHEN
+            BatchDTO<List<ChildAlertDTO>> batchDTO = personService.getChildAlertByAddresses(
+                    Arrays.asList(TestConstants.EXISTING_ADDRESS, TestConstants.ADDRESS_NOT_FOUND));
+
+            //THEN
+            assertThat(batchDTO.getResults().get(TestConstants.EXISTING_ADDRESS)).isEmpty();
+            assertEquals(NO_PERSON_FOUND_FOR_ADDRESS, batchDTO.getMisses().get(TestConstants.ADDRESS_NOT_FOUND));
+            verify(personRepositoryMock, Mockito.times(1)).findAllByAddressIn(anyCollection());
+            verify(personRepositoryMock, Mockito.times(0)).findAllByAddress(anyString());
+        }
+
+        @Test
+        @DisplayName("GIVEN a null list of addresses " +
+                "WHEN getting child alert on a batch of addresses " +
+                "THEN no batch is returned")
+        public void getChildAlertByAddressesTest_WithNoAddress() {
+            //THEN
+            assertNull(personService.getChildAlertByAddresses(null));
+            verify(personRepositoryMock, Mockito.times(0)).findAllByAddressIn(anyCollection());
+        }
+    }
+
+
     /* ----------------------------------------------------------------------------------------------------------------------
      *                  getPhoneAlertByFireStation tests
      * ----------------------------------------------------------------------------------------------------------------------*/
@@ -463,31 +621,14 @@ class PersonServiceTest {
                 "WHEN asking for the phone number list " +
                 "THEN a list of citizens' phone numbers covered by the fire station is returned")
         public void getPhoneAlertByFireStationTest_WithInfoInRepository() {
-            //GIVEN 3 persons but only 2 distinct phone numbers
-            Person person1 = new Person();
-            person1.setFirstName("PST_first_name_1");
-            person1.setLastName("PST_last_name_1");
-            person1.setPhone("33 1 23 45 67 89");
-            listOfPersons.add(person1);
-
-            Person person2 = new Person();
-            person2.setFirstName("PST_first_name_2");
-            person2.setLastName("PST_last_name_2");
-            person2.setPhone("33 1 98 76 54 32");
-            listOfPersons.add(person2);
-
-            Person person3 = new Person();
-            person3.setFirstName("PST_first_name_3");
-            person3.setLastName("PST_last_name_3");
-            person3.setPhone("33 1 23 45 67 89");
-            listOfPersons.add(person3);
-
-            when(personRepositoryMock.findAllByFireStation_StationNumber(3)).thenReturn(listOfPersons);
+            //GIVEN 2 distinct phone numbers
+            when(personRepositoryMock.findDistinctPhonesByFireStation_StationNumber(3))
+                    .thenReturn(Arrays.asList("33 1 23 45 67 89", "33 1 98 76 54 32"));
 
             //THEN
             assertEquals(2,
                     personService.getPhoneAlertByFireStation(3).size());
-            verify(personRepositoryMock, Mockito.times(1)).findAllByFireStation_StationNumber(3);
+            verify(personRepositoryMock, Mockito.times(1)).findDistinctPhonesByFireStation_StationNumber(3);
         }
 
         @Test
@@ -496,11 +637,11 @@ class PersonServiceTest {
                 "THEN the returned list is empty")
         public void getPhoneAlertByFireStationTest_WithNoInfoInRepository() {
             //GIVEN
-            when(personRepositoryMock.findAllByFireStation_StationNumber(999)).thenReturn(new ArrayList<>());
+            when(personRepositoryMock.findDistinctPhonesByFireStation_StationNumber(999)).thenReturn(new ArrayList<>());
 
             //THEN
             assertThat(personService.getPhoneAlertByFireStation(999)).isEmpty();
-            verify(personRepositoryMock, Mockito.times(1)).findAllByFireStation_StationNumber(999);
+            verify(personRepositoryMock, Mockito.times(1)).findDistinctPhonesByFireStation_StationNumber(999);
         }
 
         @Test
@@ -509,11 +650,11 @@ class PersonServiceTest {
                 "THEN no list is returned")
         public void getPhoneAlertByFireStationTest_WithFireStationNumberNull() {
             //GIVEN
-            when(personRepositoryMock.findAllByFireStation_StationNumber(null)).thenReturn(null);
+            when(personRepositoryMock.findDistinctPhonesByFireStation_StationNumber(null)).thenReturn(null);
 
             //THEN
             assertNull(personService.getPhoneAlertByFireStation(null));
-            verify(personRepositoryMock, Mockito.times(0)).findAllByFireStation_StationNumber(null);
+            verify(personRepositoryMock, Mockito.times(0)).findDistinctPhonesByFireStation_StationNumber(null);
         }
     }
 
@@ -604,6 +745,31 @@ class PersonServiceTest {
             assertNull(personService.getFireStationCoverageByStationNumber(null));
             verify(personRepositoryMock, Mockito.times(0)).findAllByFireStation_StationNumber(null);
         }
+
+        @Test
+        @DisplayName("GIVEN citizens covered by the requested fire station found in repository without medical record " +
+                "WHEN asking for the person information list with only the contacts as field " +
+                "THEN the contacts are returned without calculating any age")
+        public void getFireStationCoverageByStationNumberTest_WithContactsFieldOnly() {
+            //GIVEN a person whose age can not be calculated
+            Person person = new Person();
+            person.setFirstName("PST_first_name_1");
+            person.setLastName("PST_last_name_1");
+            person.setAddress("PST_Address_1");
+            person.setPhone("33 1 23 45 67 89");
+            listOfPersons.add(person);
+
+            when(personRepositoryMock.findAllByFireStation_StationNumber(3)).thenReturn(listOfPersons);
+
+            //WHEN
+            FireStationCoverageDTO fireStationCoverageDTO = personService.getFireStationCoverageByStationNumber(3,
+                    Collections.singleton("personCoveredContactsDTOList"));
+
+            //THEN
+            assertEquals(1, fireStationCoverageDTO.getPersonCoveredContactsDTOList().size());
+            assertEquals(0, fireStationCoverageDTO.getNumberOfAdults());
+            assertEquals(0, fireStationCoverageDTO.getNumberOfChildren());
+        }
     }
 
 
@@ -0,0 +1,185 @@
+package com.safetynet.alerts.service;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.MedicalRecord;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.repository.FireStationRepository;
+import com.safetynet.alerts.repository.MedicalRecordRepository;
+import com.safetynet.alerts.repository.PersonRepository;
+import com.safetynet.alerts.testconstants.TestConstants;
+import com.safetynet.alerts.util.DataLoadStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class SnapshotServiceTest {
+
+    @MockBean
+    private PersonService personServiceMock;
+
+    @MockBean
+    private FireStationService fireStationServiceMock;
+
+    @MockBean
+    private MedicalRecordService medicalRecordServiceMock;
+
+    @MockBean
+    private PersonRepository personRepositoryMock;
+
+    @MockBean
+    private FireStationRepository fireStationRepositoryMock;
+
+    @MockBean
+    private MedicalRecordRepository medicalRecordRepositoryMock;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private DataLoadStatus dataLoadStatus;
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path snapshotFile;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        snapshotFile = temporaryDirectory.resolve("data.snapshot");
+        ReflectionTestUtils.setField(snapshotService, "snapshotEnabled", true);
+        ReflectionTestUtils.setField(snapshotService, "snapshotPath", snapshotFile.toString());
+        ReflectionTestUtils.setField(snapshotService, "dataInputFilePath", "test_complete_data.json");
+
+        MedicalRecord medicalRecord = new MedicalRecord();
+        medicalRecord.setMedicalRecordId(1L);
+        medicalRecord.setFirstName(TestConstants.EXISTING_FIRSTNAME);
+        medicalRecord.setLastName(TestConstants.EXISTING_LASTNAME);
+        medicalRecord.setBirthDate(TestConstants.ADULT_BIRTHDATE);
+        List<String> medications = new ArrayList<>();
+        medications.add("SST_medication_1");
+        medications.add("SST_medication_2");
+        medicalRecord.setMedications(medications);
+        medicalRecord.setAllergies(new ArrayList<>());
+
+        FireStation fireStation = new FireStation();
+        fireStation.setFireStationId(2L);
+        fireStation.setStationNumber(TestConstants.EXISTING_STATION_NUMBER);
+        fireStation.setAddress(TestConstants.EXISTING_ADDRESS);
+
+        Person person = new Person();
+        person.setPersonId(3L);
+        person.setFirstName(TestConstants.EXISTING_FIRSTNAME);
+        person.setLastName(TestConstants.EXISTING_LASTNAME);
+        person.setAddress(TestConstants.EXISTING_ADDRESS);
+        person.setCity(TestConstants.EXISTING_CITY);
+        person.setPhone("SST_phone");
+        person.setMedicalRecord(medicalRecord);
+        person.setFireStation(fireStation);
+
+        when(medicalRecordRepositoryMock.findAll()).thenReturn(Collections.singletonList(medicalRecord));
+        when(fireStationRepositoryMock.findAll()).thenReturn(Collections.singletonList(fireStation));
+        when(personRepositoryMock.findAll()).thenReturn(Collections.singletonList(person));
+
+        when(medicalRecordServiceMock.saveListOfMedicalRecords(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fireStationServiceMock.saveListOfFireStations(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(personServiceMock.saveListOfPersons(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //the snapshot is only written after a successful load of the data file
+        dataLoadStatus.loadStarted(DataLoadStatus.Source.JSON);
+        dataLoadStatus.loadEnded(null, true);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a snapshot written after a successful load WHEN loading the snapshot " +
+            "THEN persons are saved linked to their medical record and fire station")
+    @SuppressWarnings("unchecked")
+    public void loadSnapshotTest_WithSnapshotWritten() {
+        //GIVEN
+        snapshotService.writeSnapshot();
+        assertTrue(Files.exists(snapshotFile));
+
+        //WHEN
+        boolean loaded = snapshotService.loadSnapshot();
+
+        //THEN
+        assertTrue(loaded);
+        assertEquals(DataLoadStatus.Source.SNAPSHOT, dataLoadStatus.getSource());
+
+        ArgumentCaptor<List<MedicalRecord>> medicalRecordsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(medicalRecordServiceMock, Mockito.times(1)).saveListOfMedicalRecords(medicalRecordsCaptor.capture());
+        ArgumentCaptor<List<Person>> personsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(personServiceMock, Mockito.times(1)).saveListOfPersons(personsCaptor.capture());
+
+        MedicalRecord loadedMedicalRecord = medicalRecordsCaptor.getValue().get(0);
+        assertEquals(TestConstants.ADULT_BIRTHDATE, loadedMedicalRecord.getBirthDate());
+        assertEquals(2, loadedMedicalRecord.getMedications().size());
+
+        Person loadedPerson = personsCaptor.getValue().get(0);
+        assertEquals(TestConstants.EXISTING_FIRSTNAME, loadedPerson.getFirstName());
+        assertEquals(TestConstants.EXISTING_CITY, loadedPerson.getCity());
+        assertEquals("SST_phone", loadedPerson.getPhone());
+        assertSame(loadedMedicalRecord, loadedPerson.getMedicalRecord());
+        assertEquals(TestConstants.EXISTING_STATION_NUMBER, loadedPerson.getFireStation().getStationNumber());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no snapshot WHEN loading the snapshot THEN no data are saved")
+    public void loadSnapshotTest_WithNoSnapshot() {
+        //WHEN
+        boolean loaded = snapshotService.loadSnapshot();
+
+        //THEN
+        assertFalse(loaded);
+        verify(personServiceMock, Mockito.times(0)).saveListOfPersons(anyList());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a corrupted snapshot WHEN loading the snapshot THEN no data are saved")
+    public void loadSnapshotTest_WithCorruptedSnapshot() throws IOException {
+        //GIVEN
+        snapshotService.writeSnapshot();
+        try (RandomAccessFile snapshot = new RandomAccessFile(snapshotFile.toFile(), "rw")) {
+            snapshot.seek(snapshot.length() - 1);
+            int lastByte = snapshot.read();
+            snapshot.seek(snapshot.length() - 1);
+            snapshot.write(lastByte ^ 0xFF);
+        }
+
+        //WHEN
+        boolean loaded = snapshotService.loadSnapshot();
+
+        //THEN
+        assertFalse(loaded);
+        verify(medicalRecordServiceMock, Mockito.times(0)).saveListOfMedicalRecords(anyList());
+        verify(personServiceMock, Mockito.times(0)).saveListOfPersons(anyList());
+    }
+}
@@ -0,0 +1,85 @@
+package com.safetynet.alerts.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataSetGeneratorTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static byte[] generate(String persons, String seed) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        options.put("persons", persons);
+        options.put("addressesPerStation", "5");
+        options.put("seed", seed);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new DataSetGenerator(options).generate(outputStream);
+        return outputStream.toByteArray();
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a number of persons WHEN generating a data file " +
+            "THEN each person is unique and has a medical record and a fire station")
+    public void generateTest_WithNumberOfPersons() throws IOException {
+        //WHEN
+        JsonNode dataSet = objectMapper.readTree(generate("500", "42"));
+
+        //THEN
+        assertEquals(500, dataSet.get("persons").size());
+        assertEquals(500, dataSet.get("medicalrecords").size());
+
+        Set<String> fireStationAddresses = new HashSet<>();
+        dataSet.get("firestations").forEach(fireStation ->
+                assertTrue(fireStationAddresses.add(fireStation.get("address").asText())));
+
+        Set<String> personNames = new HashSet<>();
+        dataSet.get("persons").forEach(person -> {
+            assertTrue(personNames.add(person.get("firstName").asText() + " " + person.get("lastName").asText()));
+            assertTrue(fireStationAddresses.contains(person.get("address").asText()));
+        });
+
+        dataSet.get("medicalrecords").forEach(medicalRecord ->
+                assertTrue(personNames.remove(medicalRecord.get("firstName").asText()
+                        + " " + medicalRecord.get("lastName").asText())));
+        assertTrue(personNames.isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a seed WHEN generating data files THEN the same seed gives the same file")
+    public void generateTest_WithSeed() throws IOException {
+        //THEN
+        assertArrayEquals(generate("200", "42"), generate("200", "42"));
+        assertFalse(Arrays.equals(generate("200", "42"), generate("200", "43")));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN invalid options WHEN creating a generator THEN an IllegalArgumentException is thrown")
+    public void generateTest_WithInvalidOptions() {
+        //GIVEN
+        Map<String, String> options = new HashMap<>();
+        options.put("householdsPerAddress", "0");
+
+        //THEN
+        assertThrows(IllegalArgumentException.class, () -> new DataSetGenerator(options));
+    }
+}
@@ -0,0 +1,204 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.safetynet.alerts.constants.CacheConstants.CHILD_ALERT_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.CHILD_ALERT_JSON_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.COMMUNITY_EMAIL_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_JSON_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_STATION_COVERAGE_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_STATION_COVERAGE_JSON_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.FLOOD_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.PERSON_INFO_CACHE;
+import static com.safetynet.alerts.constants.CacheConstants.PHONE_ALERT_CACHE;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertsCacheEvictorTest {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(FIRE_CACHE, FLOOD_CACHE,
+            FIRE_STATION_COVERAGE_CACHE, PHONE_ALERT_CACHE, CHILD_ALERT_CACHE, COMMUNITY_EMAIL_CACHE, PERSON_INFO_CACHE,
+            FIRE_JSON_CACHE, FIRE_STATION_COVERAGE_JSON_CACHE, CHILD_ALERT_JSON_CACHE);
+
+    private final AlertsCacheEvictor alertsCacheEvictor = new AlertsCacheEvictor(cacheManager, new DataVersions());
+
+    private Person person;
+
+    @BeforeEach
+    void setUpPerTest() {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress("1509 Culver St");
+        fireStation.setStationNumber(3);
+
+        person = new Person();
+        person.setFirstName("John");
+        person.setLastName("Boyd");
+        person.setAddress("1509 Culver St");
+        person.setCity("Culver");
+        person.setFireStation(fireStation);
+
+        //results cached for the person and for others
+        for (String address : Arrays.asList("1509 Culver St", "29 15th St")) {
+            cacheManager.getCache(FIRE_CACHE).put(address, "result");
+            cacheManager.getCache(CHILD_ALERT_CACHE).put(address, "result");
+            cacheManager.getCache(FIRE_JSON_CACHE).put(address, "json");
+            cacheManager.getCache(CHILD_ALERT_JSON_CACHE).put(address, "json");
+        }
+        for (Integer stationNumber : Arrays.asList(3, 2)) {
+            cacheManager.getCache(FIRE_STATION_COVERAGE_CACHE).put(stationNumber, "result");
+            cacheManager.getCache(PHONE_ALERT_CACHE).put(stationNumber, "result");
+            cacheManager.getCache(FIRE_STATION_COVERAGE_JSON_CACHE).put(stationNumber, "json");
+        }
+        cacheManager.getCache(FLOOD_CACHE).put(Arrays.asList(1, 3), "result");
+        cacheManager.getCache(FLOOD_CACHE).put(Arrays.asList(1, 2), "result");
+        cacheManager.getCache(COMMUNITY_EMAIL_CACHE).put("Culver", "result");
+        cacheManager.getCache(COMMUNITY_EMAIL_CACHE).put("Paris", "result");
+        cacheManager.getCache(PERSON_INFO_CACHE).put(Arrays.asList("Boyd", "Jacob"), "result");
+        cacheManager.getCache(PERSON_INFO_CACHE).put(Arrays.asList("Marrack", "Jonanathan"), "result");
+    }
+
+
+    @Test
+    @DisplayName("GIVEN cached results WHEN evicting a person " +
+            "THEN only the results of its address, city, station number and lastname are evicted")
+    void evictPersonTest() {
+        //WHEN
+        alertsCacheEvictor.evictPerson(person);
+
+        //THEN
+        assertNull(cacheManager.getCache(FIRE_CACHE).get("1509 Culver St"));
+        assertNull(cacheManager.getCache(CHILD_ALERT_CACHE).get("1509 Culver St"));
+        assertNull(cacheManager.getCache(FIRE_STATION_COVERAGE_CACHE).get(3));
+        assertNull(cacheManager.getCache(PHONE_ALERT_CACHE).get(3));
+        assertNull(cacheManager.getCache(FLOOD_CACHE).get(Arrays.asList(1, 3)));
+        assertNull(cacheManager.getCache(COMMUNITY_EMAIL_CACHE).get("Culver"));
+        assertNull(cacheManager.getCache(PERSON_INFO_CACHE).get(Arrays.asList("Boyd", "Jacob")));
+        assertNull(cacheManager.getCache(FIRE_JSON_CACHE).get("1509 Culver St"));
+        assertNull(cacheManager.getCache(CHILD_ALERT_JSON_CACHE).get("1509 Culver St"));
+        assertNull(cacheManager.getCache(FIRE_STATION_COVERAGE_JSON_CACHE).get(3));
+
+        assertNotNull(cacheManager.getCache(FIRE_CACHE).get("29 15th St"));
+        assertNotNull(cacheManager.getCache(CHILD_ALERT_CACHE).get("29 15th St"));
+        assertNotNull(cacheManager.getCache(FIRE_STATION_COVERAGE_CACHE).get(2));
+        assertNotNull(cacheManager.getCache(PHONE_ALERT_CACHE).get(2));
+        assertNotNull(cacheManager.getCache(FLOOD_CACHE).get(Arrays.asList(1, 2)));
+        assertNotNull(cacheManager.getCache(COMMUNITY_EMAIL_CACHE).get("Paris"));
+        assertNotNull(cacheManager.getCache(PERSON_INFO_CACHE).get(Arrays.asList("Marrack", "Jonanathan")));
+        assertNotNull(cacheManager.getCache(FIRE_JSON_CACHE).get("29 15th St"));
+        assertNotNull(cacheManager.getCache(CHILD_ALERT_JSON_CACHE).get("29 15th St"));
+        assertNotNull(cacheManager.getCache(FIRE_STATION_COVERAGE_JSON_CACHE).get(2));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN cached results WHEN evicting a medical record THEN emails and phone numbers stay cached")
+    void evictMedicalRecordTest() {
+        //WHEN
+        alertsCacheEvictor.evictMedicalRecord(person.getLastName(), person);
+
+        //THEN
+        assertNull(cacheManager.getCache(FIRE_CACHE).get("1509 Culver St"));
+        assertNull(cacheManager.getCache(FLOOD_CACHE).get(Arrays.asList(1, 3)));
+        assertNull(cacheManager.getCache(PERSON_INFO_CACHE).get(Arrays.asList("Boyd", "Jacob")));
+        assertNotNull(cacheManager.getCache(PHONE_ALERT_CACHE).get(3));
+        assertNotNull(cacheManager.getCache(COMMUNITY_EMAIL_CACHE).get("Culver"));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN cached results WHEN evicting a fire station " +
+            "THEN only the results of its address and station number are evicted")
+    void evictFireStationTest() {
+        //WHEN
+        alertsCacheEvictor.evictFireStation(person.getFireStation());
+
+        //THEN
+        assertNull(cacheManager.getCache(FIRE_CACHE).get("1509 Culver St"));
+        assertNull(cacheManager.getCache(FIRE_STATION_COVERAGE_CACHE).get(3));
+        assertNull(cacheManager.getCache(PHONE_ALERT_CACHE).get(3));
+        assertNull(cacheManager.getCache(FLOOD_CACHE).get(Arrays.asList(1, 3)));
+        assertNull(cacheManager.getCache(FIRE_JSON_CACHE).get("1509 Culver St"));
+        assertNull(cacheManager.getCache(FIRE_STATION_COVERAGE_JSON_CACHE).get(3));
+        assertNotNull(cacheManager.getCache(CHILD_ALERT_CACHE).get("1509 Culver St"));
+        assertNotNull(cacheManager.getCache(CHILD_ALERT_JSON_CACHE).get("1509 Culver St"));
+        assertNotNull(cacheManager.getCache(PERSON_INFO_CACHE).get(Arrays.asList("Boyd", "Jacob")));
+        assertNotNull(cacheManager.getCache(FLOOD_CACHE).get(Arrays.asList(1, 2)));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN cached results WHEN evicting all THEN no result is cached anymore")
+    void evictAllTest() {
+        //WHEN
+        alertsCacheEvictor.evictAll();
+
+        //THEN
+        cacheManager.getCacheNames().forEach(cacheName -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            assertNull(cache.get("29 15th St"));
+            assertNull(cache.get(2));
+        });
+        assertNull(cacheManager.getCache(PERSON_INFO_CACHE).get(Arrays.asList("Marrack", "Jonanathan")));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a flood result being loaded from the data before a write WHEN evicting the results of the write " +
+            "THEN the eviction waits for the end of the load and the loaded result is not kept in cache")
+    void evictFireStationTest_WithLoadInProgress() throws Exception {
+        //GIVEN
+        Cache floodCache = alertsCacheEvictor.getCache(FLOOD_CACHE);
+        floodCache.evict(Arrays.asList(3, 4));
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread reader = new Thread(() -> floodCache.get(Arrays.asList(3, 4), () -> {
+            loadStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "result read before the write";
+        }));
+        reader.start();
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        //WHEN
+        CountDownLatch evicted = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            alertsCacheEvictor.evictFireStation(person.getFireStation());
+            evicted.countDown();
+        });
+        writer.start();
+
+        //THEN
+        assertFalse(evicted.await(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(evicted.await(5, TimeUnit.SECONDS));
+        reader.join();
+        writer.join();
+        assertNull(cacheManager.getCache(FLOOD_CACHE).get(Arrays.asList(3, 4)));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no result given by the service WHEN loading it through the cache THEN it is not cached")
+    void getCacheTest_WithNoResult() {
+        //WHEN
+        Object result = alertsCacheEvictor.getCache(COMMUNITY_EMAIL_CACHE).get("", () -> null);
+
+        //THEN
+        assertNull(result);
+        assertNull(cacheManager.getCache(COMMUNITY_EMAIL_CACHE).get(""));
+        assertNull(alertsCacheEvictor.getCache("unknownCache"));
+    }
+}
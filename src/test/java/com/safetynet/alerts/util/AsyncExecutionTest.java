@@ -0,0 +1,149 @@
+package com.safetynet.alerts.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.safetynet.alerts.constants.ExecutorConstants.ALERTS_EXECUTOR;
+import static com.safetynet.alerts.constants.ExecutorConstants.CRUD_EXECUTOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncExecutionTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private AsyncExecution asyncExecution;
+
+    @AfterEach
+    void tearDownPerTest() {
+        asyncExecution.shutdown();
+    }
+
+
+    @Test
+    @DisplayName("WHEN building an alert and a CRUD response " +
+            "THEN they are built by the workers of their own executor, which are monitored")
+    void supplyTest_WithSeparateExecutors() throws Exception {
+        //GIVEN
+        asyncExecution = newAsyncExecution(true, 2, 10);
+
+        //WHEN
+        String alertThreadName = asyncExecution.supplyAlert(() -> Thread.currentThread().getName())
+                .get(5, TimeUnit.SECONDS);
+        String crudThreadName = asyncExecution.supplyCrud(() -> Thread.currentThread().getName())
+                .get(5, TimeUnit.SECONDS);
+
+        //THEN
+        assertTrue(alertThreadName.startsWith(ALERTS_EXECUTOR + "-worker-"));
+        assertTrue(crudThreadName.startsWith(CRUD_EXECUTOR + "-worker-"));
+        assertNotNull(meterRegistry.get("executor.queued").tag("name", ALERTS_EXECUTOR).gauge());
+        assertNotNull(meterRegistry.get("executor.queued").tag("name", CRUD_EXECUTOR).gauge());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a saturated alerts executor WHEN building another alert response " +
+            "THEN the response fails with a 503 and the CRUD executor is still available")
+    void supplyAlertTest_WithSaturatedExecutor() throws Exception {
+        //GIVEN a worker blocked and its queue full
+        asyncExecution = newAsyncExecution(true, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blockedResponse = asyncExecution.supplyAlert(() -> await(release));
+        CompletableFuture<Boolean> queuedResponse = asyncExecution.supplyAlert(() -> await(release));
+
+        //WHEN
+        CompletableFuture<Boolean> rejectedResponse = asyncExecution.supplyAlert(() -> true);
+
+        //THEN
+        ExecutionException executionException = assertThrows(ExecutionException.class, rejectedResponse::get);
+        assertTrue(executionException.getCause() instanceof ResponseStatusException);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                ((ResponseStatusException) executionException.getCause()).getStatus());
+        assertTrue(asyncExecution.supplyCrud(() -> true).get(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertTrue(blockedResponse.get(5, TimeUnit.SECONDS));
+        assertTrue(queuedResponse.get(5, TimeUnit.SECONDS));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN the asynchronous execution disabled WHEN building a response " +
+            "THEN it is built by the calling thread")
+    void supplyAlertTest_WithAsyncDisabled() throws Exception {
+        //GIVEN
+        asyncExecution = newAsyncExecution(false, 2, 10);
+
+        //WHEN
+        CompletableFuture<String> response = asyncExecution.supplyAlert(() -> Thread.currentThread().getName());
+
+        //THEN
+        assertTrue(response.isDone());
+        assertEquals(Thread.currentThread().getName(), response.get());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN an entity manager factory WHEN building a response " +
+            "THEN an entity manager is bound to the worker during the building, and closed after")
+    void supplyCrudTest_WithEntityManager() throws Exception {
+        //GIVEN
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.isOpen()).thenReturn(true);
+        asyncExecution = newAsyncExecution(true, 1, 10);
+
+        //WHEN
+        EntityManager boundEntityManager = asyncExecution.supplyCrud(() -> ((EntityManagerHolder)
+                TransactionSynchronizationManager.getResource(entityManagerFactory)).getEntityManager())
+                .get(5, TimeUnit.SECONDS);
+
+        //THEN
+        assertSame(entityManager, boundEntityManager);
+        verify(entityManager).close();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private AsyncExecution newAsyncExecution(boolean enabled, int nbOfWorkers, int queueCapacity) {
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+        ObjectProvider<EntityManagerFactory> entityManagerFactoryProvider = mock(ObjectProvider.class);
+        when(entityManagerFactoryProvider.getIfAvailable()).thenReturn(entityManagerFactory);
+        return new AsyncExecution(enabled, nbOfWorkers, queueCapacity, nbOfWorkers, queueCapacity,
+                meterRegistryProvider, entityManagerFactoryProvider);
+    }
+
+    private static boolean await(CountDownLatch release) {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
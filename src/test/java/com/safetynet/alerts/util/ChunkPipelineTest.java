@@ -0,0 +1,105 @@
+package com.safetynet.alerts.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkPipelineTest {
+
+    @Test
+    @DisplayName("GIVEN chunks submitted to several workers WHEN awaiting the completion " +
+            "THEN all the chunks have been processed and the completion is successful")
+    void awaitCompletionTest() {
+        //GIVEN
+        AtomicInteger nbOfProcessedElements = new AtomicInteger();
+        ChunkPipeline<Integer> chunkPipeline = new ChunkPipeline<>("test", 3, 2,
+                chunk -> nbOfProcessedElements.addAndGet(chunk.size()));
+        for (int i = 0; i < 10; i++) {
+            chunkPipeline.submit(Arrays.asList(i, i + 1));
+        }
+
+        //WHEN
+        boolean completed = chunkPipeline.awaitCompletion();
+
+        //THEN
+        assertTrue(completed);
+        assertEquals(20, nbOfProcessedElements.get());
+        assertTrue(chunkPipeline.awaitCompletion());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN chunks failing to be processed WHEN awaiting the completion " +
+            "THEN the other chunks have been processed and the completion is not successful")
+    void awaitCompletionTest_WithFailedChunks() {
+        //GIVEN
+        AtomicInteger nbOfProcessedChunks = new AtomicInteger();
+        ChunkPipeline<Integer> chunkPipeline = new ChunkPipeline<>("test", 2, 2, chunk -> {
+            if (chunk.get(0) % 2 == 0) {
+                throw new IllegalStateException("chunk not saved");
+            }
+            nbOfProcessedChunks.incrementAndGet();
+        });
+        for (int i = 0; i < 6; i++) {
+            chunkPipeline.submit(Collections.singletonList(i));
+        }
+
+        //WHEN
+        boolean completed = chunkPipeline.awaitCompletion();
+
+        //THEN
+        assertFalse(completed);
+        assertEquals(3, nbOfProcessedChunks.get());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a blocked worker and its queue full WHEN submitting another chunk " +
+            "THEN the producer is blocked until the worker takes a chunk from the queue")
+    void submitTest_WithFullQueue() throws Exception {
+        //GIVEN a worker blocked on the first chunk and a queue of one chunk
+        CountDownLatch firstChunkTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ChunkPipeline<Integer> chunkPipeline = new ChunkPipeline<>("test", 1, 1, chunk -> {
+            firstChunkTaken.countDown();
+            await(release);
+        });
+        chunkPipeline.submit(Collections.singletonList(1));
+        assertTrue(firstChunkTaken.await(5, TimeUnit.SECONDS));
+        chunkPipeline.submit(Collections.singletonList(2));
+
+        //WHEN
+        CountDownLatch thirdChunkSubmitted = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            chunkPipeline.submit(Collections.singletonList(3));
+            thirdChunkSubmitted.countDown();
+        });
+        producer.start();
+
+        //THEN
+        assertFalse(thirdChunkSubmitted.await(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(thirdChunkSubmitted.await(5, TimeUnit.SECONDS));
+        producer.join();
+        assertTrue(chunkPipeline.awaitCompletion());
+    }
+
+
+    private static void await(CountDownLatch release) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
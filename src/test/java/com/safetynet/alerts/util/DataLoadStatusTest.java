@@ -0,0 +1,143 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.util.DataLoadStatus.DataType;
+import com.safetynet.alerts.util.DataLoadStatus.Source;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataLoadStatusTest {
+
+    private final Statistics statisticsMock = mock(Statistics.class);
+
+    private final EntityManagerFactory entityManagerFactoryMock = mock(EntityManagerFactory.class);
+
+    @BeforeEach
+    void setUpPerTest() {
+        SessionFactory sessionFactoryMock = mock(SessionFactory.class);
+        when(entityManagerFactoryMock.unwrap(SessionFactory.class)).thenReturn(sessionFactoryMock);
+        when(sessionFactoryMock.getStatistics()).thenReturn(statisticsMock);
+
+        //counters of the Hibernate statistics at the start and at the end of the load
+        when(statisticsMock.getPrepareStatementCount()).thenReturn(10L, 14L);
+        when(statisticsMock.getEntityInsertCount()).thenReturn(5L, 105L);
+        when(statisticsMock.getEntityUpdateCount()).thenReturn(0L, 3L);
+        when(statisticsMock.getEntityDeleteCount()).thenReturn(1L, 3L);
+        when(statisticsMock.getCollectionRecreateCount()).thenReturn(0L, 20L);
+        when(statisticsMock.getCollectionUpdateCount()).thenReturn(0L, 0L);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a data load WHEN it ends " +
+            "THEN its persistence counters are the differences of the statistics between its start and its end")
+    void loadEndedTest() {
+        //GIVEN
+        DataLoadStatus dataLoadStatus = new DataLoadStatus(entityManagerFactoryMock, true);
+        dataLoadStatus.loadStarted(Source.JSON);
+        assertTrue(dataLoadStatus.isLoading());
+        dataLoadStatus.addParsedElements(DataType.PERSONS, 100);
+        dataLoadStatus.addSavedElements(DataType.PERSONS, 60);
+        dataLoadStatus.addSavedElements(DataType.PERSONS, 40);
+
+        //WHEN
+        dataLoadStatus.loadEnded(null, true);
+
+        //THEN
+        assertFalse(dataLoadStatus.isLoading());
+        assertTrue(dataLoadStatus.isSuccessful());
+        assertEquals(Source.JSON, dataLoadStatus.getSource());
+        assertEquals(4, dataLoadStatus.getNbOfStatementsIssued());
+        assertEquals(105, dataLoadStatus.getNbOfRowsWritten());
+        assertEquals(20, dataLoadStatus.getNbOfCollectionsWritten());
+        assertEquals(100, dataLoadStatus.getNbOfParsedElements().get("persons"));
+        assertEquals(100, dataLoadStatus.getNbOfSavedElements().get("persons"));
+        assertEquals(0, dataLoadStatus.getNbOfSavedElements().get("firestations"));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a scheduled data load WHEN the data have been loaded " +
+            "THEN the load is in progress until its scheduler ends it")
+    void scheduledLoadEndedTest() {
+        //GIVEN
+        DataLoadStatus dataLoadStatus = new DataLoadStatus(entityManagerFactoryMock, true);
+        dataLoadStatus.loadScheduled();
+        assertTrue(dataLoadStatus.isLoading());
+        dataLoadStatus.loadStarted(Source.SNAPSHOT);
+        dataLoadStatus.loadEnded(null, true);
+        assertTrue(dataLoadStatus.isLoading());
+        assertEquals(DataLoadStatus.State.LOADED, dataLoadStatus.getState());
+
+        //WHEN
+        dataLoadStatus.scheduledLoadEnded();
+
+        //THEN
+        assertFalse(dataLoadStatus.isLoading());
+        assertTrue(dataLoadStatus.isSuccessful());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN the Hibernate statistics disabled WHEN loading the data " +
+            "THEN they are enabled during the load only")
+    void loadStartedTest_WithStatisticsDisabled() {
+        //GIVEN
+        when(statisticsMock.isStatisticsEnabled()).thenReturn(false);
+        DataLoadStatus dataLoadStatus = new DataLoadStatus(entityManagerFactoryMock, true);
+
+        //WHEN
+        dataLoadStatus.loadStarted(Source.SNAPSHOT);
+        verify(statisticsMock).setStatisticsEnabled(true);
+        dataLoadStatus.loadEnded(null, true);
+
+        //THEN
+        verify(statisticsMock).setStatisticsEnabled(false);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN the Hibernate statistics enabled for the application WHEN loading the data " +
+            "THEN they stay enabled after the load")
+    void loadStartedTest_WithStatisticsEnabled() {
+        //GIVEN
+        when(statisticsMock.isStatisticsEnabled()).thenReturn(true);
+        DataLoadStatus dataLoadStatus = new DataLoadStatus(entityManagerFactoryMock, true);
+
+        //WHEN
+        dataLoadStatus.loadStarted(Source.JSON);
+        dataLoadStatus.loadEnded(null, true);
+
+        //THEN
+        verify(statisticsMock, never()).setStatisticsEnabled(false);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN the statistics of the loads disabled WHEN loading the data " +
+            "THEN the Hibernate statistics are not enabled")
+    void loadStartedTest_WithLoadStatisticsDisabled() {
+        //GIVEN
+        when(statisticsMock.isStatisticsEnabled()).thenReturn(false);
+        DataLoadStatus dataLoadStatus = new DataLoadStatus(entityManagerFactoryMock, false);
+
+        //WHEN
+        dataLoadStatus.loadStarted(Source.JSON);
+        dataLoadStatus.loadEnded(null, true);
+
+        //THEN
+        verify(statisticsMock, never()).setStatisticsEnabled(true);
+    }
+}
@@ -0,0 +1,108 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.model.FireStation;
+import com.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DataVersionsTest {
+
+    private final DataVersions dataVersions = new DataVersions();
+
+    private Person person;
+
+    @BeforeEach
+    void setUpPerTest() {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress("1509 Culver St");
+        fireStation.setStationNumber(3);
+
+        person = new Person();
+        person.setFirstName("John");
+        person.setLastName("Boyd");
+        person.setAddress("1509 Culver St");
+        person.setFireStation(fireStation);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN ETags WHEN bumping a person " +
+            "THEN only the ETags of its address, its station and the global one change")
+    void bumpPersonTest() {
+        //GIVEN
+        String globalETag = dataVersions.getGlobalETag();
+        String stationETag = dataVersions.getStationETag(3);
+        String otherStationETag = dataVersions.getStationETag(2);
+        String stationsETag = dataVersions.getStationsETag(Arrays.asList(2, 3));
+        String addressETag = dataVersions.getAddressETag("1509 Culver St");
+        String otherAddressETag = dataVersions.getAddressETag("29 15th St");
+
+        //WHEN
+        dataVersions.bumpPerson(person);
+
+        //THEN
+        assertNotEquals(globalETag, dataVersions.getGlobalETag());
+        assertNotEquals(stationETag, dataVersions.getStationETag(3));
+        assertNotEquals(stationsETag, dataVersions.getStationsETag(Arrays.asList(2, 3)));
+        assertNotEquals(addressETag, dataVersions.getAddressETag("1509 Culver St"));
+        assertEquals(otherStationETag, dataVersions.getStationETag(2));
+        assertEquals(otherAddressETag, dataVersions.getAddressETag("29 15th St"));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN ETags WHEN bumping a fire station THEN only the ETags of its address and station change")
+    void bumpFireStationTest() {
+        //GIVEN
+        String stationETag = dataVersions.getStationETag(3);
+        String otherStationETag = dataVersions.getStationETag(2);
+        String addressETag = dataVersions.getAddressETag("1509 Culver St");
+
+        //WHEN
+        dataVersions.bumpFireStation(person.getFireStation());
+
+        //THEN
+        assertNotEquals(stationETag, dataVersions.getStationETag(3));
+        assertNotEquals(addressETag, dataVersions.getAddressETag("1509 Culver St"));
+        assertEquals(otherStationETag, dataVersions.getStationETag(2));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN ETags WHEN bumping all THEN all the ETags change")
+    void bumpAllTest() {
+        //GIVEN
+        String globalETag = dataVersions.getGlobalETag();
+        String otherStationETag = dataVersions.getStationETag(2);
+        String otherAddressETag = dataVersions.getAddressETag("29 15th St");
+
+        //WHEN
+        dataVersions.bumpAll();
+
+        //THEN
+        assertNotEquals(globalETag, dataVersions.getGlobalETag());
+        assertNotEquals(otherStationETag, dataVersions.getStationETag(2));
+        assertNotEquals(otherAddressETag, dataVersions.getAddressETag("29 15th St"));
+    }
+
+
+    @Test
+    @DisplayName("WHEN matching If-None-Match headers with an ETag " +
+            "THEN weak tags, gzipped tags and * match, other tags do not")
+    void getMatchingETagTest() {
+        String eTag = "\"1613-2\"";
+        assertEquals(eTag, DataVersions.getMatchingETag(eTag, eTag));
+        assertEquals(eTag, DataVersions.getMatchingETag("\"1613-1\", W/" + eTag, eTag));
+        assertEquals("\"1613-2-gzip\"", DataVersions.getMatchingETag("\"1613-2-gzip\"", eTag));
+        assertEquals(eTag, DataVersions.getMatchingETag("*", eTag));
+        assertNull(DataVersions.getMatchingETag("\"1613-1\"", eTag));
+        assertNull(DataVersions.getMatchingETag(null, eTag));
+    }
+}
@@ -4,7 +4,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 
 class DateUtilTest {
 
@@ -21,4 +25,60 @@ class DateUtilTest {
     void calculateAgeTest_WithBirthdateAfterCurrentDate() {
         Assertions.assertEquals(-1, dateUtil.calculateAge(LocalDate.of(2050,1,1)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GIVEN a fixed clock WHEN calculating ages THEN ages change on the birthday")
+    void calculateAgeTest_WithFixedClock() {
+        DateUtil fixedDateUtil = new DateUtil(Clock.fixed(Instant.parse("2021-03-06T10:00:00Z"), ZoneOffset.UTC));
+
+        Assertions.assertEquals(37, fixedDateUtil.calculateAge(LocalDate.of(1984, 3, 6)));
+        Assertions.assertEquals(36, fixedDateUtil.calculateAge(LocalDate.of(1984, 3, 7)));
+        Assertions.assertEquals(0, fixedDateUtil.calculateAge(LocalDate.of(2021, 3, 5)));
+    }
+
+    @Test
+    @DisplayName("GIVEN a clock going to the next day WHEN getting the current date THEN the next day is returned")
+    void getCurrentLocalDateTest_WithNextDay() {
+        MutableClock clock = new MutableClock(Instant.parse("2021-03-06T23:59:59Z"));
+        DateUtil mutableDateUtil = new DateUtil(clock);
+        Assertions.assertEquals(LocalDate.of(2021, 3, 6), mutableDateUtil.getCurrentLocalDate());
+
+        clock.instant = Instant.parse("2021-03-07T00:00:00Z");
+
+        Assertions.assertEquals(LocalDate.of(2021, 3, 7), mutableDateUtil.getCurrentLocalDate());
+    }
+
+    @Test
+    @DisplayName("GIVEN a birthdate on February 29 WHEN getting the day of an age THEN it is March 1 in non-leap years")
+    void getEpochDayOfAgeTest_WithFebruary29() {
+        Assertions.assertEquals(LocalDate.of(2019, 3, 1).toEpochDay(),
+                dateUtil.getEpochDayOfAge(LocalDate.of(2000, 2, 29), 19));
+        Assertions.assertEquals(LocalDate.of(2020, 2, 29).toEpochDay(),
+                dateUtil.getEpochDayOfAge(LocalDate.of(2000, 2, 29), 20));
+    }
+
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.model.MedicalRecord;
+import com.safetynet.alerts.model.Person;
+import com.safetynet.alerts.model.dto.MedicalRecordDTO;
+import com.safetynet.alerts.model.dto.PersonCoveredDTO;
+import com.safetynet.alerts.model.dto.PersonDTO;
+import com.safetynet.alerts.model.dto.PersonInfoDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+
+class DtoMapperTest {
+
+    private final DtoMapper dtoMapper = new DtoMapper();
+
+    private Person person;
+
+    @BeforeEach
+    void setUpPerTest() {
+        MedicalRecord medicalRecord = new MedicalRecord();
+        medicalRecord.setMedicalRecordId(2L);
+        medicalRecord.setFirstName("John");
+        medicalRecord.setLastName("Boyd");
+        medicalRecord.setBirthDate(LocalDate.of(1984, 3, 6));
+        medicalRecord.setMedications(new ArrayList<>(Collections.singletonList("aznol:350mg")));
+        medicalRecord.setAllergies(new ArrayList<>(Collections.singletonList("nillacilan")));
+
+        person = new Person();
+        person.setPersonId(1L);
+        person.setFirstName("John");
+        person.setLastName("Boyd");
+        person.setAddress("1509 Culver St");
+        person.setCity("Culver");
+        person.setZip("97451");
+        person.setPhone("841-874-6512");
+        person.setEmail("jaboyd@email.com");
+        person.setAge(37);
+        person.setMedicalRecord(medicalRecord);
+    }
+
+    @Test
+    @DisplayName("GIVEN a person WHEN mapping it to PersonDTO and back THEN all properties are kept")
+    void toPersonDTOTest() {
+        PersonDTO personDTO = dtoMapper.toPersonDTO(person);
+        Person mappedPerson = dtoMapper.toPerson(personDTO);
+
+        Assertions.assertEquals(1L, personDTO.getPersonId());
+        Assertions.assertEquals("jaboyd@email.com", personDTO.getEmail());
+        Assertions.assertEquals("97451", mappedPerson.getZip());
+        Assertions.assertNull(mappedPerson.getMedicalRecord());
+    }
+
+    @Test
+    @DisplayName("GIVEN a person with a medical record WHEN mapping it to PersonInfoDTO and PersonCoveredDTO " +
+            "THEN medications and allergies are copies of the ones of the medical record")
+    void toPersonInfoDTOTest() {
+        PersonInfoDTO personInfoDTO = dtoMapper.toPersonInfoDTO(person);
+        PersonCoveredDTO personCoveredDTO = dtoMapper.toPersonCoveredDTO(person);
+        person.getMedicalRecord().getMedications().clear();
+
+        Assertions.assertEquals(37, personInfoDTO.getAge());
+        Assertions.assertEquals(Collections.singletonList("aznol:350mg"), personInfoDTO.getMedications());
+        Assertions.assertEquals(Collections.singletonList("nillacilan"), personCoveredDTO.getAllergies());
+        Assertions.assertEquals("841-874-6512", personCoveredDTO.getPhone());
+    }
+
+    @Test
+    @DisplayName("GIVEN a person without medical record WHEN mapping it to PersonCoveredDTO " +
+            "THEN medications and allergies are null")
+    void toPersonCoveredDTOTest_WithoutMedicalRecord() {
+        person.setMedicalRecord(null);
+
+        PersonCoveredDTO personCoveredDTO = dtoMapper.toPersonCoveredDTO(person);
+
+        Assertions.assertNull(personCoveredDTO.getMedications());
+        Assertions.assertNull(personCoveredDTO.getAllergies());
+    }
+
+    @Test
+    @DisplayName("GIVEN a medical record WHEN mapping it to MedicalRecordDTO and back THEN all properties are kept")
+    void toMedicalRecordDTOTest() {
+        MedicalRecordDTO medicalRecordDTO = dtoMapper.toMedicalRecordDTO(person.getMedicalRecord());
+        MedicalRecord mappedMedicalRecord = dtoMapper.toMedicalRecord(medicalRecordDTO);
+
+        Assertions.assertEquals(LocalDate.of(1984, 3, 6), medicalRecordDTO.getBirthDate());
+        Assertions.assertEquals(person.getMedicalRecord(), mappedMedicalRecord);
+    }
+
+    @Test
+    @DisplayName("GIVEN null WHEN mapping it THEN returned value is null")
+    void mapTest_WithNull() {
+        Assertions.assertNull(dtoMapper.toPersonDTO(null));
+        Assertions.assertNull(dtoMapper.toFireStation(null));
+        Assertions.assertNull(dtoMapper.toMedicalRecordDTO(null));
+    }
+}
@@ -0,0 +1,79 @@
+package com.safetynet.alerts.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonArrayStreamerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonArrayStreamer jsonArrayStreamer = new JsonArrayStreamer(objectMapper);
+
+    private final List<String> elements = Arrays.asList("John", "Jacob", "Tenley");
+
+
+    @Test
+    @DisplayName("GIVEN elements given one by one WHEN writing the JSON array " +
+            "THEN the array is the same as the serialized list and the number of elements is returned")
+    void writeArrayTest() throws Exception {
+        //GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //WHEN
+        long nbOfElements = jsonArrayStreamer.<String>writeArray(outputStream, elementConsumer -> {
+            elements.forEach(elementConsumer);
+            return elements.size();
+        });
+
+        //THEN
+        assertEquals(3, nbOfElements);
+        assertEquals(objectMapper.writeValueAsString(elements), outputStream.toString("UTF-8"));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no element WHEN writing the JSON array THEN an empty array is written")
+    void writeArrayTest_WithNoElement() throws Exception {
+        //GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //WHEN
+        long nbOfElements = jsonArrayStreamer.<String>writeArray(outputStream, elementConsumer -> 0);
+
+        //THEN
+        assertEquals(0, nbOfElements);
+        assertEquals("[]", outputStream.toString("UTF-8"));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN an output stream failing (e.g. client gone) WHEN writing the JSON array " +
+            "THEN the IOException is thrown")
+    void writeArrayTest_WithIOException() {
+        //GIVEN
+        OutputStream failingOutputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+        List<String> bigElements = Arrays.asList(new String(new char[10000]).replace('\0', 'a'), "Jacob");
+
+        //THEN
+        assertThrows(IOException.class, () -> jsonArrayStreamer.<String>writeArray(failingOutputStream,
+                elementConsumer -> {
+                    bigElements.forEach(elementConsumer);
+                    return bigElements.size();
+                }));
+    }
+}
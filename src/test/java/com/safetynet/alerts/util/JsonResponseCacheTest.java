@@ -0,0 +1,164 @@
+package com.safetynet.alerts.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.alerts.util.JsonResponseCache.JsonResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static com.safetynet.alerts.constants.CacheConstants.FIRE_JSON_CACHE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonResponseCacheTest {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(FIRE_JSON_CACHE);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonResponseCache jsonResponseCache = new JsonResponseCache(
+            new AlertsCacheEvictor(cacheManager, new DataVersions()), objectMapper);
+
+    private final AtomicInteger nbOfServiceCalls = new AtomicInteger();
+
+    private final List<String> body = Arrays.asList("John", "Jacob", "Tenley");
+
+    @BeforeEach
+    void setUpPerTest() {
+        ReflectionTestUtils.setField(jsonResponseCache, "gzipEnabled", true);
+        ReflectionTestUtils.setField(jsonResponseCache, "gzipMinSizeInBytes", 2048);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a JSON response already serialized for a key WHEN getting it again " +
+            "THEN the same bytes are returned without calling the service again")
+    void getTest_WithCachedResponse() throws Exception {
+        //GIVEN
+        JsonResponse<List<String>> jsonResponse = jsonResponseCache.get(FIRE_JSON_CACHE, "1509 Culver St",
+                () -> callService(body));
+
+        //WHEN
+        JsonResponse<List<String>> cachedJsonResponse = jsonResponseCache.get(FIRE_JSON_CACHE, "1509 Culver St",
+                () -> callService(body));
+
+        //THEN
+        assertSame(jsonResponse, cachedJsonResponse);
+        assertEquals(1, nbOfServiceCalls.get());
+        assertEquals(body, cachedJsonResponse.getBody());
+        assertArrayEquals(objectMapper.writeValueAsBytes(body),
+                cachedJsonResponse.toResponseEntity(null, null).getBody());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no body given by the service WHEN getting the JSON response " +
+            "THEN null is returned and not cached")
+    void getTest_WithNoBody() {
+        //WHEN
+        JsonResponse<List<String>> jsonResponse = jsonResponseCache.get(FIRE_JSON_CACHE, "1509 Culver St",
+                () -> callService(null));
+
+        //THEN
+        assertNull(jsonResponse);
+        assertNull(cacheManager.getCache(FIRE_JSON_CACHE).get("1509 Culver St"));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no cache declared WHEN getting twice the JSON response THEN the service is called each time")
+    void getTest_WithoutCache() {
+        //WHEN
+        jsonResponseCache.get("notDeclared", "1509 Culver St", () -> callService(body));
+        jsonResponseCache.get("notDeclared", "1509 Culver St", () -> callService(body));
+
+        //THEN
+        assertEquals(2, nbOfServiceCalls.get());
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a body bigger than the minimum size to gzip WHEN getting the HTTP response " +
+            "THEN the gzipped bytes are sent only to the clients accepting gzip")
+    void toResponseEntityTest_WithGzippedJson() throws Exception {
+        //GIVEN
+        ReflectionTestUtils.setField(jsonResponseCache, "gzipMinSizeInBytes", 0);
+        JsonResponse<List<String>> jsonResponse = jsonResponseCache.get(FIRE_JSON_CACHE, "1509 Culver St",
+                () -> callService(body));
+
+        //WHEN
+        ResponseEntity<byte[]> gzippedResponse = jsonResponse.toResponseEntity("gzip, deflate, br", "\"1-2\"");
+        ResponseEntity<byte[]> plainResponse = jsonResponse.toResponseEntity("deflate", "\"1-2\"");
+
+        //THEN
+        assertEquals("gzip", gzippedResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(plainResponse.getBody(), gunzip(gzippedResponse.getBody()));
+        assertFalse(plainResponse.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"1-2-gzip\"", gzippedResponse.getHeaders().getETag());
+        assertEquals("\"1-2\"", plainResponse.getHeaders().getETag());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, plainResponse.getHeaders().getFirst(HttpHeaders.VARY));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a body smaller than the minimum size to gzip WHEN getting the HTTP response " +
+            "THEN the plain JSON is sent even to the clients accepting gzip")
+    void toResponseEntityTest_WithSmallJson() {
+        //GIVEN
+        JsonResponse<List<String>> jsonResponse = jsonResponseCache.get(FIRE_JSON_CACHE, "1509 Culver St",
+                () -> callService(body));
+
+        //WHEN
+        ResponseEntity<byte[]> response = jsonResponse.toResponseEntity("gzip", null);
+
+        //THEN
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+    }
+
+
+    @Test
+    @DisplayName("WHEN checking Accept-Encoding headers THEN gzip is accepted unless absent or with a zero quality")
+    void acceptsGzipTest() {
+        assertTrue(JsonResponse.acceptsGzip("gzip"));
+        assertTrue(JsonResponse.acceptsGzip("deflate, GZIP;q=0.8"));
+        assertTrue(JsonResponse.acceptsGzip("*"));
+        assertFalse(JsonResponse.acceptsGzip(null));
+        assertFalse(JsonResponse.acceptsGzip("deflate, br"));
+        assertFalse(JsonResponse.acceptsGzip("gzip;q=0"));
+        assertFalse(JsonResponse.acceptsGzip("identity, gzip; q=0.0"));
+    }
+
+
+    private List<String> callService(List<String> result) {
+        nbOfServiceCalls.incrementAndGet();
+        return result;
+    }
+
+    private static byte[] gunzip(byte[] gzippedBytes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(gzippedBytes))) {
+            byte[] buffer = new byte[1024];
+            int nbOfBytesRead;
+            while ((nbOfBytesRead = gzipInputStream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, nbOfBytesRead);
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,97 @@
+package com.safetynet.alerts.util;
+
+import com.safetynet.alerts.model.dto.PersonDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.safetynet.alerts.constants.PaginationConstants.CONTINUATION_TOKEN_HEADER;
+import static com.safetynet.alerts.constants.PaginationConstants.FIRE_STATIONS_COLLECTION;
+import static com.safetynet.alerts.constants.PaginationConstants.PERSONS_COLLECTION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PaginationTest {
+
+    private final Pagination pagination = new Pagination();
+
+    @BeforeEach
+    void setUpPerTest() {
+        ReflectionTestUtils.setField(pagination, "defaultPageSize", 100);
+        ReflectionTestUtils.setField(pagination, "maxPageSize", 1000);
+    }
+
+
+    @Test
+    @DisplayName("GIVEN the continuation token of a page WHEN reading it for the same collection " +
+            "THEN the last id of the page is returned")
+    void getLastIdTest() {
+        //GIVEN
+        String continuationToken = pagination.toContinuationToken(PERSONS_COLLECTION, 1234L);
+
+        //THEN
+        assertEquals(1234L, pagination.getLastId(PERSONS_COLLECTION, continuationToken));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN no continuation token WHEN reading it THEN the first page is read")
+    void getLastIdTest_WithoutToken() {
+        assertEquals(Pagination.FIRST_PAGE_LAST_ID, pagination.getLastId(PERSONS_COLLECTION, null));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a continuation token of another collection or not valid WHEN reading it THEN null is returned")
+    void getLastIdTest_WithInvalidToken() {
+        assertNull(pagination.getLastId(FIRE_STATIONS_COLLECTION,
+                pagination.toContinuationToken(PERSONS_COLLECTION, 1234L)));
+        assertNull(pagination.getLastId(PERSONS_COLLECTION, "not a token!"));
+        assertNull(pagination.getLastId(PERSONS_COLLECTION,
+                pagination.toContinuationToken(PERSONS_COLLECTION, null)));
+    }
+
+
+    @Test
+    @DisplayName("WHEN getting the page size THEN it is the default one if not requested, at most the max one, " +
+            "and null if not positive")
+    void getPageSizeTest() {
+        assertEquals(100, pagination.getPageSize(null));
+        assertEquals(20, pagination.getPageSize(20));
+        assertEquals(1000, pagination.getPageSize(1000000));
+        assertNull(pagination.getPageSize(0));
+        assertNull(pagination.getPageSize(-5));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a full page WHEN getting its headers THEN the continuation token after its last id is given, " +
+            "and not for a partial page")
+    void getPageHeadersTest() {
+        //GIVEN
+        List<PersonDTO> page = new ArrayList<>();
+        for (long personId = 11; personId <= 12; personId++) {
+            PersonDTO personDTO = new PersonDTO();
+            personDTO.setPersonId(personId);
+            page.add(personDTO);
+        }
+
+        //WHEN
+        HttpHeaders fullPageHeaders = pagination.getPageHeaders(PERSONS_COLLECTION, page, 2, PersonDTO::getPersonId);
+        HttpHeaders lastPageHeaders = pagination.getPageHeaders(PERSONS_COLLECTION, page, 3, PersonDTO::getPersonId);
+        HttpHeaders emptyPageHeaders = pagination.getPageHeaders(PERSONS_COLLECTION, Collections.<PersonDTO>emptyList(), 3,
+                PersonDTO::getPersonId);
+
+        //THEN
+        assertEquals(12L, pagination.getLastId(PERSONS_COLLECTION, fullPageHeaders.getFirst(CONTINUATION_TOKEN_HEADER)));
+        assertFalse(lastPageHeaders.containsKey(CONTINUATION_TOKEN_HEADER));
+        assertFalse(emptyPageHeaders.containsKey(CONTINUATION_TOKEN_HEADER));
+    }
+}
@@ -0,0 +1,75 @@
+package com.safetynet.alerts.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.alerts.model.dto.FireDTO;
+import com.safetynet.alerts.model.dto.FireStationCoverageDTO;
+import com.safetynet.alerts.model.dto.PersonCoveredDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SparseFieldsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SparseFields sparseFields = new SparseFields(objectMapper);
+
+
+    @Test
+    @DisplayName("WHEN checking requested fields THEN only non empty sets of fields of the DTO are valid")
+    void areValidTest() {
+        assertTrue(sparseFields.areValid(PersonCoveredDTO.class, null));
+        assertTrue(sparseFields.areValid(PersonCoveredDTO.class, new HashSet<>(Arrays.asList("lastName", "phone"))));
+        assertTrue(sparseFields.areValid(FireStationCoverageDTO.class, Collections.singleton("numberOfChildren")));
+        assertFalse(sparseFields.areValid(PersonCoveredDTO.class, new HashSet<>(Arrays.asList("firstName", "phone"))));
+        assertFalse(sparseFields.areValid(FireStationCoverageDTO.class, Collections.singleton("phone")));
+        assertFalse(sparseFields.areValid(PersonCoveredDTO.class, Collections.emptySet()));
+    }
+
+
+    @Test
+    @DisplayName("GIVEN a FireDTO WHEN serializing it with the writer of the lastName and phone fields " +
+            "THEN only these fields of the persons covered are serialized, and all the other DTO as before")
+    void getWriterTest() throws Exception {
+        //GIVEN
+        PersonCoveredDTO personCoveredDTO = new PersonCoveredDTO();
+        personCoveredDTO.setLastName("Boyd");
+        personCoveredDTO.setPhone("841-874-6512");
+        personCoveredDTO.setAge(36);
+        personCoveredDTO.setMedications(Collections.singletonList("aznol:350mg"));
+        FireDTO fireDTO = new FireDTO();
+        fireDTO.setStationNumber(3);
+        fireDTO.setPersonCoveredDTOList(Collections.singletonList(personCoveredDTO));
+
+        //WHEN
+        String sparseJson = sparseFields.getWriter(new HashSet<>(Arrays.asList("lastName", "phone")))
+                .writeValueAsString(fireDTO);
+        String json = sparseFields.getWriter(null).writeValueAsString(fireDTO);
+
+        //THEN
+        assertEquals("{\"personCoveredDTOList\":[{\"lastName\":\"Boyd\",\"phone\":\"841-874-6512\"}],\"stationNumber\":3}",
+                sparseJson);
+        assertEquals(objectMapper.writeValueAsString(fireDTO), json);
+    }
+
+
+    @Test
+    @DisplayName("WHEN getting the ETag of a sparse response THEN it is suffixed with the fields in alphabetical order")
+    void toETagTest() {
+        //GIVEN
+        Set<String> fields = new LinkedHashSet<>(Arrays.asList("phone", "lastName"));
+
+        //THEN
+        assertEquals("\"1-2;lastName,phone\"", SparseFields.toETag("\"1-2\"", fields));
+        assertEquals("\"1-2\"", SparseFields.toETag("\"1-2\"", null));
+    }
+}